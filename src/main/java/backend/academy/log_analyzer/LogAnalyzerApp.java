@@ -5,11 +5,13 @@ import backend.academy.log_analyzer.log.LogAnalyzer;
 import backend.academy.log_analyzer.module.ArgsParametersParserModule;
 import backend.academy.log_analyzer.module.LogAnalyzerModule;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
 import backend.academy.log_analyzer.parser.ArgsParametersParser;
 import com.beust.jcommander.ParameterException;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.io.IOException;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -40,15 +42,43 @@ public class LogAnalyzerApp {
     }
 
     /**
-     * Метод для запуска анализа логов и вывода отчета
+     * Метод для запуска анализа логов и вывода отчета. После вывода анализатор закрывается,
+     * и временные файлы отчета удаляются
      *
      * @param parameters сконвертированные параметры
      *
      * @throws IOException если в процессе записи произошла ошибка
      */
     private void analyzeAndWriteLog(ArgsParameters parameters) throws IOException {
-        Injector injector = Guice.createInjector(new LogAnalyzerModule(parameters.format(), parameters.path()));
-        LogAnalyzer logAnalyzer = injector.getInstance(LogAnalyzer.class);
+        Injector injector = Guice.createInjector(
+            new LogAnalyzerModule(parameters.format(), parameters.path(), parameters.reportSettings(),
+                parameters.reports()));
+
+        try (LogAnalyzer logAnalyzer = injector.getInstance(LogAnalyzer.class)) {
+            analyzeAndWriteLog(logAnalyzer, parameters);
+        }
+    }
+
+    /**
+     * Метод для запуска анализа логов созданным анализатором и вывода отчета
+     *
+     * @param logAnalyzer анализатор логов
+     * @param parameters сконвертированные параметры
+     *
+     * @throws IOException если в процессе записи произошла ошибка
+     */
+    private void analyzeAndWriteLog(LogAnalyzer logAnalyzer, ArgsParameters parameters) throws IOException {
+        if (!parameters.reports().isEmpty()) {
+            writeReports(logAnalyzer.analyzeReports(parameters));
+            return;
+        }
+
+        if (parameters.follow().enabled()) {
+            log.info("Программа следит за файлами, отчет обновляется раз в {} с. Для завершения нажмите Ctrl+C",
+                parameters.follow().refreshInterval().toSeconds());
+            logAnalyzer.followLogs(parameters, ReportWriterFactory.createReportWriter(parameters));
+            return;
+        }
 
         String logReport = logAnalyzer.analyzeLogs(parameters);
 
@@ -63,4 +93,24 @@ public class LogAnalyzerApp {
                 parameters.outputFile().getAbsolutePath());
         }
     }
+
+    /**
+     * Метод для вывода отчетов из файла {@code --reports}
+     *
+     * @param reports отчеты и их текст
+     *
+     * @throws IOException если в процессе записи произошла ошибка
+     */
+    private void writeReports(Map<ReportDefinition, String> reports) throws IOException {
+        for (Map.Entry<ReportDefinition, String> report : reports.entrySet()) {
+            ArgsParameters reportParameters = report.getKey().parameters();
+
+            ReportWriterFactory.createReportWriter(reportParameters).writeReport(report.getValue());
+
+            if (reportParameters.inFile()) {
+                log.info("Отчет {} записан в {}", report.getKey().name(),
+                    reportParameters.outputFile().getAbsolutePath());
+            }
+        }
+    }
 }
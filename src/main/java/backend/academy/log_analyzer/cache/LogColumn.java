@@ -0,0 +1,104 @@
+package backend.academy.log_analyzer.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Колонки файла кэша в том порядке, в котором они лежат в блоке (см. {@link LogColumns}).
+ * Строковые поля хранятся номерами в словаре колонки, IP - числом (см. {@link #IP})
+ */
+enum LogColumn {
+
+    /**
+     * Время лога в секундах от начала эпохи по часам сервера
+     */
+    TIME(Long.BYTES, false),
+    /**
+     * IPv4 адрес числом от 0 до 2^32 - 1. Остальные адреса (например, IPv6) хранятся в словаре
+     * и записываются как {@code -(номер + 1)}
+     */
+    IP(Long.BYTES, true),
+    BYTES(Integer.BYTES, false),
+    USER(Integer.BYTES, true),
+    /**
+     * Метод запроса. Если запрос не состоит из метода, ресурса и версии, у метода, ресурса и версии
+     * записывается {@link #NO_VALUE}
+     */
+    METHOD(Integer.BYTES, true),
+    ENDPOINT(Integer.BYTES, true),
+    VERSION(Integer.BYTES, true),
+    REFERER(Integer.BYTES, true),
+    AGENT(Integer.BYTES, true),
+    STATUS(Short.BYTES, false);
+
+    /**
+     * Номер в словаре для отсутствующего значения
+     */
+    static final int NO_VALUE = -1;
+
+    /**
+     * Размер одной строки лога во всех колонках в байтах
+     */
+    static final int ROW_SIZE = rowSize();
+
+    private final int width;
+    private final boolean dictionary;
+
+    LogColumn(int width, boolean dictionary) {
+        this.width = width;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Проверка, что значения колонки хранятся в словаре
+     *
+     * @return {@code true}, если у колонки есть словарь
+     */
+    boolean hasDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Метод получения смещения колонки от начала блока
+     *
+     * @param rows количество строк в блоке
+     *
+     * @return смещение в байтах
+     */
+    int offset(int rows) {
+        int offset = 0;
+
+        for (LogColumn column : values()) {
+            if (column == this) {
+                return offset;
+            }
+
+            offset += column.width * rows;
+        }
+
+        return offset;
+    }
+
+    /**
+     * Метод записи значения колонки в буфер
+     *
+     * @param buffer буфер блока
+     * @param value значение
+     */
+    void put(ByteBuffer buffer, long value) {
+        switch (width) {
+            case Long.BYTES -> buffer.putLong(value);
+            case Integer.BYTES -> buffer.putInt((int) value);
+            default -> buffer.putShort((short) value);
+        }
+    }
+
+    private static int rowSize() {
+        int size = 0;
+
+        for (LogColumn column : values()) {
+            size += column.width;
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,383 @@
+package backend.academy.log_analyzer.cache;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.reader.FileChunk;
+import backend.academy.log_analyzer.util.DataStrings;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Открытый файл колоночного кэша разобранных логов (см. {@link LogColumnsCache}).
+ * <p>
+ * Формат файла: заголовок (сигнатура, версия и позиция описания файла), блоки по {@value #BLOCK_ROWS} строк,
+ * словари строковых колонок и описание файла (путь, размер и время изменения исходного файла,
+ * количество строк и позиции словарей). Внутри блока значения одной колонки лежат подряд
+ * (порядок и размеры колонок см. {@link LogColumn}), поэтому у всех строк одинаковый размер,
+ * и границы блоков вычисляются по количеству строк.
+ * <p>
+ * Блок отображается в память целиком, но читаются только колонки полей, которые нужны анализу,
+ * поэтому страницы остальных колонок с диска не загружаются. Из файла читаются только словари нужных колонок.
+ * Блоки независимы и могут анализироваться параллельно
+ */
+public final class LogColumns implements Closeable {
+
+    static final int MAGIC = 0x4C41434C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    static final int BLOCK_ROWS = 1 << 16;
+
+    private static final int IP_CACHE_SIZE = 1 << 10;
+    private static final int OCTET_BITS = 8;
+    private static final int OCTET_MASK = 0xFF;
+
+    private final FileChannel channel;
+    private final long rows;
+    private final Set<LogFields> fields;
+    private final Map<LogColumn, String[]> dictionaries;
+
+    private LogColumns(FileChannel channel, long rows, Set<LogFields> fields, Map<LogColumn, String[]> dictionaries) {
+        this.channel = channel;
+        this.rows = rows;
+        this.fields = fields;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Метод открытия файла кэша. Файл подходит, только если создан из того же файла логов
+     * с тем же размером и временем изменения
+     *
+     * @param file файл кэша
+     * @param source файл логов, для которого нужен кэш
+     * @param fields поля лога, которые нужно читать
+     *
+     * @return открытый кэш или {@code null}, если кэш создан для другого файла или его версии
+     *
+     * @throws IOException если файл не удалось прочитать или он поврежден
+     */
+    @Nullable
+    static LogColumns open(Path file, Source source, Set<LogFields> fields) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            int read = 0;
+
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header, header.position());
+            }
+
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Файл не является файлом кэша этой версии");
+            }
+
+            long footerOffset = header.getLong(Integer.BYTES + Integer.BYTES);
+            long dataEnd = checkOffset(footerOffset, HEADER_SIZE, channel.size());
+            DataInputStream footer = input(channel, footerOffset);
+
+            if (!new Source(DataStrings.read(footer), footer.readLong(), footer.readLong()).equals(source)) {
+                channel.close();
+                return null;
+            }
+
+            long rows = footer.readLong();
+            long blocksEnd = checkOffset(HEADER_SIZE + rows * LogColumn.ROW_SIZE, HEADER_SIZE, dataEnd);
+            Map<LogColumn, String[]> dictionaries = new EnumMap<>(LogColumn.class);
+            Map<LogColumn, Long> dictionaryOffsets = new EnumMap<>(LogColumn.class);
+
+            for (LogColumn column : LogColumn.values()) {
+                if (column.hasDictionary()) {
+                    dictionaryOffsets.put(column, checkOffset(footer.readLong(), blocksEnd, dataEnd));
+                }
+            }
+
+            for (Map.Entry<LogColumn, Long> offset : dictionaryOffsets.entrySet()) {
+                if (isRead(offset.getKey(), fields)) {
+                    dictionaries.put(offset.getKey(), readDictionary(input(channel, offset.getValue())));
+                }
+            }
+
+            return new LogColumns(channel, rows, fields, dictionaries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Получить количество логов в кэше
+     *
+     * @return количество логов
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Метод получения блоков кэша как диапазонов байт файла кэша
+     *
+     * @return блоки по порядку
+     */
+    public List<FileChunk> blocks() {
+        List<FileChunk> blocks = new ArrayList<>();
+
+        for (long start = 0; start < rows; start += BLOCK_ROWS) {
+            long end = Math.min(rows, start + BLOCK_ROWS);
+
+            blocks.add(new FileChunk(HEADER_SIZE + start * LogColumn.ROW_SIZE, HEADER_SIZE + end * LogColumn.ROW_SIZE));
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Метод чтения логов одного блока. Поля, которые не нужны анализу, остаются {@code null},
+     * как при разборе строки (см. {@link Log#parse(CharSequence, Set)}). Строки полей берутся из словарей,
+     * поэтому одинаковые значения разных логов - один объект
+     *
+     * @param block блок из {@link #blocks()}
+     * @param timeFilter проверка времени лога в секундах от начала эпохи, которая выполняется до чтения
+     * остальных колонок, или {@code null}, если проверять не нужно
+     * @param consumer обработчик логов
+     *
+     * @throws IOException если блок не удалось отобразить в память
+     */
+    public void forEachLog(FileChunk block, @Nullable LongPredicate timeFilter, Consumer<Log> consumer)
+        throws IOException {
+        int count = (int) (block.length() / LogColumn.ROW_SIZE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, block.start(), block.length());
+        BlockReader reader = new BlockReader(buffer, count);
+
+        for (int row = 0; row < count; row++) {
+            if (timeFilter != null && !timeFilter.test(reader.epochSecond(row))) {
+                continue;
+            }
+
+            consumer.accept(reader.log(row));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Проверка, что колонку нужно читать для заданных полей. Ресурс читается всегда: по нему
+     * определяется, что запрос состоит из метода, ресурса и версии
+     *
+     * @param column колонка
+     * @param fields поля лога, которые нужно читать
+     *
+     * @return {@code true}, если колонку нужно читать
+     */
+    private static boolean isRead(LogColumn column, Set<LogFields> fields) {
+        return switch (column) {
+            case TIME -> fields.contains(LogFields.TIME);
+            case IP -> fields.contains(LogFields.IP);
+            case USER -> fields.contains(LogFields.USER);
+            case METHOD -> fields.contains(LogFields.REQUEST) || fields.contains(LogFields.METHOD);
+            case VERSION -> fields.contains(LogFields.REQUEST) || fields.contains(LogFields.VERSION);
+            case REFERER -> fields.contains(LogFields.REFERER);
+            case AGENT -> fields.contains(LogFields.AGENT);
+            case ENDPOINT, BYTES, STATUS -> true;
+        };
+    }
+
+    private static long checkOffset(long offset, long min, long max) throws IOException {
+        if (offset < min || offset > max) {
+            throw new IOException("Некорректная позиция в файле кэша: " + offset);
+        }
+
+        return offset;
+    }
+
+    /**
+     * Метод создания потока чтения файла кэша с заданной позиции. Поток не закрывается,
+     * так как его закрытие закрывает канал
+     *
+     * @param channel канал файла кэша
+     * @param position позиция
+     *
+     * @return поток чтения
+     *
+     * @throws IOException если не удалось перейти на позицию
+     */
+    private static DataInputStream input(FileChannel channel, long position) throws IOException {
+        InputStream stream = Channels.newInputStream(channel.position(position));
+
+        return new DataInputStream(new BufferedInputStream(stream));
+    }
+
+    private static String[] readDictionary(DataInputStream input) throws IOException {
+        int size = input.readInt();
+
+        if (size < 0) {
+            throw new IOException("Некорректный размер словаря в файле кэша: " + size);
+        }
+
+        List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            values.add(DataStrings.read(input));
+        }
+
+        return values.toArray(String[]::new);
+    }
+
+    /**
+     * Рекорд файла логов, из которого создан кэш
+     *
+     * @param path абсолютный путь до файла
+     * @param size размер файла
+     * @param lastModified время изменения файла в миллисекундах
+     */
+    record Source(
+        String path,
+        long size,
+        long lastModified
+    ) {
+    }
+
+    /**
+     * Чтение логов из колонок одного отображенного блока
+     */
+    private final class BlockReader {
+
+        private final MappedByteBuffer buffer;
+        private final int timeOffset;
+        private final int ipOffset;
+        private final int bytesOffset;
+        private final int userOffset;
+        private final int methodOffset;
+        private final int endpointOffset;
+        private final int versionOffset;
+        private final int refererOffset;
+        private final int agentOffset;
+        private final int statusOffset;
+        private final boolean readMethod;
+        private final boolean readEndpoint;
+        private final boolean readVersion;
+
+        /**
+         * Последние преобразованные в строку адреса IPv4 (индекс - младшие биты адреса)
+         */
+        private final long[] cachedIps = new long[IP_CACHE_SIZE];
+        private final String[] cachedIpStrings = new String[IP_CACHE_SIZE];
+
+        private long lastEpochSecond = Long.MIN_VALUE;
+        private LocalDateTime lastTime;
+
+        BlockReader(MappedByteBuffer buffer, int count) {
+            this.buffer = buffer;
+            this.timeOffset = LogColumn.TIME.offset(count);
+            this.ipOffset = LogColumn.IP.offset(count);
+            this.bytesOffset = LogColumn.BYTES.offset(count);
+            this.userOffset = LogColumn.USER.offset(count);
+            this.methodOffset = LogColumn.METHOD.offset(count);
+            this.endpointOffset = LogColumn.ENDPOINT.offset(count);
+            this.versionOffset = LogColumn.VERSION.offset(count);
+            this.refererOffset = LogColumn.REFERER.offset(count);
+            this.agentOffset = LogColumn.AGENT.offset(count);
+            this.statusOffset = LogColumn.STATUS.offset(count);
+
+            boolean wholeRequest = fields.contains(LogFields.REQUEST);
+
+            this.readMethod = wholeRequest || fields.contains(LogFields.METHOD);
+            this.readEndpoint = wholeRequest || fields.contains(LogFields.ENDPOINT);
+            this.readVersion = wholeRequest || fields.contains(LogFields.VERSION);
+        }
+
+        long epochSecond(int row) {
+            return buffer.getLong(timeOffset + row * Long.BYTES);
+        }
+
+        Log log(int row) {
+            int endpoint = buffer.getInt(endpointOffset + row * Integer.BYTES);
+
+            return new Log(
+                fields.contains(LogFields.IP) ? ip(row) : null,
+                fields.contains(LogFields.USER) ? string(LogColumn.USER, userOffset, row) : null,
+                fields.contains(LogFields.TIME) ? time(row) : null,
+                endpoint == LogColumn.NO_VALUE ? null : new Log.Request(
+                    readMethod ? string(LogColumn.METHOD, methodOffset, row) : null,
+                    readEndpoint ? value(LogColumn.ENDPOINT, endpoint) : null,
+                    readVersion ? string(LogColumn.VERSION, versionOffset, row) : null
+                ),
+                buffer.getShort(statusOffset + row * Short.BYTES),
+                buffer.getInt(bytesOffset + row * Integer.BYTES),
+                fields.contains(LogFields.REFERER) ? string(LogColumn.REFERER, refererOffset, row) : null,
+                fields.contains(LogFields.AGENT) ? string(LogColumn.AGENT, agentOffset, row) : null
+            );
+        }
+
+        private LocalDateTime time(int row) {
+            long epochSecond = epochSecond(row);
+
+            if (epochSecond != lastEpochSecond) {
+                lastEpochSecond = epochSecond;
+                lastTime = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+            }
+
+            return lastTime;
+        }
+
+        private String ip(int row) {
+            long ip = buffer.getLong(ipOffset + row * Long.BYTES);
+
+            if (ip < 0) {
+                return value(LogColumn.IP, (int) (-ip - 1));
+            }
+
+            int index = (int) ip & (IP_CACHE_SIZE - 1);
+
+            if (cachedIpStrings[index] == null || cachedIps[index] != ip) {
+                StringBuilder text = new StringBuilder();
+
+                for (int shift = Integer.SIZE - OCTET_BITS; shift >= 0; shift -= OCTET_BITS) {
+                    text.append(ip >>> shift & OCTET_MASK).append(shift == 0 ? "" : ".");
+                }
+
+                cachedIps[index] = ip;
+                cachedIpStrings[index] = text.toString();
+            }
+
+            return cachedIpStrings[index];
+        }
+
+        private String string(LogColumn column, int offset, int row) {
+            return value(column, buffer.getInt(offset + row * Integer.BYTES));
+        }
+
+        private String value(LogColumn column, int id) {
+            String[] dictionary = dictionaries.get(column);
+
+            if (id < 0 || id >= dictionary.length) {
+                throw new UncheckedIOException(new IOException("Файл кэша поврежден: номер " + id
+                    + " вне словаря колонки " + column));
+            }
+
+            return dictionary[id];
+        }
+    }
+}
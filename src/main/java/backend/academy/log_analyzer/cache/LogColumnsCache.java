@@ -0,0 +1,179 @@
+package backend.academy.log_analyzer.cache;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.LogLineScanner;
+import backend.academy.log_analyzer.parameter.CacheSettings;
+import backend.academy.log_analyzer.reader.CompressedStreams;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.Set;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Колоночный кэш разобранных локальных файлов ({@code --cache}).
+ * <p>
+ * При первом анализе файл разбирается целиком, и все поля логов сохраняются в файл кэша
+ * (формат см. {@link LogColumns}) в директории {@value #DEFAULT_DIRECTORY} рядом с файлом логов
+ * или в директории из настроек. Следующие запуски с любыми датами и фильтрами читают логи из колонок кэша
+ * вместо разбора текста. Кэш привязан к пути, размеру и времени изменения файла логов: если файл изменился,
+ * кэш создается заново. Файл кэша записывается во временный файл рядом и затем атомарно заменяет старый
+ */
+@Slf4j
+@UtilityClass
+@SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
+public class LogColumnsCache {
+
+    /**
+     * Директория кэша рядом с файлом логов по умолчанию. Скрытая, чтобы шаблоны вида {@code access.log*}
+     * не находили файлы кэша
+     */
+    public static final String DEFAULT_DIRECTORY = ".log-analyzer-cache";
+    /**
+     * Расширение файлов кэша. Файлы с ним пропускаются при поиске файлов логов по шаблону
+     */
+    public static final String EXTENSION = ".lacols";
+
+    /**
+     * Метод открытия кэша файла логов. Если кэша нет или он устарел, файл разбирается и кэш создается заново
+     *
+     * @param source файл логов
+     * @param settings настройки кэша
+     * @param fields поля лога, которые нужно читать
+     *
+     * @return открытый кэш или пустой {@link Optional}, если кэш не удалось создать
+     * (тогда файл анализируется как обычно)
+     */
+    public static Optional<LogColumns> open(Path source, CacheSettings settings, Set<LogFields> fields) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            LogColumns.Source key = new LogColumns.Source(source.toAbsolutePath().normalize().toString(),
+                attributes.size(), attributes.lastModifiedTime().toMillis());
+            Path file = cacheFile(key, settings);
+            LogColumns columns = openExisting(file, key, fields);
+
+            if (columns == null) {
+                build(source, key, file);
+                columns = LogColumns.open(file, key, fields);
+            }
+
+            return Optional.ofNullable(columns);
+        } catch (IOException e) {
+            log.warn("Кэш файла {} не используется, файл будет разобран: {}", source, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Проверка, что файл - файл кэша
+     *
+     * @param file путь до файла
+     *
+     * @return {@code true}, если у файла расширение {@value #EXTENSION}
+     */
+    public static boolean isCacheFile(Path file) {
+        return file.getFileName() != null && file.getFileName().toString().endsWith(EXTENSION);
+    }
+
+    /**
+     * Метод получения пути до файла кэша. К имени файла логов добавляется хеш его пути,
+     * чтобы файлы с одинаковыми именами из разных директорий не перезаписывали кэш друг друга
+     *
+     * @param source файл логов
+     * @param settings настройки кэша
+     *
+     * @return путь до файла кэша
+     */
+    private static Path cacheFile(LogColumns.Source source, CacheSettings settings) {
+        Path sourcePath = Path.of(source.path());
+        Path directory = settings.directory() == null
+            ? sourcePath.resolveSibling(DEFAULT_DIRECTORY)
+            : settings.directory();
+
+        return directory.resolve(sourcePath.getFileName() + "." + Integer.toHexString(source.path().hashCode())
+            + EXTENSION);
+    }
+
+    /**
+     * Метод открытия существующего кэша
+     *
+     * @param file файл кэша
+     * @param source файл логов
+     * @param fields поля лога, которые нужно читать
+     *
+     * @return открытый кэш или {@code null}, если кэша нет, он устарел или поврежден
+     */
+    private static LogColumns openExisting(Path file, LogColumns.Source source, Set<LogFields> fields) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            LogColumns columns = LogColumns.open(file, source, fields);
+
+            if (columns == null) {
+                log.info("Файл {} изменился с создания кэша, кэш будет создан заново", source.path());
+            }
+
+            return columns;
+        } catch (IOException e) {
+            log.warn("Файл кэша {} поврежден и будет создан заново: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Метод создания кэша: файл логов (в том числе сжатый) разбирается целиком,
+     * строки, которые не соответствуют формату, пропускаются
+     *
+     * @param source файл логов
+     * @param key файл логов с размером и временем изменения на момент начала разбора
+     * @param file файл кэша
+     *
+     * @throws IOException если не удалось прочитать файл логов или записать кэш
+     */
+    private static void build(Path source, LogColumns.Source key, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), EXTENSION);
+        LogLineScanner scanner = new LogLineScanner();
+
+        try {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     CompressedStreams.decompressing(Files.newInputStream(source), source.getFileName().toString()),
+                     StandardCharsets.UTF_8));
+                 LogColumnsWriter writer = new LogColumnsWriter(tempFile)) {
+                String line = reader.readLine();
+
+                while (line != null) {
+                    if (scanner.scan(line)) {
+                        writer.append(scanner);
+                    }
+
+                    line = reader.readLine();
+                }
+
+                writer.finish(key);
+            }
+
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        log.info("Создан кэш файла {}: {}", source, file);
+    }
+}
@@ -0,0 +1,199 @@
+package backend.academy.log_analyzer.cache;
+
+import backend.academy.log_analyzer.log.LogLineScanner;
+import backend.academy.log_analyzer.util.DataStrings;
+import backend.academy.log_analyzer.util.Ipv4Addresses;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Запись файла кэша (формат см. {@link LogColumns}). Просканированные строки копятся в колонках блока
+ * и записываются, когда блок заполнен. Строковые поля заменяются номерами в словарях,
+ * которые записываются после всех блоков
+ */
+class LogColumnsWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer block = ByteBuffer.allocate(LogColumns.BLOCK_ROWS * LogColumn.ROW_SIZE);
+    private final long[][] values = new long[LogColumn.values().length][LogColumns.BLOCK_ROWS];
+    /**
+     * Словари строковых колонок. Номер значения - порядок добавления в словарь
+     */
+    private final Map<LogColumn, Map<String, Integer>> dictionaries = new EnumMap<>(LogColumn.class);
+
+    private int blockRows;
+    private long rows;
+
+    /**
+     * Конструктор. Файл создается или перезаписывается
+     *
+     * @param file файл кэша
+     *
+     * @throws IOException если файл не удалось открыть
+     */
+    LogColumnsWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+
+        for (LogColumn column : LogColumn.values()) {
+            if (column.hasDictionary()) {
+                dictionaries.put(column, new LinkedHashMap<>());
+            }
+        }
+
+        channel.position(LogColumns.HEADER_SIZE);
+    }
+
+    /**
+     * Метод добавления просканированной строки
+     *
+     * @param scanner сканер с последней строкой, которая соответствует формату
+     *
+     * @throws IOException если не удалось записать заполненный блок
+     */
+    void append(LogLineScanner scanner) throws IOException {
+        boolean validRequest = scanner.hasValidRequest();
+
+        set(LogColumn.TIME, scanner.timeLocalEpochSecond());
+        set(LogColumn.IP, ipValue(scanner.ip()));
+        set(LogColumn.BYTES, scanner.bytes());
+        set(LogColumn.USER, id(LogColumn.USER, scanner.user()));
+        set(LogColumn.METHOD, validRequest ? id(LogColumn.METHOD, scanner.method()) : LogColumn.NO_VALUE);
+        set(LogColumn.ENDPOINT, validRequest ? id(LogColumn.ENDPOINT, scanner.endpoint()) : LogColumn.NO_VALUE);
+        set(LogColumn.VERSION, validRequest ? id(LogColumn.VERSION, scanner.version()) : LogColumn.NO_VALUE);
+        set(LogColumn.REFERER, id(LogColumn.REFERER, scanner.referer()));
+        set(LogColumn.AGENT, id(LogColumn.AGENT, scanner.agent()));
+        set(LogColumn.STATUS, scanner.status());
+
+        blockRows++;
+        rows++;
+
+        if (blockRows == LogColumns.BLOCK_ROWS) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Метод завершения записи: записываются последний блок, словари, описание файла и его заголовок
+     *
+     * @param source файл логов, из которого создан кэш
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    void finish(LogColumns.Source source) throws IOException {
+        writeBlock();
+
+        Map<LogColumn, Long> dictionaryOffsets = new EnumMap<>(LogColumn.class);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+        for (Map.Entry<LogColumn, Map<String, Integer>> dictionary : dictionaries.entrySet()) {
+            output.flush();
+            dictionaryOffsets.put(dictionary.getKey(), channel.position());
+            output.writeInt(dictionary.getValue().size());
+
+            for (String value : dictionary.getValue().keySet()) {
+                DataStrings.write(output, value);
+            }
+        }
+
+        output.flush();
+
+        long footerOffset = channel.position();
+
+        DataStrings.write(output, source.path());
+        output.writeLong(source.size());
+        output.writeLong(source.lastModified());
+        output.writeLong(rows);
+
+        for (long offset : dictionaryOffsets.values()) {
+            output.writeLong(offset);
+        }
+
+        output.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(LogColumns.HEADER_SIZE)
+            .putInt(LogColumns.MAGIC)
+            .putInt(LogColumns.VERSION)
+            .putLong(footerOffset)
+            .flip();
+
+        // Заголовок лежит в начале файла, поэтому позиция в буфере совпадает с позицией в файле
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void set(LogColumn column, long value) {
+        values[column.ordinal()][blockRows] = value;
+    }
+
+    private int id(LogColumn column, String value) {
+        Map<String, Integer> dictionary = dictionaries.get(column);
+        Integer id = dictionary.get(value);
+
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Метод записи накопленных строк блока по колонкам
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    private void writeBlock() throws IOException {
+        if (blockRows == 0) {
+            return;
+        }
+
+        block.clear();
+
+        for (LogColumn column : LogColumn.values()) {
+            long[] columnValues = values[column.ordinal()];
+
+            for (int i = 0; i < blockRows; i++) {
+                column.put(block, columnValues[i]);
+            }
+        }
+
+        block.flip();
+
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+
+        blockRows = 0;
+    }
+
+    /**
+     * Метод получения значения колонки IP: адрес IPv4 в записи без лишних нулей переводится в число,
+     * остальные адреса добавляются в словарь, чтобы из кэша читалась та же строка, что и из лога
+     *
+     * @param ip адрес
+     *
+     * @return значение колонки (см. {@link LogColumn#IP})
+     */
+    private long ipValue(String ip) {
+        long address = Ipv4Addresses.parse(ip);
+
+        return address == Ipv4Addresses.NOT_IPV4 ? -(id(LogColumn.IP, ip) + 1L) : address;
+    }
+}
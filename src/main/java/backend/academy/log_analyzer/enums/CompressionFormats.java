@@ -0,0 +1,123 @@
+package backend.academy.log_analyzer.enums;
+
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Перечисление форматов сжатия входных файлов. Формат определяется по сигнатуре в начале данных,
+ * а если данных меньше длины сигнатуры - по расширению файла
+ */
+@RequiredArgsConstructor
+public enum CompressionFormats {
+    NONE(new byte[0], List.of()),
+    GZIP(new byte[] {0x1f, (byte) 0x8b}, List.of(".gz", ".gzip")),
+    /**
+     * Gzip, разбитый на независимые блоки с размером блока в заголовке (bgzip).
+     * Такой файл можно распаковывать по блокам параллельно
+     */
+    BGZF(new byte[] {0x1f, (byte) 0x8b}, List.of(".bgz")),
+    BZIP2(new byte[] {'B', 'Z', 'h'}, List.of(".bz2")),
+    ZSTD(new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd}, List.of(".zst", ".zstd"));
+
+    /**
+     * Количество байт в начале данных, которых достаточно для определения формата
+     */
+    public static final int HEADER_LENGTH = 18;
+
+    private static final int FLAGS = 3;
+    private static final int EXTRA_FLAG = 0x04;
+    private static final int EXTRA_LENGTH = 10;
+    private static final int EXTRA = 12;
+    private static final int SUBFIELD_HEADER_LENGTH = 4;
+    private static final int BGZF_SUBFIELD_LENGTH = 2;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int BYTE_SIZE = 8;
+    private static final int MAX_SIGNATURE_LENGTH = 4;
+
+    /**
+     * Сигнатура формата
+     */
+    private final byte[] signature;
+
+    /**
+     * Расширения файлов формата
+     */
+    @Getter
+    private final List<String> extensions;
+
+    /**
+     * Метод определения формата сжатия
+     *
+     * @param header первые байты данных
+     * @param length количество прочитанных байт
+     * @param fileName имя файла или URL (используется, если данных меньше длины сигнатуры)
+     *
+     * @return формат сжатия ({@link #NONE}, если данные не сжаты)
+     */
+    public static CompressionFormats of(byte[] header, int length, String fileName) {
+        if (GZIP.isSignatureOf(header, length)) {
+            return isBgzfHeader(header, length) ? BGZF : GZIP;
+        }
+
+        for (CompressionFormats format : List.of(BZIP2, ZSTD)) {
+            if (format.isSignatureOf(header, length)) {
+                return format;
+            }
+        }
+
+        return length < MAX_SIGNATURE_LENGTH ? ofFileName(fileName) : NONE;
+    }
+
+    /**
+     * Метод определения формата сжатия по расширению файла
+     *
+     * @param fileName имя файла или URL
+     *
+     * @return формат сжатия ({@link #NONE}, если расширение не относится к сжатым файлам)
+     */
+    public static CompressionFormats ofFileName(String fileName) {
+        String lowerCaseName = fileName.toLowerCase(Locale.ROOT);
+
+        for (CompressionFormats format : values()) {
+            for (String extension : format.extensions) {
+                if (lowerCaseName.endsWith(extension)) {
+                    return format;
+                }
+            }
+        }
+
+        return NONE;
+    }
+
+    private boolean isSignatureOf(byte[] header, int length) {
+        if (signature.length == 0 || length < signature.length) {
+            return false;
+        }
+
+        for (int i = 0; i < signature.length; i++) {
+            if (header[i] != signature[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Проверка, что заголовок gzip содержит дополнительное поле BGZF ("BC" с размером блока)
+     */
+    private static boolean isBgzfHeader(byte[] header, int length) {
+        if (length < HEADER_LENGTH || (header[FLAGS] & EXTRA_FLAG) == 0) {
+            return false;
+        }
+
+        int extraLength = (header[EXTRA_LENGTH] & BYTE_MASK) | (header[EXTRA_LENGTH + 1] & BYTE_MASK) << BYTE_SIZE;
+        int subfieldLength = (header[EXTRA + 2] & BYTE_MASK) | (header[EXTRA + 3] & BYTE_MASK) << BYTE_SIZE;
+
+        return extraLength >= SUBFIELD_HEADER_LENGTH + BGZF_SUBFIELD_LENGTH
+            && header[EXTRA] == 'B' && header[EXTRA + 1] == 'C'
+            && subfieldLength == BGZF_SUBFIELD_LENGTH;
+    }
+}
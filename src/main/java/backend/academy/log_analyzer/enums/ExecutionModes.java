@@ -0,0 +1,54 @@
+package backend.academy.log_analyzer.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Перечисление способов выполнения анализа ресурсов
+ */
+@RequiredArgsConstructor
+@Getter
+public enum ExecutionModes {
+    /**
+     * Ресурсы читаются по очереди в одном потоке
+     */
+    SEQUENTIAL("sequential"),
+    /**
+     * Ресурсы и их части анализируются в пуле {@link java.util.concurrent.ForkJoinPool}
+     */
+    FORK_JOIN("fork-join"),
+    /**
+     * Каждый ресурс читается своим виртуальным потоком, разобранные логи передаются пачками
+     * через ограниченную очередь потокам сбора статистики
+     */
+    VIRTUAL_THREADS("virtual-threads");
+
+    /**
+     * Название способа выполнения
+     */
+    private final String modeName;
+
+    /**
+     * Маппа, где ключ - название способа выполнения, а значение - соответствующий элемент перечисления
+     */
+    private static final Map<String, ExecutionModes> MODES_MAP = new HashMap<>();
+
+    static {
+        for (ExecutionModes mode : values()) {
+            MODES_MAP.put(mode.modeName, mode);
+        }
+    }
+
+    /**
+     * Метод для получения элемента перечисления по названию
+     *
+     * @param modeName название способа выполнения
+     *
+     * @return элемент перечисления, соответствующий названию, или {@code null}, если такого способа нет
+     */
+    public static ExecutionModes of(String modeName) {
+        return MODES_MAP.get(modeName);
+    }
+}
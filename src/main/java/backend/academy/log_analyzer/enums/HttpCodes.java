@@ -1,7 +1,6 @@
 package backend.academy.log_analyzer.enums;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -11,6 +10,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Getter
 public enum HttpCodes {
+    CONTINUE(100, "Continue"),
+    SWITCHING_PROTOCOLS(101, "Switching Protocols"),
+    PROCESSING(102, "Processing"),
+    EARLY_HINTS(103, "Early Hints"),
+
     OK(200, "OK"),
     CREATED(201, "Created"),
     ACCEPTED(202, "Accepted"),
@@ -55,7 +59,13 @@ public enum HttpCodes {
     PRECONDITION_REQUIRED(428, "Precondition Required"),
     TOO_MANY_REQUESTS(429, "Too Many Requests"),
     REQUEST_HEADER_FIELDS_TOO_LARGE(431, "Request Header Fields Too Large"),
+    NO_RESPONSE(444, "No Response"),
     UNAVAILABLE_FOR_LEGAL_REASONS(451, "Unavailable For Legal Reasons"),
+    REQUEST_HEADER_TOO_LARGE(494, "Request Header Too Large"),
+    SSL_CERTIFICATE_ERROR(495, "SSL Certificate Error"),
+    SSL_CERTIFICATE_REQUIRED(496, "SSL Certificate Required"),
+    HTTP_REQUEST_SENT_TO_HTTPS_PORT(497, "HTTP Request Sent To HTTPS Port"),
+    CLIENT_CLOSED_REQUEST(499, "Client Closed Request"),
 
     INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
     NOT_IMPLEMENTED(501, "Not Implemented"),
@@ -81,14 +91,22 @@ public enum HttpCodes {
      */
     private final String description;
 
+    private static final int MIN_CODE = 100;
+    private static final int MAX_CODE = 599;
+
     /**
-     * Маппа, где ключ - это код, а значение - соответствующий элемент перечисления
+     * Таблица, где индекс - это код минус {@link #MIN_CODE}, а значение - соответствующий элемент перечисления
+     * ({@link #UNKNOWN} для кодов без элемента)
      */
-    private static final Map<Integer, HttpCodes> CODE_MAP = new HashMap<>();
+    private static final HttpCodes[] CODE_TABLE = new HttpCodes[MAX_CODE - MIN_CODE + 1];
 
     static {
+        Arrays.fill(CODE_TABLE, UNKNOWN);
+
         for (HttpCodes httpCode : values()) {
-            CODE_MAP.put(httpCode.code, httpCode);
+            if (httpCode != UNKNOWN) {
+                CODE_TABLE[httpCode.code - MIN_CODE] = httpCode;
+            }
         }
     }
 
@@ -100,6 +118,6 @@ public enum HttpCodes {
      * @return элемент перечисления, соответствующий коду
      */
     public static HttpCodes of(int code) {
-        return CODE_MAP.getOrDefault(code, UNKNOWN);
+        return code >= MIN_CODE && code <= MAX_CODE ? CODE_TABLE[code - MIN_CODE] : UNKNOWN;
     }
 }
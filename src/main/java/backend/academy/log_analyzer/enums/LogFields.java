@@ -0,0 +1,52 @@
+package backend.academy.log_analyzer.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Перечисление полей лога формата NGINX (включая поля вложенного запроса)
+ */
+@RequiredArgsConstructor
+@Getter
+public enum LogFields {
+    IP("ip"),
+    USER("user"),
+    TIME("time"),
+    REQUEST("request"),
+    STATUS("status"),
+    BYTES("bytes"),
+    REFERER("referer"),
+    AGENT("agent"),
+    METHOD("method"),
+    ENDPOINT("endpoint"),
+    VERSION("version");
+
+    /**
+     * Имя поля (совпадает с именем компонента в {@link backend.academy.log_analyzer.log.Log})
+     */
+    private final String fieldName;
+
+    /**
+     * Маппа, где ключ - имя поля, а значение - соответствующий элемент перечисления
+     */
+    private static final Map<String, LogFields> FIELDS_MAP = new HashMap<>();
+
+    static {
+        for (LogFields field : values()) {
+            FIELDS_MAP.put(field.fieldName, field);
+        }
+    }
+
+    /**
+     * Метод для получения элемента перечисления по имени поля
+     *
+     * @param fieldName имя поля
+     *
+     * @return элемент перечисления или {@code null}, если такого поля нет
+     */
+    public static LogFields of(String fieldName) {
+        return FIELDS_MAP.get(fieldName);
+    }
+}
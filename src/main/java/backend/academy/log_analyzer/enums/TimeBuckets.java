@@ -0,0 +1,57 @@
+package backend.academy.log_analyzer.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Перечисление размеров интервалов временного ряда статистики
+ */
+@RequiredArgsConstructor
+@Getter
+public enum TimeBuckets {
+    /**
+     * Интервал в одну минуту
+     */
+    MINUTE("1m", 60),
+    /**
+     * Интервал в пять минут
+     */
+    FIVE_MINUTES("5m", 300),
+    /**
+     * Интервал в один час
+     */
+    HOUR("1h", 3600);
+
+    /**
+     * Название интервала
+     */
+    private final String bucketName;
+    /**
+     * Длина интервала в секундах
+     */
+    private final int seconds;
+
+    /**
+     * Маппа, где ключ - название интервала, а значение - соответствующий элемент перечисления
+     */
+    private static final Map<String, TimeBuckets> BUCKETS_MAP = new HashMap<>();
+
+    static {
+        for (TimeBuckets bucket : values()) {
+            BUCKETS_MAP.put(bucket.bucketName, bucket);
+        }
+    }
+
+    /**
+     * Метод для получения элемента перечисления по названию
+     *
+     * @param bucketName название интервала
+     *
+     * @return элемент перечисления, соответствующий названию, или {@code null}, если такого интервала нет
+     */
+    public static TimeBuckets of(String bucketName) {
+        return BUCKETS_MAP.get(bucketName);
+    }
+}
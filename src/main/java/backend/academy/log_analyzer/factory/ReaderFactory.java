@@ -1,14 +1,17 @@
 package backend.academy.log_analyzer.factory;
 
+import backend.academy.log_analyzer.reader.CompressedStreams;
+import backend.academy.log_analyzer.reader.HttpResources;
+import backend.academy.log_analyzer.reader.LazyInputStream;
 import com.beust.jcommander.ParameterException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -19,30 +22,31 @@ import lombok.extern.slf4j.Slf4j;
 
 // Я не знаю как избавиться от спотбагов, если это необходимо, подскажите, пожалуйста
 /**
- * Фабрика для создания ридеров файлов и URL
+ * Фабрика для создания ридеров файлов и URL. Сжатые ресурсы (gzip, bzip2, zstd) распаковываются прозрачно
+ *
+ * @see CompressedStreams
  */
-@SuppressFBWarnings(value = {"URLCONNECTION_SSRF_FD", "PATH_TRAVERSAL_IN"})
+@SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
 @UtilityClass
 @Slf4j
 public class ReaderFactory {
 
     /**
-     * Метод для создания маппы ридеров файлов и URL. Ключ - URI, значение - ридер для этого URI
+     * Метод для создания маппы ридеров файлов и URL. Ключ - URI, значение - ридер для этого URI.
+     * Список может одновременно содержать файлы и URL. Файл, который не удалось открыть, пропускается
      *
-     * @param path путь до файла, шаблон или URL
+     * @param path пути до файлов и URL
      *
      * @return маппу ридеров для URI
      *
-     * @throws IOException если не удалось создать ридер для одного файла (если подан путь до конкретного файла),
-     * URL или всех файлов (если подан шаблон)
+     * @throws IOException если не удалось создать ни одного ридера
+     * @throws ParameterException если вид одного из ресурсов неизвестен
      */
     public static Map<BufferedReader, URI> createReaders(List<URI> path) throws IOException {
         Map<BufferedReader, URI> readers = new HashMap<>();
 
-        if (path.size() == 1) {
-            addReaderFromSinglePath(path.getFirst(), readers);
-        } else if (path.size() > 1) {
-            addPatternReaders(path, readers);
+        for (URI pathToResource : path) {
+            addReader(pathToResource, readers);
         }
 
         if (readers.isEmpty()) {
@@ -53,65 +57,93 @@ public class ReaderFactory {
     }
 
     /**
-     * Метод для добавления ридера, если список URI состоит из одного пути
+     * Метод для добавления ридера ресурса в зависимости от его вида
      *
      * @param pathToResource путь до ресурса
      * @param readers маппа ридеров для заполнения
      */
-    private static void addReaderFromSinglePath(URI pathToResource, Map<BufferedReader, URI> readers) {
+    private static void addReader(URI pathToResource, Map<BufferedReader, URI> readers) {
         switch (pathToResource.getScheme()) {
-            case "file" -> addSingleFileReader(pathToResource, readers);
+            case "file" -> addFileReader(pathToResource, readers);
             case "http", "https" -> addUrlReader(pathToResource, readers);
-            default -> throw new ParameterException("Неизвестный вид ресурса");
+            case null, default -> throw new ParameterException("Неизвестный вид ресурса");
         }
     }
 
     // Не думаю, что нужно тестировать
     /**
-     * Метод для добавления ридер для URL
+     * Метод для добавления ридер для URL. Запрос к URL отправляется только при первом чтении,
+     * поэтому ридер, который не понадобился (например, при чтении URL по диапазонам байт), соединений не создает.
+     * Ошибка подключения выбрасывается при первом чтении и относится к этому URL
      *
      * @param input URI до URL
      * @param readers маппа ридеров для заполнения
+     *
+     * @see HttpResources
      */
     private static void addUrlReader(URI input, Map<BufferedReader, URI> readers) {
-        try {
-            URL url = input.toURL();
-            readers.put(new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)), input);
-        } catch (IOException ignored) {
-        }
+        readers.put(new BufferedReader(new InputStreamReader(
+            new LazyInputStream(() -> decompressing(HttpResources.open(input), input.getPath())),
+            StandardCharsets.UTF_8)), input);
     }
 
     /**
-     * Метод добавления ридеров для файлов по шаблону
+     * Метод для добавления ридера для файла. Если файл не удалось открыть, он пропускается
      *
-     * @param path список URI для каждого файла из шаблона
+     * @param input URI до файла
      * @param readers маппа ридеров для заполнения
      */
-    private static void addPatternReaders(List<URI> path, Map<BufferedReader, URI> readers) {
-        for (URI pathToResource : path) {
-            Path resourcePath = Paths.get(pathToResource);
-
-            try {
-                readers.put(new BufferedReader(new FileReader(resourcePath.toFile(),
-                        StandardCharsets.UTF_8)), pathToResource);
-            } catch (IOException ignored) {
-            }
+    private static void addFileReader(URI input, Map<BufferedReader, URI> readers) {
+        try {
+            readers.put(createReader(Paths.get(input)), input);
+        } catch (IOException e) {
+            log.warn("Файл {} пропущен: {}", input, e.toString());
         }
     }
 
-    // Не думаю, что нужно тестировать
     /**
-     * Метод для создания ридера для конкретного файла
+     * Метод создания ридера для файла
      *
-     * @param input URI до файла
-     * @param readers список ридеров для заполнения
+     * @param path путь до файла
+     *
+     * @return ридер распакованного содержимого файла
+     *
+     * @throws IOException если файл не удалось открыть или заголовок сжатых данных поврежден
      */
-    private static void addSingleFileReader(URI input, Map<BufferedReader, URI> readers) {
-        Path path = Paths.get(input);
+    private static BufferedReader createReader(Path path) throws IOException {
+        return createReader(Files.newInputStream(path), path.getFileName().toString());
+    }
 
+    /**
+     * Метод создания ридера для потока
+     *
+     * @param input поток ресурса
+     * @param name имя файла или путь URL
+     *
+     * @return ридер распакованного содержимого
+     *
+     * @throws IOException если заголовок сжатых данных поврежден
+     */
+    private static BufferedReader createReader(InputStream input, String name) throws IOException {
+        return new BufferedReader(new InputStreamReader(decompressing(input, name), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Метод создания потока распакованных данных. Если заголовок сжатых данных поврежден, поток закрывается
+     *
+     * @param input поток ресурса
+     * @param name имя файла или путь URL
+     *
+     * @return поток распакованного содержимого
+     *
+     * @throws IOException если заголовок сжатых данных поврежден
+     */
+    private static InputStream decompressing(InputStream input, String name) throws IOException {
         try {
-            readers.put(new BufferedReader(new FileReader(path.toFile(), StandardCharsets.UTF_8)), input);
-        } catch (IOException ignored) {
+            return CompressedStreams.decompressing(input, name);
+        } catch (IOException e) {
+            input.close();
+            throw e;
         }
     }
 }
@@ -0,0 +1,65 @@
+package backend.academy.log_analyzer.log;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Пул fork-join одного анализа. Пул создается при первой параллельной задаче и используется всеми шагами анализа:
+ * ресурсами, блоками кэша и частями файлов, которые читаются при инкрементальном анализе и при слежении за файлами.
+ * Так потоки не создаются заново для каждого файла и каждого обновления отчета. Пул закрывается вместе с анализом
+ */
+class AnalysisPool implements AutoCloseable {
+
+    private final int threads;
+    private ForkJoinPool pool;
+
+    /**
+     * Конструктор
+     *
+     * @param threads количество потоков пула
+     */
+    AnalysisPool(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Метод выполнения задачи в пуле с ожиданием результата
+     *
+     * @param task задача
+     *
+     * @return результат задачи
+     */
+    <T> T invoke(ForkJoinTask<T> task) {
+        return pool().invoke(task);
+    }
+
+    /**
+     * Метод отправки задачи в пул
+     *
+     * @param task задача
+     *
+     * @return задача пула, через которую можно получить результат
+     */
+    <T> ForkJoinTask<T> submit(Callable<T> task) {
+        return pool().submit(task);
+    }
+
+    /**
+     * Метод закрытия пула. Ожидает завершения отправленных задач
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(threads);
+        }
+
+        return pool;
+    }
+}
@@ -0,0 +1,164 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.cache.LogColumns;
+import backend.academy.log_analyzer.cache.LogColumnsCache;
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.matcher.LogMatcherDate;
+import backend.academy.log_analyzer.matcher.LogMatcherFilter;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.reader.FileChunk;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Анализ локальных файлов из колоночного кэша (см. {@link LogColumnsCache}). Логи из кэша проверяются
+ * теми же датами и фильтрами, что и логи из текста, и добавляются в основной отчет
+ */
+class CachedLogAnalyzer {
+
+    private final LogMatcherDate logMatcherDate;
+    private final LogMatcherFilter logMatcherFilter;
+    private final LogReport report;
+    private final AnalysisPool pool;
+
+    /**
+     * Конструктор
+     *
+     * @param logMatcherDate проверка дат
+     * @param logMatcherFilter проверка фильтров
+     * @param report основной отчет
+     * @param pool пул анализа для параллельного чтения блоков кэша
+     */
+    CachedLogAnalyzer(
+        LogMatcherDate logMatcherDate,
+        LogMatcherFilter logMatcherFilter,
+        LogReport report,
+        AnalysisPool pool
+    ) {
+        this.logMatcherDate = logMatcherDate;
+        this.logMatcherFilter = logMatcherFilter;
+        this.report = report;
+        this.pool = pool;
+    }
+
+    /**
+     * Метод анализа локальных файлов из колоночного кэша, если он включен (см. {@link LogColumnsCache}).
+     * Файл без актуального кэша сначала разбирается в кэш. Блоки кэша при нескольких потоках анализируются
+     * параллельно. Время проверяется по колонке до чтения остальных полей, а фильтры и выражение
+     * {@code --where} - по логам из кэша. Поиск диапазона дат для таких файлов не нужен
+     *
+     * @param sources ридеры ресурсов
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно прочитать
+     *
+     * @return ридеры ресурсов, которые нужно анализировать по тексту (те же, если кэш выключен)
+     */
+    Map<BufferedReader, URI> analyzeCachedSources(
+        Map<BufferedReader, URI> sources,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        if (params.cache() == null || !params.cache().enabled()) {
+            return sources;
+        }
+
+        Map<BufferedReader, URI> textSources = new HashMap<>();
+
+        sources.forEach((reader, uri) -> {
+            Optional<LogColumns> columns = LogSources.isLocalFile(uri)
+                ? LogColumnsCache.open(Paths.get(uri), params.cache(), requiredFields)
+                : Optional.empty();
+
+            if (columns.isEmpty()) {
+                textSources.put(reader, uri);
+                return;
+            }
+
+            LogSources.closeQuietly(reader);
+
+            try (LogColumns cached = columns.get()) {
+                report.merge(analyzeColumns(cached, uri.toString(), params));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return textSources;
+    }
+
+    /**
+     * Метод анализа логов из кэша в новый отчет (шард)
+     *
+     * @param columns открытый кэш файла
+     * @param resourceUri ресурс, откуда читаются логи
+     * @param params сконвертированные параметры
+     *
+     * @return отчет по файлу
+     *
+     * @throws IOException если не удалось прочитать кэш
+     */
+    private LogReport analyzeColumns(LogColumns columns, String resourceUri, ArgsParameters params)
+        throws IOException {
+        List<FileChunk> blocks = columns.blocks();
+
+        if (params.threads() <= 1 || blocks.size() <= 1) {
+            LogReport shard = report.newShard();
+
+            for (FileChunk block : blocks) {
+                analyzeBlock(columns, block, shard, resourceUri, params);
+            }
+
+            return shard;
+        }
+
+        return pool.invoke(new LogChunkTask(blocks, block -> {
+            LogReport shard = report.newShard();
+
+            try {
+                analyzeBlock(columns, block, shard, resourceUri, params);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return shard;
+        }));
+    }
+
+    /**
+     * Метод анализа одного блока кэша. Подходящие логи добавляются в переданный отчет
+     *
+     * @param columns открытый кэш файла
+     * @param block блок кэша
+     * @param target отчет для сбора статистики
+     * @param resourceUri ресурс, откуда читаются логи
+     * @param params сконвертированные параметры
+     *
+     * @throws IOException если не удалось прочитать блок
+     */
+    private void analyzeBlock(
+        LogColumns columns,
+        FileChunk block,
+        LogReport target,
+        String resourceUri,
+        ArgsParameters params
+    ) throws IOException {
+        LongPredicate timeFilter = params.from() == null && params.to() == null
+            ? null
+            : epochSecond -> logMatcherDate.isLogMatch(epochSecond, params);
+
+        columns.forEachLog(block, timeFilter, cachedLog -> {
+            if (logMatcherFilter.isLogMatchByFilter(cachedLog, params)) {
+                target.addAllStats(cachedLog, resourceUri);
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.maper.ReportMapper;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.reader.FollowedFile;
+import backend.academy.log_analyzer.writer.ReportWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Анализ в режиме слежения за файлами (см. {@link ArgsParameters#follow()}): отчет обновляется
+ * по мере того, как в локальные файлы дописываются строки
+ */
+class FollowingLogAnalyzer {
+
+    private final LogSourceAnalyzer sourceAnalyzer;
+    private final ReportMapper reportMapper;
+    private final LogReport report;
+
+    /**
+     * Конструктор
+     *
+     * @param sourceAnalyzer анализ ресурсов и частей файлов
+     * @param reportMapper формирование текстового отчета
+     * @param report основной отчет
+     */
+    FollowingLogAnalyzer(LogSourceAnalyzer sourceAnalyzer, ReportMapper reportMapper, LogReport report) {
+        this.sourceAnalyzer = sourceAnalyzer;
+        this.reportMapper = reportMapper;
+        this.report = report;
+    }
+
+    /**
+     * Метод анализа логов в режиме слежения за файлами. Несжатые локальные файлы остаются открытыми:
+     * с интервалом из {@link ArgsParameters#follow()} дописанные в них строки добавляются в отчет,
+     * и если статистика изменилась, отчет формируется и выводится заново. Остальные ресурсы
+     * (URL и сжатые файлы) анализируются один раз. Метод работает, пока поток не будет прерван
+     *
+     * @param readers ридеры ресурсов
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     * @param reportWriter способ вывода отчета
+     *
+     * @throws IOException если произошла ошибка чтения файлов или вывода отчета
+     */
+    void follow(
+        Map<BufferedReader, URI> readers,
+        ArgsParameters params,
+        Set<LogFields> requiredFields,
+        ReportWriter reportWriter
+    ) throws IOException {
+        List<FollowedFile> followedFiles = new ArrayList<>();
+
+        try {
+            Map<BufferedReader, URI> otherSources = new HashMap<>();
+
+            for (Map.Entry<BufferedReader, URI> source : readers.entrySet()) {
+                if (LogSources.isPlainLocalFile(source.getValue())) {
+                    LogSources.closeQuietly(source.getKey());
+                    followedFiles.add(new FollowedFile(Paths.get(source.getValue())));
+                } else {
+                    otherSources.put(source.getKey(), source.getValue());
+                }
+            }
+
+            sourceAnalyzer.analyzeSources(otherSources, params, requiredFields);
+
+            long renderedCount = 0;
+
+            while (!Thread.currentThread().isInterrupted()) {
+                for (FollowedFile file : followedFiles) {
+                    String resourceUri = file.path().toUri().toString();
+
+                    file.readAppended((channel, range) ->
+                        report.merge(sourceAnalyzer.analyzeRange(channel, range, resourceUri, params, requiredFields)));
+                }
+
+                // Статистика только накапливается, поэтому отчет изменился, только если добавились логи
+                if (report.getTotalCountRequests() != renderedCount) {
+                    renderedCount = report.getTotalCountRequests();
+                    reportWriter.writeReport(reportMapper.mapLogToOutputFormat(report, params));
+                }
+
+                Thread.sleep(params.follow().refreshInterval());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (FollowedFile file : followedFiles) {
+                file.close();
+            }
+        }
+    }
+}
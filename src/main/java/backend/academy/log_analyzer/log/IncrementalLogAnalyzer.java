@@ -0,0 +1,134 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.reader.FileChunk;
+import backend.academy.log_analyzer.reader.FileChunkSplitter;
+import backend.academy.log_analyzer.state.AnalysisState;
+import backend.academy.log_analyzer.state.AnalysisStateStore;
+import backend.academy.log_analyzer.state.SourceState;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Инкрементальный анализ с файлом состояния (см. {@link ArgsParameters#stateFile()}):
+ * из локальных файлов читаются только строки, дописанные с прошлого запуска
+ */
+@Slf4j
+class IncrementalLogAnalyzer {
+
+    private final LogSourceAnalyzer sourceAnalyzer;
+    private final LogReport report;
+
+    /**
+     * Конструктор
+     *
+     * @param sourceAnalyzer анализ ресурсов и частей файлов
+     * @param report основной отчет
+     */
+    IncrementalLogAnalyzer(LogSourceAnalyzer sourceAnalyzer, LogReport report) {
+        this.sourceAnalyzer = sourceAnalyzer;
+        this.report = report;
+    }
+
+    /**
+     * Метод инкрементального анализа. Статистика прошлых запусков читается из файла состояния,
+     * несжатые локальные файлы анализируются только с позиции, до которой их прочитали в прошлый раз.
+     * Файл, который с прошлого запуска был заменен или усечен, читается с начала. Остальные ресурсы
+     * (URL и сжатые файлы) читаются полностью при каждом запуске и в состояние не попадают,
+     * поэтому их логи не учитываются дважды. Новое состояние сохраняется после успешного анализа
+     *
+     * @param readers ридеры ресурсов
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     */
+    void analyze(Map<BufferedReader, URI> readers, ArgsParameters params, Set<LogFields> requiredFields) {
+        Path stateFile = params.stateFile().toPath();
+        String parametersKey = AnalysisState.parametersKey(params);
+        AnalysisState previous = AnalysisStateStore.load(stateFile, parametersKey, params.reportSettings())
+            .orElseGet(() -> new AnalysisState(parametersKey, report.newShard(), List.of()));
+        Map<String, SourceState> previousSources = previous.sourcesByIdentity();
+
+        LogReport state = previous.report();
+        List<SourceState> sources = new ArrayList<>();
+        Map<BufferedReader, URI> otherSources = new HashMap<>();
+
+        readers.forEach((reader, uri) -> {
+            if (LogSources.isPlainLocalFile(uri)) {
+                LogSources.closeQuietly(reader);
+                sources.add(analyzeAppended(uri, previousSources, state, params, requiredFields));
+            } else {
+                otherSources.put(reader, uri);
+            }
+        });
+
+        if (!otherSources.isEmpty()) {
+            sourceAnalyzer.analyzeSources(otherSources, params, requiredFields);
+        }
+
+        try {
+            AnalysisStateStore.save(stateFile, new AnalysisState(parametersKey, state, sources));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Состояние сливается с отчетом после сохранения: после слияния оно не используется
+        report.merge(state);
+    }
+
+    /**
+     * Метод анализа строк, дописанных в файл с прошлого запуска. Строка, которая еще дописывается
+     * (без перевода строки в конце), не анализируется и будет прочитана в следующий раз
+     *
+     * @param uri URI файла
+     * @param previousSources состояния файлов с прошлого запуска по ключу поиска
+     * @param state накопленная статистика, в которую добавляются новые логи
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return новое состояние файла
+     */
+    private SourceState analyzeAppended(
+        URI uri,
+        Map<String, SourceState> previousSources,
+        LogReport state,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        try (FileChannel channel = LogSources.openFile(uri)) {
+            String fileKey = LogSources.getFileKey(uri);
+            long size = channel.size();
+            SourceState previous = previousSources.get(fileKey.isEmpty() ? uri.toString() : fileKey);
+            long start = 0;
+
+            if (previous != null && previous.offset() <= size
+                && previous.headChecksum() == SourceState.headChecksum(channel, previous.offset())) {
+                start = previous.offset();
+            } else if (previous != null) {
+                log.info("Файл {} был заменен или усечен с прошлого запуска и будет прочитан с начала", uri);
+            }
+
+            long end = FileChunkSplitter.findLastLineEnd(channel, new FileChunk(start, size));
+
+            if (end > start) {
+                FileChunk appended = new FileChunk(start, end);
+
+                state.merge(sourceAnalyzer.analyzeRange(channel, appended, uri.toString(), params, requiredFields));
+            }
+
+            return new SourceState(uri.toString(), fileKey, size, end, SourceState.headChecksum(channel, end));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package backend.academy.log_analyzer.log;
 
+import backend.academy.log_analyzer.enums.LogFields;
 import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -31,19 +31,12 @@ public record Log(
         String agent
 ) {
 
-    private static final int IP = 1;
-    private static final int USER = 2;
-    private static final int TIME = 4;
-    private static final int REQUEST = 5;
-    private static final int STATUS = 6;
-    private static final int BYTES = 7;
-    private static final int REFERER = 8;
-    private static final int AGENT = 9;
-
-    private static final String NON_SPACE_GROUP = "(\\S+)\\s+";
-    private static final String QUOTED_GROUP = "\"(.*?)\"\\s+";
+    /**
+     * Все поля лога. Используется, если нужен полностью разобранный лог
+     */
+    public static final Set<LogFields> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(LogFields.class));
 
-    private static final int SIZE_OF_PARAMS_REQUEST = 3;
+    private static final ThreadLocal<LogLineScanner> SCANNER = ThreadLocal.withInitial(LogLineScanner::new);
 
     /**
      * Метод для парсинга лога из строки
@@ -54,56 +47,58 @@ public record Log(
      */
     @Nullable
     public static Log parse(String logLine) {
-        Pattern logPattern = Pattern.compile(
-            NON_SPACE_GROUP
-                + NON_SPACE_GROUP
-                + NON_SPACE_GROUP
-                + "\\[(.*?)]\\s+"
-                + QUOTED_GROUP
-                + "(\\d{3})\\s+"
-                + "(\\d+)\\s+"
-                + QUOTED_GROUP
-                + "\"(.*?)\""
-        );
-
-        Matcher matcher = logPattern.matcher(logLine);
-
-        if (!matcher.matches()) {
-            return null;
-        }
-
-        String remoteAddr = matcher.group(IP);
-        String remoteUser = matcher.group(USER);
-        LocalDateTime timeLocal = parseTimeLocal(matcher.group(TIME));
-        Request request = Request.parse(matcher.group(REQUEST));
-        int status = Integer.parseInt(matcher.group(STATUS));
-        int bodyBytesSent = Integer.parseInt(matcher.group(BYTES));
-        String httpReferer = matcher.group(REFERER);
-        String httpUserAgent = matcher.group(AGENT);
+        return parse(logLine, ALL_FIELDS);
+    }
 
-        return new Log(
-                remoteAddr,
-                remoteUser, timeLocal,
-                request,
-                status,
-                bodyBytesSent,
-                httpReferer,
-                httpUserAgent
-        );
+    /**
+     * Метод для парсинга лога из строки с заполнением только нужных полей.
+     * Поля, которых нет в {@code fields}, остаются {@code null} (строки не создаются),
+     * но строка все равно целиком проверяется на соответствие формату.
+     * Поля запроса заполняются, если нужен весь запрос {@link LogFields#REQUEST} или конкретное поле запроса
+     *
+     * @param logLine строка для парсинга
+     * @param fields поля, которые нужно заполнить
+     *
+     * @return объект лога или {@code null}, если строка не соответствует формату
+     */
+    @Nullable
+    public static Log parse(CharSequence logLine, Set<LogFields> fields) {
+        return parse(logLine, fields, null);
     }
 
     /**
-     * Метод парсинга даты и времени из строки
+     * Метод для парсинга лога из строки с предварительной проверкой (см. {@link #parse(CharSequence, Set)}).
+     * Проверка вызывается после сканирования границ полей, но до создания полей лога, поэтому строки,
+     * которые ее не прошли, не разбираются
      *
-     * @param timeLocal строка с временем и датой
+     * @param logLine строка для парсинга
+     * @param fields поля, которые нужно заполнить
+     * @param preFilter проверка просканированной строки или {@code null}, если проверять не нужно
      *
-     * @return дату и время
+     * @return объект лога или {@code null}, если строка не соответствует формату или не прошла проверку
      */
-    private static LocalDateTime parseTimeLocal(String timeLocal) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
-        ZonedDateTime zonedDateTime = ZonedDateTime.parse(timeLocal, formatter);
+    @Nullable
+    public static Log parse(
+            CharSequence logLine,
+            Set<LogFields> fields,
+            @Nullable Predicate<LogLineScanner> preFilter
+    ) {
+        LogLineScanner scanner = SCANNER.get();
 
-        return zonedDateTime.toLocalDateTime();
+        if (!scanner.scan(logLine) || preFilter != null && !preFilter.test(scanner)) {
+            return null;
+        }
+
+        return new Log(
+                fields.contains(LogFields.IP) ? scanner.ip() : null,
+                fields.contains(LogFields.USER) ? scanner.user() : null,
+                fields.contains(LogFields.TIME) ? scanner.timeLocalDateTime() : null,
+                Request.of(scanner, fields),
+                scanner.status(),
+                scanner.bytes(),
+                fields.contains(LogFields.REFERER) ? scanner.referer() : null,
+                fields.contains(LogFields.AGENT) ? scanner.agent() : null
+        );
     }
 
     /**
@@ -120,24 +115,25 @@ public record Log(
     ) {
 
         /**
-         * Метод парсинга запроса из строки
+         * Метод создания запроса из просканированной строки лога
          *
-         * @param requestLine строка для парсинга
+         * @param scanner сканер с последней разобранной строкой
+         * @param fields поля, которые нужно заполнить
          *
-         * @return объект запроса или {@code null}, если строка не соответствует шаблону
+         * @return объект запроса или {@code null}, если запрос не состоит из метода, ресурса и версии
          */
         @Nullable
-        private static Request parse(String requestLine) {
-            String[] requestParts = requestLine.split(" ");
-
-            if (requestParts.length != SIZE_OF_PARAMS_REQUEST) {
+        private static Request of(LogLineScanner scanner, Set<LogFields> fields) {
+            if (!scanner.hasValidRequest()) {
                 return null;
             }
 
+            boolean wholeRequest = fields.contains(LogFields.REQUEST);
+
             return new Request(
-                    requestParts[0],
-                    requestParts[1],
-                    requestParts[2]
+                    wholeRequest || fields.contains(LogFields.METHOD) ? scanner.method() : null,
+                    wholeRequest || fields.contains(LogFields.ENDPOINT) ? scanner.endpoint() : null,
+                    wholeRequest || fields.contains(LogFields.VERSION) ? scanner.version() : null
             );
         }
 
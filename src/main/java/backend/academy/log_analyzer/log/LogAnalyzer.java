@@ -1,27 +1,37 @@
 package backend.academy.log_analyzer.log;
 
+import backend.academy.log_analyzer.enums.ExecutionModes;
+import backend.academy.log_analyzer.enums.LogFields;
 import backend.academy.log_analyzer.factory.ReaderFactory;
+import backend.academy.log_analyzer.factory.ReportMapperFactory;
 import backend.academy.log_analyzer.maper.ReportMapper;
+import backend.academy.log_analyzer.matcher.LogFilter;
 import backend.academy.log_analyzer.matcher.LogMatcherDate;
 import backend.academy.log_analyzer.matcher.LogMatcherFilter;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
+import backend.academy.log_analyzer.writer.ReportWriter;
 import com.beust.jcommander.ParameterException;
 import com.google.inject.Inject;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-import lombok.extern.slf4j.Slf4j;
 
 /**
- * Анализатор логов из заданных ридеров
+ * Анализатор логов из заданных ридеров.
+ * При количестве потоков больше одного ресурсы анализируются параллельно (см. {@link ArgsParameters#threads()}),
+ * способ выполнения можно задать явно (см. {@link ExecutionModes}).
+ * Все параллельные шаги одного анализа выполняются в общем пуле (см. {@link AnalysisPool})
  */
-@Slf4j
-public class LogAnalyzer {
-
-    private static final String READER_CLOSING_ERROR = "Во время закрытия потока чтения произошла ошибка";
+public class LogAnalyzer implements AutoCloseable {
 
     private final LogMatcherDate logMatcherDate;
     private final LogMatcherFilter logMatcherFilter;
@@ -54,53 +64,183 @@ public class LogAnalyzer {
      * @see ReaderFactory#createReaders(List)
      */
     public String analyzeLogs(ArgsParameters params) {
-        try {
-            final String[] uris = new String[1];
-
-            readers.keySet().stream()
-                .flatMap(reader -> {
-                    uris[0] = readers.get(reader).toString();
-                    return reader.lines().onClose(() -> closeQuietly(reader));
-                })
-                .map(Log::parse)
-                .filter(log -> isLogMatch(log, params))
-                .forEach(filteredLog -> report.addAllStats(filteredLog, uris[0]));
+        try (AnalysisPool pool = new AnalysisPool(params.threads())) {
+            Set<LogFields> requiredFields = getRequiredFields(params);
+            LogSourceAnalyzer sourceAnalyzer = newSourceAnalyzer(pool);
+
+            if (params.stateFile() == null) {
+                sourceAnalyzer.analyzeSources(readers, params, requiredFields);
+            } else {
+                new IncrementalLogAnalyzer(sourceAnalyzer, report).analyze(readers, params, requiredFields);
+            }
 
             if (report.getTotalCountRequests() == 0) {
-                throw new ParameterException("Во входных файлах/URL не найдено ни одного лога."
-                    + "\nПросмотренные ресурсы: "
-                    + readers.values().stream()
-                    .map(u -> "\t" + u.toString())
-                    .collect(Collectors.joining("\n"))
-                    + "\nФильтры: "
-                    + "\n\tначальная дата: " + params.from()
-                    + "\n\tконечная дата: " + params.to()
-                    + "\n\tполе для фильтрации: " + params.filterField()
-                    + "\n\tзначение: " + params.filterValue());
+                throw noLogsFound(params);
             }
 
             return reportMapper.mapLogToOutputFormat(report, params);
         } finally {
-            readers.keySet().forEach(this::closeQuietly);
+            readers.keySet().forEach(LogSources::closeQuietly);
         }
     }
 
-    private boolean isLogMatch(Log log, ArgsParameters params) {
-        return log != null
-            && logMatcherDate.isLogMatch(log.time(), params)
-            && logMatcherFilter.isLogMatchByFilter(log, params);
+    /**
+     * Метод анализа логов для нескольких отчетов из файла {@code --reports} за один проход.
+     * Каждая строка читается и разбирается один раз и передается всем отчетам, под даты и фильтры
+     * которых подходит (см. {@link LogReportFanOut}). Читаются только логи из объединения дат отчетов,
+     * а строки, которые не подходят ни под один отчет, не разбираются целиком
+     *
+     * @param params сконвертированные параметры с отчетами ({@link ArgsParameters#reports()})
+     *
+     * @return текстовые отчеты в нужных форматах в порядке из файла
+     *
+     * @throws IllegalStateException если анализатор создан без отчетов из файла
+     */
+    public Map<ReportDefinition, String> analyzeReports(ArgsParameters params) {
+        if (!(report instanceof LogReportFanOut fanOut)) {
+            throw new IllegalStateException("Анализатор создан без отчетов из файла --reports");
+        }
+
+        try (AnalysisPool pool = new AnalysisPool(params.threads())) {
+            ArgsParameters scanParams = getScanParameters(params);
+
+            newSourceAnalyzer(pool).analyzeSources(readers, scanParams, getRequiredFields(scanParams));
+
+            if (report.getTotalCountRequests() == 0) {
+                throw noLogsFound(scanParams);
+            }
+
+            Map<ReportDefinition, String> reports = new LinkedHashMap<>();
+
+            for (int i = 0; i < params.reports().size(); i++) {
+                ReportDefinition definition = params.reports().get(i);
+
+                reports.put(definition, ReportMapperFactory.getMapper(definition.parameters().format())
+                    .mapLogToOutputFormat(fanOut.reports().get(i), definition.parameters()));
+            }
+
+            return reports;
+        } finally {
+            readers.keySet().forEach(LogSources::closeQuietly);
+        }
+    }
+
+    /**
+     * Метод создания ошибки, если во входных ресурсах не нашлось ни одного подходящего лога
+     *
+     * @param params сконвертированные параметры
+     *
+     * @return ошибка с просмотренными ресурсами и фильтрами
+     */
+    private ParameterException noLogsFound(ArgsParameters params) {
+        return new ParameterException("Во входных файлах/URL не найдено ни одного лога."
+            + "\nПросмотренные ресурсы: "
+            + readers.values().stream()
+            .map(u -> "\t" + u.toString())
+            .collect(Collectors.joining("\n"))
+            + "\nФильтры: "
+            + "\n\tначальная дата: " + params.from()
+            + "\n\tконечная дата: " + params.to()
+            + "\n\tполе для фильтрации: " + params.filterField()
+            + "\n\tзначение: " + params.filterValue()
+            + (params.where() == null ? "" : "\n\tвыражение: " + params.where().expression()));
     }
 
     /**
-     * Метод "тихого" закрытия ридера (без try-catch)
+     * Метод анализа логов в режиме слежения за файлами (см. {@link ArgsParameters#follow()}).
+     * Несжатые локальные файлы остаются открытыми, и отчет выводится заново, когда в них дописываются логи.
+     * Метод работает, пока поток не будет прерван
+     *
+     * @param params сконвертированные параметры
+     * @param reportWriter способ вывода отчета
      *
-     * @param reader ридер для закрытия
+     * @throws IOException если произошла ошибка чтения файлов или вывода отчета
      */
-    private void closeQuietly(BufferedReader reader) {
-        try {
-            reader.close();
-        } catch (IOException e) {
-            log.error(READER_CLOSING_ERROR, e);
+    public void followLogs(ArgsParameters params, ReportWriter reportWriter) throws IOException {
+        try (AnalysisPool pool = new AnalysisPool(params.threads())) {
+            new FollowingLogAnalyzer(newSourceAnalyzer(pool), reportMapper, report)
+                .follow(readers, params, getRequiredFields(params), reportWriter);
+        } finally {
+            readers.keySet().forEach(LogSources::closeQuietly);
         }
     }
+
+    /**
+     * Метод закрытия анализатора: закрывает отчет, чтобы удалить сброшенные на диск группы (см. {@link LogReport#close()}).
+     * Вызывается, когда отчет уже сформирован и выведен
+     */
+    @Override
+    public void close() {
+        report.close();
+    }
+
+    /**
+     * Метод для определения полей лога, которые нужны отчету и фильтрам.
+     * Остальные поля при парсинге не превращаются в объекты
+     *
+     * @param params сконвертированные параметры
+     *
+     * @return набор нужных полей
+     */
+    private Set<LogFields> getRequiredFields(ArgsParameters params) {
+        Set<LogFields> fields = EnumSet.of(LogFields.IP, LogFields.ENDPOINT, LogFields.STATUS, LogFields.BYTES);
+
+        if (params.from() != null || params.to() != null) {
+            fields.add(LogFields.TIME);
+        }
+
+        if (params.reportSettings() != null && params.reportSettings().timeBuckets() != null) {
+            fields.add(LogFields.TIME);
+        }
+
+        if (params.reportSettings() != null && params.reportSettings().groupBy() != null) {
+            fields.addAll(params.reportSettings().groupBy().fields());
+        }
+
+        String filterField = params.filterField();
+
+        if (filterField != null && !filterField.isEmpty()) {
+            fields.add(LogFields.of(filterField));
+        }
+
+        if (params.where() != null) {
+            fields.addAll(params.where().fields());
+        }
+
+        if (params.reports() != null) {
+            params.reports().forEach(definition -> fields.addAll(getRequiredFields(definition.parameters())));
+        }
+
+        return fields;
+    }
+
+    /**
+     * Метод получения параметров чтения логов для отчетов из файла: даты - объединение дат отчетов
+     * (чтобы работал поиск диапазона дат), фильтров нет, так как каждый отчет проверяет свои
+     *
+     * @param params сконвертированные параметры с отчетами
+     *
+     * @return параметры чтения логов
+     */
+    private ArgsParameters getScanParameters(ArgsParameters params) {
+        List<ArgsParameters> reports = params.reports().stream().map(ReportDefinition::parameters).toList();
+        LocalDateTime from = reports.stream().anyMatch(report -> report.from() == null)
+            ? null
+            : reports.stream().map(ArgsParameters::from).min(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime to = reports.stream().anyMatch(report -> report.to() == null)
+            ? null
+            : reports.stream().map(ArgsParameters::to).max(Comparator.naturalOrder()).orElse(null);
+
+        return params
+            .withFrom(from)
+            .withTo(to)
+            .withFilterField("")
+            .withFilterValue("")
+            .withFilter(LogFilter.compile("", ""))
+            .withWhere(null);
+    }
+
+    private LogSourceAnalyzer newSourceAnalyzer(AnalysisPool pool) {
+        return new LogSourceAnalyzer(logMatcherDate, logMatcherFilter, report, pool);
+    }
 }
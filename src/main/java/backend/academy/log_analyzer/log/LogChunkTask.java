@@ -0,0 +1,50 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.reader.FileChunk;
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Fork-join задача анализа файла по диапазонам байт. Каждый диапазон анализируется в свой отчет (шард),
+ * отчеты соседних диапазонов сливаются через {@link LogReport#merge(LogReport)}.
+ * Статистика отчета не зависит от порядка строк, поэтому результат совпадает с последовательным анализом
+ */
+public class LogChunkTask extends RecursiveTask<LogReport> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<FileChunk> chunks;
+    private final transient Function<FileChunk, LogReport> chunkAnalyzer;
+
+    /**
+     * Конструктор задачи
+     *
+     * @param chunks диапазоны файла, выровненные по строкам
+     * @param chunkAnalyzer функция, которая анализирует строки одного диапазона и возвращает отчет по ним
+     */
+    public LogChunkTask(List<FileChunk> chunks, Function<FileChunk, LogReport> chunkAnalyzer) {
+        this.chunks = chunks;
+        this.chunkAnalyzer = chunkAnalyzer;
+    }
+
+    @Override
+    protected LogReport compute() {
+        if (chunks.size() == 1) {
+            return chunkAnalyzer.apply(chunks.getFirst());
+        }
+
+        int middle = chunks.size() / 2;
+
+        LogChunkTask left = new LogChunkTask(chunks.subList(0, middle), chunkAnalyzer);
+        LogChunkTask right = new LogChunkTask(chunks.subList(middle, chunks.size()), chunkAnalyzer);
+
+        left.fork();
+        LogReport report = right.compute();
+        report.merge(left.join());
+
+        return report;
+    }
+}
@@ -0,0 +1,132 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.reader.FileChunk;
+import backend.academy.log_analyzer.reader.FileChunkInputStream;
+import backend.academy.log_analyzer.reader.LazyInputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Части несжатых локальных файлов, которые нужно анализировать: весь файл или, если включен поиск
+ * диапазона дат (см. {@link ArgsParameters#seek()}), только часть с логами от {@code --from} до {@code --to}
+ */
+@Slf4j
+@UtilityClass
+class LogFileRanges {
+
+    /**
+     * Метод замены ридеров несжатых локальных файлов на ридеры части файла с логами от {@code --from}
+     * до {@code --to}, если включен поиск диапазона дат (см. {@link ArgsParameters#seek()}).
+     * Часть ищется только при первом чтении, поэтому ридеры, которые заменяются чтением по диапазонам
+     * или через отображение в память, файл не открывают
+     *
+     * @param sources ридеры ресурсов
+     * @param params сконвертированные параметры
+     *
+     * @return ридеры ресурсов (те же, если поиск выключен)
+     */
+    static Map<BufferedReader, URI> seekSources(Map<BufferedReader, URI> sources, ArgsParameters params) {
+        if (!isSeekEnabled(params)) {
+            return sources;
+        }
+
+        Map<BufferedReader, URI> seekedSources = new HashMap<>();
+
+        sources.forEach((reader, uri) -> {
+            if (LogSources.isPlainLocalFile(uri)) {
+                LogSources.closeQuietly(reader);
+                seekedSources.put(new BufferedReader(new InputStreamReader(
+                    new LazyInputStream(() -> openFileRange(uri, params)), StandardCharsets.UTF_8)), uri);
+            } else {
+                seekedSources.put(reader, uri);
+            }
+        });
+
+        return seekedSources;
+    }
+
+    /**
+     * Метод открытия потока чтения части файла, которую нужно анализировать (см. {@link #fileRange}).
+     * Закрытие потока закрывает файл
+     *
+     * @param uri URI файла
+     * @param params сконвертированные параметры
+     *
+     * @return поток чтения части файла
+     *
+     * @throws IOException если не удалось прочитать файл
+     */
+    private static InputStream openFileRange(URI uri, ArgsParameters params) throws IOException {
+        FileChannel channel = LogSources.openFile(uri);
+
+        try {
+            return new FilterInputStream(new FileChunkInputStream(channel, fileRange(channel, uri, params))) {
+                @Override
+                public void close() throws IOException {
+                    channel.close();
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Метод получения части несжатого локального файла, которую нужно анализировать. Если включен поиск
+     * диапазона дат, часть с логами от {@code --from} до {@code --to} (с запасом на логи, записанные
+     * не по порядку) находится двоичным поиском (см. {@link LogTimeSeeker}), иначе анализируется весь файл
+     *
+     * @param channel канал файла
+     * @param uri URI файла
+     * @param params сконвертированные параметры
+     *
+     * @return часть файла, выровненная по строкам
+     *
+     * @throws IOException если произошла ошибка чтения файла
+     */
+    static FileChunk fileRange(FileChannel channel, URI uri, ArgsParameters params) throws IOException {
+        if (!isSeekEnabled(params)) {
+            return new FileChunk(0, channel.size());
+        }
+
+        long slack = params.seek().slack().toSeconds();
+        FileChunk range = LogTimeSeeker.findRange(
+            channel,
+            params.from() == null
+                ? LogTimeSeeker.UNBOUNDED_FROM
+                : params.from().toEpochSecond(ZoneOffset.UTC) - slack,
+            params.to() == null
+                ? LogTimeSeeker.UNBOUNDED_TO
+                : params.to().toEpochSecond(ZoneOffset.UTC) + slack
+        );
+
+        log.info("Файл {}: для заданных дат анализируются байты с {} по {} из {}",
+            uri, range.start(), range.end(), channel.size());
+
+        return range;
+    }
+
+    /**
+     * Проверка, что нужно искать в файлах часть с логами из заданных дат
+     *
+     * @param params сконвертированные параметры
+     *
+     * @return {@code true}, если поиск включен и задана хотя бы одна дата, иначе {@code false}
+     */
+    private static boolean isSeekEnabled(ArgsParameters params) {
+        return params.seek() != null && params.seek().enabled() && (params.from() != null || params.to() != null);
+    }
+}
@@ -0,0 +1,486 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import java.time.LocalDateTime;
+
+/**
+ * Однопроходный сканер строки лога формата NGINX (combined).
+ * <p>
+ * Находит границы всех полей за один проход по строке без регулярных выражений и возвратов,
+ * сразу разбирает числовые поля (код ответа и размер ответа), а строковые поля превращает в объекты
+ * только по запросу. Повторяющиеся значения строковых полей берутся из словаря (см. {@link StringDictionary}).
+ * Экземпляр переиспользуется для всех строк и не потокобезопасен
+ */
+public final class LogLineScanner {
+
+    private static final int NOT_FOUND = -1;
+    private static final int STATUS_LENGTH = 3;
+    private static final int DECIMAL_BASE = 10;
+    private static final char QUOTE = '"';
+    private static final char SPACE = ' ';
+    private static final char VERTICAL_TAB = 0x0B;
+    private static final char NEXT_LINE = 0x85;
+    private static final char LINE_SEPARATOR = 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = 0x2029;
+    private static final int DICTIONARY_CAPACITY = 1 << 12;
+    private static final int DICTIONARY_MAX_LENGTH = 512;
+
+    private final TimeLocalDecoder timeDecoder = new TimeLocalDecoder();
+    private final FieldView fieldView = new FieldView();
+    private final StringDictionary dictionary = new StringDictionary(DICTIONARY_CAPACITY, DICTIONARY_MAX_LENGTH);
+    private final StringBuilder numberText = new StringBuilder();
+
+    private CharSequence line;
+    private int length;
+
+    private int ipStart;
+    private int ipEnd;
+    private int userStart;
+    private int userEnd;
+    private int timeStart;
+    private int timeEnd;
+    private int requestStart;
+    private int requestEnd;
+    private int refererStart;
+    private int refererEnd;
+    private int agentStart;
+    private int agentEnd;
+
+    private boolean requestValid;
+    private int methodEnd;
+    private int endpointStart;
+    private int endpointEnd;
+    private int versionStart;
+    private int versionEnd;
+
+    private int status;
+    private int bytes;
+
+    /**
+     * Метод сканирования строки лога. Результат доступен через методы-аксессоры до следующего вызова
+     *
+     * @param logLine строка для сканирования
+     *
+     * @return {@code true}, если строка соответствует формату, иначе {@code false}
+     */
+    public boolean scan(CharSequence logLine) {
+        line = logLine;
+        length = logLine.length();
+
+        ipStart = 0;
+        ipEnd = token(ipStart);
+        if (ipEnd == NOT_FOUND) {
+            return false;
+        }
+
+        userStart = skipSpaces(ipEnd);
+        userEnd = token(userStart);
+        if (userEnd == NOT_FOUND) {
+            return false;
+        }
+
+        int remoteUserEnd = token(skipSpaces(userEnd));
+        if (remoteUserEnd == NOT_FOUND) {
+            return false;
+        }
+
+        int requestQuote = scanTime(skipSpaces(remoteUserEnd));
+        if (requestQuote == NOT_FOUND) {
+            return false;
+        }
+
+        int refererQuote = scanRequest(requestQuote);
+
+        return refererQuote != NOT_FOUND && scanRefererAndAgent(refererQuote);
+    }
+
+    /**
+     * Метод поиска конца поля без пробельных символов, за которым обязательно идет пробельный символ
+     *
+     * @param from начало поля
+     *
+     * @return индекс конца поля или {@link #NOT_FOUND}, если поле пустое или за ним нет пробела
+     */
+    private int token(int from) {
+        int end = from;
+
+        while (end < length && !isSpace(line.charAt(end))) {
+            end++;
+        }
+
+        if (end == from || end == length) {
+            return NOT_FOUND;
+        }
+
+        return end;
+    }
+
+    /**
+     * Метод сканирования времени в квадратных скобках
+     *
+     * @param from индекс открывающей скобки
+     *
+     * @return индекс открывающей кавычки запроса или {@link #NOT_FOUND}
+     */
+    private int scanTime(int from) {
+        if (from >= length || line.charAt(from) != '[') {
+            return NOT_FOUND;
+        }
+
+        timeStart = from + 1;
+
+        for (int i = timeStart; i < length; i++) {
+            char c = line.charAt(i);
+
+            if (c == ']') {
+                int next = skipSpaces(i + 1);
+
+                if (next > i + 1 && next < length && line.charAt(next) == QUOTE) {
+                    timeEnd = i;
+                    return next;
+                }
+            } else if (isLineTerminator(c)) {
+                return NOT_FOUND;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Метод сканирования запроса в кавычках, кода ответа и размера ответа
+     *
+     * @param from индекс открывающей кавычки запроса
+     *
+     * @return индекс открывающей кавычки referer или {@link #NOT_FOUND}
+     */
+    private int scanRequest(int from) {
+        requestStart = from + 1;
+
+        for (int i = requestStart; i < length; i++) {
+            char c = line.charAt(i);
+
+            if (c == QUOTE) {
+                int next = scanStatusAndBytes(i + 1);
+
+                if (next != NOT_FOUND) {
+                    requestEnd = i;
+                    splitRequest();
+                    return next;
+                }
+            } else if (isLineTerminator(c)) {
+                return NOT_FOUND;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Метод сканирования кода ответа (ровно 3 цифры) и размера ответа
+     *
+     * @param from индекс сразу после закрывающей кавычки запроса
+     *
+     * @return индекс открывающей кавычки referer или {@link #NOT_FOUND}
+     */
+    private int scanStatusAndBytes(int from) {
+        int statusStart = skipSpaces(from);
+        int statusEnd = statusStart + STATUS_LENGTH;
+
+        if (statusStart == from || statusEnd >= length || !isSpace(line.charAt(statusEnd))) {
+            return NOT_FOUND;
+        }
+
+        int parsedStatus = 0;
+        for (int i = statusStart; i < statusEnd; i++) {
+            int digit = digit(line.charAt(i));
+
+            if (digit == NOT_FOUND) {
+                return NOT_FOUND;
+            }
+
+            parsedStatus = parsedStatus * DECIMAL_BASE + digit;
+        }
+
+        int bytesStart = skipSpaces(statusEnd);
+        int bytesEnd = bytesStart;
+        long parsedBytes = 0;
+
+        while (bytesEnd < length && digit(line.charAt(bytesEnd)) != NOT_FOUND) {
+            parsedBytes = parsedBytes * DECIMAL_BASE + digit(line.charAt(bytesEnd));
+
+            if (parsedBytes > Integer.MAX_VALUE) {
+                return NOT_FOUND;
+            }
+
+            bytesEnd++;
+        }
+
+        int refererQuote = skipSpaces(bytesEnd);
+
+        if (bytesEnd == bytesStart || refererQuote == bytesEnd
+            || refererQuote >= length || line.charAt(refererQuote) != QUOTE) {
+            return NOT_FOUND;
+        }
+
+        status = parsedStatus;
+        bytes = (int) parsedBytes;
+
+        return refererQuote;
+    }
+
+    /**
+     * Метод сканирования referer и user agent. Строка должна заканчиваться кавычкой user agent
+     *
+     * @param from индекс открывающей кавычки referer
+     *
+     * @return {@code true}, если оба поля найдены, иначе {@code false}
+     */
+    private boolean scanRefererAndAgent(int from) {
+        int last = length - 1;
+
+        if (last <= from || line.charAt(last) != QUOTE) {
+            return false;
+        }
+
+        refererStart = from + 1;
+
+        for (int i = refererStart; i < last; i++) {
+            char c = line.charAt(i);
+
+            if (c == QUOTE) {
+                int agentQuote = skipSpaces(i + 1);
+
+                if (agentQuote > i + 1 && agentQuote < last && line.charAt(agentQuote) == QUOTE) {
+                    refererEnd = i;
+                    agentStart = agentQuote + 1;
+                    agentEnd = last;
+                    return !containsLineTerminator(agentStart, agentEnd);
+                }
+            } else if (isLineTerminator(c)) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Метод разбиения запроса на метод, ресурс и версию по одиночным пробелам
+     * (повторяет поведение {@code String.split(" ")}: части ровно три, хвостовые пробелы отбрасываются)
+     */
+    private void splitRequest() {
+        int end = requestEnd;
+
+        while (end > requestStart && line.charAt(end - 1) == SPACE) {
+            end--;
+        }
+
+        int firstSpace = NOT_FOUND;
+        int secondSpace = NOT_FOUND;
+
+        for (int i = requestStart; i < end; i++) {
+            if (line.charAt(i) == SPACE) {
+                if (firstSpace == NOT_FOUND) {
+                    firstSpace = i;
+                } else if (secondSpace == NOT_FOUND) {
+                    secondSpace = i;
+                } else {
+                    requestValid = false;
+                    return;
+                }
+            }
+        }
+
+        requestValid = secondSpace != NOT_FOUND;
+        methodEnd = firstSpace;
+        endpointStart = firstSpace + 1;
+        endpointEnd = secondSpace;
+        versionStart = secondSpace + 1;
+        versionEnd = end;
+    }
+
+    private int skipSpaces(int from) {
+        int i = from;
+
+        while (i < length && isSpace(line.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private boolean containsLineTerminator(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (isLineTerminator(line.charAt(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Пробельный символ в смысле {@code \s} регулярных выражений Java
+     */
+    private static boolean isSpace(char c) {
+        return c == SPACE || c == '\t' || c == '\n' || c == VERTICAL_TAB || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Символ конца строки, который не совпадает с {@code .} в регулярных выражениях Java
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == NEXT_LINE || c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR;
+    }
+
+    private static int digit(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : NOT_FOUND;
+    }
+
+    private String text(int start, int end) {
+        return line.subSequence(start, end).toString();
+    }
+
+    private String value(int start, int end) {
+        return dictionary.get(line, start, end);
+    }
+
+    public String ip() {
+        return value(ipStart, ipEnd);
+    }
+
+    public String user() {
+        return value(userStart, userEnd);
+    }
+
+    public String timeLocal() {
+        return text(timeStart, timeEnd);
+    }
+
+    /**
+     * Время создания лога в секундах от начала эпохи по часам сервера (без учета часового пояса)
+     *
+     * @return количество секунд
+     *
+     * @see TimeLocalDecoder#decodeEpochSecond(CharSequence, int, int)
+     */
+    public long timeLocalEpochSecond() {
+        return timeDecoder.decodeEpochSecond(line, timeStart, timeEnd);
+    }
+
+    /**
+     * Время создания лога по часам сервера. Для строк с одинаковой секундой возвращается один объект
+     *
+     * @return время создания лога
+     *
+     * @see TimeLocalDecoder#decodeLocalDateTime(CharSequence, int, int)
+     */
+    public LocalDateTime timeLocalDateTime() {
+        return timeDecoder.decodeLocalDateTime(line, timeStart, timeEnd);
+    }
+
+    /**
+     * Проверка, что запрос состоит ровно из трех частей: метода, ресурса и версии
+     *
+     * @return {@code true}, если запрос корректный, иначе {@code false}
+     */
+    public boolean hasValidRequest() {
+        return requestValid;
+    }
+
+    public String method() {
+        return value(requestStart, methodEnd);
+    }
+
+    public String endpoint() {
+        return value(endpointStart, endpointEnd);
+    }
+
+    public String version() {
+        return value(versionStart, versionEnd);
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public int bytes() {
+        return bytes;
+    }
+
+    public String referer() {
+        return value(refererStart, refererEnd);
+    }
+
+    public String agent() {
+        return value(agentStart, agentEnd);
+    }
+
+    /**
+     * Значение поля в том виде, в котором оно сравнивается с фильтром (как у полей {@link Log}),
+     * без разбора остальных полей. Строковые поля возвращаются представлением участка строки без копирования.
+     * Значение действительно до следующего вызова этого метода или {@link #scan(CharSequence)}
+     *
+     * @param field поле лога
+     *
+     * @return значение поля или {@code null}, если поля нет (например, запрос не из трех частей)
+     */
+    public CharSequence fieldValue(LogFields field) {
+        return switch (field) {
+            case IP -> fieldView.reset(ipStart, ipEnd);
+            case USER -> fieldView.reset(userStart, userEnd);
+            case TIME -> timeLocalDateTime().toString();
+            case REQUEST -> requestValid ? fieldView.reset(requestStart, versionEnd) : null;
+            case STATUS -> number(status);
+            case BYTES -> number(bytes);
+            case REFERER -> fieldView.reset(refererStart, refererEnd);
+            case AGENT -> fieldView.reset(agentStart, agentEnd);
+            case METHOD -> requestValid ? fieldView.reset(requestStart, methodEnd) : null;
+            case ENDPOINT -> requestValid ? fieldView.reset(endpointStart, endpointEnd) : null;
+            case VERSION -> requestValid ? fieldView.reset(versionStart, versionEnd) : null;
+        };
+    }
+
+    private CharSequence number(int value) {
+        numberText.setLength(0);
+
+        return numberText.append(value);
+    }
+
+    /**
+     * Представление участка текущей строки без копирования символов
+     */
+    private final class FieldView implements CharSequence {
+
+        private int start;
+        private int end;
+
+        private FieldView reset(int newStart, int newEnd) {
+            this.start = newStart;
+            this.end = newEnd;
+
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return line.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int subStart, int subEnd) {
+            return line.subSequence(start + subStart, start + subEnd);
+        }
+
+        @Override
+        public String toString() {
+            return text(start, end);
+        }
+    }
+}
@@ -1,51 +1,89 @@
 package backend.academy.log_analyzer.log;
 
 import backend.academy.log_analyzer.enums.HttpCodes;
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import backend.academy.log_analyzer.parameter.GroupBySettings;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import backend.academy.log_analyzer.stat.GroupAggregator;
+import backend.academy.log_analyzer.stat.PercentileHistogram;
+import backend.academy.log_analyzer.stat.SpaceSaving;
+import backend.academy.log_analyzer.stat.TimeSeries;
+import backend.academy.log_analyzer.stat.UniqueCounter;
+import backend.academy.log_analyzer.util.DataStrings;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.EnumMap;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 import lombok.Getter;
 
 /**
  * Класс со статистикой проанализированных логов. По нему формируется отчет
  */
-public class LogReport {
+public class LogReport implements AutoCloseable {
 
-    private static final int MAX_SIZE_FOR_STAT = 3;
     private static final double PERCENTILE_FACTOR = .95;
     private static final int SUCCESSFUL_RESPONSES = 200;
-    private static final int REDIRECTION_RESPONSES = 300;
     private static final int CLIENT_ERROR = 400;
     private static final int SERVER_ERROR = 500;
     private static final int CODE_FACTOR = 100;
+    private static final int[] CODE_TYPES = {SUCCESSFUL_RESPONSES, CLIENT_ERROR, SERVER_ERROR};
+    /**
+     * Индекс счетчика для кодов вне диапазона {@code 0..999} (совпадает с кодом {@link HttpCodes#UNKNOWN})
+     */
+    private static final int OTHER_CODES_INDEX = HttpCodes.UNKNOWN.code();
 
     /**
-     * Запрашиваемые ресурсы и их количество
+     * Настройки сбора статистики
+     */
+    private final ReportSettings settings;
+
+    /**
+     * Запрашиваемые ресурсы и их количество (самые частые, с ограниченным количеством счетчиков)
+     */
+    private final SpaceSaving<String> requestedResources;
+    /**
+     * Количество ответов по коду: индекс - код ответа, коды вне {@code 0..999} считаются
+     * в {@link #OTHER_CODES_INDEX}. Счетчик есть у каждого кода, в том числе у нестандартных
+     * (например, 499 у NGINX), а типы кодов собираются только при построении отчета
      */
-    private final Map<String, Long> requestedResources = new HashMap<>();
+    private final long[] codeResponses = new long[OTHER_CODES_INDEX + 1];
     /**
-     * Все коды ответов и их количество
+     * Распределение размеров ответов (для перцентилей)
      */
-    private final Map<HttpCodes, Long> codeResponses = new EnumMap<>(HttpCodes.class);
+    private final PercentileHistogram bytesSizes = new PercentileHistogram();
+    /**
+     * Суммарный размер ответов
+     */
+    private long totalBytesSize;
+
+    /**
+     * Уникальные пользователи (точно до заданного предела, дальше - оценка)
+     */
+    private final UniqueCounter uniqueUsers;
+
     /**
-     * Все размеры ответов
+     * Временной ряд статистики по интервалам ({@code null}, если ряд не собирается)
      */
-    private final List<Long> bytesSizes = new ArrayList<>();
+    private final TimeSeries timeSeries;
 
     /**
-     * Количество ответов по типу кода (200, 400 и 500)
+     * Статистика по группам ({@code null}, если группы не собираются)
      */
-    private final Map<Integer, Double> codeResponsesByType = new HashMap<>();
+    private final GroupAggregator groups;
     /**
-     * Уникальные пользователи
+     * Функция получения ключа группы лога ({@code null}, если группы не собираются)
      */
-    private final Set<String> uniqueUsers = new HashSet<>();
+    private final Function<Log, String> groupKey;
 
     /**
      * Ресурсы, из которых успешно прочитался хотя бы один лог
@@ -54,12 +92,196 @@ public class LogReport {
     private final Set<String> resources = new HashSet<>();
 
     /**
-     * Флаг, что процентные соотношения кодов ответа уже посчитаны
+     * Конструктор отчета с настройками по умолчанию
+     */
+    public LogReport() {
+        this(ReportSettings.DEFAULT);
+    }
+
+    /**
+     * Конструктор
+     *
+     * @param settings настройки сбора статистики
+     */
+    public LogReport(ReportSettings settings) {
+        this(settings, settings.groupBy() == null
+            ? null
+            : new GroupAggregator(settings.groupBy().memoryLimit(), settings.groupBy().spillDirectory()));
+    }
+
+    /**
+     * Конструктор
+     *
+     * @param settings настройки сбора статистики
+     * @param groups статистика по группам ({@code null}, если группы не собираются)
+     */
+    private LogReport(ReportSettings settings, GroupAggregator groups) {
+        this.settings = settings;
+        this.requestedResources = new SpaceSaving<>(settings.topResourcesCapacity());
+        this.uniqueUsers = new UniqueCounter(settings.uniqueUsersExactLimit(), settings.hllPrecision());
+        this.timeSeries = settings.timeBuckets() == null
+            ? null
+            : new TimeSeries(settings.timeBuckets().seconds(), settings.timeSeriesCapacity());
+        this.groups = groups;
+        this.groupKey = groups == null ? null : groupKey(settings.groupBy().fields());
+    }
+
+    /**
+     * Метод создания пустого отчета для отдельного потока (шарда).
+     * Шарды заполняются независимо и затем сливаются в основной отчет через {@link #merge(LogReport)}.
+     * Бюджет памяти статистики по группам у шардов общий с основным отчетом
+     *
+     * @return новый пустой отчет с теми же настройками
+     */
+    public LogReport newShard() {
+        return new LogReport(settings, groups == null ? null : groups.newShard());
+    }
+
+    /**
+     * Метод слияния статистики другого отчета (шарда) с текущим. Другой отчет не изменяется, кроме статистики
+     * по группам: сброшенные на диск группы переходят к текущему отчету (см. {@link GroupAggregator#merge}),
+     * поэтому после слияния другой отчет не используется
+     *
+     * @param other отчет, статистика которого добавляется к текущей
+     */
+    public void merge(LogReport other) {
+        bytesSizes.merge(other.bytesSizes);
+        totalBytesSize += other.totalBytesSize;
+        requestedResources.merge(other.requestedResources);
+
+        for (int code = 0; code < codeResponses.length; code++) {
+            codeResponses[code] += other.codeResponses[code];
+        }
+
+        uniqueUsers.merge(other.uniqueUsers);
+        resources.addAll(other.resources);
+
+        if (timeSeries != null) {
+            timeSeries.merge(other.timeSeries);
+        }
+
+        if (groups != null) {
+            groups.merge(other.groups);
+        }
+    }
+
+    /**
+     * Метод закрытия отчета: удаляет сброшенные на диск группы, в том числе группы шардов,
+     * которые не были слиты с отчетом (см. {@link GroupAggregator#close()})
      */
-    private boolean isPercentOfCodeCalculated = false;
+    @Override
+    public void close() {
+        if (groups != null) {
+            groups.close();
+        }
+    }
 
     /**
-     * Метод добавления всей статистики
+     * Метод записи накопленной статистики в компактном двоичном виде. Настройки не записываются:
+     * отчет читается с теми же настройками (см. {@link #readFrom(DataInput, ReportSettings)})
+     *
+     * @param output двоичный поток
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        bytesSizes.writeTo(output);
+        output.writeLong(totalBytesSize);
+        requestedResources.writeTo(output, DataStrings::write);
+
+        output.writeInt((int) Arrays.stream(codeResponses).filter(count -> count != 0).count());
+
+        for (int code = 0; code < codeResponses.length; code++) {
+            if (codeResponses[code] != 0) {
+                output.writeShort(code);
+                output.writeLong(codeResponses[code]);
+            }
+        }
+
+        uniqueUsers.writeTo(output);
+
+        output.writeInt(resources.size());
+
+        for (String resource : resources) {
+            DataStrings.write(output, resource);
+        }
+
+        output.writeBoolean(timeSeries != null);
+
+        if (timeSeries != null) {
+            timeSeries.writeTo(output);
+        }
+
+        output.writeBoolean(groups != null);
+
+        if (groups != null) {
+            groups.writeTo(output);
+        }
+    }
+
+    /**
+     * Метод чтения статистики, записанной {@link #writeTo(DataOutput)}
+     *
+     * @param input двоичный поток
+     * @param settings настройки, с которыми статистика собиралась
+     *
+     * @return отчет с прочитанной статистикой
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public static LogReport readFrom(DataInput input, ReportSettings settings) throws IOException {
+        LogReport report = new LogReport(settings);
+
+        report.bytesSizes.merge(PercentileHistogram.readFrom(input));
+        report.totalBytesSize = input.readLong();
+        report.requestedResources.merge(SpaceSaving.readFrom(input, DataStrings::read));
+
+        int codesCount = input.readInt();
+
+        for (int i = 0; i < codesCount; i++) {
+            int code = input.readUnsignedShort();
+
+            if (code >= report.codeResponses.length) {
+                throw new IOException("Неизвестный код ответа в сохраненной статистике: " + code);
+            }
+
+            report.codeResponses[code] = input.readLong();
+        }
+
+        report.uniqueUsers.merge(UniqueCounter.readFrom(input));
+
+        int resourcesCount = input.readInt();
+
+        for (int i = 0; i < resourcesCount; i++) {
+            report.resources.add(DataStrings.read(input));
+        }
+
+        if (input.readBoolean() != (report.timeSeries != null)) {
+            throw new IOException("Временной ряд в сохраненной статистике не соответствует настройкам");
+        }
+
+        if (report.timeSeries != null) {
+            try {
+                report.timeSeries.merge(TimeSeries.readFrom(input));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Временной ряд в сохраненной статистике не соответствует настройкам", e);
+            }
+        }
+
+        if (input.readBoolean() != (report.groups != null)) {
+            throw new IOException("Статистика по группам в сохраненной статистике не соответствует настройкам");
+        }
+
+        if (report.groups != null) {
+            report.groups.mergeFrom(input);
+        }
+
+        return report;
+    }
+
+    /**
+     * Метод добавления всей статистики. Счетчики хранятся в примитивных массивах и структурах,
+     * поэтому добавление уже встречавшихся значений не создает объектов
      *
      * @param log лог
      * @param resourceUri ресурс, откуда получен лог
@@ -67,10 +289,11 @@ public class LogReport {
     public void addAllStats(Log log, String resourceUri) {
         addByteSize(log.bytes());
         addRequestedResource(log.request().endpoint());
-        addCodeResponses(HttpCodes.of(log.status()));
-        addCodeResponsesByType(log.status());
+        addCodeResponse(log.status());
         addUser(log.ip());
         addResource(resourceUri);
+        addToTimeSeries(log);
+        addToGroup(log);
     }
 
     /**
@@ -80,6 +303,7 @@ public class LogReport {
      */
     private void addByteSize(long byteSize) {
         bytesSizes.add(byteSize);
+        totalBytesSize += byteSize;
     }
 
     /**
@@ -87,29 +311,16 @@ public class LogReport {
      * @param resourceName эндпоинт (запрашиваемый ресурс)
      */
     private void addRequestedResource(String resourceName) {
-        requestedResources.merge(resourceName, 1L, Long::sum);
+        requestedResources.add(resourceName);
     }
 
     /**
-     * Метод добавления/обновления счетчика кодов ответа сервера
-     *
-     * @param httpCodes код ответа сервера
-     */
-    private void addCodeResponses(HttpCodes httpCodes) {
-        codeResponses.merge(httpCodes, 1L, Long::sum);
-    }
-
-    /**
-     * Метод добавления/обновления счетчика 200-х, 400-х и 500-х кодов ответа сервера
+     * Метод обновления счетчика кодов ответа сервера
      *
      * @param httpCode код ответа сервера
      */
-    private void addCodeResponsesByType(int httpCode) {
-        int code = httpCode / CODE_FACTOR * CODE_FACTOR;
-
-        if (code != REDIRECTION_RESPONSES) {
-            codeResponsesByType.merge(code, 1.0, Double::sum);
-        }
+    private void addCodeResponse(int httpCode) {
+        codeResponses[httpCode >= 0 && httpCode < OTHER_CODES_INDEX ? httpCode : OTHER_CODES_INDEX]++;
     }
 
     /**
@@ -130,48 +341,135 @@ public class LogReport {
         resources.add(resourcePath);
     }
 
+    /**
+     * Метод добавления лога во временной ряд, если ряд собирается. Логи без времени не учитываются
+     *
+     * @param log лог
+     */
+    private void addToTimeSeries(Log log) {
+        if (timeSeries != null && log.time() != null) {
+            timeSeries.add(log.time().toEpochSecond(ZoneOffset.UTC), log.bytes(), log.status());
+        }
+    }
+
+    /**
+     * Метод добавления лога в его группу, если группы собираются
+     *
+     * @param log лог
+     */
+    private void addToGroup(Log log) {
+        if (groups != null) {
+            groups.add(groupKey.apply(log), log.bytes(), log.status());
+        }
+    }
+
+    /**
+     * Метод создания функции получения ключа группы: значения полей через
+     * {@link GroupAggregator#KEY_SEPARATOR}, отсутствующие значения заменяются на {@code -}
+     *
+     * @param fields поля ключа
+     *
+     * @return функция получения ключа группы лога
+     */
+    private static Function<Log, String> groupKey(List<LogFields> fields) {
+        List<Function<Log, String>> accessors = fields.stream().map(LogFilter::accessor).toList();
+
+        if (accessors.size() == 1) {
+            Function<Log, String> accessor = accessors.getFirst();
+
+            return log -> valueOrDash(accessor.apply(log));
+        }
+
+        return log -> {
+            StringBuilder key = new StringBuilder();
+
+            for (Function<Log, String> accessor : accessors) {
+                if (!key.isEmpty()) {
+                    key.append(GroupAggregator.KEY_SEPARATOR);
+                }
+
+                key.append(valueOrDash(accessor.apply(log)));
+            }
+
+            return key.toString();
+        };
+    }
+
+    private static String valueOrDash(String value) {
+        return value == null ? "-" : value;
+    }
+
     public long getTotalCountRequests() {
-        return bytesSizes.size();
+        return bytesSizes.count();
+    }
+
+    /**
+     * Получить размер топов
+     *
+     * @return максимальное количество элементов в топах ресурсов и кодов ответа
+     */
+    public int getTopSize() {
+        return settings.topSize();
     }
 
     /**
-     * Получить топ-3 запрашиваемых ресурсов
+     * Получить топ запрашиваемых ресурсов
      *
-     * @return список пар ключ-значение для 3-х или менее ресурсов
+     * @return список пар ключ-значение для {@link #getTopSize()} или менее ресурсов
      */
     public List<Entry<String, Long>> getPopularResources() {
-        return requestedResources.entrySet().stream()
-            .sorted(Entry.<String, Long>comparingByValue().reversed())
-            .limit(MAX_SIZE_FOR_STAT)
-            .toList();
+        return requestedResources.getTop(settings.topSize());
     }
 
     /**
-     * Получить топ-3 кодов ответа
+     * Проверка, что количество запросов ресурсов в топе является оценкой. Это происходит, когда различных
+     * ресурсов больше, чем счетчиков. Оценка может быть завышена не больше чем на
+     * {@link #getPopularResourcesMaxError()}
      *
-     * @return список пар ключ-значение для 3-х или менее кодов
+     * @return {@code true}, если количество оценено, иначе {@code false}
      */
-    public List<Entry<HttpCodes, Long>> getPopularCodeResponses() {
-        return codeResponses.entrySet().stream()
-            .sorted(Entry.<HttpCodes, Long>comparingByValue().reversed())
-            .limit(MAX_SIZE_FOR_STAT)
-            .toList();
+    public boolean isPopularResourcesEstimated() {
+        return !requestedResources.isExact();
     }
 
     /**
-     * Получить средний размер ответов
+     * Получить максимальную погрешность количества запросов ресурсов
      *
-     * @return средний размер ответов
+     * @return на сколько может быть завышено количество запросов ресурса
      */
-    public long getAverageBytesSize() {
-        long totalByteSize = 0;
-        for (long byteSize : bytesSizes) {
-            totalByteSize += byteSize;
+    public long getPopularResourcesMaxError() {
+        return requestedResources.maxError();
+    }
+
+    /**
+     * Получить топ кодов ответа. Коды не объединяются по {@link HttpCodes}: описание кода
+     * берется через {@link HttpCodes#of(int)} при выводе отчета
+     *
+     * @return список пар код-количество для {@link #getTopSize()} или менее кодов
+     * (при равном количестве - по возрастанию кода)
+     */
+    public List<Entry<Integer, Long>> getPopularCodeResponses() {
+        List<Entry<Integer, Long>> codes = new ArrayList<>();
+
+        for (int code = 0; code < codeResponses.length; code++) {
+            if (codeResponses[code] != 0) {
+                codes.add(Map.entry(code, codeResponses[code]));
+            }
         }
 
-        long totalCountRequests = bytesSizes.size();
+        return codes.stream()
+            .sorted(Entry.<Integer, Long>comparingByValue().reversed())
+            .limit(settings.topSize())
+            .toList();
+    }
 
-        return totalByteSize / totalCountRequests;
+    /**
+     * Получить средний размер ответов
+     *
+     * @return средний размер ответов ({@code 0}, если логов нет)
+     */
+    public long getAverageBytesSize() {
+        return bytesSizes.count() == 0 ? 0 : totalBytesSize / bytesSizes.count();
     }
 
     /**
@@ -180,11 +478,21 @@ public class LogReport {
      * @return 95% перцентиль размера ответа
      */
     public long get95thPercentile() {
-        Collections.sort(bytesSizes);
-
-        int index = (int) Math.ceil(PERCENTILE_FACTOR * bytesSizes.size()) - 1;
+        return getPercentile(PERCENTILE_FACTOR);
+    }
 
-        return bytesSizes.get(index);
+    /**
+     * Получить перцентиль размера ответа. До {@link PercentileHistogram#DEFAULT_EXACT_THRESHOLD} запросов
+     * перцентиль точный, дальше - с относительной погрешностью не больше 1/128
+     *
+     * @param percentile доля от 0 до 1 (например, {@code 0.99})
+     *
+     * @return перцентиль размера ответа
+     *
+     * @see PercentileHistogram
+     */
+    public long getPercentile(double percentile) {
+        return bytesSizes.getPercentile(percentile);
     }
 
     /**
@@ -193,31 +501,115 @@ public class LogReport {
      * @return пары ключ-значение для типов кодов ответа
      */
     public Map<Integer, Double> getPercentOfCodeResponsesByType() {
-        if (!isPercentOfCodeCalculated) {
-            int totalCountRequests = bytesSizes.size();
+        Map<Integer, Double> percentOfCodeResponses = new HashMap<>();
+
+        for (int type : CODE_TYPES) {
+            percentOfCodeResponses.put(type, getPercentOfCodeResponses(type));
+        }
 
-            codeResponsesByType.put(SUCCESSFUL_RESPONSES,
-                (codeResponsesByType.getOrDefault(SUCCESSFUL_RESPONSES, 0.0)
-                / totalCountRequests * CODE_FACTOR));
-            codeResponsesByType.put(CLIENT_ERROR,
-                (codeResponsesByType.getOrDefault(CLIENT_ERROR, 0.0)
-                / totalCountRequests * CODE_FACTOR));
-            codeResponsesByType.put(SERVER_ERROR,
-                (codeResponsesByType.getOrDefault(SERVER_ERROR, 0.0)
-                / totalCountRequests * CODE_FACTOR));
+        return percentOfCodeResponses;
+    }
 
-            isPercentOfCodeCalculated = true;
+    /**
+     * Получить процент ответов с заданным типом кода
+     *
+     * @param type тип кода ответа (200, 400 или 500)
+     *
+     * @return процент ответов ({@code 0}, если логов нет)
+     */
+    private double getPercentOfCodeResponses(int type) {
+        if (bytesSizes.count() == 0) {
+            return 0;
+        }
+
+        long count = 0;
+
+        for (int code = type; code < type + CODE_FACTOR; code++) {
+            count += codeResponses[code];
         }
 
-        return codeResponsesByType;
+        return (double) count / bytesSizes.count() * CODE_FACTOR;
     }
 
     /**
      * Получить количество уникальных юзеров (по IP)
      *
-     * @return количество уникальных юзеров
+     * @return количество уникальных юзеров (точное или оценка, см. {@link #isUniqueUsersCountEstimated()})
      */
     public long getUniqueUsersCount() {
-        return uniqueUsers.size();
+        return uniqueUsers.count();
+    }
+
+    /**
+     * Проверка, что количество уникальных юзеров является оценкой HyperLogLog, а не точным значением
+     *
+     * @return {@code true}, если количество оценено, иначе {@code false}
+     */
+    public boolean isUniqueUsersCountEstimated() {
+        return uniqueUsers.isEstimated();
+    }
+
+    /**
+     * Проверка, что собирается временной ряд статистики
+     *
+     * @return {@code true}, если ряд собирается, иначе {@code false}
+     */
+    public boolean isTimeSeriesEnabled() {
+        return timeSeries != null;
+    }
+
+    /**
+     * Получить название длины интервала временного ряда
+     *
+     * @return название интервала (например, {@code 5m}) или {@code null}, если ряд не собирается
+     */
+    public String getTimeBucketName() {
+        return timeSeries == null ? null : settings.timeBuckets().bucketName();
+    }
+
+    /**
+     * Получить интервалы временного ряда
+     *
+     * @return непустые интервалы по возрастанию времени или пустой список, если ряд не собирается
+     */
+    public List<TimeSeries.Bucket> getTimeSeries() {
+        return timeSeries == null ? List.of() : timeSeries.buckets();
+    }
+
+    /**
+     * Получить количество логов, которые раньше самого раннего хранимого интервала временного ряда
+     *
+     * @return количество логов вне окна временного ряда
+     */
+    public long getTimeSeriesDropped() {
+        return timeSeries == null ? 0 : timeSeries.dropped();
+    }
+
+    /**
+     * Проверка, что собирается статистика по группам
+     *
+     * @return {@code true}, если группы собираются, иначе {@code false}
+     */
+    public boolean isGroupByEnabled() {
+        return groups != null;
+    }
+
+    /**
+     * Получить поля, по значениям которых логи разбиваются на группы
+     *
+     * @return поля ключа группы или пустой список, если группы не собираются
+     */
+    public List<LogFields> getGroupByFields() {
+        return groups == null ? List.of() : settings.groupBy().fields();
+    }
+
+    /**
+     * Получить самые большие группы (количество задается {@link GroupBySettings#limit()}).
+     * Если группы сбрасывались на диск, они читаются и сливаются при первом вызове после добавления логов
+     *
+     * @return самые большие группы или {@code null}, если группы не собираются
+     */
+    public GroupAggregator.Top getGroups() {
+        return groups == null ? null : groups.top(settings.groupBy().limit());
     }
 }
@@ -0,0 +1,122 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.matcher.LogMatcherDate;
+import backend.academy.log_analyzer.matcher.LogMatcherFilter;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Отчет, который раздает логи нескольким отчетам из файла {@code --reports}: каждый лог добавляется
+ * в те отчеты, под даты и фильтры которых он подходит. Так строка читается и разбирается один раз,
+ * сколько бы отчетов ни строилось.
+ * <p>
+ * Шарды и слияние работают так же, как у обычного отчета, поэтому подходят все способы анализа
+ * (см. {@link LogAnalyzer}). Собственная статистика не собирается, а количество запросов - это количество
+ * логов, которые были переданы отчетам (подошел ли лог хотя бы под один из них, не важно)
+ */
+public class LogReportFanOut extends LogReport {
+
+    private final ReportSettings settings;
+    private final List<Predicate<Log>> matchers;
+    private final List<LogReport> reports;
+    private long totalCountRequests;
+
+    /**
+     * Конструктор
+     *
+     * @param settings настройки сбора статистики отчетов
+     * @param definitions отчеты из файла
+     * @param logMatcherDate проверка дат
+     * @param logMatcherFilter проверка фильтров
+     */
+    public LogReportFanOut(
+        ReportSettings settings,
+        List<ReportDefinition> definitions,
+        LogMatcherDate logMatcherDate,
+        LogMatcherFilter logMatcherFilter
+    ) {
+        this(
+            settings,
+            definitions.stream()
+                .map(ReportDefinition::parameters)
+                .map(parameters -> matcher(parameters, logMatcherDate, logMatcherFilter))
+                .toList(),
+            definitions.stream().map(definition -> new LogReport(settings)).toList()
+        );
+    }
+
+    private LogReportFanOut(ReportSettings settings, List<Predicate<Log>> matchers, List<LogReport> reports) {
+        super(settings);
+        this.settings = settings;
+        this.matchers = matchers;
+        this.reports = reports;
+    }
+
+    @Override
+    public LogReport newShard() {
+        return new LogReportFanOut(settings, matchers, reports.stream().map(LogReport::newShard).toList());
+    }
+
+    @Override
+    public void merge(LogReport other) {
+        LogReportFanOut otherFanOut = (LogReportFanOut) other;
+
+        for (int i = 0; i < reports.size(); i++) {
+            reports.get(i).merge(otherFanOut.reports.get(i));
+        }
+
+        totalCountRequests += otherFanOut.totalCountRequests;
+    }
+
+    @Override
+    public void close() {
+        reports.forEach(LogReport::close);
+        super.close();
+    }
+
+    @Override
+    public void addAllStats(Log log, String resourceUri) {
+        totalCountRequests++;
+
+        for (int i = 0; i < reports.size(); i++) {
+            if (matchers.get(i).test(log)) {
+                reports.get(i).addAllStats(log, resourceUri);
+            }
+        }
+    }
+
+    @Override
+    public long getTotalCountRequests() {
+        return totalCountRequests;
+    }
+
+    /**
+     * Получить отчеты
+     *
+     * @return отчеты в порядке из файла
+     */
+    public List<LogReport> reports() {
+        return List.copyOf(reports);
+    }
+
+    /**
+     * Метод создания проверки лога по датам и фильтрам одного отчета
+     *
+     * @param parameters параметры отчета
+     * @param logMatcherDate проверка дат
+     * @param logMatcherFilter проверка фильтров
+     *
+     * @return проверка лога
+     */
+    private static Predicate<Log> matcher(
+        ArgsParameters parameters,
+        LogMatcherDate logMatcherDate,
+        LogMatcherFilter logMatcherFilter
+    ) {
+        return log -> logMatcherDate.isLogMatch(log.time(), parameters)
+            && logMatcherFilter.isLogMatchByFilter(log, parameters);
+    }
+}
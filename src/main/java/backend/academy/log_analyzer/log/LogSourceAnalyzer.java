@@ -0,0 +1,647 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.enums.ExecutionModes;
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import backend.academy.log_analyzer.matcher.LogMatcherDate;
+import backend.academy.log_analyzer.matcher.LogMatcherFilter;
+import backend.academy.log_analyzer.matcher.WhereFilter;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ExecutionSettings;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
+import backend.academy.log_analyzer.reader.FileChunk;
+import backend.academy.log_analyzer.reader.FileChunkInputStream;
+import backend.academy.log_analyzer.reader.FileChunkSplitter;
+import backend.academy.log_analyzer.reader.HttpRangeInputStream;
+import backend.academy.log_analyzer.reader.HttpResource;
+import backend.academy.log_analyzer.reader.HttpResources;
+import backend.academy.log_analyzer.reader.LineAlignedRangeInputStream;
+import backend.academy.log_analyzer.reader.MappedLineReader;
+import backend.academy.log_analyzer.reader.ParallelBgzfInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Анализ ресурсов в основной отчет способом, заданным в параметрах (см. {@link ExecutionModes}).
+ * Локальные файлы с актуальным кэшем читаются из кэша (см. {@link CachedLogAnalyzer}), остальные ресурсы -
+ * по тексту: последовательно, в пуле анализа или на виртуальных потоках
+ */
+@Slf4j
+class LogSourceAnalyzer {
+
+    private static final String ANALYSIS_INTERRUPTED_ERROR = "Анализ логов был прерван";
+    private static final String ANALYSIS_ERROR = "Во время анализа логов произошла ошибка";
+    private static final Set<String> HTTP_SCHEMES = Set.of("http", "https");
+    private static final long MIN_CHUNK_SIZE = 16L * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BGZF_BATCHES_PER_THREAD = 2;
+
+    private final LogMatcherDate logMatcherDate;
+    private final LogMatcherFilter logMatcherFilter;
+    private final LogReport report;
+    private final AnalysisPool pool;
+    private final CachedLogAnalyzer cachedAnalyzer;
+
+    /**
+     * Конструктор
+     *
+     * @param logMatcherDate проверка дат
+     * @param logMatcherFilter проверка фильтров
+     * @param report основной отчет
+     * @param pool пул анализа для параллельного чтения ресурсов и частей файлов
+     */
+    LogSourceAnalyzer(
+        LogMatcherDate logMatcherDate,
+        LogMatcherFilter logMatcherFilter,
+        LogReport report,
+        AnalysisPool pool
+    ) {
+        this.logMatcherDate = logMatcherDate;
+        this.logMatcherFilter = logMatcherFilter;
+        this.report = report;
+        this.pool = pool;
+        this.cachedAnalyzer = new CachedLogAnalyzer(logMatcherDate, logMatcherFilter, report, pool);
+    }
+
+    /**
+     * Метод анализа ресурсов в основной отчет способом, заданным в параметрах (см. {@link ExecutionModes})
+     *
+     * @param sources ридеры ресурсов
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     */
+    void analyzeSources(
+        Map<BufferedReader, URI> sources,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        Map<BufferedReader, URI> textSources = cachedAnalyzer.analyzeCachedSources(sources, params, requiredFields);
+        Map<BufferedReader, URI> seekedSources = LogFileRanges.seekSources(textSources, params);
+
+        switch (getExecutionMode(params)) {
+            case SEQUENTIAL ->
+                seekedSources.forEach((reader, uri) -> analyzeResource(reader, uri, params, requiredFields));
+            case FORK_JOIN -> analyzeInParallel(seekedSources, params, requiredFields);
+            case VIRTUAL_THREADS -> analyzeWithVirtualThreads(seekedSources, params, requiredFields);
+            default -> throw new IllegalStateException("Неизвестный способ выполнения анализа");
+        }
+    }
+
+    /**
+     * Метод анализа части файла в новый отчет (шард). При нескольких потоках часть делится на диапазоны,
+     * которые анализируются параллельно
+     *
+     * @param channel канал файла
+     * @param range часть файла, выровненная по строкам
+     * @param resourceUri ресурс, откуда читаются логи
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по части файла
+     *
+     * @throws IOException если не удалось прочитать файл
+     */
+    LogReport analyzeRange(
+        FileChannel channel,
+        FileChunk range,
+        String resourceUri,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) throws IOException {
+        if (params.threads() <= 1) {
+            return analyzeChunk(channel, range, resourceUri, params, requiredFields);
+        }
+
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, range.length() / ((long) params.threads() * CHUNKS_PER_THREAD));
+        List<FileChunk> chunks = FileChunkSplitter.split(channel, range, chunkSize);
+
+        return pool.invoke(new LogChunkTask(chunks,
+            chunk -> analyzeChunk(channel, chunk, resourceUri, params, requiredFields)));
+    }
+
+    /**
+     * Метод последовательного анализа одного ресурса в основной отчет
+     *
+     * @param reader ридер ресурса
+     * @param uri URI ресурса
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     */
+    private void analyzeResource(BufferedReader reader, URI uri, ArgsParameters params, Set<LogFields> requiredFields) {
+        if (!params.mmap() || !LogSources.isPlainLocalFile(uri)) {
+            analyzeReader(reader, uri.toString(), report, params, requiredFields);
+            return;
+        }
+
+        LogSources.closeQuietly(reader);
+
+        try (FileChannel channel = LogSources.openFile(uri)) {
+            new MappedLineReader(channel).forEachLine(
+                LogFileRanges.fileRange(channel, uri, params),
+                lineAnalyzer(report, uri.toString(), params, requiredFields)
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Метод параллельного анализа: каждый ресурс обрабатывается в отдельной задаче со своим отчетом (шардом),
+     * после чего шарды сливаются в основной отчет. Несжатые локальные файлы дополнительно делятся на диапазоны байт,
+     * которые анализируются параллельно (см. {@link LogChunkTask}), а у файлов BGZF параллельно распаковываются блоки.
+     * URL, сервер которых поддерживает запросы диапазонов байт, так же делятся на части
+     *
+     * @param sources ридеры ресурсов
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     */
+    private void analyzeInParallel(
+        Map<BufferedReader, URI> sources,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        List<Future<LogReport>> shards = new ArrayList<>();
+
+        sources.forEach((reader, uri) -> shards.add(pool.submit(
+            () -> analyzeResourceToShard(reader, uri, params, requiredFields))));
+
+        try {
+            for (Future<LogReport> shard : shards) {
+                report.merge(awaitShard(shard));
+            }
+        } catch (RuntimeException e) {
+            shards.forEach(shard -> shard.cancel(true));
+            throw e;
+        }
+    }
+
+    /**
+     * Метод анализа на виртуальных потоках: каждый ресурс читается своим виртуальным потоком,
+     * статистику собирают столько потоков, сколько задано (см. {@link VirtualThreadIngestion}).
+     * Ресурсы, которые не удалось дочитать до конца, пропускаются целиком и перечисляются в журнале
+     *
+     * @param sources ридеры ресурсов
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     */
+    private void analyzeWithVirtualThreads(
+        Map<BufferedReader, URI> sources,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        Predicate<LogLineScanner> preFilter = preFilter(params);
+        List<URI> failedSources = new VirtualThreadIngestion(report, params.threads(), params.execution().maxSources())
+            .ingest(sources, line -> {
+                Log parsedLog = Log.parse(line, requiredFields, preFilter);
+
+                return isLogMatch(parsedLog, params) ? parsedLog : null;
+            });
+
+        if (!failedSources.isEmpty()) {
+            log.warn("Не удалось прочитать ресурсы, их логи не учтены в отчете ({} из {}): {}", failedSources.size(),
+                sources.size(), failedSources);
+        }
+    }
+
+    /**
+     * Метод анализа одного ресурса в новый отчет (шард) способом, который подходит для ресурса:
+     * несжатый локальный файл делится на диапазоны, у файла BGZF параллельно распаковываются блоки,
+     * большой несжатый URL с поддержкой диапазонов читается несколькими запросами {@code Range},
+     * остальные ресурсы читаются последовательно через свой ридер
+     *
+     * @param reader ридер ресурса
+     * @param uri URI ресурса
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по ресурсу
+     *
+     * @throws IOException если не удалось прочитать файл
+     */
+    private LogReport analyzeResourceToShard(
+        BufferedReader reader,
+        URI uri,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) throws IOException {
+        if (HTTP_SCHEMES.contains(uri.getScheme())) {
+            HttpResource resource = HttpResources.head(uri);
+
+            return resource.isSplittable() && resource.contentLength() > MIN_CHUNK_SIZE
+                ? analyzeUrlInRanges(reader, resource, params, requiredFields)
+                : analyzeReaderToShard(reader, uri.toString(), params, requiredFields);
+        }
+
+        if (!LogSources.isLocalFile(uri)) {
+            return analyzeReaderToShard(reader, uri.toString(), params, requiredFields);
+        }
+
+        return switch (LogSources.detectCompression(uri)) {
+            case NONE -> analyzeFileInChunks(reader, uri, params, requiredFields);
+            case BGZF -> analyzeBgzfFile(reader, uri, params, requiredFields);
+            default -> analyzeReaderToShard(reader, uri.toString(), params, requiredFields);
+        };
+    }
+
+    /**
+     * Метод анализа локального файла по диапазонам байт, выровненным по строкам.
+     * Уже открытый ридер файла не используется и закрывается
+     *
+     * @param reader ридер файла
+     * @param uri URI файла
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по файлу
+     *
+     * @throws IOException если не удалось прочитать файл
+     */
+    private LogReport analyzeFileInChunks(
+        BufferedReader reader,
+        URI uri,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) throws IOException {
+        LogSources.closeQuietly(reader);
+
+        String resourceUri = uri.toString();
+
+        try (FileChannel channel = LogSources.openFile(uri)) {
+            FileChunk range = LogFileRanges.fileRange(channel, uri, params);
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, range.length() / ((long) params.threads() * CHUNKS_PER_THREAD));
+            List<FileChunk> chunks = FileChunkSplitter.split(channel, range, chunkSize);
+
+            return new LogChunkTask(chunks,
+                chunk -> analyzeChunk(channel, chunk, resourceUri, params, requiredFields)).invoke();
+        }
+    }
+
+    /**
+     * Метод анализа URL по частям: каждая часть читается своими ограниченными запросами {@code Range}
+     * (см. {@link HttpRangeInputStream}) и разбирается параллельно, строки на стыках частей не теряются
+     * и не повторяются (см. {@link LineAlignedRangeInputStream}). Запрос первой части отправляется до деления:
+     * если сервер вернул не диапазон, а все содержимое, URL читается целиком одним запросом через свой ридер.
+     * Иначе ридер URL не используется и закрывается (запрос по нему не отправлялся)
+     *
+     * @param reader ридер URL
+     * @param resource ответ сервера на HEAD-запрос
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по URL
+     *
+     * @throws IOException если не удалось отправить запрос первой части
+     */
+    private LogReport analyzeUrlInRanges(
+        BufferedReader reader,
+        HttpResource resource,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) throws IOException {
+        URI uri = resource.uri();
+        long length = resource.contentLength();
+        long partSize = Math.max(MIN_CHUNK_SIZE, length / ((long) params.threads() * CHUNKS_PER_THREAD));
+        List<FileChunk> parts = new ArrayList<>();
+
+        for (long start = 0; start < length; start += partSize) {
+            parts.add(new FileChunk(start, Math.min(length, start + partSize)));
+        }
+
+        Optional<HttpRangeInputStream> firstPart = HttpRangeInputStream.open(uri, urlRange(parts.getFirst()), length);
+
+        if (firstPart.isEmpty()) {
+            log.info("URL {} не вернула диапазон байт и будет прочитана целиком одним запросом", uri);
+            return analyzeReaderToShard(reader, uri.toString(), params, requiredFields);
+        }
+
+        LogSources.closeQuietly(reader);
+
+        try (InputStream first = firstPart.get()) {
+            return new LogChunkTask(parts,
+                part -> analyzeUrlPart(uri, part, length, first, params, requiredFields)).invoke();
+        }
+    }
+
+    /**
+     * Метод анализа одной части URL в новый отчет (шард)
+     *
+     * @param uri URL
+     * @param part примерные границы части
+     * @param length размер содержимого URL
+     * @param firstPart уже открытый поток первой части
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по части
+     */
+    private LogReport analyzeUrlPart(
+        URI uri,
+        FileChunk part,
+        long length,
+        InputStream firstPart,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        try {
+            InputStream body = part.start() == 0
+                ? firstPart
+                : HttpRangeInputStream.open(uri, urlRange(part), length)
+                    .orElseThrow(() -> new IOException("URL " + uri + " перестала возвращать диапазоны байт"));
+
+            return analyzeReaderToShard(
+                new BufferedReader(new InputStreamReader(new LineAlignedRangeInputStream(body, part),
+                    StandardCharsets.UTF_8)),
+                uri.toString(),
+                params,
+                requiredFields
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Метод получения байт URL, которые нужно запросить для части: с байта перед ее началом
+     * (см. {@link LineAlignedRangeInputStream#firstByte(FileChunk)}) до ее примерного конца
+     *
+     * @param part примерные границы части
+     *
+     * @return байты для запроса
+     */
+    private FileChunk urlRange(FileChunk part) {
+        return new FileChunk(LineAlignedRangeInputStream.firstByte(part), part.end());
+    }
+
+    /**
+     * Метод анализа файла BGZF: блоки распаковываются параллельно в отдельном пуле
+     * (потоков на один меньше, чем задано, так как один поток занят разбором строк),
+     * а строки разбираются по порядку. Уже открытый ридер файла не используется и закрывается
+     *
+     * @param reader ридер файла
+     * @param uri URI файла
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по файлу
+     *
+     * @throws IOException если не удалось прочитать файл
+     */
+    private LogReport analyzeBgzfFile(
+        BufferedReader reader,
+        URI uri,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) throws IOException {
+        LogSources.closeQuietly(reader);
+
+        int inflaterThreads = Math.max(1, params.threads() - 1);
+
+        try (FileChannel channel = LogSources.openFile(uri);
+             ExecutorService inflaters = Executors.newFixedThreadPool(inflaterThreads)) {
+            return analyzeReaderToShard(
+                new BufferedReader(new InputStreamReader(
+                    new ParallelBgzfInputStream(channel, inflaters, inflaterThreads * BGZF_BATCHES_PER_THREAD),
+                    StandardCharsets.UTF_8)),
+                uri.toString(),
+                params,
+                requiredFields
+            );
+        }
+    }
+
+    /**
+     * Метод анализа одного диапазона файла в новый отчет (шард).
+     * Диапазон читается через отображение в память или через поток чтения в зависимости от параметров
+     *
+     * @param channel канал файла
+     * @param chunk диапазон файла
+     * @param resourceUri ресурс, откуда читаются логи
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по диапазону
+     */
+    private LogReport analyzeChunk(
+        FileChannel channel,
+        FileChunk chunk,
+        String resourceUri,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        if (!params.mmap()) {
+            return analyzeReaderToShard(
+                new BufferedReader(new InputStreamReader(new FileChunkInputStream(channel, chunk),
+                    StandardCharsets.UTF_8)),
+                resourceUri,
+                params,
+                requiredFields
+            );
+        }
+
+        LogReport shard = report.newShard();
+
+        try {
+            new MappedLineReader(channel).forEachLine(chunk, lineAnalyzer(shard, resourceUri, params, requiredFields));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return shard;
+    }
+
+    /**
+     * Метод анализа ресурса в новый отчет (шард)
+     *
+     * @param reader ридер ресурса
+     * @param resourceUri ресурс, откуда читаются логи
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return отчет по ресурсу
+     */
+    private LogReport analyzeReaderToShard(
+        BufferedReader reader,
+        String resourceUri,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        LogReport shard = report.newShard();
+        analyzeReader(reader, resourceUri, shard, params, requiredFields);
+
+        return shard;
+    }
+
+    /**
+     * Метод анализа одного ресурса. Подходящие логи добавляются в переданный отчет
+     *
+     * @param reader ридер ресурса
+     * @param resourceUri ресурс, откуда читаются логи
+     * @param target отчет для сбора статистики
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     */
+    private void analyzeReader(
+        BufferedReader reader,
+        String resourceUri,
+        LogReport target,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        try (Stream<String> lines = reader.lines()) {
+            lines.forEach(lineAnalyzer(target, resourceUri, params, requiredFields));
+        } finally {
+            LogSources.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Метод создания обработчика строк: строка парсится, проверяется фильтрами и добавляется в отчет
+     *
+     * @param target отчет для сбора статистики
+     * @param resourceUri ресурс, откуда читаются логи
+     * @param params сконвертированные параметры
+     * @param requiredFields поля лога, которые нужно разобрать
+     *
+     * @return обработчик строк
+     */
+    private Consumer<CharSequence> lineAnalyzer(
+        LogReport target,
+        String resourceUri,
+        ArgsParameters params,
+        Set<LogFields> requiredFields
+    ) {
+        Predicate<LogLineScanner> preFilter = preFilter(params);
+
+        return line -> {
+            Log parsedLog = Log.parse(line, requiredFields, preFilter);
+
+            if (isLogMatch(parsedLog, params)) {
+                target.addAllStats(parsedLog, resourceUri);
+            }
+        };
+    }
+
+    /**
+     * Метод создания предварительной проверки строки по датам, фильтру и выражению {@code --where}.
+     * Проверка выполняется по просканированной строке до создания полей лога
+     * (см. {@link Log#parse(CharSequence, Set, Predicate)}), поэтому неподходящие строки не разбираются целиком.
+     * Если заданы отчеты из файла, строка должна подходить хотя бы под один из них.
+     * Разобранные логи все равно проверяются через {@link #isLogMatch(Log, ArgsParameters)}
+     *
+     * @param params сконвертированные параметры
+     *
+     * @return проверка строки или {@code null}, если ни даты, ни фильтры не заданы
+     */
+    private Predicate<LogLineScanner> preFilter(ArgsParameters params) {
+        LogFilter filter = params.filter();
+        WhereFilter where = params.where();
+        Predicate<LogLineScanner> reportsFilter = reportsPreFilter(params);
+        boolean filterByValue = filter != null && !filter.isAcceptAll();
+        boolean filterByDate = params.from() != null || params.to() != null;
+
+        if (!filterByValue && !filterByDate && where == null && reportsFilter == null) {
+            return null;
+        }
+
+        return scanner -> (!filterByDate || logMatcherDate.isLogMatch(scanner.timeLocalEpochSecond(), params))
+            && (!filterByValue || filter.testScanned(scanner))
+            && (where == null || where.testScanned(scanner))
+            && (reportsFilter == null || reportsFilter.test(scanner));
+    }
+
+    /**
+     * Метод создания предварительной проверки строки по отчетам из файла: строка подходит,
+     * если подходит под даты и фильтры хотя бы одного отчета
+     *
+     * @param params сконвертированные параметры
+     *
+     * @return проверка строки или {@code null}, если отчетов нет или хотя бы один отчет принимает все строки
+     */
+    private Predicate<LogLineScanner> reportsPreFilter(ArgsParameters params) {
+        if (params.reports() == null || params.reports().isEmpty()) {
+            return null;
+        }
+
+        List<Predicate<LogLineScanner>> reportFilters = new ArrayList<>();
+
+        for (ReportDefinition definition : params.reports()) {
+            Predicate<LogLineScanner> reportFilter = preFilter(definition.parameters());
+
+            if (reportFilter == null) {
+                return null;
+            }
+
+            reportFilters.add(reportFilter);
+        }
+
+        return scanner -> {
+            for (Predicate<LogLineScanner> reportFilter : reportFilters) {
+                if (reportFilter.test(scanner)) {
+                    return true;
+                }
+            }
+
+            return false;
+        };
+    }
+
+    /**
+     * Метод ожидания результата задачи анализа ресурса
+     *
+     * @param shard задача анализа
+     *
+     * @return отчет по ресурсу
+     */
+    private LogReport awaitShard(Future<LogReport> shard) {
+        try {
+            return shard.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ANALYSIS_INTERRUPTED_ERROR, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException(ANALYSIS_ERROR, e.getCause());
+        }
+    }
+
+    /**
+     * Метод определения способа выполнения анализа. Если настройки выполнения не заданы,
+     * способ выбирается по количеству потоков
+     *
+     * @param params сконвертированные параметры
+     *
+     * @return способ выполнения
+     */
+    private ExecutionModes getExecutionMode(ArgsParameters params) {
+        return Objects.requireNonNullElse(params.execution(), ExecutionSettings.DEFAULT).resolveMode(params.threads());
+    }
+
+    private boolean isLogMatch(Log log, ArgsParameters params) {
+        return log != null
+            && logMatcherDate.isLogMatch(log.time(), params)
+            && logMatcherFilter.isLogMatchByFilter(log, params);
+    }
+}
@@ -0,0 +1,86 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.enums.CompressionFormats;
+import backend.academy.log_analyzer.reader.CompressedStreams;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Общие операции с ресурсами логов для анализаторов: определение локальных и сжатых файлов,
+ * открытие файлов и закрытие ридеров
+ */
+@Slf4j
+@UtilityClass
+class LogSources {
+
+    private static final String READER_CLOSING_ERROR = "Во время закрытия потока чтения произошла ошибка";
+    private static final String FILE_SCHEME = "file";
+
+    static boolean isLocalFile(URI uri) {
+        return FILE_SCHEME.equals(uri.getScheme());
+    }
+
+    /**
+     * Проверка, что ресурс - несжатый локальный файл. Такие файлы можно читать по диапазонам байт
+     *
+     * @param uri URI ресурса
+     *
+     * @return {@code true}, если ресурс - несжатый локальный файл, иначе {@code false}
+     */
+    static boolean isPlainLocalFile(URI uri) {
+        return isLocalFile(uri) && detectCompression(uri) == CompressionFormats.NONE;
+    }
+
+    @SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
+    static CompressionFormats detectCompression(URI uri) {
+        try {
+            return CompressedStreams.detect(Paths.get(uri));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Метод получения идентификатора файла в файловой системе (например, устройство и inode)
+     *
+     * @param uri URI файла
+     *
+     * @return идентификатор файла или пустая строка, если файловая система его не сообщает
+     *
+     * @throws IOException если не удалось прочитать атрибуты файла
+     */
+    @SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
+    static String getFileKey(URI uri) throws IOException {
+        Object fileKey = Files.readAttributes(Paths.get(uri), BasicFileAttributes.class).fileKey();
+
+        return fileKey == null ? "" : fileKey.toString();
+    }
+
+    @SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
+    static FileChannel openFile(URI uri) throws IOException {
+        return FileChannel.open(Paths.get(uri), StandardOpenOption.READ);
+    }
+
+    /**
+     * Метод "тихого" закрытия ридера (без try-catch)
+     *
+     * @param reader ридер для закрытия
+     */
+    static void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.error(READER_CLOSING_ERROR, e);
+        }
+    }
+}
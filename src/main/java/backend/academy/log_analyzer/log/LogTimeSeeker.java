@@ -0,0 +1,198 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.reader.ByteSlice;
+import backend.academy.log_analyzer.reader.FileChunk;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.format.DateTimeParseException;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Класс для поиска части файла с логами из заданного промежутка времени без разбора всего файла.
+ * <p>
+ * NGINX пишет логи примерно по возрастанию времени, поэтому границы части ищутся двоичным поиском
+ * по позиции в файле: с произвольной позиции чтение сдвигается к началу следующей строки, и время берется
+ * из первой строки, которая соответствует формату. Каждая проверка читает не больше
+ * {@value #PROBE_BUFFER_SIZE} байт, поэтому поиск занимает порядка {@code log2(размер файла)} коротких чтений.
+ * <p>
+ * Если строку в проверяемом месте разобрать не удалось, часть расширяется в эту сторону,
+ * поэтому подходящие логи не теряются. Логи внутри части по-прежнему проверяются фильтром дат
+ */
+@UtilityClass
+public class LogTimeSeeker {
+
+    /**
+     * Начало промежутка без ограничения
+     */
+    public static final long UNBOUNDED_FROM = Long.MIN_VALUE;
+    /**
+     * Конец промежутка без ограничения
+     */
+    public static final long UNBOUNDED_TO = Long.MAX_VALUE;
+
+    private static final int PROBE_BUFFER_SIZE = 8 * 1024;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    /**
+     * Метод поиска части файла, в которой находятся логи из промежутка времени
+     *
+     * @param channel канал файла
+     * @param fromEpochSecond начало промежутка в секундах от {@code 1970-01-01T00:00:00} по часам сервера
+     * (или {@link #UNBOUNDED_FROM})
+     * @param toEpochSecond конец промежутка включительно (или {@link #UNBOUNDED_TO})
+     *
+     * @return часть файла, которая начинается с начала строки и заканчивается концом строки или файла
+     *
+     * @throws IOException если произошла ошибка чтения файла
+     */
+    public static FileChunk findRange(FileChannel channel, long fromEpochSecond, long toEpochSecond)
+        throws IOException {
+        Probe probe = new Probe(channel, channel.size());
+
+        long start = fromEpochSecond == UNBOUNDED_FROM
+            ? 0
+            : probe.lineStartAt(probe.search(0, fromEpochSecond, true));
+        long end = toEpochSecond == UNBOUNDED_TO
+            ? probe.size
+            : probe.lineStartAt(probe.search(start, toEpochSecond, false));
+
+        return new FileChunk(start, Math.max(start, end));
+    }
+
+    /**
+     * Проверки времени в файле. Буфер и сканер переиспользуются для всех проверок одного поиска
+     */
+    private static final class Probe {
+
+        private final FileChannel channel;
+        private final long size;
+        private final ByteBuffer buffer = ByteBuffer.allocate(PROBE_BUFFER_SIZE);
+        private final LogLineScanner scanner = new LogLineScanner();
+
+        private Probe(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        /**
+         * Метод двоичного поиска наименьшей позиции, с которой начинаются логи позже границы
+         * (для начала промежутка - не раньше границы). Позиции, где время не удалось разобрать,
+         * считаются подходящими для начала и неподходящими для конца промежутка
+         *
+         * @param from позиция, с которой начинается поиск
+         * @param bound граница в секундах
+         * @param lowerBound ищется ли начало промежутка
+         *
+         * @return найденная позиция (не обязательно начало строки)
+         *
+         * @throws IOException если произошла ошибка чтения файла
+         */
+        private long search(long from, long bound, boolean lowerBound) throws IOException {
+            long low = from;
+            long high = size;
+
+            while (low < high) {
+                long middle = low + (high - low) / 2;
+                long time = timeAt(lineStartAt(middle));
+                boolean after = time == NO_TIME ? lowerBound : (lowerBound ? time >= bound : time > bound);
+
+                if (after) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Метод поиска начала строки: позиция 0 или позиция после первого перевода строки
+         * не раньше, чем за байт до заданной позиции
+         *
+         * @param position позиция в файле
+         *
+         * @return начало строки или размер файла, если дальше строк нет
+         *
+         * @throws IOException если произошла ошибка чтения файла
+         */
+        private long lineStartAt(long position) throws IOException {
+            if (position <= 0) {
+                return 0;
+            }
+
+            long current = position - 1;
+
+            while (current < size) {
+                int read = read(current);
+
+                if (read <= 0) {
+                    break;
+                }
+
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == LINE_FEED) {
+                        return current + i + 1;
+                    }
+                }
+
+                current += read;
+            }
+
+            return size;
+        }
+
+        /**
+         * Метод получения времени первой разобранной строки, которая начинается с заданной позиции
+         * и целиком помещается в буфер
+         *
+         * @param lineStart начало строки
+         *
+         * @return время в секундах или {@link #NO_TIME}, если разобрать строку не удалось
+         *
+         * @throws IOException если произошла ошибка чтения файла
+         */
+        private long timeAt(long lineStart) throws IOException {
+            int read = read(lineStart);
+            int start = 0;
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == LINE_FEED) {
+                    long time = parseTime(start, i);
+
+                    if (time != NO_TIME) {
+                        return time;
+                    }
+
+                    start = i + 1;
+                }
+            }
+
+            // Последняя строка файла может быть без перевода строки
+            return lineStart + read == size && start < read ? parseTime(start, read) : NO_TIME;
+        }
+
+        private long parseTime(int start, int end) {
+            int lineEnd = end > start && buffer.get(end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+
+            try {
+                return scanner.scan(new ByteSlice(buffer, start, lineEnd - start))
+                    ? scanner.timeLocalEpochSecond()
+                    : NO_TIME;
+            } catch (DateTimeParseException e) {
+                return NO_TIME;
+            }
+        }
+
+        private int read(long position) throws IOException {
+            buffer.clear();
+
+            int read = channel.read(buffer, position);
+
+            return Math.max(read, 0);
+        }
+    }
+}
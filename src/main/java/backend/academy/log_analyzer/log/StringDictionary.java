@@ -0,0 +1,88 @@
+package backend.academy.log_analyzer.log;
+
+/**
+ * Словарь повторяющихся строк ограниченного размера для разбора логов.
+ * <p>
+ * Строка ищется по хешу участка исходной строки, поэтому для значения, которое уже есть в словаре
+ * (например, {@code GET}, {@code HTTP/1.1}, {@code -} или популярный user agent), новая строка не создается.
+ * Каждому хешу соответствует одна ячейка: новое значение вытесняет старое с тем же номером ячейки,
+ * поэтому размер словаря не зависит от количества разных значений. Строки длиннее предела не сохраняются.
+ * Экземпляр не потокобезопасен
+ */
+final class StringDictionary {
+
+    private static final int HASH_MULTIPLIER = 31;
+
+    private final String[] values;
+    private final int[] hashes;
+    private final int mask;
+    private final int maxLength;
+
+    /**
+     * Конструктор
+     *
+     * @param capacity количество ячеек, степень двойки
+     * @param maxLength максимальная длина строки, которая сохраняется в словаре
+     */
+    StringDictionary(int capacity, int maxLength) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Количество ячеек должно быть степенью двойки: " + capacity);
+        }
+
+        this.values = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Метод получения строки участка последовательности символов
+     *
+     * @param text последовательность символов
+     * @param start начало участка
+     * @param end конец участка (не включительно)
+     *
+     * @return строка из словаря, если такое значение уже встречалось, иначе новая строка
+     */
+    String get(CharSequence text, int start, int end) {
+        int length = end - start;
+
+        if (length > maxLength) {
+            return text.subSequence(start, end).toString();
+        }
+
+        // Хеш совпадает с String.hashCode, поэтому сохраненную строку не нужно хешировать повторно
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            hash = HASH_MULTIPLIER * hash + text.charAt(i);
+        }
+
+        int slot = (hash ^ hash >>> Short.SIZE) & mask;
+        String value = values[slot];
+
+        if (value != null && hashes[slot] == hash && contentEquals(value, text, start, length)) {
+            return value;
+        }
+
+        value = text.subSequence(start, end).toString();
+        values[slot] = value;
+        hashes[slot] = hash;
+
+        return value;
+    }
+
+    private static boolean contentEquals(String value, CharSequence text, int start, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,225 @@
+package backend.academy.log_analyzer.log;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Декодер поля time_local формата NGINX ({@code dd/MMM/yyyy:HH:mm:ss Z}).
+ * <p>
+ * Строка фиксированной длины (26 символов) разбирается по позициям сразу в секунды "локальной" эпохи:
+ * время на часах сервера, смещение часового пояса проверяется, но не учитывается
+ * (так же, как {@link ZonedDateTime#toLocalDateTime()}). Если секунда совпадает с предыдущей строкой,
+ * результат переиспользуется без повторного разбора. Строки нестандартного вида разбираются
+ * через {@link DateTimeFormatter}. Экземпляр не потокобезопасен
+ */
+public final class TimeLocalDecoder {
+
+    private static final DateTimeFormatter FORMATTER =
+        DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+    private static final String[] MONTHS =
+        {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private static final int LENGTH = 26;
+    private static final int DATE_LENGTH = 11;
+    private static final int DATE_TIME_LENGTH = 20;
+
+    private static final int DAY = 0;
+    private static final int MONTH = 3;
+    private static final int YEAR = 7;
+    private static final int HOUR = 12;
+    private static final int MINUTE = 15;
+    private static final int SECOND = 18;
+    private static final int OFFSET_SIGN = 21;
+    private static final int OFFSET_HOURS = 22;
+    private static final int OFFSET_MINUTES = 24;
+
+    private static final int MONTH_NAME_LENGTH = 3;
+    private static final int YEAR_LENGTH = 4;
+    private static final int DECIMAL_BASE = 10;
+    private static final int MAX_HOUR = 23;
+    private static final int MAX_MINUTE = 59;
+    private static final int MAX_OFFSET_HOURS = 18;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int NOT_FOUND = -1;
+
+    private final char[] lastDateTime = new char[DATE_TIME_LENGTH];
+    private boolean hasLast;
+    private long lastEpochDay;
+    private long lastEpochSecond;
+    private LocalDateTime lastLocalDateTime;
+
+    /**
+     * Метод декодирования времени в секунды локальной эпохи
+     *
+     * @param line строка, в которой находится время
+     * @param start начало времени (включительно)
+     * @param end конец времени (не включительно)
+     *
+     * @return количество секунд от {@code 1970-01-01T00:00:00} по времени сервера
+     *
+     * @throws java.time.format.DateTimeParseException если время не соответствует формату
+     */
+    public long decodeEpochSecond(CharSequence line, int start, int end) {
+        if (end - start != LENGTH || !decodeFixedLayout(line, start)) {
+            LocalDateTime parsed = parseWithFormatter(line.subSequence(start, end).toString());
+
+            hasLast = false;
+            lastEpochSecond = parsed.toEpochSecond(ZoneOffset.UTC);
+            lastLocalDateTime = parsed;
+        }
+
+        return lastEpochSecond;
+    }
+
+    /**
+     * Метод декодирования времени в {@link LocalDateTime}. Для строк с одной и той же секундой
+     * возвращается один и тот же объект
+     *
+     * @param line строка, в которой находится время
+     * @param start начало времени (включительно)
+     * @param end конец времени (не включительно)
+     *
+     * @return время по часам сервера
+     *
+     * @throws java.time.format.DateTimeParseException если время не соответствует формату
+     */
+    public LocalDateTime decodeLocalDateTime(CharSequence line, int start, int end) {
+        long epochSecond = decodeEpochSecond(line, start, end);
+
+        if (lastLocalDateTime == null) {
+            lastLocalDateTime = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        }
+
+        return lastLocalDateTime;
+    }
+
+    /**
+     * Метод разбора времени фиксированного вида по позициям. Значения, которые {@link DateTimeFormatter}
+     * мог бы интерпретировать по-особому (несуществующие даты, регистр месяца), отдаются ему
+     *
+     * @param line строка, в которой находится время
+     * @param start начало времени
+     *
+     * @return {@code true}, если время разобрано, иначе {@code false}
+     */
+    private boolean decodeFixedLayout(CharSequence line, int start) {
+        if (hasLast && isSameDateTime(line, start, DATE_TIME_LENGTH) && isValidOffset(line, start)) {
+            return true;
+        }
+
+        if (!isSeparatorsValid(line, start) || !isValidOffset(line, start)) {
+            return false;
+        }
+
+        long epochDay = hasLast && isSameDateTime(line, start, DATE_LENGTH)
+            ? lastEpochDay
+            : decodeEpochDay(line, start);
+        int hour = number(line, start + HOUR, 2);
+        int minute = number(line, start + MINUTE, 2);
+        int second = number(line, start + SECOND, 2);
+
+        if (epochDay == Long.MIN_VALUE || hour == NOT_FOUND || hour > MAX_HOUR
+            || minute == NOT_FOUND || minute > MAX_MINUTE || second == NOT_FOUND || second > MAX_MINUTE) {
+            return false;
+        }
+
+        for (int i = 0; i < DATE_TIME_LENGTH; i++) {
+            lastDateTime[i] = line.charAt(start + i);
+        }
+
+        hasLast = true;
+        lastEpochDay = epochDay;
+        lastEpochSecond = epochDay * SECONDS_PER_DAY + hour * SECONDS_PER_HOUR + minute * SECONDS_PER_MINUTE + second;
+        lastLocalDateTime = null;
+
+        return true;
+    }
+
+    /**
+     * Метод разбора даты
+     *
+     * @return номер дня от начала эпохи или {@link Long#MIN_VALUE}, если дата некорректна
+     */
+    private long decodeEpochDay(CharSequence line, int start) {
+        int day = number(line, start + DAY, 2);
+        int month = month(line, start + MONTH);
+        int year = number(line, start + YEAR, YEAR_LENGTH);
+
+        if (day < 1 || month == NOT_FOUND || year < 1
+            || day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+            return Long.MIN_VALUE;
+        }
+
+        return LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    private boolean isSameDateTime(CharSequence line, int start, int length) {
+        for (int i = 0; i < length; i++) {
+            if (lastDateTime[i] != line.charAt(start + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isSeparatorsValid(CharSequence line, int start) {
+        return line.charAt(start + MONTH - 1) == '/'
+            && line.charAt(start + YEAR - 1) == '/'
+            && line.charAt(start + HOUR - 1) == ':'
+            && line.charAt(start + MINUTE - 1) == ':'
+            && line.charAt(start + SECOND - 1) == ':';
+    }
+
+    private static boolean isValidOffset(CharSequence line, int start) {
+        char sign = line.charAt(start + OFFSET_SIGN);
+        int hours = number(line, start + OFFSET_HOURS, 2);
+        int minutes = number(line, start + OFFSET_MINUTES, 2);
+
+        return line.charAt(start + OFFSET_SIGN - 1) == ' '
+            && (sign == '+' || sign == '-')
+            && hours != NOT_FOUND && minutes != NOT_FOUND && minutes <= MAX_MINUTE
+            && (hours < MAX_OFFSET_HOURS || hours == MAX_OFFSET_HOURS && minutes == 0);
+    }
+
+    private static int month(CharSequence line, int from) {
+        for (int i = 0; i < MONTHS.length; i++) {
+            String name = MONTHS[i];
+
+            if (name.charAt(0) == line.charAt(from)
+                && name.charAt(1) == line.charAt(from + 1)
+                && name.charAt(MONTH_NAME_LENGTH - 1) == line.charAt(from + MONTH_NAME_LENGTH - 1)) {
+                return i + 1;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    private static int number(CharSequence line, int from, int length) {
+        int result = 0;
+
+        for (int i = from; i < from + length; i++) {
+            char c = line.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return NOT_FOUND;
+            }
+
+            result = result * DECIMAL_BASE + c - '0';
+        }
+
+        return result;
+    }
+
+    private static LocalDateTime parseWithFormatter(String timeLocal) {
+        return ZonedDateTime.parse(timeLocal, FORMATTER).toLocalDateTime();
+    }
+}
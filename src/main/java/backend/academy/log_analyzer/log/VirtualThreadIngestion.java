@@ -0,0 +1,296 @@
+package backend.academy.log_analyzer.log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Анализ ресурсов на виртуальных потоках. Каждый ресурс читается и разбирается своим виртуальным потоком,
+ * подходящие логи передаются пачками через ограниченную очередь потокам сбора статистики,
+ * у каждого из которых свой отчет (шард). Когда очередь заполнена, чтение приостанавливается,
+ * поэтому медленные URL не задерживают локальные файлы, а память не растет без ограничений.
+ * <p>
+ * Ошибка чтения одного ресурса не прерывает анализ остальных: ресурс пропускается целиком. Пока ресурс читается,
+ * потоки сбора статистики копят его логи в отдельных частях отчета и сливают их в свой отчет, только когда ресурс
+ * прочитан до конца, поэтому логи, переданные из ресурса до ошибки, в отчет не попадают.
+ * Объект рассчитан на один вызов {@link #ingest}
+ */
+@Slf4j
+public class VirtualThreadIngestion {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int QUEUE_BATCHES_PER_WORKER = 4;
+    private static final String READER_CLOSING_ERROR = "Во время закрытия потока чтения произошла ошибка";
+    private static final String ANALYSIS_INTERRUPTED_ERROR = "Анализ логов был прерван";
+    private static final String ANALYSIS_ERROR = "Во время анализа логов произошла ошибка";
+
+    /**
+     * Пачка, после которой поток сбора статистики завершается
+     */
+    private static final LogBatch END = new LogBatch(new SourceRead(""), List.of());
+
+    private final LogReport report;
+    private final int workers;
+    private final BlockingQueue<LogBatch> queue;
+    private final Semaphore sourcePermits;
+    private final List<URI> failedSources = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Конструктор анализа
+     *
+     * @param report основной отчет, в который сливаются отчеты потоков сбора статистики
+     * @param workers количество потоков сбора статистики
+     * @param maxSources количество ресурсов, которые читаются одновременно
+     */
+    public VirtualThreadIngestion(LogReport report, int workers, int maxSources) {
+        this.report = report;
+        this.workers = workers;
+        this.queue = new ArrayBlockingQueue<>(workers * QUEUE_BATCHES_PER_WORKER);
+        this.sourcePermits = new Semaphore(maxSources);
+    }
+
+    /**
+     * Метод анализа ресурсов. Возвращает управление, когда все ресурсы прочитаны, а статистика слита в отчет
+     *
+     * @param sources ридеры ресурсов
+     * @param logParser функция, которая разбирает строку и возвращает лог, если он подходит под фильтры,
+     * иначе {@code null}
+     *
+     * @return ресурсы, которые не удалось прочитать
+     */
+    public List<URI> ingest(Map<BufferedReader, URI> sources, Function<String, Log> logParser) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LogReport>> aggregators = new ArrayList<>();
+            List<Future<Void>> readers = new ArrayList<>();
+
+            for (int i = 0; i < workers; i++) {
+                aggregators.add(executor.submit(this::aggregate));
+            }
+
+            sources.forEach((reader, uri) -> readers.add(executor.submit(() -> readSource(reader, uri, logParser))));
+
+            try {
+                for (Future<Void> reader : readers) {
+                    await(reader);
+                }
+
+                for (int i = 0; i < workers; i++) {
+                    putBatch(END);
+                }
+
+                for (Future<LogReport> aggregator : aggregators) {
+                    report.merge(await(aggregator));
+                }
+            } catch (RuntimeException e) {
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+
+        return List.copyOf(failedSources);
+    }
+
+    /**
+     * Метод чтения одного ресурса: строки разбираются и передаются в очередь пачками.
+     * Ошибка чтения ресурса записывается в журнал, ресурс пропускается вместе с уже переданными пачками
+     *
+     * @param reader ридер ресурса
+     * @param uri URI ресурса
+     * @param logParser функция разбора и фильтрации строки
+     *
+     * @return {@code null}
+     *
+     * @throws InterruptedException если анализ был прерван
+     */
+    private Void readSource(BufferedReader reader, URI uri, Function<String, Log> logParser)
+        throws InterruptedException {
+        sourcePermits.acquire();
+
+        SourceRead source = new SourceRead(uri.toString());
+
+        try {
+            List<Log> logs = new ArrayList<>(BATCH_SIZE);
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                Log parsedLog = logParser.apply(line);
+
+                if (parsedLog != null) {
+                    logs.add(parsedLog);
+                }
+
+                if (logs.size() == BATCH_SIZE) {
+                    queue.put(new LogBatch(source, logs));
+                    logs = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+
+            if (!logs.isEmpty()) {
+                queue.put(new LogBatch(source, logs));
+            }
+
+            source.status = SourceStatus.READ;
+        } catch (IOException | UncheckedIOException e) {
+            source.status = SourceStatus.FAILED;
+            failedSources.add(uri);
+            log.warn("Ресурс {} пропущен из-за ошибки чтения, его логи не учтены: {}", uri, e.toString());
+        } finally {
+            sourcePermits.release();
+            closeQuietly(reader);
+        }
+
+        return null;
+    }
+
+    /**
+     * Метод сбора статистики из очереди в новый отчет (шард) до пачки {@link #END}.
+     * Пачки каждого ресурса собираются в отдельную часть, которая сливается в шард, когда ресурс прочитан.
+     * Если сбор статистики упал, очередь все равно разбирается до конца, чтобы чтение ресурсов не остановилось
+     *
+     * @return отчет по пачкам прочитанных до конца ресурсов
+     *
+     * @throws InterruptedException если анализ был прерван
+     */
+    private LogReport aggregate() throws InterruptedException {
+        LogReport shard = report.newShard();
+        Map<SourceRead, LogReport> parts = new HashMap<>();
+
+        try {
+            for (LogBatch batch = queue.take(); batch != END; batch = queue.take()) {
+                LogReport part = parts.computeIfAbsent(batch.source(), source -> report.newShard());
+
+                for (Log parsedLog : batch.logs()) {
+                    part.addAllStats(parsedLog, batch.source().resourceUri);
+                }
+
+                completeParts(parts, shard);
+            }
+
+            // Пачка END приходит после того, как все ресурсы прочитаны, поэтому здесь разбираются все части
+            completeParts(parts, shard);
+        } catch (RuntimeException e) {
+            LogBatch batch = queue.take();
+
+            while (batch != END) {
+                batch = queue.take();
+            }
+
+            throw e;
+        }
+
+        return shard;
+    }
+
+    /**
+     * Метод слияния частей ресурсов, прочитанных до конца, в шард потока сбора статистики.
+     * Части ресурсов, чтение которых упало, отбрасываются, части ресурсов, которые еще читаются, остаются
+     *
+     * @param parts части отчета по ресурсам
+     * @param shard отчет потока сбора статистики
+     */
+    private void completeParts(Map<SourceRead, LogReport> parts, LogReport shard) {
+        Iterator<Map.Entry<SourceRead, LogReport>> iterator = parts.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<SourceRead, LogReport> part = iterator.next();
+            SourceStatus status = part.getKey().status;
+
+            if (status == SourceStatus.READ) {
+                shard.merge(part.getValue());
+            } else if (status == SourceStatus.FAILED) {
+                // Группы, которые часть успела сбросить на диск, больше не нужны
+                part.getValue().close();
+            }
+
+            if (status != SourceStatus.READING) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void putBatch(LogBatch batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ANALYSIS_INTERRUPTED_ERROR, e);
+        }
+    }
+
+    /**
+     * Метод ожидания результата задачи
+     *
+     * @param task задача
+     *
+     * @return результат задачи
+     */
+    private <T> T await(Future<T> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ANALYSIS_INTERRUPTED_ERROR, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException(ANALYSIS_ERROR, e.getCause());
+        }
+    }
+
+    private void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.error(READER_CLOSING_ERROR, e);
+        }
+    }
+
+    /**
+     * Рекорд пачки разобранных логов одного ресурса
+     *
+     * @param source ресурс, откуда прочитаны логи
+     * @param logs логи
+     */
+    private record LogBatch(SourceRead source, List<Log> logs) {
+    }
+
+    /**
+     * Состояние чтения ресурса
+     */
+    private enum SourceStatus {
+        READING,
+        READ,
+        FAILED
+    }
+
+    /**
+     * Чтение одного ресурса. Состояние меняется потоком чтения после передачи последней пачки,
+     * а проверяется потоками сбора статистики
+     */
+    private static final class SourceRead {
+
+        private final String resourceUri;
+        private volatile SourceStatus status = SourceStatus.READING;
+
+        private SourceRead(String resourceUri) {
+            this.resourceUri = resourceUri;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package backend.academy.log_analyzer.maper;
 
+import backend.academy.log_analyzer.enums.LogFields;
 import backend.academy.log_analyzer.log.LogReport;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.stat.GroupAggregator;
+import backend.academy.log_analyzer.stat.TimeSeries;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * Маппер для преобразования статистики проанализированных логов в текстовый отчет в нужном формате
@@ -18,6 +24,20 @@ public abstract class ReportMapper {
     protected static final String NEW_LINE_ASCII = " \n";
     protected static final String EMPTY_ROW_MD = "| - | - | - |";
     protected static final String NEW_LINE_MD = " |\n";
+    protected static final double PERCENTILE_50 = 0.5;
+    protected static final double PERCENTILE_90 = 0.9;
+    protected static final double PERCENTILE_99 = 0.99;
+    protected static final double PERCENTILE_99_9 = 0.999;
+    protected static final String ESTIMATE_MARK = " (оценка)";
+    /**
+     * Количество столбцов статистики группы после полей ключа
+     */
+    protected static final int GROUP_STATS_COLUMNS = 4;
+    protected static final String GROUP_STATS_HEADER = "Запросы | Байты | 95p размера ответа | 5xx";
+
+    private static final int TIME_SERIES_COLUMNS = 9;
+    private static final double PERCENTILE_95 = 0.95;
+    private static final DateTimeFormatter BUCKET_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
     /**
      * Метод, возвращающий строку, содержащую отчет в нужном формате
@@ -46,6 +66,34 @@ public abstract class ReportMapper {
         return time.format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss"));
     }
 
+    /**
+     * Метод преобразования количества уникальных пользователей в строку.
+     * Если количество оценено через HyperLogLog, к нему добавляется пометка
+     *
+     * @param report статистика
+     * @return количество уникальных пользователей
+     */
+    protected String mapUniqueUsersCount(LogReport report) {
+        long count = report.getUniqueUsersCount();
+
+        return report.isUniqueUsersCountEstimated() ? "~" + count + ESTIMATE_MARK : String.valueOf(count);
+    }
+
+    /**
+     * Метод получения пометки для топа ресурсов. Если количество запросов оценено, в пометке указывается
+     * максимальная погрешность
+     *
+     * @param report статистика
+     * @return пометка или пустая строка, если количество точное
+     */
+    protected String mapResourcesEstimateMark(LogReport report) {
+        if (!report.isPopularResourcesEstimated()) {
+            return "";
+        }
+
+        return " (оценка, погрешность до " + report.getPopularResourcesMaxError() + ")";
+    }
+
     /**
      * Метод преобразования статистики процентного соотношения кодов ответа в формат для вывода
      *
@@ -82,4 +130,119 @@ public abstract class ReportMapper {
 
         return codesString.toString();
     }
+
+    /**
+     * Метод получения пометки для временного ряда. Если часть логов не попала в окно хранимых интервалов,
+     * в пометке указывается их количество
+     *
+     * @param report статистика
+     * @return пометка или пустая строка, если все логи попали в ряд
+     */
+    protected String mapTimeSeriesDroppedMark(LogReport report) {
+        long dropped = report.getTimeSeriesDropped();
+
+        return dropped == 0 ? "" : " (логов раньше первого интервала: " + dropped + ")";
+    }
+
+    /**
+     * Метод преобразования интервалов временного ряда в строки таблицы.
+     * Столбцы: начало интервала, запросы, байты, ответы 1xx-5xx и 95p размера ответа
+     *
+     * @param report статистика
+     * @param rowStart начало строки таблицы
+     * @param rowEnd конец строки таблицы (вместе с переводом строки)
+     * @return строки таблицы или строка с прочерками, если интервалов нет
+     */
+    protected String mapTimeSeriesRows(LogReport report, String rowStart, String rowEnd) {
+        List<TimeSeries.Bucket> buckets = report.getTimeSeries();
+
+        if (buckets.isEmpty()) {
+            return rowStart + "-" + (COL_SEPARATOR + "-").repeat(TIME_SERIES_COLUMNS - 1) + rowEnd;
+        }
+
+        StringBuilder rows = new StringBuilder();
+
+        for (TimeSeries.Bucket bucket : buckets) {
+            rows.append(rowStart)
+                .append(bucket.start().format(BUCKET_FORMATTER)).append(COL_SEPARATOR)
+                .append(bucket.requests()).append(COL_SEPARATOR)
+                .append(bucket.bytes()).append('b');
+
+            for (long count : bucket.statusClasses()) {
+                rows.append(COL_SEPARATOR).append(count);
+            }
+
+            rows.append(COL_SEPARATOR).append(bucket.percentile95()).append('b').append(rowEnd);
+        }
+
+        return rows.toString();
+    }
+
+    /**
+     * Метод получения заголовка статистики по группам: поля ключа и количество групп.
+     * Если группы сбрасывались на диск, это указывается в заголовке
+     *
+     * @param report статистика
+     * @param top самые большие группы
+     * @return заголовок без разметки
+     */
+    protected String mapGroupsTitle(LogReport report, GroupAggregator.Top top) {
+        return "Статистика по группам (" + mapGroupByFields(report, ", ") + ", ТОП-" + top.groups().size()
+            + " из " + top.groupsCount() + ")"
+            + (top.spills() == 0 ? "" : " (не поместились в память, сбрасывались на диск: " + top.spills() + ")");
+    }
+
+    /**
+     * Метод преобразования полей ключа группы в строку
+     *
+     * @param report статистика
+     * @param separator разделитель полей
+     * @return поля ключа через разделитель
+     */
+    protected String mapGroupByFields(LogReport report, String separator) {
+        return report.getGroupByFields().stream().map(LogFields::fieldName).collect(Collectors.joining(separator));
+    }
+
+    /**
+     * Метод преобразования групп в строки таблицы.
+     * Столбцы: значения полей ключа, запросы, байты, 95p размера ответа и процент ответов 5xx
+     *
+     * @param report статистика
+     * @param top самые большие группы
+     * @param rowStart начало строки таблицы
+     * @param rowEnd конец строки таблицы (вместе с переводом строки)
+     * @param valueMapper преобразование значения поля для вывода (например, экранирование)
+     * @return строки таблицы или строка с прочерками, если групп нет
+     */
+    protected String mapGroupRows(
+        LogReport report,
+        GroupAggregator.Top top,
+        String rowStart,
+        String rowEnd,
+        UnaryOperator<String> valueMapper
+    ) {
+        if (top.groups().isEmpty()) {
+            int columns = report.getGroupByFields().size() + GROUP_STATS_COLUMNS;
+
+            return rowStart + "-" + (COL_SEPARATOR + "-").repeat(columns - 1) + rowEnd;
+        }
+
+        StringBuilder rows = new StringBuilder();
+
+        for (GroupAggregator.Group group : top.groups()) {
+            rows.append(rowStart);
+
+            for (String value : group.values()) {
+                rows.append(valueMapper.apply(value)).append(COL_SEPARATOR);
+            }
+
+            rows.append(group.stats().count()).append(COL_SEPARATOR)
+                .append(group.stats().bytes()).append('b').append(COL_SEPARATOR)
+                .append(group.stats().getPercentile(PERCENTILE_95)).append('b').append(COL_SEPARATOR)
+                .append(String.format(Locale.ROOT, "%.2f%%", group.stats().serverErrorsPercent()))
+                .append(rowEnd);
+        }
+
+        return rows.toString();
+    }
 }
@@ -4,7 +4,9 @@ import backend.academy.log_analyzer.enums.HttpCodes;
 import backend.academy.log_analyzer.log.LogReport;
 import backend.academy.log_analyzer.maper.ReportMapper;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.stat.GroupAggregator;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,15 +31,19 @@ public class ReportMapperToAsciiDoc extends ReportMapper {
             | Значение поля | %s%n\
             | Количество запросов | %d%n\
             | Средний размер ответа | %db%n\
+            | 50p размера ответа | %db%n\
+            | 90p размера ответа | %db%n\
             | 95p размера ответа | %db%n\
+            | 99p размера ответа | %db%n\
+            | 99.9p размера ответа | %db%n\
             |===%n\
-            === Часто запрашиваемые ресурсы (ТОП-3)%n\
+            === Часто запрашиваемые ресурсы (ТОП-%d)%s%n\
             [cols="1,1", options="header"]%n\
             |===%n\
             | Ресурс | Количество%n\
             %s%n\
             |===%n\
-            === Часто встречающиеся коды ответа (ТОП-3)%n\
+            === Часто встречающиеся коды ответа (ТОП-%d)%n\
             [cols="1,1,1", options="header"]%n\
             |===%n\
             | Код | Имя | Количество%n\
@@ -50,7 +56,7 @@ public class ReportMapperToAsciiDoc extends ReportMapper {
             | Тип кода | Процентное соотношение%n\
             %s%n\
             |===%n\
-            === Количество уникальных пользователей: %d""".formatted(
+            === Количество уникальных пользователей: %s""".formatted(
             mapPathsToAsciiDoc(report.resources()),
             mapDateToString(params.from()),
             mapDateToString(params.to()),
@@ -58,11 +64,68 @@ public class ReportMapperToAsciiDoc extends ReportMapper {
             params.filterValue().isEmpty() ? '-' : params.filterValue(),
             report.getTotalCountRequests(),
             report.getAverageBytesSize(),
+            report.getPercentile(PERCENTILE_50),
+            report.getPercentile(PERCENTILE_90),
             report.get95thPercentile(),
+            report.getPercentile(PERCENTILE_99),
+            report.getPercentile(PERCENTILE_99_9),
+            report.getTopSize(),
+            mapResourcesEstimateMark(report),
             mapResourcesToAsciiDoc(report.getPopularResources()),
+            report.getTopSize(),
             mapCodesToAsciiDoc(report.getPopularCodeResponses()),
             mapCodesByType(report.getPercentOfCodeResponsesByType(), false),
-            report.getUniqueUsersCount()
+            mapUniqueUsersCount(report)
+        ) + mapTimeSeriesToAsciiDoc(report) + mapGroupsToAsciiDoc(report);
+    }
+
+    /**
+     * Метод для преобразования (форматирования) временного ряда в формат для вывода
+     *
+     * @param report статистика
+     * @return таблица временного ряда или пустая строка, если ряд не собирался
+     */
+    private String mapTimeSeriesToAsciiDoc(LogReport report) {
+        if (!report.isTimeSeriesEnabled()) {
+            return "";
+        }
+
+        return """
+            %n== Временной ряд (интервал %s)%s%n\
+            [cols="1,1,1,1,1,1,1,1,1", options="header"]%n\
+            |===%n\
+            | Начало | Запросы | Байты | 1xx | 2xx | 3xx | 4xx | 5xx | 95p размера ответа%n\
+            %s|===""".formatted(
+            report.getTimeBucketName(),
+            mapTimeSeriesDroppedMark(report),
+            mapTimeSeriesRows(report, "| ", "%n".formatted())
+        );
+    }
+
+    /**
+     * Метод для преобразования (форматирования) статистики по группам в формат для вывода
+     *
+     * @param report статистика
+     * @return таблица групп или пустая строка, если группы не собирались
+     */
+    private String mapGroupsToAsciiDoc(LogReport report) {
+        if (!report.isGroupByEnabled()) {
+            return "";
+        }
+
+        GroupAggregator.Top top = report.getGroups();
+
+        return """
+            %n== %s%n\
+            [cols="%s", options="header"]%n\
+            |===%n\
+            | %s | %s%n\
+            %s|===""".formatted(
+            mapGroupsTitle(report, top),
+            String.join(",", Collections.nCopies(report.getGroupByFields().size() + GROUP_STATS_COLUMNS, "1")),
+            mapGroupByFields(report, COL_SEPARATOR),
+            GROUP_STATS_HEADER,
+            mapGroupRows(report, top, "| ", "%n".formatted(), value -> '`' + value + '`')
         );
     }
 
@@ -140,7 +203,7 @@ public class ReportMapperToAsciiDoc extends ReportMapper {
      *
      * @return отформатированные коды ответа
      */
-    private String mapCodesToAsciiDoc(List<Map.Entry<HttpCodes, Long>> httpCodes) {
+    private String mapCodesToAsciiDoc(List<Map.Entry<Integer, Long>> httpCodes) {
         if (httpCodes.isEmpty()) {
             return EMPTY_ROW_ASCII;
         }
@@ -149,11 +212,9 @@ public class ReportMapperToAsciiDoc extends ReportMapper {
 
         int buffer = 0;
 
-        for (Map.Entry<HttpCodes, Long> entry : httpCodes) {
-            HttpCodes httpCode = entry.getKey();
-
-            String line = "| " + httpCode.code() + COL_SEPARATOR
-                + httpCode.description()
+        for (Map.Entry<Integer, Long> entry : httpCodes) {
+            String line = "| " + entry.getKey() + COL_SEPARATOR
+                + HttpCodes.of(entry.getKey()).description()
                 + COL_SEPARATOR + entry.getValue() + NEW_LINE_ASCII;
 
             buffer += line.length();
@@ -4,6 +4,7 @@ import backend.academy.log_analyzer.enums.HttpCodes;
 import backend.academy.log_analyzer.log.LogReport;
 import backend.academy.log_analyzer.maper.ReportMapper;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.stat.GroupAggregator;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -29,12 +30,16 @@ public class ReportMapperToMarkdown extends ReportMapper {
             |   Значение поля       |           %s |%n\
             |  Количество запросов  |       %d |%n\
             | Средний размер ответа |         %db |%n\
+            |   50p размера ответа  |         %db |%n\
+            |   90p размера ответа  |         %db |%n\
             |   95p размера ответа  |         %db |%n\
-            ### Часто запрашиваемые ресурсы (ТОП-3)%n\
+            |   99p размера ответа  |         %db |%n\
+            |  99.9p размера ответа |         %db |%n\
+            ### Часто запрашиваемые ресурсы (ТОП-%d)%s%n\
             |     Ресурс      | Количество |%n\
             |:---------------:|-----------:|%n\
             %s%n\
-            ### Часто встречающиеся коды ответа (ТОП-3)%n\
+            ### Часто встречающиеся коды ответа (ТОП-%d)%n\
             | Код |          Имя          | Количество |%n\
             |:---:|:---------------------:|-----------:|%n\
             %s%n\
@@ -43,7 +48,7 @@ public class ReportMapperToMarkdown extends ReportMapper {
             | Тип кода | Процентное соотношение |%n\
             |:--------:|-----------------------:|%n\
             %s%n\
-            ### Количество уникальных пользователей: %d""".formatted(
+            ### Количество уникальных пользователей: %s""".formatted(
             mapFilesToMarkdown(report.resources()),
             mapDateToString(params.from()),
             mapDateToString(params.to()),
@@ -51,12 +56,65 @@ public class ReportMapperToMarkdown extends ReportMapper {
             params.filterValue().isEmpty() ? '-' : params.filterValue(),
             report.getTotalCountRequests(),
             report.getAverageBytesSize(),
+            report.getPercentile(PERCENTILE_50),
+            report.getPercentile(PERCENTILE_90),
             report.get95thPercentile(),
+            report.getPercentile(PERCENTILE_99),
+            report.getPercentile(PERCENTILE_99_9),
+            report.getTopSize(),
+            mapResourcesEstimateMark(report),
             mapResourcesToMarkdown(report.getPopularResources()),
+            report.getTopSize(),
             mapCodesToMarkdown(report.getPopularCodeResponses()),
             mapCodesByType(report.getPercentOfCodeResponsesByType(), true),
-            report.getUniqueUsersCount()
-        );
+            mapUniqueUsersCount(report)
+        ) + mapTimeSeriesToMarkdown(report) + mapGroupsToMarkdown(report);
+    }
+
+    /**
+     * Метод для преобразования (форматирования) временного ряда в формат для вывода
+     *
+     * @param report статистика
+     * @return таблица временного ряда или пустая строка, если ряд не собирался
+     */
+    private String mapTimeSeriesToMarkdown(LogReport report) {
+        if (!report.isTimeSeriesEnabled()) {
+            return "";
+        }
+
+        return """
+            %n## Временной ряд (интервал %s)%s%n\
+            |      Начало      | Запросы | Байты | 1xx | 2xx | 3xx | 4xx | 5xx | 95p размера ответа |%n\
+            |:----------------:|--------:|------:|----:|----:|----:|----:|----:|-------------------:|%n\
+            """.formatted(report.getTimeBucketName(), mapTimeSeriesDroppedMark(report))
+            + mapTimeSeriesRows(report, "| ", NEW_LINE_MD).stripTrailing();
+    }
+
+    /**
+     * Метод для преобразования (форматирования) статистики по группам в формат для вывода
+     *
+     * @param report статистика
+     * @return таблица групп или пустая строка, если группы не собирались
+     */
+    private String mapGroupsToMarkdown(LogReport report) {
+        if (!report.isGroupByEnabled()) {
+            return "";
+        }
+
+        GroupAggregator.Top top = report.getGroups();
+
+        return """
+            %n## %s%n\
+            | %s | %s |%n\
+            |%s%s%n\
+            """.formatted(
+            mapGroupsTitle(report, top),
+            mapGroupByFields(report, COL_SEPARATOR),
+            GROUP_STATS_HEADER,
+            ":---:|".repeat(report.getGroupByFields().size()),
+            "---:|".repeat(GROUP_STATS_COLUMNS)
+        ) + mapGroupRows(report, top, "| ", NEW_LINE_MD, value -> '`' + StringEscapeUtils.escapeHtml4(value) + '`')
+            .stripTrailing();
     }
 
     /**
@@ -126,7 +184,7 @@ public class ReportMapperToMarkdown extends ReportMapper {
      * @param httpCodes список кодов ответа
      * @return отформатированные коды ответа
      */
-    private String mapCodesToMarkdown(List<Map.Entry<HttpCodes, Long>> httpCodes) {
+    private String mapCodesToMarkdown(List<Map.Entry<Integer, Long>> httpCodes) {
         if (httpCodes.isEmpty()) {
             return EMPTY_ROW_MD;
         }
@@ -135,11 +193,9 @@ public class ReportMapperToMarkdown extends ReportMapper {
 
         int buffer = 0;
 
-        for (Map.Entry<HttpCodes, Long> entry : httpCodes) {
-            HttpCodes httpCode = entry.getKey();
-
-            String escapedDescription = StringEscapeUtils.escapeHtml4(httpCode.description());
-            String line = "| " + httpCode.code() + COL_SEPARATOR
+        for (Map.Entry<Integer, Long> entry : httpCodes) {
+            String escapedDescription = StringEscapeUtils.escapeHtml4(HttpCodes.of(entry.getKey()).description());
+            String line = "| " + entry.getKey() + COL_SEPARATOR
                 + escapedDescription + COL_SEPARATOR
                 + entry.getValue() + NEW_LINE_MD;
 
@@ -4,6 +4,7 @@ import backend.academy.log_analyzer.enums.HttpCodes;
 import backend.academy.log_analyzer.log.LogReport;
 import backend.academy.log_analyzer.maper.ReportMapper;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.stat.GroupAggregator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -31,15 +32,19 @@ public class ReportMapperToText extends ReportMapper {
                 Значение поля: %s%n\
                 Количество запросов: %d%n\
                 Средний размер ответа: %db%n\
-                95p размера ответа: %db%n%n\
-            Часто запрашиваемые ресурсы (ТОП-3):%n\
+                50p размера ответа: %db%n\
+                90p размера ответа: %db%n\
+                95p размера ответа: %db%n\
+                99p размера ответа: %db%n\
+                99.9p размера ответа: %db%n%n\
+            Часто запрашиваемые ресурсы (ТОП-%d)%s:%n\
             %s%n\
-            Часто встречающиеся коды ответа (ТОП-3):%n\
+            Часто встречающиеся коды ответа (ТОП-%d):%n\
                 %s%n%n\
             Дополнительная статистика%n%n\
             Проценты кодов (200, 400 и 500):%n\
                 %s%n%n\
-            Количество уникальных пользователей: %d""".formatted(
+            Количество уникальных пользователей: %s""".formatted(
             mapFilesToText(report.resources()),
             mapDateToString(params.from()),
             mapDateToString(params.to()),
@@ -47,12 +52,57 @@ public class ReportMapperToText extends ReportMapper {
             params.filterValue().isEmpty() ? "-" : params.filterValue(),
             report.getTotalCountRequests(),
             report.getAverageBytesSize(),
+            report.getPercentile(PERCENTILE_50),
+            report.getPercentile(PERCENTILE_90),
             report.get95thPercentile(),
+            report.getPercentile(PERCENTILE_99),
+            report.getPercentile(PERCENTILE_99_9),
+            report.getTopSize(),
+            mapResourcesEstimateMark(report),
             mapResourcesToText(report.getPopularResources()),
+            report.getTopSize(),
             mapCodesToText(report.getPopularCodeResponses()),
             mapCodesByType(report.getPercentOfCodeResponsesByType()),
-            report.getUniqueUsersCount()
-        );
+            mapUniqueUsersCount(report)
+        ) + mapTimeSeriesToText(report) + mapGroupsToText(report);
+    }
+
+    /**
+     * Метод для преобразования (форматирования) временного ряда в формат для вывода
+     *
+     * @param report статистика
+     * @return таблица временного ряда или пустая строка, если ряд не собирался
+     */
+    private String mapTimeSeriesToText(LogReport report) {
+        if (!report.isTimeSeriesEnabled()) {
+            return "";
+        }
+
+        return """
+            %n%nВременной ряд (интервал %s)%s:%n\
+            \tНачало | Запросы | Байты | 1xx | 2xx | 3xx | 4xx | 5xx | 95p размера ответа%n\
+            """.formatted(report.getTimeBucketName(), mapTimeSeriesDroppedMark(report))
+            + mapTimeSeriesRows(report, "\t", System.lineSeparator()).stripTrailing();
+    }
+
+    /**
+     * Метод для преобразования (форматирования) статистики по группам в формат для вывода
+     *
+     * @param report статистика
+     * @return таблица групп или пустая строка, если группы не собирались
+     */
+    private String mapGroupsToText(LogReport report) {
+        if (!report.isGroupByEnabled()) {
+            return "";
+        }
+
+        GroupAggregator.Top top = report.getGroups();
+
+        return """
+            %n%n%s:%n\
+            \t%s | %s%n\
+            """.formatted(mapGroupsTitle(report, top), mapGroupByFields(report, COL_SEPARATOR), GROUP_STATS_HEADER)
+            + mapGroupRows(report, top, "\t", System.lineSeparator(), value -> value).stripTrailing();
     }
 
     /**
@@ -106,7 +156,7 @@ public class ReportMapperToText extends ReportMapper {
      * @param httpCodes список кодов ответа
      * @return отформатированные коды ответа
      */
-    private String mapCodesToText(List<Map.Entry<HttpCodes, Long>> httpCodes) {
+    private String mapCodesToText(List<Map.Entry<Integer, Long>> httpCodes) {
         if (httpCodes.isEmpty()) {
             return EMPTY_INFO;
         }
@@ -115,11 +165,11 @@ public class ReportMapperToText extends ReportMapper {
 
         int buffer = 0;
 
-        for (Map.Entry<HttpCodes, Long> entry : httpCodes) {
+        for (Map.Entry<Integer, Long> entry : httpCodes) {
             String line = String.format(
                 "    %s (%s): %d%n",
-                entry.getKey().code(),
-                entry.getKey().description(),
+                entry.getKey(),
+                HttpCodes.of(entry.getKey()).description(),
                 entry.getValue()
             );
 
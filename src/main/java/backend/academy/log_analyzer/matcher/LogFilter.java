@@ -0,0 +1,273 @@
+package backend.academy.log_analyzer.matcher;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogLineScanner;
+import com.beust.jcommander.ParameterException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Скомпилированный фильтр по значению поля лога ({@code --filter-field} и {@code --filter-value}).
+ * <p>
+ * Фильтр собирается один раз при разборе аргументов: поле читается напрямую через метод рекорда,
+ * а шаблон со звездочками превращается в проверку префикса, суффикса или вхождения
+ * (в остальных случаях - в заранее скомпилированный {@link Pattern}).
+ * Звездочка означает любую последовательность символов, остальные символы сравниваются как есть.
+ * Фильтры равны, если у них одинаковые поле и значение.
+ * <p>
+ * Фильтр можно проверить до разбора лога: значение поля берется прямо из просканированной строки
+ * (см. {@link #testScanned(LogLineScanner)}), поэтому строки, которые не подходят под фильтр,
+ * отбрасываются без создания остальных полей
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class LogFilter implements Predicate<Log> {
+
+    /**
+     * Фильтр, которому подходит любой лог
+     */
+    public static final LogFilter ACCEPT_ALL = new LogFilter("", "", null, null, value -> true);
+
+    private static final String WILDCARD = "*";
+    private static final int LAST_INDEX_FOR_DATE = 10;
+
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final String field;
+
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final String value;
+
+    @Getter(AccessLevel.NONE)
+    private final LogFields logField;
+
+    @Getter(AccessLevel.NONE)
+    private final Function<Log, String> accessor;
+
+    @Getter(AccessLevel.NONE)
+    private final Predicate<CharSequence> matcher;
+
+    private LogFilter(
+        String field,
+        String value,
+        LogFields logField,
+        Function<Log, String> accessor,
+        Predicate<CharSequence> matcher
+    ) {
+        this.field = field;
+        this.value = value;
+        this.logField = logField;
+        this.accessor = accessor;
+        this.matcher = matcher;
+    }
+
+    /**
+     * Метод компиляции фильтра
+     *
+     * @param filterField поле для фильтрации (пустая строка - без фильтрации)
+     * @param filterValue значение или шаблон со звездочками
+     *
+     * @return фильтр
+     *
+     * @throws ParameterException если поле неизвестно или значение фильтра по времени неверное
+     */
+    public static LogFilter compile(String filterField, String filterValue) {
+        if (filterField == null || filterField.isEmpty()) {
+            return ACCEPT_ALL;
+        }
+
+        LogFields logField = LogFields.of(filterField);
+
+        if (logField == null) {
+            throw new ParameterException("Указанного поля " + filterField + " для фильтрации не существует");
+        }
+
+        return new LogFilter(filterField, filterValue, logField, accessor(logField), matcher(logField, filterValue));
+    }
+
+    @Override
+    public boolean test(Log log) {
+        if (logField == null) {
+            return true;
+        }
+
+        String fieldValue = accessor.apply(log);
+
+        return fieldValue != null && matcher.test(fieldValue);
+    }
+
+    /**
+     * Метод проверки строки, которую просканировали, но еще не разобрали в {@link Log}.
+     * Результат совпадает с {@link #test(Log)} для лога, разобранного из этой строки
+     *
+     * @param scanner сканер с последней просканированной строкой
+     *
+     * @return {@code true}, если строка подходит под фильтр, иначе {@code false}
+     */
+    public boolean testScanned(LogLineScanner scanner) {
+        if (logField == null) {
+            return true;
+        }
+
+        CharSequence fieldValue = scanner.fieldValue(logField);
+
+        return fieldValue != null && matcher.test(fieldValue);
+    }
+
+    /**
+     * Проверка, что фильтр пропускает любой лог
+     *
+     * @return {@code true}, если фильтр не задан, иначе {@code false}
+     */
+    public boolean isAcceptAll() {
+        return logField == null;
+    }
+
+    /**
+     * Метод получения функции чтения значения поля в том виде, в котором оно сравнивается с фильтром.
+     * Так же значения полей выводятся в статистике по группам
+     *
+     * @param field поле лога
+     *
+     * @return функция, которая возвращает строковое значение поля или {@code null}, если поля нет
+     */
+    public static Function<Log, String> accessor(LogFields field) {
+        return switch (field) {
+            case IP -> Log::ip;
+            case USER -> Log::user;
+            case TIME -> log -> log.time() == null ? null : log.time().toString();
+            case REQUEST -> log -> log.request() == null ? null : log.request().getRequestLine();
+            case STATUS -> log -> String.valueOf(log.status());
+            case BYTES -> log -> String.valueOf(log.bytes());
+            case REFERER -> Log::referer;
+            case AGENT -> Log::agent;
+            case METHOD -> log -> log.request() == null ? null : log.request().method();
+            case ENDPOINT -> log -> log.request() == null ? null : log.request().endpoint();
+            case VERSION -> log -> log.request() == null ? null : log.request().version();
+        };
+    }
+
+    /**
+     * Метод компиляции проверки значения поля
+     *
+     * @param field поле лога
+     * @param filterValue значение или шаблон
+     *
+     * @return проверка значения поля
+     */
+    private static Predicate<CharSequence> matcher(LogFields field, String filterValue) {
+        if (filterValue.contains(WILDCARD)) {
+            return wildcardMatcher(filterValue);
+        }
+
+        if (field == LogFields.TIME && !filterValue.contains("T")) {
+            if (filterValue.length() < LAST_INDEX_FOR_DATE) {
+                throw new ParameterException("Значение фильтра неверное."
+                    + " Необходимо вводить дату целиком, либо использовать шаблон");
+            }
+
+            return filterValue.substring(0, LAST_INDEX_FOR_DATE)::contentEquals;
+        }
+
+        return filterValue::contentEquals;
+    }
+
+    /**
+     * Метод компиляции шаблона со звездочками
+     *
+     * @param pattern шаблон
+     *
+     * @return проверка, что значение подходит под шаблон
+     */
+    static Predicate<CharSequence> wildcardMatcher(String pattern) {
+        String[] parts = pattern.split(Pattern.quote(WILDCARD), -1);
+
+        if (parts.length == 2) {
+            String prefix = parts[0];
+            String suffix = parts[1];
+            int minLength = prefix.length() + suffix.length();
+
+            return value -> value.length() >= minLength
+                && regionMatches(value, 0, prefix)
+                && regionMatches(value, value.length() - suffix.length(), suffix);
+        }
+
+        if (parts.length == 3 && parts[0].isEmpty() && parts[2].isEmpty()) {
+            String infix = parts[1];
+
+            return value -> contains(value, infix);
+        }
+
+        StringBuilder regex = new StringBuilder();
+
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                regex.append(".*");
+            }
+
+            if (!parts[i].isEmpty()) {
+                regex.append(Pattern.quote(parts[i]));
+            }
+        }
+
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+
+        return value -> compiled.matcher(value).matches();
+    }
+
+    /**
+     * Проверка, что часть значения, начиная с заданного индекса, совпадает с образцом
+     *
+     * @param value значение
+     * @param offset индекс в значении
+     * @param sample образец
+     *
+     * @return {@code true}, если часть совпадает, иначе {@code false}
+     */
+    private static boolean regionMatches(CharSequence value, int offset, String sample) {
+        if (offset < 0 || offset + sample.length() > value.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < sample.length(); i++) {
+            if (value.charAt(offset + i) != sample.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Проверка, что значение содержит образец (аналог {@link String#contains} для {@link CharSequence})
+     *
+     * @param value значение
+     * @param sample образец
+     *
+     * @return {@code true}, если образец найден, иначе {@code false}
+     */
+    private static boolean contains(CharSequence value, String sample) {
+        if (sample.isEmpty()) {
+            return true;
+        }
+
+        char first = sample.charAt(0);
+        int last = value.length() - sample.length();
+
+        for (int i = 0; i <= last; i++) {
+            if (value.charAt(i) == first && regionMatches(value, i, sample)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
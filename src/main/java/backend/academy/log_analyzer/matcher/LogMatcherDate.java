@@ -2,9 +2,11 @@ package backend.academy.log_analyzer.matcher;
 
 import backend.academy.log_analyzer.parameter.ArgsParameters;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
- * Класс для проверки, что лог подходит под фильтры с датами
+ * Класс для проверки, что лог подходит под фильтры с датами.
+ * Время сравнивается в секундах от начала эпохи (время лога хранится с точностью до секунды)
  */
 public class LogMatcherDate {
 
@@ -17,62 +19,43 @@ public class LogMatcherDate {
      * @return {@code  true}, если лог подходит, иначе {@code false}
      */
     public boolean isLogMatch(LocalDateTime logTime, ArgsParameters parameters) {
-        LocalDateTime from = parameters.from();
-        LocalDateTime to = parameters.to();
-
-        if (from == null && to == null) {
+        if (parameters.from() == null && parameters.to() == null) {
             return true;
         }
 
-        if (from == null) {
-            return isLogTimeBeforeTo(logTime, to);
-        }
-
-        if (to == null) {
-            return isLogTimeAfterFrom(logTime, from);
-        }
-
-        return isLogTimeBetweenFromAndTo(logTime, from, to);
+        return isLogMatch(logTime.toEpochSecond(ZoneOffset.UTC), parameters);
     }
 
     /**
-     * Метод, проверяющий, что время лога до или равно времени, до которого нужно собирать логи
+     * Метод, проверяющий подходит ли лог по дате
      *
-     * @param logTime время лога
-     * @param to конечное время
+     * @param logEpochSecond время в логе в секундах от {@code 1970-01-01T00:00:00} (без учета часового пояса)
+     * @param parameters сконвертированные параметры
      *
      * @return {@code  true}, если лог подходит, иначе {@code false}
      */
-    private boolean isLogTimeBeforeTo(LocalDateTime logTime, LocalDateTime to) {
-        return logTime.isBefore(to) || logTime.isEqual(to);
-    }
+    public boolean isLogMatch(long logEpochSecond, ArgsParameters parameters) {
+        LocalDateTime from = parameters.from();
+        LocalDateTime to = parameters.to();
 
-    /**
-     * Метод, проверяющий, что время лога после или равно времени, с которого нужно собирать логи
-     *
-     * @param logTime время лога
-     * @param from начальное время
-     *
-     * @return {@code  true}, если лог подходит, иначе {@code false}
-     */
-    private boolean isLogTimeAfterFrom(LocalDateTime logTime, LocalDateTime from) {
-        return logTime.isAfter(from) || logTime.isEqual(from);
+        if (from != null && logEpochSecond < toEpochSecondCeil(from)) {
+            return false;
+        }
+
+        return to == null || logEpochSecond <= to.toEpochSecond(ZoneOffset.UTC);
     }
 
     /**
-     * Метод, проверяющий, что лог находится между начальным и конечным временем
+     * Метод перевода начального времени в секунды с округлением вверх,
+     * чтобы лог с той же секундой, но раньше дробной части, не попал в выборку
      *
-     * @param logTime время лога
      * @param from начальное время
-     * @param to конечное время
      *
-     * @return {@code  true}, если лог подходит, иначе {@code false}
+     * @return количество секунд от {@code 1970-01-01T00:00:00}
      */
-    private boolean isLogTimeBetweenFromAndTo(LocalDateTime logTime, LocalDateTime from, LocalDateTime to) {
-        if (!isLogTimeBeforeTo(logTime, to)) {
-            return false;
-        }
+    private long toEpochSecondCeil(LocalDateTime from) {
+        long epochSecond = from.toEpochSecond(ZoneOffset.UTC);
 
-        return isLogTimeAfterFrom(logTime, from);
+        return from.getNano() > 0 ? epochSecond + 1 : epochSecond;
     }
 }
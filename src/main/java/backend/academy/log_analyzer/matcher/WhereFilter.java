@@ -0,0 +1,94 @@
+package backend.academy.log_analyzer.matcher;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogLineScanner;
+import com.beust.jcommander.ParameterException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Скомпилированный фильтр из выражения {@code --where}, например
+ * {@code status=5* AND method=POST AND NOT agent~"(?i)bot"}.
+ * <p>
+ * Поддерживаются {@code AND}, {@code OR}, {@code NOT} и скобки, операторы {@code =} и {@code !=}
+ * (значение, шаблон со звездочками, диапазон {@code a..b} для {@code status}, {@code bytes} и {@code time},
+ * подсеть {@code a.b.c.d/n} для {@code ip}), {@code ~} и {@code !~} (поиск регулярного выражения)
+ * и сравнения {@code <}, {@code <=}, {@code >}, {@code >=} для {@code status}, {@code bytes} и {@code time}.
+ * Время задается как {@code yyyy-MM-dd}, {@code yyyy-MM-ddTHH:mm} или {@code yyyy-MM-ddTHH:mm:ss} и обозначает
+ * весь день, минуту или секунду.
+ * <p>
+ * Выражение разбирается один раз при разборе аргументов в дерево проверок (см. {@link WhereParser}):
+ * шаблон статуса вида {@code 5*} превращается в диапазон чисел, а условия внутри {@code AND} и {@code OR}
+ * проверяются от самых дешевых (числовые поля) к самым дорогим (регулярные выражения).
+ * Как и {@link LogFilter}, фильтр можно проверить до разбора лога (см. {@link #testScanned(LogLineScanner)}).
+ * Фильтры равны, если у них одинаковые выражения
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class WhereFilter implements Predicate<Log> {
+
+    /**
+     * Исходное выражение
+     */
+    @Getter
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final String expression;
+
+    private final WhereNode root;
+
+    /**
+     * Поля лога, которые нужны для проверки
+     */
+    @Getter
+    private final Set<LogFields> fields;
+
+    private WhereFilter(String expression, WhereNode root) {
+        this.expression = expression;
+        this.root = root;
+
+        Set<LogFields> usedFields = EnumSet.noneOf(LogFields.class);
+        root.collectFields(usedFields);
+        this.fields = Collections.unmodifiableSet(usedFields);
+    }
+
+    /**
+     * Метод компиляции выражения
+     *
+     * @param expression выражение ({@code null} или пустая строка - без фильтрации)
+     *
+     * @return фильтр или {@code null}, если выражение не задано
+     *
+     * @throws ParameterException если выражение неверное
+     */
+    public static WhereFilter compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+
+        return new WhereFilter(expression, WhereParser.parse(expression));
+    }
+
+    @Override
+    public boolean test(Log log) {
+        return root.test(log);
+    }
+
+    /**
+     * Метод проверки строки, которую просканировали, но еще не разобрали в {@link Log}.
+     * Результат совпадает с {@link #test(Log)} для лога, разобранного из этой строки
+     *
+     * @param scanner сканер с последней просканированной строкой
+     *
+     * @return {@code true}, если строка подходит под фильтр, иначе {@code false}
+     */
+    public boolean testScanned(LogLineScanner scanner) {
+        return root.test(scanner);
+    }
+}
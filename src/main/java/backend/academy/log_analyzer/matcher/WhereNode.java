@@ -0,0 +1,389 @@
+package backend.academy.log_analyzer.matcher;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogLineScanner;
+import backend.academy.log_analyzer.util.Ipv4Addresses;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Узел скомпилированного выражения {@code --where}. Каждый узел проверяет либо разобранный лог,
+ * либо строку, которую просканировали, но еще не разобрали (см. {@link LogLineScanner#fieldValue(LogFields)}).
+ * Обе проверки дают одинаковый результат
+ */
+sealed interface WhereNode {
+
+    /**
+     * Стоимость проверки числового поля (статус или размер ответа)
+     */
+    int NUMBER_COST = 1;
+    /**
+     * Стоимость проверки времени (время разбирается из строки один раз)
+     */
+    int TIME_COST = 2;
+    /**
+     * Стоимость сравнения строки с образцом
+     */
+    int TEXT_COST = 3;
+    /**
+     * Стоимость разбора IP адреса для проверки подсети
+     */
+    int NETWORK_COST = 4;
+    /**
+     * Стоимость проверки шаблона со звездочками
+     */
+    int WILDCARD_COST = 5;
+    /**
+     * Дополнительная стоимость получения времени в виде строки
+     */
+    int TIME_TEXT_COST = 10;
+    /**
+     * Стоимость проверки регулярного выражения
+     */
+    int REGEX_COST = 20;
+
+    boolean test(Log log);
+
+    boolean test(LogLineScanner scanner);
+
+    /**
+     * Примерная стоимость проверки. Условия внутри {@link And} и {@link Or} проверяются по возрастанию стоимости
+     *
+     * @return стоимость в условных единицах
+     */
+    int cost();
+
+    /**
+     * Метод добавления полей лога, которые нужны для проверки
+     *
+     * @param fields набор полей
+     */
+    void collectFields(Set<LogFields> fields);
+
+    /**
+     * Все условия должны выполняться. Вложенные {@code AND} раскрываются в один узел
+     *
+     * @param children условия по возрастанию стоимости
+     */
+    record And(List<WhereNode> children) implements WhereNode {
+
+        static WhereNode of(List<WhereNode> nodes) {
+            List<WhereNode> children = flatten(nodes, And.class);
+
+            return children.size() == 1 ? children.getFirst() : new And(children);
+        }
+
+        @Override
+        public boolean test(Log log) {
+            for (WhereNode child : children) {
+                if (!child.test(log)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            for (WhereNode child : children) {
+                if (!child.test(scanner)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public int cost() {
+            return children.stream().mapToInt(WhereNode::cost).sum();
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            children.forEach(child -> child.collectFields(fields));
+        }
+    }
+
+    /**
+     * Хотя бы одно условие должно выполняться. Вложенные {@code OR} раскрываются в один узел
+     *
+     * @param children условия по возрастанию стоимости
+     */
+    record Or(List<WhereNode> children) implements WhereNode {
+
+        static WhereNode of(List<WhereNode> nodes) {
+            List<WhereNode> children = flatten(nodes, Or.class);
+
+            return children.size() == 1 ? children.getFirst() : new Or(children);
+        }
+
+        @Override
+        public boolean test(Log log) {
+            for (WhereNode child : children) {
+                if (child.test(log)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            for (WhereNode child : children) {
+                if (child.test(scanner)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public int cost() {
+            return children.stream().mapToInt(WhereNode::cost).sum();
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            children.forEach(child -> child.collectFields(fields));
+        }
+    }
+
+    /**
+     * Отрицание условия
+     *
+     * @param child условие
+     */
+    record Not(WhereNode child) implements WhereNode {
+
+        static WhereNode of(WhereNode child) {
+            return child instanceof Not not ? not.child : new Not(child);
+        }
+
+        @Override
+        public boolean test(Log log) {
+            return !child.test(log);
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            return !child.test(scanner);
+        }
+
+        @Override
+        public int cost() {
+            return child.cost();
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            child.collectFields(fields);
+        }
+    }
+
+    /**
+     * Статус ответа в диапазоне
+     *
+     * @param min нижняя граница включительно
+     * @param max верхняя граница включительно
+     */
+    record StatusRange(long min, long max) implements WhereNode {
+
+        @Override
+        public boolean test(Log log) {
+            return log.status() >= min && log.status() <= max;
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            return scanner.status() >= min && scanner.status() <= max;
+        }
+
+        @Override
+        public int cost() {
+            return NUMBER_COST;
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            fields.add(LogFields.STATUS);
+        }
+    }
+
+    /**
+     * Размер ответа в диапазоне
+     *
+     * @param min нижняя граница включительно
+     * @param max верхняя граница включительно
+     */
+    record BytesRange(long min, long max) implements WhereNode {
+
+        @Override
+        public boolean test(Log log) {
+            return log.bytes() >= min && log.bytes() <= max;
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            return scanner.bytes() >= min && scanner.bytes() <= max;
+        }
+
+        @Override
+        public int cost() {
+            return NUMBER_COST;
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            fields.add(LogFields.BYTES);
+        }
+    }
+
+    /**
+     * Время лога в диапазоне. Время сравнивается в секундах от начала эпохи без учета часового пояса,
+     * как в {@link LogMatcherDate}
+     *
+     * @param min нижняя граница включительно
+     * @param max верхняя граница включительно
+     */
+    record TimeRange(long min, long max) implements WhereNode {
+
+        @Override
+        public boolean test(Log log) {
+            return log.time() != null && isInRange(log.time().toEpochSecond(ZoneOffset.UTC));
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            return isInRange(scanner.timeLocalEpochSecond());
+        }
+
+        @Override
+        public int cost() {
+            return TIME_COST;
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            fields.add(LogFields.TIME);
+        }
+
+        private boolean isInRange(long epochSecond) {
+            return epochSecond >= min && epochSecond <= max;
+        }
+    }
+
+    /**
+     * IPv4 адрес в подсети. Адреса, которые не являются IPv4, в подсеть не попадают
+     *
+     * @param network адрес подсети
+     * @param mask маска подсети
+     */
+    record IpNetwork(long network, long mask) implements WhereNode {
+
+        @Override
+        public boolean test(Log log) {
+            return isInNetwork(log.ip());
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            return isInNetwork(scanner.fieldValue(LogFields.IP));
+        }
+
+        @Override
+        public int cost() {
+            return NETWORK_COST;
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            fields.add(LogFields.IP);
+        }
+
+        private boolean isInNetwork(CharSequence ip) {
+            long address = ip == null ? Ipv4Addresses.NOT_IPV4 : Ipv4Addresses.parse(ip);
+
+            return address != Ipv4Addresses.NOT_IPV4 && (address & mask) == network;
+        }
+    }
+
+    /**
+     * Проверка строкового значения поля (равенство, шаблон со звездочками или регулярное выражение).
+     * Числовые поля и время сравниваются в том же строковом виде, что и в {@link LogFilter}
+     *
+     * @param field поле лога
+     * @param accessor функция чтения значения поля из разобранного лога
+     * @param matcher проверка значения
+     * @param matchCost стоимость проверки значения
+     */
+    record TextMatch(
+        LogFields field,
+        Function<Log, String> accessor,
+        Predicate<CharSequence> matcher,
+        int matchCost
+    ) implements WhereNode {
+
+        static TextMatch of(LogFields field, Predicate<CharSequence> matcher, int matchCost) {
+            return new TextMatch(field, LogFilter.accessor(field), matcher, matchCost);
+        }
+
+        @Override
+        public boolean test(Log log) {
+            String value = accessor.apply(log);
+
+            return value != null && matcher.test(value);
+        }
+
+        @Override
+        public boolean test(LogLineScanner scanner) {
+            CharSequence value = scanner.fieldValue(field);
+
+            return value != null && matcher.test(value);
+        }
+
+        @Override
+        public int cost() {
+            return field == LogFields.TIME ? matchCost + TIME_TEXT_COST : matchCost;
+        }
+
+        @Override
+        public void collectFields(Set<LogFields> fields) {
+            fields.add(field);
+        }
+    }
+
+    /**
+     * Метод раскрытия вложенных узлов того же типа и сортировки условий по стоимости.
+     * Сортировка устойчивая, поэтому условия с равной стоимостью проверяются в порядке записи
+     *
+     * @param nodes условия
+     * @param type тип узла, который раскрывается
+     *
+     * @return условия по возрастанию стоимости
+     */
+    private static List<WhereNode> flatten(List<WhereNode> nodes, Class<? extends WhereNode> type) {
+        List<WhereNode> children = new ArrayList<>(nodes.size());
+
+        for (WhereNode node : nodes) {
+            if (type.isInstance(node)) {
+                children.addAll(node instanceof And and ? and.children : ((Or) node).children);
+            } else {
+                children.add(node);
+            }
+        }
+
+        children.sort(Comparator.comparingInt(WhereNode::cost));
+
+        return List.copyOf(children);
+    }
+}
@@ -0,0 +1,400 @@
+package backend.academy.log_analyzer.matcher;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.util.Ipv4Addresses;
+import com.beust.jcommander.ParameterException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Разбор выражения {@code --where} методом рекурсивного спуска. Грамматика:
+ * <pre>
+ * выражение := и ("OR" и)*
+ * и         := унарное ("AND" унарное)*
+ * унарное   := "NOT" унарное | "(" выражение ")" | поле оператор значение
+ * оператор  := "=" | "!=" | "~" | "!~" | "&lt;" | "&lt;=" | "&gt;" | "&gt;="
+ * </pre>
+ * Ключевые слова не зависят от регистра. Значение записывается как есть (до пробела или закрывающей скобки)
+ * или в кавычках {@code "..."} / {@code '...'} (внутри кавычек {@code \} экранирует следующий символ).
+ * Ошибки разбора сообщаются через {@link ParameterException}
+ */
+final class WhereParser {
+
+    private static final String RANGE_SEPARATOR = "..";
+    private static final String WILDCARD = "*";
+    private static final String NETWORK_SEPARATOR = "/";
+    private static final int STATUS_DIGITS = 3;
+    private static final int DECIMAL_BASE = 10;
+    private static final int IPV4_BITS = 32;
+    private static final long IPV4_MASK = 0xFFFFFFFFL;
+    private static final long SECONDS_IN_MINUTE = 60;
+    private static final long SECONDS_IN_DAY = 24 * 60 * 60;
+    /**
+     * Длина даты {@code yyyy-MM-dd}
+     */
+    private static final int DATE_LENGTH = 10;
+    /**
+     * Длина времени без секунд {@code yyyy-MM-ddTHH:mm}
+     */
+    private static final int MINUTES_LENGTH = 16;
+
+    private final String expression;
+    private int position;
+
+    private WhereParser(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Метод разбора выражения
+     *
+     * @param expression выражение
+     *
+     * @return корень дерева условий
+     *
+     * @throws ParameterException если выражение неверное
+     */
+    static WhereNode parse(String expression) {
+        WhereParser parser = new WhereParser(expression);
+        WhereNode root = parser.parseOr();
+
+        parser.skipSpaces();
+
+        if (parser.position < expression.length()) {
+            throw parser.error("лишние символы");
+        }
+
+        return root;
+    }
+
+    private WhereNode parseOr() {
+        List<WhereNode> nodes = new ArrayList<>();
+        nodes.add(parseAnd());
+
+        while (keyword("OR")) {
+            nodes.add(parseAnd());
+        }
+
+        return WhereNode.Or.of(nodes);
+    }
+
+    private WhereNode parseAnd() {
+        List<WhereNode> nodes = new ArrayList<>();
+        nodes.add(parseUnary());
+
+        while (keyword("AND")) {
+            nodes.add(parseUnary());
+        }
+
+        return WhereNode.And.of(nodes);
+    }
+
+    private WhereNode parseUnary() {
+        if (keyword("NOT")) {
+            return WhereNode.Not.of(parseUnary());
+        }
+
+        skipSpaces();
+
+        if (position < expression.length() && expression.charAt(position) == '(') {
+            position++;
+            WhereNode node = parseOr();
+            skipSpaces();
+
+            if (position >= expression.length() || expression.charAt(position) != ')') {
+                throw error("ожидалась закрывающая скобка");
+            }
+
+            position++;
+
+            return node;
+        }
+
+        return parseComparison();
+    }
+
+    private WhereNode parseComparison() {
+        int fieldStart = position;
+
+        while (position < expression.length() && Character.isLetter(expression.charAt(position))) {
+            position++;
+        }
+
+        String fieldName = expression.substring(fieldStart, position);
+        LogFields field = LogFields.of(fieldName);
+
+        if (field == null) {
+            position = fieldStart;
+            throw error(fieldName.isEmpty() ? "ожидалось поле" : "неизвестное поле " + fieldName);
+        }
+
+        skipSpaces();
+        String operator = readOperator();
+        skipSpaces();
+        String value = readValue();
+
+        return switch (operator) {
+            case "=" -> equalTo(field, value);
+            case "!=" -> WhereNode.Not.of(equalTo(field, value));
+            case "~" -> regex(field, value);
+            case "!~" -> WhereNode.Not.of(regex(field, value));
+            default -> compare(field, operator, value);
+        };
+    }
+
+    /**
+     * Условие равенства. Для статуса и размера ответа число или диапазон {@code a..b} сравниваются
+     * как числа, для времени дата, время или диапазон задают промежуток, для IP адреса {@code a.b.c.d/n} -
+     * подсеть. Значение со звездочками проверяется как шаблон
+     */
+    private WhereNode equalTo(LogFields field, String value) {
+        if (field == LogFields.STATUS && isStatusPrefix(value)) {
+            return statusPrefix(value);
+        }
+
+        if (value.contains(WILDCARD)) {
+            return WhereNode.TextMatch.of(field, LogFilter.wildcardMatcher(value), WhereNode.WILDCARD_COST);
+        }
+
+        int rangeSeparator = value.indexOf(RANGE_SEPARATOR);
+
+        return switch (field) {
+            case STATUS, BYTES, TIME -> rangeSeparator < 0
+                ? range(field, lowerBound(field, value), upperBound(field, value))
+                : range(field, lowerBound(field, value.substring(0, rangeSeparator)),
+                    upperBound(field, value.substring(rangeSeparator + RANGE_SEPARATOR.length())));
+            case IP -> value.contains(NETWORK_SEPARATOR)
+                ? network(value)
+                : WhereNode.TextMatch.of(field, value::contentEquals, WhereNode.TEXT_COST);
+            default -> WhereNode.TextMatch.of(field, value::contentEquals, WhereNode.TEXT_COST);
+        };
+    }
+
+    private WhereNode regex(LogFields field, String value) {
+        try {
+            Pattern pattern = Pattern.compile(value);
+
+            return WhereNode.TextMatch.of(field, text -> pattern.matcher(text).find(), WhereNode.REGEX_COST);
+        } catch (PatternSyntaxException e) {
+            throw new ParameterException("Неверное регулярное выражение в --where: " + value, e);
+        }
+    }
+
+    private WhereNode compare(LogFields field, String operator, String value) {
+        if (field != LogFields.STATUS && field != LogFields.BYTES && field != LogFields.TIME) {
+            throw new ParameterException("Оператор " + operator + " в --where применим только к полям status, "
+                + "bytes и time, а не к " + field.fieldName());
+        }
+
+        return switch (operator) {
+            case "<" -> range(field, Long.MIN_VALUE, lowerBound(field, value) - 1);
+            case "<=" -> range(field, Long.MIN_VALUE, upperBound(field, value));
+            case ">" -> range(field, upperBound(field, value) + 1, Long.MAX_VALUE);
+            default -> range(field, lowerBound(field, value), Long.MAX_VALUE);
+        };
+    }
+
+    private static WhereNode range(LogFields field, long min, long max) {
+        return switch (field) {
+            case STATUS -> new WhereNode.StatusRange(min, max);
+            case BYTES -> new WhereNode.BytesRange(min, max);
+            default -> new WhereNode.TimeRange(min, max);
+        };
+    }
+
+    /**
+     * Проверка, что шаблон статуса - это цифры и одна звездочка в конце (например, {@code 5*} или {@code 40*})
+     */
+    private static boolean isStatusPrefix(String value) {
+        int prefixLength = value.length() - 1;
+
+        if (prefixLength > STATUS_DIGITS || !value.endsWith(WILDCARD)) {
+            return false;
+        }
+
+        for (int i = 0; i < prefixLength; i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Метод замены шаблона статуса диапазоном: статус всегда из трех цифр, поэтому {@code 5*} - это
+     * {@code 500..599}
+     */
+    private static WhereNode statusPrefix(String value) {
+        String prefix = value.substring(0, value.length() - 1);
+        long scale = 1;
+
+        for (int i = prefix.length(); i < STATUS_DIGITS; i++) {
+            scale *= DECIMAL_BASE;
+        }
+
+        long min = prefix.isEmpty() ? 0 : Long.parseLong(prefix) * scale;
+
+        return new WhereNode.StatusRange(min, min + scale - 1);
+    }
+
+    private WhereNode network(String value) {
+        String[] parts = value.split(NETWORK_SEPARATOR, -1);
+        long address = parts.length == 2 ? Ipv4Addresses.parse(parts[0]) : Ipv4Addresses.NOT_IPV4;
+        int prefixLength;
+
+        try {
+            prefixLength = parts.length == 2 ? Integer.parseInt(parts[1]) : -1;
+        } catch (NumberFormatException e) {
+            prefixLength = -1;
+        }
+
+        if (address == Ipv4Addresses.NOT_IPV4 || prefixLength < 0 || prefixLength > IPV4_BITS) {
+            throw new ParameterException("Подсеть в --where должна быть в формате a.b.c.d/n (IPv4): " + value);
+        }
+
+        long mask = prefixLength == 0 ? 0 : IPV4_MASK << (IPV4_BITS - prefixLength) & IPV4_MASK;
+
+        return new WhereNode.IpNetwork(address & mask, mask);
+    }
+
+    /**
+     * Метод получения начала промежутка, который задает значение. Для времени дата без времени - это начало дня,
+     * время без секунд - начало минуты
+     */
+    private static long lowerBound(LogFields field, String value) {
+        return field == LogFields.TIME ? parseTime(value).toEpochSecond(ZoneOffset.UTC) : parseNumber(value);
+    }
+
+    /**
+     * Метод получения конца промежутка, который задает значение. Для времени дата без времени - это конец дня,
+     * время без секунд - конец минуты
+     */
+    private static long upperBound(LogFields field, String value) {
+        if (field != LogFields.TIME) {
+            return parseNumber(value);
+        }
+
+        long start = parseTime(value).toEpochSecond(ZoneOffset.UTC);
+
+        return switch (value.length()) {
+            case DATE_LENGTH -> start + SECONDS_IN_DAY - 1;
+            case MINUTES_LENGTH -> start + SECONDS_IN_MINUTE - 1;
+            default -> start;
+        };
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        try {
+            return value.length() == DATE_LENGTH
+                ? LocalDate.parse(value).atStartOfDay()
+                : LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new ParameterException("Время в --where должно быть в формате yyyy-MM-dd или yyyy-MM-ddTHH:mm:ss: "
+                + value, e);
+        }
+    }
+
+    private static long parseNumber(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ParameterException("Значение в --where должно быть целым числом: " + value, e);
+        }
+    }
+
+    private String readOperator() {
+        for (String operator : new String[] {"!=", "!~", "<=", ">=", "=", "~", "<", ">"}) {
+            if (expression.startsWith(operator, position)) {
+                position += operator.length();
+
+                return operator;
+            }
+        }
+
+        throw error("ожидался оператор =, !=, ~, !~, <, <=, > или >=");
+    }
+
+    private String readValue() {
+        if (position >= expression.length()) {
+            throw error("ожидалось значение");
+        }
+
+        char quote = expression.charAt(position);
+
+        if (quote == '"' || quote == '\'') {
+            StringBuilder value = new StringBuilder();
+            position++;
+
+            while (position < expression.length() && expression.charAt(position) != quote) {
+                if (expression.charAt(position) == '\\' && position + 1 < expression.length()) {
+                    position++;
+                }
+
+                value.append(expression.charAt(position++));
+            }
+
+            if (position >= expression.length()) {
+                throw error("не закрыты кавычки");
+            }
+
+            position++;
+
+            return value.toString();
+        }
+
+        int start = position;
+
+        while (position < expression.length()
+            && !Character.isWhitespace(expression.charAt(position)) && expression.charAt(position) != ')') {
+            position++;
+        }
+
+        if (start == position) {
+            throw error("ожидалось значение");
+        }
+
+        return expression.substring(start, position);
+    }
+
+    /**
+     * Метод чтения ключевого слова. Слово должно заканчиваться пробелом, скобкой или концом выражения
+     *
+     * @param word ключевое слово
+     *
+     * @return {@code true}, если слово прочитано, иначе {@code false} (позиция не меняется)
+     */
+    private boolean keyword(String word) {
+        skipSpaces();
+
+        int end = position + word.length();
+
+        if (!expression.regionMatches(true, position, word, 0, word.length())
+            || end < expression.length() && !Character.isWhitespace(expression.charAt(end))
+            && expression.charAt(end) != '(') {
+            return false;
+        }
+
+        position = end;
+
+        return true;
+    }
+
+    private void skipSpaces() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private ParameterException error(String message) {
+        return new ParameterException("Неверное выражение --where (позиция " + (position + 1) + "): " + message
+            + "\n\t" + expression + "\n\t" + " ".repeat(position) + "^");
+    }
+}
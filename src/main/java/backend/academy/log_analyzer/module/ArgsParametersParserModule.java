@@ -2,6 +2,7 @@ package backend.academy.log_analyzer.module;
 
 import backend.academy.log_analyzer.parser.ArgsParser;
 import backend.academy.log_analyzer.parser.PathParser;
+import backend.academy.log_analyzer.parser.ReportsConfigParser;
 import backend.academy.log_analyzer.parser.additional.Converters;
 import backend.academy.log_analyzer.parser.additional.Validators;
 import com.google.inject.AbstractModule;
@@ -15,7 +16,6 @@ import com.google.inject.Singleton;
 public class ArgsParametersParserModule extends AbstractModule {
 
     @Provides
-    @Singleton
     ArgsParser provideArgsParser() {
         return new ArgsParser();
     }
@@ -37,6 +37,12 @@ public class ArgsParametersParserModule extends AbstractModule {
     Converters provideConverters() {
         return new Converters();
     }
+
+    @Provides
+    @Singleton
+    ReportsConfigParser provideReportsConfigParser(Converters converters, Validators validators) {
+        return new ReportsConfigParser(converters, validators);
+    }
 }
 
 
@@ -4,9 +4,12 @@ import backend.academy.log_analyzer.enums.OutputFormats;
 import backend.academy.log_analyzer.factory.ReaderFactory;
 import backend.academy.log_analyzer.factory.ReportMapperFactory;
 import backend.academy.log_analyzer.log.LogReport;
+import backend.academy.log_analyzer.log.LogReportFanOut;
 import backend.academy.log_analyzer.maper.ReportMapper;
 import backend.academy.log_analyzer.matcher.LogMatcherDate;
 import backend.academy.log_analyzer.matcher.LogMatcherFilter;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
+import backend.academy.log_analyzer.parameter.ReportSettings;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
@@ -26,12 +29,20 @@ public class LogAnalyzerModule extends AbstractModule {
 
     private final OutputFormats outputFormat;
     private final List<URI> paths;
+    private final ReportSettings reportSettings;
+    private final List<ReportDefinition> reports;
 
     @Override
     protected void configure() {
-        bind(LogMatcherDate.class).toInstance(new LogMatcherDate());
-        bind(LogMatcherFilter.class).toInstance(new LogMatcherFilter());
-        bind(LogReport.class).toInstance(new LogReport());
+        LogMatcherDate logMatcherDate = new LogMatcherDate();
+        LogMatcherFilter logMatcherFilter = new LogMatcherFilter();
+
+        bind(LogMatcherDate.class).toInstance(logMatcherDate);
+        bind(LogMatcherFilter.class).toInstance(logMatcherFilter);
+        // Отчеты из файла строятся за один проход: логи раздаются им через общий отчет
+        bind(LogReport.class).toInstance(reports.isEmpty()
+            ? new LogReport(reportSettings)
+            : new LogReportFanOut(reportSettings, reports, logMatcherDate, logMatcherFilter));
     }
 
     @Provides
@@ -1,10 +1,13 @@
 package backend.academy.log_analyzer.parameter;
 
 import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import backend.academy.log_analyzer.matcher.WhereFilter;
 import java.io.File;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
+import lombok.With;
 
 /**
  * Рекорд для хранения сконвертированных параметров, полученных с помощью аргументов командной строки
@@ -17,7 +20,20 @@ import java.util.List;
  * @param format формат вывода
  * @param filterField поле для фильтрации
  * @param filterValue значение поля для фильтрации
+ * @param threads количество потоков для параллельного анализа ресурсов
+ * @param mmap читать ли локальные файлы через отображение в память
+ * @param execution настройки выполнения анализа
+ * @param stateFile файл состояния для инкрементального анализа ({@code null}, если анализ не инкрементальный)
+ * @param follow настройки режима слежения за файлами
+ * @param seek настройки поиска диапазона {@code from}/{@code to} в локальных файлах
+ * @param cache настройки колоночного кэша разобранных локальных файлов
+ * @param reportSettings настройки сбора статистики отчета
+ * @param filter фильтр, скомпилированный из {@code filterField} и {@code filterValue}
+ * @param where фильтр, скомпилированный из выражения {@code --where} ({@code null}, если выражение не задано)
+ * @param reports отчеты из файла {@code --reports}, которые строятся за один проход по логам
+ * (пустой список, если строится один отчет по параметрам командной строки)
  */
+@With
 public record ArgsParameters(
     List<URI> path,
     boolean inFile,
@@ -26,6 +42,42 @@ public record ArgsParameters(
     LocalDateTime to,
     OutputFormats format,
     String filterField,
-    String filterValue
+    String filterValue,
+    int threads,
+    boolean mmap,
+    ExecutionSettings execution,
+    File stateFile,
+    FollowSettings follow,
+    SeekSettings seek,
+    CacheSettings cache,
+    ReportSettings reportSettings,
+    LogFilter filter,
+    WhereFilter where,
+    List<ReportDefinition> reports
 ) {
+
+    /**
+     * Количество потоков по умолчанию (ресурсы анализируются последовательно)
+     */
+    public static final int DEFAULT_THREADS = 1;
+
+    /**
+     * Конструктор с параметрами производительности, настройками выполнения и отчета по умолчанию,
+     * без инкрементального анализа, слежения за файлами, поиска диапазона дат, кэша,
+     * выражения {@code --where} и отчетов из файла {@code --reports}
+     */
+    public ArgsParameters(
+        List<URI> path,
+        boolean inFile,
+        File outputFile,
+        LocalDateTime from,
+        LocalDateTime to,
+        OutputFormats format,
+        String filterField,
+        String filterValue
+    ) {
+        this(path, inFile, outputFile, from, to, format, filterField, filterValue, DEFAULT_THREADS, false,
+            ExecutionSettings.DEFAULT, null, FollowSettings.DISABLED, SeekSettings.DISABLED, CacheSettings.DISABLED,
+            ReportSettings.DEFAULT, LogFilter.compile(filterField, filterValue), null, List.of());
+    }
 }
@@ -0,0 +1,22 @@
+package backend.academy.log_analyzer.parameter;
+
+import java.nio.file.Path;
+
+/**
+ * Рекорд для хранения настроек кэша разобранных логов (см. {@link backend.academy.log_analyzer.cache.LogColumnsCache})
+ *
+ * @param enabled сохранять ли разобранные локальные файлы в колоночный кэш и анализировать их из кэша
+ * при следующих запусках
+ * @param directory директория для файлов кэша ({@code null} - директория
+ * {@value backend.academy.log_analyzer.cache.LogColumnsCache#DEFAULT_DIRECTORY} рядом с каждым файлом логов)
+ */
+public record CacheSettings(
+    boolean enabled,
+    Path directory
+) {
+
+    /**
+     * Настройки по умолчанию (кэш выключен)
+     */
+    public static final CacheSettings DISABLED = new CacheSettings(false, null);
+}
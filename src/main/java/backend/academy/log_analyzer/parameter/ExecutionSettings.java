@@ -0,0 +1,42 @@
+package backend.academy.log_analyzer.parameter;
+
+import backend.academy.log_analyzer.enums.ExecutionModes;
+
+/**
+ * Рекорд для хранения настроек выполнения анализа
+ *
+ * @param mode способ выполнения. Если {@code null}, способ выбирается по количеству потоков:
+ * {@link ExecutionModes#FORK_JOIN} для нескольких потоков, иначе {@link ExecutionModes#SEQUENTIAL}
+ * @param maxSources количество ресурсов, которые читаются одновременно в режиме
+ * {@link ExecutionModes#VIRTUAL_THREADS}
+ */
+public record ExecutionSettings(
+    ExecutionModes mode,
+    int maxSources
+) {
+
+    /**
+     * Количество одновременно читаемых ресурсов по умолчанию
+     */
+    public static final int DEFAULT_MAX_SOURCES = 64;
+
+    /**
+     * Настройки по умолчанию
+     */
+    public static final ExecutionSettings DEFAULT = new ExecutionSettings(null, DEFAULT_MAX_SOURCES);
+
+    /**
+     * Метод определения способа выполнения
+     *
+     * @param threads количество потоков
+     *
+     * @return заданный способ выполнения или способ по умолчанию для количества потоков
+     */
+    public ExecutionModes resolveMode(int threads) {
+        if (mode != null) {
+            return mode;
+        }
+
+        return threads > 1 ? ExecutionModes.FORK_JOIN : ExecutionModes.SEQUENTIAL;
+    }
+}
@@ -0,0 +1,27 @@
+package backend.academy.log_analyzer.parameter;
+
+import java.time.Duration;
+
+/**
+ * Рекорд для хранения настроек режима слежения за файлами
+ *
+ * @param enabled следить ли за локальными файлами после анализа: дописанные строки дочитываются,
+ * а отчет выводится заново
+ * @param refreshInterval интервал, с которым файлы проверяются на новые строки и обновляется отчет
+ */
+public record FollowSettings(
+    boolean enabled,
+    Duration refreshInterval
+) {
+
+    /**
+     * Интервал обновления отчета по умолчанию в секундах
+     */
+    public static final int DEFAULT_REFRESH_INTERVAL_SECONDS = 5;
+
+    /**
+     * Настройки по умолчанию (слежение выключено)
+     */
+    public static final FollowSettings DISABLED =
+        new FollowSettings(false, Duration.ofSeconds(DEFAULT_REFRESH_INTERVAL_SECONDS));
+}
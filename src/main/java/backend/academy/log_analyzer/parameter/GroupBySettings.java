@@ -0,0 +1,31 @@
+package backend.academy.log_analyzer.parameter;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Рекорд для хранения настроек статистики по группам ({@code --group-by})
+ *
+ * @param fields поля лога, значения которых составляют ключ группы
+ * @param memoryLimit бюджет памяти на группы в байтах. Группы сверх бюджета сбрасываются на диск
+ * (см. {@link backend.academy.log_analyzer.stat.GroupAggregator})
+ * @param spillDirectory директория для сброшенных на диск групп ({@code null} - временная директория системы)
+ * @param limit количество самых больших групп в отчете
+ */
+public record GroupBySettings(
+    List<LogFields> fields,
+    long memoryLimit,
+    Path spillDirectory,
+    int limit
+) {
+
+    /**
+     * Бюджет памяти по умолчанию в мегабайтах
+     */
+    public static final int DEFAULT_MEMORY_LIMIT_MB = 64;
+    /**
+     * Количество групп в отчете по умолчанию
+     */
+    public static final int DEFAULT_LIMIT = 20;
+}
@@ -0,0 +1,14 @@
+package backend.academy.log_analyzer.parameter;
+
+/**
+ * Рекорд для хранения одного отчета из файла {@code --reports}
+ *
+ * @param name название отчета
+ * @param parameters параметры отчета: даты, фильтры, формат и выходной файл задаются в файле отчетов,
+ * остальные параметры (и не заданные в файле даты и фильтры) берутся из командной строки
+ */
+public record ReportDefinition(
+    String name,
+    ArgsParameters parameters
+) {
+}
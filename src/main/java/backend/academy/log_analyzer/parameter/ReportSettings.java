@@ -0,0 +1,79 @@
+package backend.academy.log_analyzer.parameter;
+
+import backend.academy.log_analyzer.enums.TimeBuckets;
+import backend.academy.log_analyzer.stat.TimeSeries;
+
+/**
+ * Рекорд для хранения настроек сбора статистики отчета
+ *
+ * @param uniqueUsersExactLimit количество уникальных пользователей, до которого они считаются точно.
+ * После превышения количество оценивается через {@link backend.academy.log_analyzer.stat.HyperLogLog}
+ * @param hllPrecision точность {@link backend.academy.log_analyzer.stat.HyperLogLog}
+ * @param topSize количество элементов в топах ресурсов и кодов ответа
+ * @param topResourcesCapacity количество счетчиков для поиска самых запрашиваемых ресурсов
+ * (см. {@link backend.academy.log_analyzer.stat.SpaceSaving})
+ * @param timeBuckets длина интервала временного ряда статистики ({@code null}, если ряд не собирается)
+ * @param timeSeriesCapacity количество последних интервалов временного ряда, которые хранятся в отчете
+ * (см. {@link backend.academy.log_analyzer.stat.TimeSeries})
+ * @param groupBy настройки статистики по группам ({@code null}, если группы не собираются)
+ */
+public record ReportSettings(
+    int uniqueUsersExactLimit,
+    int hllPrecision,
+    int topSize,
+    int topResourcesCapacity,
+    TimeBuckets timeBuckets,
+    int timeSeriesCapacity,
+    GroupBySettings groupBy
+) {
+
+    /**
+     * Предел точного подсчета уникальных пользователей по умолчанию (счет всегда точный)
+     */
+    public static final int DEFAULT_UNIQUE_USERS_EXACT_LIMIT = Integer.MAX_VALUE;
+    /**
+     * Точность {@link backend.academy.log_analyzer.stat.HyperLogLog} по умолчанию
+     * (16 КБ памяти, стандартная ошибка около 0.8%)
+     */
+    public static final int DEFAULT_HLL_PRECISION = 14;
+    /**
+     * Размер топов по умолчанию
+     */
+    public static final int DEFAULT_TOP_SIZE = 3;
+    /**
+     * Количество счетчиков ресурсов по умолчанию. Пока различных ресурсов не больше, их счет точный
+     */
+    public static final int DEFAULT_TOP_RESOURCES_CAPACITY = 100_000;
+
+    /**
+     * Настройки по умолчанию
+     */
+    public static final ReportSettings DEFAULT = new ReportSettings(
+        DEFAULT_UNIQUE_USERS_EXACT_LIMIT,
+        DEFAULT_HLL_PRECISION,
+        DEFAULT_TOP_SIZE,
+        DEFAULT_TOP_RESOURCES_CAPACITY
+    );
+
+    /**
+     * Конструктор настроек без временного ряда
+     */
+    public ReportSettings(int uniqueUsersExactLimit, int hllPrecision, int topSize, int topResourcesCapacity) {
+        this(uniqueUsersExactLimit, hllPrecision, topSize, topResourcesCapacity, null, TimeSeries.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор настроек без статистики по группам
+     */
+    public ReportSettings(
+        int uniqueUsersExactLimit,
+        int hllPrecision,
+        int topSize,
+        int topResourcesCapacity,
+        TimeBuckets timeBuckets,
+        int timeSeriesCapacity
+    ) {
+        this(uniqueUsersExactLimit, hllPrecision, topSize, topResourcesCapacity, timeBuckets, timeSeriesCapacity,
+            null);
+    }
+}
@@ -0,0 +1,27 @@
+package backend.academy.log_analyzer.parameter;
+
+import java.time.Duration;
+
+/**
+ * Рекорд для хранения настроек поиска диапазона {@code --from}/{@code --to} в локальных файлах
+ *
+ * @param enabled искать ли в несжатых локальных файлах часть с нужным временем двоичным поиском,
+ * вместо того чтобы разбирать файл целиком
+ * @param slack запас по времени для строк, записанных не по порядку: часть файла расширяется
+ * так, чтобы в нее попали логи на {@code slack} раньше начальной и позже конечной даты
+ */
+public record SeekSettings(
+    boolean enabled,
+    Duration slack
+) {
+
+    /**
+     * Запас по времени по умолчанию в секундах
+     */
+    public static final int DEFAULT_SLACK_SECONDS = 300;
+
+    /**
+     * Настройки по умолчанию (поиск выключен)
+     */
+    public static final SeekSettings DISABLED = new SeekSettings(false, Duration.ofSeconds(DEFAULT_SLACK_SECONDS));
+}
@@ -1,14 +1,25 @@
 package backend.academy.log_analyzer.parser;
 
 import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import backend.academy.log_analyzer.matcher.WhereFilter;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.CacheSettings;
+import backend.academy.log_analyzer.parameter.ExecutionSettings;
+import backend.academy.log_analyzer.parameter.FollowSettings;
+import backend.academy.log_analyzer.parameter.GroupBySettings;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import backend.academy.log_analyzer.parameter.SeekSettings;
 import backend.academy.log_analyzer.parser.additional.Converters;
 import backend.academy.log_analyzer.parser.additional.Validators;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import java.io.File;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,23 +30,27 @@ import lombok.extern.slf4j.Slf4j;
 public class ArgsParametersParser {
 
     private static final String DEFAULT_FILE_NAME = "analyzed-logs";
+    private static final long MEGABYTE = 1024L * 1024;
 
-    private final ArgsParser argsParser;
+    private final Provider<ArgsParser> argsParserProvider;
     private final PathParser pathParser;
     private final Validators validators;
     private final Converters converters;
+    private final ReportsConfigParser reportsConfigParser;
 
     @Inject
     public ArgsParametersParser(
-        ArgsParser argsParser,
+        Provider<ArgsParser> argsParserProvider,
         PathParser pathParser,
         Validators validators,
-        Converters converters
+        Converters converters,
+        ReportsConfigParser reportsConfigParser
     ) {
-        this.argsParser = argsParser;
+        this.argsParserProvider = argsParserProvider;
         this.pathParser = pathParser;
         this.validators = validators;
         this.converters = converters;
+        this.reportsConfigParser = reportsConfigParser;
     }
 
     /**
@@ -46,6 +61,8 @@ public class ArgsParametersParser {
      * @return сконвертированные параметры приложения
      */
     public ArgsParameters parse(String[] args) {
+        // JCommander записывает в объект только переданные параметры, поэтому для каждого разбора нужен новый объект
+        ArgsParser argsParser = argsParserProvider.get();
         JCommander jCommander = JCommander.newBuilder()
             .addObject(argsParser)
             .build();
@@ -57,6 +74,10 @@ public class ArgsParametersParser {
         boolean inFile;
         String format;
         String filterValue;
+        LogFilter filter;
+        WhereFilter where;
+        GroupBySettings groupBy = null;
+        CacheSettings cache;
 
         try {
             jCommander.parse(args);
@@ -72,9 +93,28 @@ public class ArgsParametersParser {
 
             validators.validateDate(argsParser.from(), argsParser.to());
             validators.validateFilter(argsParser.filterField(), argsParser.filterValue());
+            filter = LogFilter.compile(argsParser.filterField(), filterValue);
+            where = WhereFilter.compile(argsParser.where());
+            validators.validateTop(argsParser.topSize(), argsParser.topResourcesCapacity());
+            validators.validateFollow(argsParser.follow(), argsParser.stateFile());
+            validators.validateReports(argsParser.reportsConfig(), argsParser.follow(), argsParser.stateFile());
 
             path = pathParser.parsePath(argsParser.path());
 
+            if (argsParser.groupBy() != null) {
+                groupBy = new GroupBySettings(
+                    converters.convertGroupBy(argsParser.groupBy()),
+                    argsParser.groupByMemory() * MEGABYTE,
+                    argsParser.spillDirectory() == null ? null : Path.of(argsParser.spillDirectory()),
+                    argsParser.groupByLimit()
+                );
+            }
+
+            // Директория кэша указывается, только если кэш нужен, поэтому включает его, как --out включает --file
+            cache = argsParser.cacheDirectory() == null
+                ? new CacheSettings(argsParser.cache(), null)
+                : new CacheSettings(true, Path.of(argsParser.cacheDirectory()));
+
             String outputFileStr = argsParser.outputFile();
 
             /*
@@ -106,7 +146,7 @@ public class ArgsParametersParser {
             throw e;
         }
 
-        return new ArgsParameters(
+        ArgsParameters parameters = new ArgsParameters(
             path,
             inFile,
             outputFile,
@@ -114,8 +154,32 @@ public class ArgsParametersParser {
             argsParser.to(),
             OutputFormats.of(format),
             argsParser.filterField(),
-            filterValue
+            filterValue,
+            argsParser.threads(),
+            argsParser.mmap(),
+            new ExecutionSettings(argsParser.execution(), argsParser.maxSources()),
+            argsParser.stateFile() == null ? null : new File(argsParser.stateFile()),
+            new FollowSettings(argsParser.follow(), Duration.ofSeconds(argsParser.refreshInterval())),
+            new SeekSettings(argsParser.seek(), Duration.ofSeconds(argsParser.seekSlack())),
+            cache,
+            new ReportSettings(
+                argsParser.uniqueUsersExactLimit(),
+                argsParser.hllPrecision(),
+                argsParser.topSize(),
+                argsParser.topResourcesCapacity(),
+                argsParser.timeBuckets(),
+                argsParser.timeSeriesCapacity(),
+                groupBy
+            ),
+            filter,
+            where,
+            List.of()
         );
+
+        // Отчеты из файла берут из командной строки значения по умолчанию, поэтому разбираются последними
+        return argsParser.reportsConfig() == null
+            ? parameters
+            : parameters.withReports(reportsConfigParser.parse(Path.of(argsParser.reportsConfig()), parameters));
     }
 }
 
@@ -1,7 +1,16 @@
 package backend.academy.log_analyzer.parser;
 
+import backend.academy.log_analyzer.enums.ExecutionModes;
+import backend.academy.log_analyzer.enums.TimeBuckets;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ExecutionSettings;
+import backend.academy.log_analyzer.parameter.FollowSettings;
+import backend.academy.log_analyzer.parameter.GroupBySettings;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import backend.academy.log_analyzer.parameter.SeekSettings;
 import backend.academy.log_analyzer.parser.additional.Converters;
 import backend.academy.log_analyzer.parser.additional.Validators;
+import backend.academy.log_analyzer.stat.TimeSeries;
 import com.beust.jcommander.Parameter;
 import java.time.LocalDateTime;
 import lombok.Getter;
@@ -13,7 +22,9 @@ import lombok.Getter;
 @Getter
 public class ArgsParser {
 
-    @Parameter(names = {"--path", "-p"}, description = "Путь до файл(а)/ов или URL", required = true)
+    @Parameter(names = {"--path", "-p"},
+        description = "Путь до файл(а)/ов или URL. Несколько путей, шаблонов и URL перечисляются через запятую",
+        required = true)
     private String path;
 
     @Parameter(names = {"--file", "-fe"}, description = "Включить вывод в файл")
@@ -41,4 +52,108 @@ public class ArgsParser {
 
     @Parameter(names = {"--filter-value", "-fv"}, description = "Значение поля для фильтрации")
     private String filterValue = "";
+
+    @Parameter(names = {"--where", "-w"},
+        description = "Выражение для фильтрации, например: status=5* AND method=POST AND NOT agent~bot")
+    private String where;
+
+    @Parameter(names = {"--reports", "-r"},
+        description = "JSON файл с несколькими отчетами, которые строятся за один проход по логам")
+    private String reportsConfig;
+
+    @Parameter(names = {"--threads", "-th"}, description = "Количество потоков для параллельного анализа файлов/URL",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int threads = ArgsParameters.DEFAULT_THREADS;
+
+    @Parameter(names = {"--mmap", "-mm"}, description = "Читать локальные файлы через отображение в память")
+    private boolean mmap = false;
+
+    @Parameter(names = {"--execution", "-ex"},
+        description = "Способ выполнения анализа (по умолчанию выбирается по количеству потоков)",
+        validateWith = Validators.ExecutionModeValidator.class, converter = Converters.ExecutionModeConverter.class)
+    private ExecutionModes execution;
+
+    @Parameter(names = {"--max-sources", "-ms"},
+        description = "Количество ресурсов, которые читаются одновременно при выполнении на виртуальных потоках",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int maxSources = ExecutionSettings.DEFAULT_MAX_SOURCES;
+
+    @Parameter(names = {"--state-file", "-sf"},
+        description = "Файл состояния: следующий запуск анализирует только строки, дописанные в файлы после прошлого",
+        validateWith = Validators.StateFileValidator.class)
+    private String stateFile;
+
+    @Parameter(names = {"--follow", "-fl"},
+        description = "Следить за локальными файлами: дочитывать дописанные строки и периодически обновлять отчет")
+    private boolean follow = false;
+
+    @Parameter(names = {"--refresh-interval", "-ri"},
+        description = "Интервал обновления отчета в режиме --follow (в секундах)",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int refreshInterval = FollowSettings.DEFAULT_REFRESH_INTERVAL_SECONDS;
+
+    @Parameter(names = {"--seek", "-sk"},
+        description = "Искать в локальных файлах часть с логами от --from до --to двоичным поиском по времени")
+    private boolean seek = false;
+
+    @Parameter(names = {"--seek-slack", "-sl"},
+        description = "Запас по времени в секундах для логов, записанных не по порядку, в режиме --seek",
+        validateWith = Validators.NonNegativeIntegerValidator.class)
+    private int seekSlack = SeekSettings.DEFAULT_SLACK_SECONDS;
+
+    @Parameter(names = {"--unique-exact-limit", "-ue"},
+        description = "Количество уникальных пользователей, после которого они оцениваются через HyperLogLog",
+        validateWith = Validators.NonNegativeIntegerValidator.class)
+    private int uniqueUsersExactLimit = ReportSettings.DEFAULT_UNIQUE_USERS_EXACT_LIMIT;
+
+    @Parameter(names = {"--hll-precision", "-hp"}, description = "Точность HyperLogLog (от 4 до 18)",
+        validateWith = Validators.HllPrecisionValidator.class)
+    private int hllPrecision = ReportSettings.DEFAULT_HLL_PRECISION;
+
+    @Parameter(names = {"--top", "-tn"}, description = "Количество элементов в топах ресурсов и кодов ответа",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int topSize = ReportSettings.DEFAULT_TOP_SIZE;
+
+    @Parameter(names = {"--top-capacity", "-tc"},
+        description = "Количество счетчиков для поиска самых запрашиваемых ресурсов (ограничивает память)",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int topResourcesCapacity = ReportSettings.DEFAULT_TOP_RESOURCES_CAPACITY;
+
+    @Parameter(names = {"--time-buckets", "-tb"},
+        description = "Длина интервала временного ряда статистики (1m, 5m или 1h)",
+        validateWith = Validators.TimeBucketsValidator.class, converter = Converters.TimeBucketsConverter.class)
+    private TimeBuckets timeBuckets;
+
+    @Parameter(names = {"--time-series-limit", "-tl"},
+        description = "Количество последних интервалов временного ряда в отчете",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int timeSeriesCapacity = TimeSeries.DEFAULT_CAPACITY;
+
+    @Parameter(names = {"--group-by", "-gb"},
+        description = "Поля для статистики по группам через запятую, например: endpoint или ip,status",
+        validateWith = Validators.GroupByValidator.class)
+    private String groupBy;
+
+    @Parameter(names = {"--group-by-limit", "-gl"}, description = "Количество самых больших групп в отчете",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int groupByLimit = GroupBySettings.DEFAULT_LIMIT;
+
+    @Parameter(names = {"--group-by-memory", "-gm"},
+        description = "Память на группы в МБ, после превышения группы сбрасываются на диск",
+        validateWith = Validators.PositiveIntegerValidator.class)
+    private int groupByMemory = GroupBySettings.DEFAULT_MEMORY_LIMIT_MB;
+
+    @Parameter(names = {"--spill-dir", "-sd"},
+        description = "Директория для сброса групп на диск (по умолчанию временная директория системы)",
+        validateWith = Validators.WritableDirectoryValidator.class)
+    private String spillDirectory;
+
+    @Parameter(names = {"--cache", "-ca"},
+        description = "Сохранять разобранные локальные файлы в кэш и читать их из кэша при следующих запусках")
+    private boolean cache = false;
+
+    @Parameter(names = {"--cache-dir", "-cd"},
+        description = "Директория для файлов кэша (по умолчанию .log-analyzer-cache рядом с каждым файлом логов)",
+        validateWith = Validators.WritableDirectoryValidator.class)
+    private String cacheDirectory;
 }
@@ -1,9 +1,10 @@
 package backend.academy.log_analyzer.parser;
 
+import backend.academy.log_analyzer.cache.LogColumnsCache;
+import backend.academy.log_analyzer.reader.HttpResources;
 import com.beust.jcommander.ParameterException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.FileSystems;
@@ -12,28 +13,56 @@ import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 // Я не знаю как избавиться от спотбагов, если это необходимо, подскажите, пожалуйста
 /**
  * Класс для парсинга входного пути, URL, шаблона
  */
-@SuppressFBWarnings(value = {"URLCONNECTION_SSRF_FD", "PATH_TRAVERSAL_IN"})
+@SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
 public class PathParser {
 
-    private static final int TIMEOUT = 5000;
-    private static final int SUCCESS_CODE = 200;
-    private static final int ERROR_CODE = 400;
+    private static final String PATH_SEPARATOR = ",";
 
     /**
-     * Метод для парсинга входного пути, URL, шаблона
+     * Метод для парсинга входного пути, URL, шаблона или нескольких таких путей через запятую.
+     * Ресурс, на который указывают несколько путей, входит в результат один раз
      *
-     * @param path путь, URL, шаблон
+     * @param path путь, URL, шаблон или их перечисление через запятую
      *
      * @return список путей до всех ресурсов
      */
     public List<URI> parsePath(String path) {
+        if (!path.contains(PATH_SEPARATOR)) {
+            return parseSinglePath(path);
+        }
+
+        Set<URI> result = new LinkedHashSet<>();
+
+        for (String singlePath : path.split(PATH_SEPARATOR)) {
+            if (!singlePath.isBlank()) {
+                result.addAll(parseSinglePath(singlePath.strip()));
+            }
+        }
+
+        if (result.isEmpty()) {
+            throw new ParameterException("Не указано ни одного пути до файла или URL");
+        }
+
+        return List.copyOf(result);
+    }
+
+    /**
+     * Метод для парсинга одного входного пути, URL, шаблона
+     *
+     * @param path путь, URL, шаблон
+     *
+     * @return список путей до всех ресурсов
+     */
+    private List<URI> parseSinglePath(String path) {
         try {
             if (isUrl(path)) {
                 return parseUrl(path);
@@ -70,7 +99,7 @@ public class PathParser {
     }
 
     /**
-     * Метод парсинга и валидации URL
+     * Метод парсинга и валидации URL по ответу на HEAD-запрос
      *
      * @param path URL
      *
@@ -85,18 +114,10 @@ public class PathParser {
         try {
             URI uri = new URI(path);
 
-            HttpURLConnection connectionToUse = (HttpURLConnection) uri.toURL().openConnection();
-            connectionToUse.setRequestMethod("HEAD");
-            connectionToUse.setConnectTimeout(TIMEOUT);
-            connectionToUse.setReadTimeout(TIMEOUT);
-
-            int responseCode = connectionToUse.getResponseCode();
-            connectionToUse.disconnect();
-
-            if (SUCCESS_CODE <= responseCode && responseCode < ERROR_CODE) {
+            if (HttpResources.head(uri).isAvailable()) {
                 return List.of(uri);
             }
-        } catch (IOException | URISyntaxException e) {
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
             throw new ParameterException(errorMessage, e);
         }
 
@@ -133,6 +154,7 @@ public class PathParser {
                     }
                 })
                 .filter(matcher::matches)
+                .filter(p -> !LogColumnsCache.isCacheFile(p))
                 .forEach(filePath -> result.add(filePath.toUri()));
         }
 
@@ -0,0 +1,223 @@
+package backend.academy.log_analyzer.parser;
+
+import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import backend.academy.log_analyzer.matcher.WhereFilter;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
+import backend.academy.log_analyzer.parser.additional.Converters;
+import backend.academy.log_analyzer.parser.additional.Validators;
+import com.beust.jcommander.ParameterException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Класс для парсинга файла {@code --reports} с несколькими отчетами. Файл в формате JSON:
+ * <pre>{@code
+ * {
+ *   "reports": [
+ *     {"name": "all", "out": "reports/all.md"},
+ *     {"name": "5xx", "where": "status=5*", "out": "reports/5xx.adoc"},
+ *     {"name": "api", "filterField": "endpoint", "filterValue": "/api/*", "from": "2024-01-01", "format": "text"}
+ *   ]
+ * }
+ * }</pre>
+ * Даты, фильтры и формат, которые не указаны в отчете, берутся из командной строки.
+ * Отчет без {@code out} выводится в консоль
+ */
+@SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
+public class ReportsConfigParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String REPORT_MESSAGE = "Отчет ";
+    private static final String TIME_FIELD = "time";
+
+    private final Converters converters;
+    private final Validators validators;
+
+    @Inject
+    public ReportsConfigParser(Converters converters, Validators validators) {
+        this.converters = converters;
+        this.validators = validators;
+    }
+
+    /**
+     * Метод для парсинга файла с отчетами
+     *
+     * @param reportsConfig путь до файла с отчетами
+     * @param parameters параметры командной строки, из которых берутся значения по умолчанию
+     *
+     * @return отчеты в порядке из файла
+     *
+     * @throws ParameterException если файл не удалось прочитать или в нем неверные отчеты
+     */
+    public List<ReportDefinition> parse(Path reportsConfig, ArgsParameters parameters) {
+        ReportsConfig config;
+
+        try {
+            config = MAPPER.readValue(reportsConfig.toFile(), ReportsConfig.class);
+        } catch (JsonProcessingException e) {
+            throw new ParameterException("Файл отчетов " + reportsConfig + " не соответствует формату: "
+                + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new ParameterException("Не удалось прочитать файл отчетов " + reportsConfig, e);
+        }
+
+        if (config.reports() == null || config.reports().isEmpty()) {
+            throw new ParameterException("В файле отчетов " + reportsConfig + " нет ни одного отчета");
+        }
+
+        List<ReportDefinition> reports = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Set<File> outputFiles = new HashSet<>();
+
+        for (ReportConfig report : config.reports()) {
+            if (report.name() == null || report.name().isBlank()) {
+                throw new ParameterException("У каждого отчета в файле " + reportsConfig + " должно быть название");
+            }
+
+            if (!names.add(report.name())) {
+                throw new ParameterException(REPORT_MESSAGE + report.name() + " указан в файле несколько раз");
+            }
+
+            ReportDefinition definition = parseReport(report, parameters);
+
+            if (definition.parameters().inFile() && !outputFiles.add(definition.parameters().outputFile())) {
+                throw new ParameterException(REPORT_MESSAGE + report.name() + " записывается в тот же файл, "
+                    + "что и другой отчет: " + definition.parameters().outputFile());
+            }
+
+            reports.add(definition);
+        }
+
+        return List.copyOf(reports);
+    }
+
+    /**
+     * Метод для конвертации одного отчета в параметры
+     *
+     * @param report отчет из файла
+     * @param parameters параметры командной строки
+     *
+     * @return отчет с параметрами
+     */
+    private ReportDefinition parseReport(ReportConfig report, ArgsParameters parameters) {
+        try {
+            LocalDateTime from = report.from() == null
+                ? parameters.from()
+                : new Converters.LocalDateTimeFromConverter().convert(report.from());
+            LocalDateTime to = report.to() == null
+                ? parameters.to()
+                : new Converters.LocalDateTimeToConverter().convert(report.to());
+
+            validators.validateDate(from, to);
+
+            String filterField = parameters.filterField();
+            String filterValue = parameters.filterValue();
+            LogFilter filter = parameters.filter();
+
+            if (report.filterField() != null || report.filterValue() != null) {
+                filterField = report.filterField() == null ? "" : report.filterField();
+                filterValue = report.filterValue() == null ? "" : report.filterValue();
+
+                validators.validateFilter(filterField, filterValue);
+
+                if (TIME_FIELD.equals(filterField) && !filterValue.contains("*")) {
+                    filterValue = converters.convertDateTimeFilter(filterValue);
+                }
+
+                filter = LogFilter.compile(filterField, filterValue);
+            }
+
+            WhereFilter where = report.where() == null ? parameters.where() : WhereFilter.compile(report.where());
+
+            String format = report.format() == null
+                ? parameters.format().extension()
+                : convertFormat(report.format());
+            boolean inFile = report.out() != null;
+            File outputFile = null;
+
+            // Как и для --out: директория дополняется названием отчета, а расширение файла задает формат
+            if (inFile) {
+                String outputFileStr = report.out().endsWith("/") ? report.out() + report.name() : report.out();
+
+                new Validators.OutputFileValidator().validate("out", outputFileStr);
+
+                if (outputFileStr.contains(".")) {
+                    format = outputFileStr.substring(outputFileStr.lastIndexOf('.'));
+                }
+
+                outputFile = converters.convertOutputFile(outputFileStr, format);
+            }
+
+            return new ReportDefinition(report.name(), parameters
+                .withInFile(inFile)
+                .withOutputFile(outputFile)
+                .withFrom(from)
+                .withTo(to)
+                .withFormat(OutputFormats.of(format))
+                .withFilterField(filterField)
+                .withFilterValue(filterValue)
+                .withFilter(filter)
+                .withWhere(where)
+                .withReports(List.of()));
+        } catch (ParameterException e) {
+            throw new ParameterException(REPORT_MESSAGE + report.name() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Метод для конвертации названия формата в расширение
+     *
+     * @param format название формата
+     *
+     * @return расширение формата
+     */
+    private String convertFormat(String format) {
+        new Validators.FormatValidator().validate("format", format);
+
+        return new Converters.OutputFormatConverter().convert(format);
+    }
+
+    /**
+     * Рекорд содержимого файла с отчетами
+     *
+     * @param reports отчеты
+     */
+    private record ReportsConfig(List<ReportConfig> reports) {
+    }
+
+    /**
+     * Рекорд одного отчета в файле. Не указанные поля равны {@code null}
+     *
+     * @param name название отчета
+     * @param from начальная дата
+     * @param to конечная дата
+     * @param filterField поле для фильтрации
+     * @param filterValue значение поля для фильтрации
+     * @param where выражение для фильтрации
+     * @param format формат вывода
+     * @param out выходной файл
+     */
+    private record ReportConfig(
+        String name,
+        String from,
+        String to,
+        String filterField,
+        String filterValue,
+        String where,
+        String format,
+        String out
+    ) {
+    }
+}
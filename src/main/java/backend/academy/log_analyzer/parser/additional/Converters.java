@@ -1,6 +1,9 @@
 package backend.academy.log_analyzer.parser.additional;
 
+import backend.academy.log_analyzer.enums.ExecutionModes;
+import backend.academy.log_analyzer.enums.LogFields;
 import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.enums.TimeBuckets;
 import com.beust.jcommander.IStringConverter;
 import com.beust.jcommander.ParameterException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -9,6 +12,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
 
 // Я не знаю как избавиться от спотбагов, если это необходимо, подскажите, пожалуйста
 /**
@@ -104,6 +109,20 @@ public class Converters {
         }
     }
 
+    /**
+     * Метод для конвертации полей для группировки, перечисленных через запятую
+     *
+     * @param groupBy поля для группировки
+     *
+     * @return поля лога в порядке из аргумента
+     */
+    public List<LogFields> convertGroupBy(String groupBy) {
+        return Arrays.stream(groupBy.split(","))
+            .map(String::trim)
+            .map(LogFields::of)
+            .toList();
+    }
+
     /**
      * Метод парсинга даты и времени
      *
@@ -181,4 +200,40 @@ public class Converters {
             return OutputFormats.valueOf(format.toUpperCase()).extension();
         }
     }
+
+    //Логика простая, без тестов
+    /**
+     * Класс для конвертации названия способа выполнения анализа.
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see ExecutionModeConverter#convert(String)
+     */
+    public static class ExecutionModeConverter implements IStringConverter<ExecutionModes> {
+
+        /**
+         * Метод конвертации названия способа выполнения в элемент перечисления {@link ExecutionModes}
+         */
+        @Override
+        public ExecutionModes convert(String modeName) {
+            return ExecutionModes.of(modeName);
+        }
+    }
+
+    //Логика простая, без тестов
+    /**
+     * Класс для конвертации длины интервала временного ряда.
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see TimeBucketsConverter#convert(String)
+     */
+    public static class TimeBucketsConverter implements IStringConverter<TimeBuckets> {
+
+        /**
+         * Метод конвертации длины интервала в элемент перечисления {@link TimeBuckets}
+         */
+        @Override
+        public TimeBuckets convert(String bucketName) {
+            return TimeBuckets.of(bucketName);
+        }
+    }
 }
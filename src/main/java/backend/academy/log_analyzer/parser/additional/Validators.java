@@ -1,6 +1,9 @@
 package backend.academy.log_analyzer.parser.additional;
 
+import backend.academy.log_analyzer.enums.ExecutionModes;
 import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.enums.TimeBuckets;
+import backend.academy.log_analyzer.stat.HyperLogLog;
 import backend.academy.log_analyzer.util.LogFieldsStorage;
 import com.beust.jcommander.IParameterValidator;
 import com.beust.jcommander.ParameterException;
@@ -9,7 +12,9 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 // Я не знаю как избавиться от спотбагов (PATH_TRAVERSAL_IN), если это необходимо, подскажите, пожалуйста
@@ -26,6 +31,17 @@ public class Validators {
             .map(OutputFormats::formatName)
             .toList();
 
+    private static final List<String> EXECUTION_MODES = Arrays.stream(ExecutionModes.values())
+            .map(ExecutionModes::modeName)
+            .toList();
+
+    private static final List<String> TIME_BUCKETS = Arrays.stream(TimeBuckets.values())
+            .map(TimeBuckets::bucketName)
+            .toList();
+
+    private static final String ARGUMENT_MESSAGE = "Аргумент для ";
+    private static final String FOUND_MESSAGE = ". Найдено: ";
+    private static final String INTEGER_MESSAGE = " должен быть целым числом";
     private static final String INVALID_DIRECTORY_MESSAGE = "Нельзя создать файл в указанной директории";
 
     /**
@@ -68,6 +84,53 @@ public class Validators {
 
     // Простая логика - без тестов
 
+    /**
+     * Метод для валидации размера топов
+     *
+     * @param topSize размер топов
+     * @param topCapacity количество счетчиков ресурсов
+     * @throws ParameterException если счетчиков меньше, чем размер топа
+     */
+    public void validateTop(int topSize, int topCapacity) throws ParameterException {
+        if (topCapacity < topSize) {
+            throw new ParameterException("Аргумент --top-capacity (-tc) не может быть меньше --top (-tn)");
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Метод для валидации режима слежения за файлами
+     *
+     * @param follow включен ли режим слежения
+     * @param stateFile файл состояния инкрементального анализа
+     * @throws ParameterException если вместе с режимом слежения указан файл состояния
+     */
+    public void validateFollow(boolean follow, String stateFile) throws ParameterException {
+        if (follow && stateFile != null) {
+            throw new ParameterException("Аргументы --follow (-fl) и --state-file (-sf) нельзя указывать вместе");
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Метод для валидации отчетов из файла
+     *
+     * @param reportsConfig файл с отчетами
+     * @param follow включен ли режим слежения
+     * @param stateFile файл состояния инкрементального анализа
+     * @throws ParameterException если вместе с файлом отчетов указан режим слежения или файл состояния
+     */
+    public void validateReports(String reportsConfig, boolean follow, String stateFile) throws ParameterException {
+        if (reportsConfig != null && (follow || stateFile != null)) {
+            throw new ParameterException("Аргумент --reports (-r) нельзя указывать вместе с --follow (-fl) "
+                    + "и --state-file (-sf)");
+        }
+    }
+
+    // Простая логика - без тестов
+
     /**
      * Класс для валидации формата для вывода.
      * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
@@ -86,7 +149,56 @@ public class Validators {
 
             if (!FORMATS.contains(value)) {
                 throw new ParameterException(
-                        "Аргумент для " + name + " должен быть " + FORMATS + ". Найдено: " + value);
+                        ARGUMENT_MESSAGE + name + " должен быть " + FORMATS + FOUND_MESSAGE + value);
+            }
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Класс для валидации способа выполнения анализа.
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see ExecutionModeValidator#validate(String, String)
+     */
+    public static class ExecutionModeValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации способа выполнения анализа
+         *
+         * @throws ParameterException если способ выполнения не совпадает с разрешенными {@link ExecutionModes}
+         */
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+
+            if (!EXECUTION_MODES.contains(value)) {
+                throw new ParameterException(
+                        ARGUMENT_MESSAGE + name + " должен быть " + EXECUTION_MODES + FOUND_MESSAGE + value);
+            }
+        }
+    }
+
+    // Простая логика - без тестов
+    /**
+     * Класс для валидации длины интервала временного ряда
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see TimeBucketsValidator#validate(String, String)
+     */
+    public static class TimeBucketsValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации длины интервала временного ряда
+         *
+         * @throws ParameterException если длина интервала не совпадает с разрешенными {@link TimeBuckets}
+         */
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+
+            if (!TIME_BUCKETS.contains(value)) {
+                throw new ParameterException(
+                        ARGUMENT_MESSAGE + name + " должен быть " + TIME_BUCKETS + FOUND_MESSAGE + value);
             }
         }
     }
@@ -118,6 +230,183 @@ public class Validators {
         }
     }
 
+    /**
+     * Класс для валидации полей для группировки
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see GroupByValidator#validate(String, String)
+     */
+    public static class GroupByValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации полей для группировки, перечисленных через запятую
+         *
+         * @throws ParameterException если поле не совпадает с возможными параметрами в NGINX логе
+         *                            или указано несколько раз
+         */
+        @Override
+        public void validate(String name, String fieldNames) throws ParameterException {
+            List<String> logFields = LogFieldsStorage.ALL_FIELDS;
+            Set<String> groupByFields = new HashSet<>();
+
+            for (String fieldName : fieldNames.split(",", -1)) {
+                String trimmedName = fieldName.trim();
+
+                if (!logFields.contains(trimmedName)) {
+                    throw new ParameterException("Указанного поля " + trimmedName + " для группировки не существует. "
+                            + "Используйте: " + logFields);
+                }
+
+                if (!groupByFields.add(trimmedName)) {
+                    throw new ParameterException("Поле " + trimmedName + " для группировки указано несколько раз");
+                }
+            }
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Класс для валидации целочисленных параметров, которые должны быть больше нуля
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see PositiveIntegerValidator#validate(String, String)
+     */
+    public static class PositiveIntegerValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации положительного целого числа
+         *
+         * @throws ParameterException если значение не является целым числом или меньше единицы
+         */
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+            try {
+                if (Integer.parseInt(value) < 1) {
+                    throw new ParameterException(ARGUMENT_MESSAGE + name + " должен быть больше нуля" + FOUND_MESSAGE
+                            + value);
+                }
+            } catch (NumberFormatException e) {
+                throw new ParameterException(ARGUMENT_MESSAGE + name + INTEGER_MESSAGE + FOUND_MESSAGE
+                        + value, e);
+            }
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Класс для валидации целочисленных параметров, которые не могут быть отрицательными
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see NonNegativeIntegerValidator#validate(String, String)
+     */
+    public static class NonNegativeIntegerValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации неотрицательного целого числа
+         *
+         * @throws ParameterException если значение не является целым числом или меньше нуля
+         */
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+            try {
+                if (Integer.parseInt(value) < 0) {
+                    throw new ParameterException(ARGUMENT_MESSAGE + name + " не может быть отрицательным"
+                            + FOUND_MESSAGE + value);
+                }
+            } catch (NumberFormatException e) {
+                throw new ParameterException(ARGUMENT_MESSAGE + name + INTEGER_MESSAGE + FOUND_MESSAGE
+                        + value, e);
+            }
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Класс для валидации точности {@link HyperLogLog}
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see HllPrecisionValidator#validate(String, String)
+     */
+    public static class HllPrecisionValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации точности
+         *
+         * @throws ParameterException если значение не является целым числом или выходит за допустимые границы
+         */
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+            try {
+                int precision = Integer.parseInt(value);
+
+                if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+                    throw new ParameterException(ARGUMENT_MESSAGE + name + " должен быть от "
+                            + HyperLogLog.MIN_PRECISION + " до " + HyperLogLog.MAX_PRECISION + FOUND_MESSAGE + value);
+                }
+            } catch (NumberFormatException e) {
+                throw new ParameterException(ARGUMENT_MESSAGE + name + INTEGER_MESSAGE + FOUND_MESSAGE
+                        + value, e);
+            }
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Класс для валидации файла состояния инкрементального анализа.
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see StateFileValidator#validate(String, String)
+     */
+    public static class StateFileValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации файла состояния
+         *
+         * @throws ParameterException если файл состояния существует, но не является файлом или в него нельзя записать
+         */
+        @Override
+        public void validate(String name, String stateFile) throws ParameterException {
+            File file = new File(stateFile);
+
+            if (file.exists() && (!file.isFile() || !file.canWrite())) {
+                throw new ParameterException(ARGUMENT_MESSAGE + name
+                        + " должен быть файлом, доступным для записи" + FOUND_MESSAGE + stateFile);
+            }
+        }
+    }
+
+    // Простая логика - без тестов
+
+    /**
+     * Класс для валидации директорий, в которые приложение записывает временные файлы и кэш
+     * (сброс групп на диск, файлы кэша).
+     * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
+     *
+     * @see WritableDirectoryValidator#validate(String, String)
+     */
+    public static class WritableDirectoryValidator implements IParameterValidator {
+
+        /**
+         * Метод валидации директории для записи
+         *
+         * @throws ParameterException если директории нет или в нее нельзя записать
+         */
+        @Override
+        public void validate(String name, String path) throws ParameterException {
+            File directory = new File(path);
+
+            if (!directory.isDirectory() || !directory.canWrite()) {
+                throw new ParameterException(ARGUMENT_MESSAGE + name
+                        + " должен быть существующей директорией, доступной для записи" + FOUND_MESSAGE
+                        + path);
+            }
+        }
+    }
+
     /**
      * Класс для валидации выходного файла
      * Используется в {@link backend.academy.log_analyzer.parser.ArgsParser}
@@ -0,0 +1,84 @@
+package backend.academy.log_analyzer.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Строка-представление (без копирования) над участком байтового буфера, содержащим только ASCII символы.
+ * Байты превращаются в {@link String} только при вызове {@link #toString()}.
+ * Экземпляр, полученный из {@link MappedLineReader}, действителен только во время обработки строки
+ */
+public final class ByteSlice implements CharSequence {
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    /**
+     * Конструктор пустого участка. Используется для переиспользования одного объекта под разные строки
+     */
+    public ByteSlice() {
+        this(null, 0, 0);
+    }
+
+    /**
+     * Конструктор участка буфера
+     *
+     * @param buffer буфер с ASCII символами
+     * @param offset начало участка (абсолютный индекс в буфере)
+     * @param length длина участка
+     */
+    public ByteSlice(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Метод перенастройки участка на другую часть буфера
+     *
+     * @param newBuffer буфер с ASCII символами
+     * @param newOffset начало участка (абсолютный индекс в буфере)
+     * @param newLength длина участка
+     *
+     * @return этот же объект
+     */
+    ByteSlice reset(ByteBuffer newBuffer, int newOffset, int newLength) {
+        this.buffer = newBuffer;
+        this.offset = newOffset;
+        this.length = newLength;
+
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        return (char) buffer.get(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+
+        return new ByteSlice(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,82 @@
+package backend.academy.log_analyzer.reader;
+
+import backend.academy.log_analyzer.enums.CompressionFormats;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+
+/**
+ * Потоки чтения со сжатых ресурсов. Сжатие определяется по сигнатуре (см. {@link CompressionFormats}),
+ * несжатые данные возвращаются как есть
+ */
+@UtilityClass
+public class CompressedStreams {
+
+    /**
+     * Размер буфера чтения сжатых данных
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Метод создания потока чтения, который прозрачно распаковывает данные
+     *
+     * @param input исходный поток
+     * @param name имя файла или URL (используется, если по сигнатуре формат определить нельзя)
+     *
+     * @return поток распакованных данных
+     *
+     * @throws IOException если не удалось прочитать заголовок сжатых данных
+     */
+    public static InputStream decompressing(InputStream input, String name) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+
+        buffered.mark(CompressionFormats.HEADER_LENGTH);
+        byte[] header = buffered.readNBytes(CompressionFormats.HEADER_LENGTH);
+        buffered.reset();
+
+        return decompressing(buffered, CompressionFormats.of(header, header.length, name));
+    }
+
+    /**
+     * Метод определения формата сжатия файла
+     *
+     * @param path путь до файла
+     *
+     * @return формат сжатия
+     *
+     * @throws IOException если не удалось прочитать начало файла
+     */
+    public static CompressionFormats detect(Path path) throws IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            byte[] header = input.readNBytes(CompressionFormats.HEADER_LENGTH);
+
+            return CompressionFormats.of(header, header.length, path.getFileName().toString());
+        }
+    }
+
+    /**
+     * Метод создания потока распаковки. Gzip из нескольких членов (в том числе BGZF)
+     * и bzip2 из нескольких потоков читаются целиком
+     *
+     * @param input поток сжатых данных
+     * @param format формат сжатия
+     *
+     * @return поток распакованных данных
+     *
+     * @throws IOException если заголовок сжатых данных поврежден
+     */
+    private static InputStream decompressing(InputStream input, CompressionFormats format) throws IOException {
+        return switch (format) {
+            case NONE -> input;
+            case GZIP, BGZF -> new GZIPInputStream(input, BUFFER_SIZE);
+            case BZIP2 -> new BZip2CompressorInputStream(input, true);
+            case ZSTD -> new ZstdCompressorInputStream(input);
+        };
+    }
+}
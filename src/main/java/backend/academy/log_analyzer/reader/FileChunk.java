@@ -0,0 +1,23 @@
+package backend.academy.log_analyzer.reader;
+
+/**
+ * Рекорд диапазона байт файла. Диапазон начинается с начала строки и заканчивается сразу после
+ * символа перевода строки (или концом файла), поэтому строки не разрываются между диапазонами
+ *
+ * @param start начало диапазона (включительно)
+ * @param end конец диапазона (не включительно)
+ */
+public record FileChunk(
+    long start,
+    long end
+) {
+
+    /**
+     * Метод получения размера диапазона
+     *
+     * @return размер диапазона в байтах
+     */
+    public long length() {
+        return end - start;
+    }
+}
@@ -0,0 +1,66 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Поток чтения диапазона байт файла. Чтение идет по абсолютным позициям канала,
+ * поэтому один канал можно использовать из нескольких потоков одновременно.
+ * Закрытие потока не закрывает канал
+ */
+public class FileChunkInputStream extends InputStream {
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private final FileChannel channel;
+    private final long end;
+    private long position;
+
+    /**
+     * Конструктор потока чтения диапазона
+     *
+     * @param channel канал файла
+     * @param chunk диапазон для чтения
+     */
+    public FileChunkInputStream(FileChannel channel, FileChunk chunk) {
+        this.channel = channel;
+        this.end = chunk.end();
+        this.position = chunk.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+
+        return read(single, 0, 1) == -1 ? -1 : single[0] & BYTE_MASK;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (position >= end) {
+            return -1;
+        }
+
+        int toRead = (int) Math.min(length, end - position);
+        int read = channel.read(ByteBuffer.wrap(bytes, offset, toRead), position);
+
+        if (read == -1) {
+            return -1;
+        }
+
+        position += read;
+
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, end - position);
+    }
+}
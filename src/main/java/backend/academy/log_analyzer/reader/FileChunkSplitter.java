@@ -0,0 +1,143 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Класс для разбиения файла на диапазоны байт, выровненные по границам строк
+ */
+@UtilityClass
+public class FileChunkSplitter {
+
+    private static final int SEARCH_BUFFER_SIZE = 8 * 1024;
+    private static final byte LINE_FEED = '\n';
+
+    /**
+     * Метод разбиения файла на диапазоны примерно заданного размера. Граница каждого диапазона сдвигается
+     * вперед до ближайшего перевода строки, поэтому диапазон может быть больше заданного размера
+     *
+     * @param channel канал файла
+     * @param chunkSize желаемый размер диапазона в байтах
+     *
+     * @return диапазоны, покрывающие весь файл без пересечений (для пустого файла - один пустой диапазон)
+     *
+     * @throws IOException если произошла ошибка чтения файла
+     */
+    public static List<FileChunk> split(FileChannel channel, long chunkSize) throws IOException {
+        return split(channel, new FileChunk(0, channel.size()), chunkSize);
+    }
+
+    /**
+     * Метод разбиения части файла на диапазоны примерно заданного размера (см. {@link #split(FileChannel, long)}).
+     * Часть должна начинаться с начала строки
+     *
+     * @param channel канал файла
+     * @param range часть файла
+     * @param chunkSize желаемый размер диапазона в байтах
+     *
+     * @return диапазоны, покрывающие всю часть без пересечений (для пустой части - один пустой диапазон)
+     *
+     * @throws IOException если произошла ошибка чтения файла
+     */
+    public static List<FileChunk> split(FileChannel channel, FileChunk range, long chunkSize) throws IOException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Размер диапазона должен быть больше нуля");
+        }
+
+        long size = range.end();
+        List<FileChunk> chunks = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_BUFFER_SIZE);
+        long start = range.start();
+
+        while (start + chunkSize < size) {
+            long end = findLineEnd(channel, start + chunkSize - 1, size, buffer);
+            chunks.add(new FileChunk(start, end));
+            start = end;
+        }
+
+        if (start < size || chunks.isEmpty()) {
+            chunks.add(new FileChunk(start, size));
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Метод поиска конца последней полной строки части файла. Строка, которая еще дописывается
+     * (без перевода строки в конце), в часть не входит
+     *
+     * @param channel канал файла
+     * @param range часть файла
+     *
+     * @return позиция сразу после последнего перевода строки части или начало части, если перевода строки нет
+     *
+     * @throws IOException если произошла ошибка чтения файла
+     */
+    public static long findLastLineEnd(FileChannel channel, FileChunk range) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_BUFFER_SIZE);
+        long end = range.end();
+
+        while (end > range.start()) {
+            long from = Math.max(range.start(), end - SEARCH_BUFFER_SIZE);
+
+            buffer.clear();
+            buffer.limit((int) (end - from));
+
+            int read = channel.read(buffer, from);
+
+            if (read <= 0) {
+                break;
+            }
+
+            for (int i = read - 1; i >= 0; i--) {
+                if (buffer.get(i) == LINE_FEED) {
+                    return from + i + 1;
+                }
+            }
+
+            end = from;
+        }
+
+        return range.start();
+    }
+
+    /**
+     * Метод поиска конца строки, начиная с заданной позиции
+     *
+     * @param channel канал файла
+     * @param from позиция, с которой начинается поиск
+     * @param size размер файла
+     * @param buffer буфер для чтения
+     *
+     * @return позиция сразу после перевода строки или размер файла, если перевода строки нет
+     *
+     * @throws IOException если произошла ошибка чтения файла
+     */
+    private static long findLineEnd(FileChannel channel, long from, long size, ByteBuffer buffer)
+        throws IOException {
+        long position = from;
+
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+
+            if (read <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == LINE_FEED) {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+
+        return size;
+    }
+}
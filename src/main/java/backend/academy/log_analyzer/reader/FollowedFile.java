@@ -0,0 +1,121 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Файл, за которым следят как {@code tail -F}: файл остается открытым после конца,
+ * и при каждой проверке отдаются только строки, дописанные с прошлой проверки.
+ * <p>
+ * Отдаются только полные строки, строка без перевода строки в конце ждет следующей проверки.
+ * Если по пути появился другой файл (ротация), старый файл дочитывается до конца, а новый читается с начала.
+ * Если файл стал короче прочитанного (усечение), он читается с начала
+ */
+@Slf4j
+public class FollowedFile implements Closeable {
+
+    @Getter
+    private final Path path;
+
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+
+    /**
+     * Конструктор. Файл открывается сразу и читается с начала
+     *
+     * @param path путь до файла
+     *
+     * @throws IOException если не удалось открыть файл
+     */
+    public FollowedFile(Path path) throws IOException {
+        this.path = path;
+        open();
+    }
+
+    /**
+     * Метод чтения строк, дописанных с прошлой проверки
+     *
+     * @param rangeReader обработчик прочитанной части файла. Часть начинается с начала строки
+     * и заканчивается переводом строки (кроме дочитывания файла после ротации)
+     *
+     * @throws IOException если произошла ошибка чтения
+     */
+    public void readAppended(RangeReader rangeReader) throws IOException {
+        Object currentFileKey = readFileKey();
+
+        if (currentFileKey != null && fileKey != null && !currentFileKey.equals(fileKey)) {
+            log.info("Файл {} был заменен (ротация), старый файл дочитывается, новый читается с начала", path);
+
+            readRange(rangeReader, channel.size());
+
+            FileChannel rotatedChannel = channel;
+            open();
+            rotatedChannel.close();
+        } else if (channel.size() < position) {
+            log.info("Файл {} был усечен и будет прочитан с начала", path);
+            position = 0;
+        }
+
+        readRange(rangeReader, FileChunkSplitter.findLastLineEnd(channel, new FileChunk(position, channel.size())));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readRange(RangeReader rangeReader, long end) throws IOException {
+        if (end > position) {
+            rangeReader.read(channel, new FileChunk(position, end));
+            position = end;
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileKey = readFileKey();
+        position = 0;
+    }
+
+    /**
+     * Метод получения идентификатора файла, который сейчас лежит по пути
+     *
+     * @return идентификатор файла или {@code null}, если файла нет (например, между переименованием
+     * и созданием нового при ротации) или файловая система не сообщает идентификатор
+     *
+     * @throws IOException если не удалось прочитать атрибуты файла
+     */
+    private Object readFileKey() throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Обработчик прочитанной части файла
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * Метод обработки части файла
+         *
+         * @param channel канал файла
+         * @param range часть файла
+         *
+         * @throws IOException если произошла ошибка чтения
+         */
+        void read(FileChannel channel, FileChunk range) throws IOException;
+    }
+}
@@ -0,0 +1,120 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Поток чтения части URL ограниченными запросами диапазонов байт (см. {@link HttpResources#openRange}).
+ * Первый запрос захватывает часть и запас {@link #TAIL_SLACK} байт, в котором обычно заканчивается
+ * последняя строка части. Следующие запросы отправляются, только если чтение продолжается за пределами
+ * уже полученных байт, то есть когда последняя строка длиннее запаса.
+ * <p>
+ * Поток рассчитан на {@link LineAlignedRangeInputStream}, который прекращает чтение на конце строки,
+ * поэтому весь ресурс с начала части до конца никогда не запрашивается
+ */
+public class HttpRangeInputStream extends InputStream {
+
+    /**
+     * Запас байт после конца части, в котором должна закончиться ее последняя строка
+     */
+    static final long TAIL_SLACK = 64L * 1024;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private final URI uri;
+    private final long length;
+    private InputStream window;
+    private long position;
+    private long windowEnd;
+
+    private HttpRangeInputStream(URI uri, long length, InputStream window, long start, long windowEnd) {
+        this.uri = uri;
+        this.length = length;
+        this.window = window;
+        this.position = start;
+        this.windowEnd = windowEnd;
+    }
+
+    /**
+     * Метод открытия потока части URL: первый запрос отправляется сразу
+     *
+     * @param uri URL
+     * @param range байты части: с первого байта, который нужно прочитать, до примерного конца части
+     * @param length размер содержимого URL
+     *
+     * @return поток части или пустой {@link Optional}, если сервер не вернул диапазон,
+     * и URL нужно читать целиком одним запросом
+     *
+     * @throws IOException если не удалось подключиться к URL или сервер вернул ошибку
+     */
+    public static Optional<HttpRangeInputStream> open(URI uri, FileChunk range, long length) throws IOException {
+        long windowEnd = Math.min(length, range.end() + TAIL_SLACK);
+
+        return HttpResources.openRange(uri, range.start(), windowEnd)
+            .map(window -> new HttpRangeInputStream(uri, length, window, range.start(), windowEnd));
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+
+        return read(single, 0, 1) == -1 ? -1 : single[0] & BYTE_MASK;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        int read = window.read(bytes, offset, length);
+
+        if (read == -1) {
+            if (position >= this.length) {
+                return -1;
+            }
+
+            openNextWindow();
+            read = window.read(bytes, offset, length);
+
+            if (read == -1) {
+                throw new IOException("URL " + uri + " вернула пустой диапазон с байта " + position);
+            }
+        }
+
+        position += read;
+
+        return read;
+    }
+
+    /**
+     * Метод закрытия потока. Небольшой непрочитанный остаток ответа дочитывается, чтобы соединение
+     * вернулось в пул {@link java.net.http.HttpClient} и не закрывалось
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (windowEnd - position <= TAIL_SLACK) {
+                window.transferTo(OutputStream.nullOutputStream());
+            }
+        } finally {
+            window.close();
+        }
+    }
+
+    /**
+     * Метод отправки запроса следующих {@link #TAIL_SLACK} байт после уже прочитанных
+     */
+    private void openNextWindow() throws IOException {
+        window.close();
+
+        long nextEnd = Math.min(length, position + TAIL_SLACK);
+
+        window = HttpResources.openRange(uri, position, nextEnd)
+            .orElseThrow(() -> new IOException("URL " + uri + " перестала возвращать диапазоны байт"));
+        windowEnd = nextEnd;
+    }
+}
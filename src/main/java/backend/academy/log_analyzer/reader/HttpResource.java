@@ -0,0 +1,43 @@
+package backend.academy.log_analyzer.reader;
+
+import java.net.URI;
+
+/**
+ * Рекорд ответа сервера на HEAD-запрос к URL с логами
+ *
+ * @param uri URL ресурса
+ * @param statusCode код ответа
+ * @param contentLength размер содержимого в байтах ({@code -1}, если сервер его не сообщил)
+ * @param acceptsRanges поддерживает ли сервер запросы диапазонов байт ({@code Accept-Ranges: bytes})
+ * @param compressed передается ли содержимое в сжатом виде
+ */
+public record HttpResource(
+    URI uri,
+    int statusCode,
+    long contentLength,
+    boolean acceptsRanges,
+    boolean compressed
+) {
+
+    private static final int SUCCESS_CODE = 200;
+    private static final int ERROR_CODE = 400;
+
+    /**
+     * Проверка, что ресурс доступен
+     *
+     * @return {@code true}, если код ответа от 200 до 399, иначе {@code false}
+     */
+    public boolean isAvailable() {
+        return SUCCESS_CODE <= statusCode && statusCode < ERROR_CODE;
+    }
+
+    /**
+     * Проверка, что ресурс можно читать несколькими запросами диапазонов байт.
+     * Сжатое содержимое делить нельзя: распаковка возможна только с начала
+     *
+     * @return {@code true}, если размер известен, сервер поддерживает диапазоны и содержимое не сжато
+     */
+    public boolean isSplittable() {
+        return acceptsRanges && contentLength > 0 && !compressed;
+    }
+}
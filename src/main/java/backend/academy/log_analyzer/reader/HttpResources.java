@@ -0,0 +1,158 @@
+package backend.academy.log_analyzer.reader;
+
+import backend.academy.log_analyzer.enums.CompressionFormats;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Чтение логов по HTTP через общий {@link HttpClient}. Соединения переиспользуются между запросами,
+ * тело ответа читается потоком по мере разбора строк.
+ * <p>
+ * Ответы на HEAD-запросы не запоминаются: анализ получает свежие размер и поддержку диапазонов
+ * и передает их дальше вместе с ресурсом (см. {@link HttpResource})
+ */
+@UtilityClass
+public class HttpResources {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final int SUCCESS_CODE = 200;
+    private static final int PARTIAL_CONTENT_CODE = 206;
+    private static final int REDIRECTION_CODE = 300;
+    private static final String BYTES_UNIT = "bytes";
+    private static final String IDENTITY_ENCODING = "identity";
+    private static final String URL_PREFIX = "URL ";
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .connectTimeout(TIMEOUT)
+        .build();
+
+    /**
+     * Метод получения сведений о ресурсе (HEAD-запрос)
+     *
+     * @param uri URL ресурса
+     *
+     * @return ответ на HEAD-запрос
+     *
+     * @throws IOException если не удалось подключиться к URL
+     */
+    public static HttpResource head(URI uri) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .timeout(TIMEOUT)
+            .build();
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        HttpHeaders headers = response.headers();
+
+        return new HttpResource(
+            uri,
+            response.statusCode(),
+            headers.firstValueAsLong("Content-Length").orElse(-1),
+            headers.allValues("Accept-Ranges").stream().anyMatch(BYTES_UNIT::equalsIgnoreCase),
+            isCompressed(uri, headers)
+        );
+    }
+
+    /**
+     * Метод открытия потока чтения содержимого ресурса
+     *
+     * @param uri URL ресурса
+     *
+     * @return поток чтения тела ответа
+     *
+     * @throws IOException если не удалось подключиться к URL или сервер вернул ошибку
+     */
+    public static InputStream open(URI uri) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().timeout(TIMEOUT).build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        int statusCode = response.statusCode();
+
+        if (SUCCESS_CODE <= statusCode && statusCode < REDIRECTION_CODE) {
+            return response.body();
+        }
+
+        response.body().close();
+        throw new IOException(URL_PREFIX + uri + " вернула код " + statusCode);
+    }
+
+    /**
+     * Метод открытия потока чтения диапазона байт ресурса (запрос {@code Range: bytes=start-(end - 1)}).
+     * Диапазон ограничен, поэтому ответ читается до конца, и соединение переиспользуется следующим запросом
+     *
+     * @param uri URL ресурса
+     * @param start номер первого байта
+     * @param end номер байта после диапазона
+     *
+     * @return поток чтения диапазона или пустой {@link Optional}, если сервер проигнорировал диапазон
+     * и вернул все содержимое (такой ответ закрывается без чтения)
+     *
+     * @throws IOException если не удалось подключиться к URL, сервер вернул ошибку или другой диапазон
+     */
+    public static Optional<InputStream> openRange(URI uri, long start, long end) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .GET()
+            .timeout(TIMEOUT)
+            .header("Range", BYTES_UNIT + "=" + start + "-" + (end - 1))
+            .build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        InputStream body = response.body();
+        int statusCode = response.statusCode();
+
+        if (statusCode == PARTIAL_CONTENT_CODE && isRangeFrom(response.headers(), start)) {
+            return Optional.of(body);
+        }
+
+        body.close();
+
+        if (SUCCESS_CODE <= statusCode && statusCode < REDIRECTION_CODE && statusCode != PARTIAL_CONTENT_CODE) {
+            return Optional.empty();
+        }
+
+        throw new IOException(URL_PREFIX + uri + " вернула код " + statusCode + " на запрос байт с " + start
+            + " по " + (end - 1));
+    }
+
+    private static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+        throws IOException {
+        try {
+            return CLIENT.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Запрос к " + URL_PREFIX + request.uri() + " был прерван");
+        }
+    }
+
+    /**
+     * Проверка, что ответ содержит диапазон с нужного байта ({@code Content-Range: bytes start-end/size})
+     */
+    private static boolean isRangeFrom(HttpHeaders headers, long start) {
+        return headers.firstValue("Content-Range")
+            .map(range -> range.startsWith(BYTES_UNIT + " " + start + "-"))
+            .orElse(false);
+    }
+
+    /**
+     * Проверка, что содержимое сжато: по заголовкам {@code Content-Encoding} и {@code Content-Type}
+     * или по расширению в пути URL
+     */
+    private static boolean isCompressed(URI uri, HttpHeaders headers) {
+        boolean encoded = headers.allValues("Content-Encoding").stream()
+            .anyMatch(encoding -> !IDENTITY_ENCODING.equalsIgnoreCase(encoding.strip()));
+        String contentType = headers.firstValue("Content-Type").orElse("").toLowerCase(Locale.ROOT);
+        boolean archive = contentType.contains("gzip") || contentType.contains("bzip") || contentType.contains("zstd");
+        String path = uri.getPath() == null ? "" : uri.getPath();
+
+        return encoded || archive || CompressionFormats.ofFileName(path) != CompressionFormats.NONE;
+    }
+}
@@ -0,0 +1,76 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Поток чтения, который открывает исходный поток только при первом чтении.
+ * Если поток закрыт до чтения, исходный поток не открывается вовсе (например, HTTP-запрос не отправляется)
+ */
+public class LazyInputStream extends InputStream {
+
+    private final Opener opener;
+    private InputStream delegate;
+    private boolean closed;
+
+    /**
+     * Конструктор потока
+     *
+     * @param opener способ открыть исходный поток
+     */
+    public LazyInputStream(Opener opener) {
+        this.opener = opener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return delegate().read();
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        return delegate().read(bytes, offset, length);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return delegate == null ? 0 : delegate.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    private InputStream delegate() throws IOException {
+        if (closed) {
+            throw new IOException("Поток чтения закрыт");
+        }
+
+        if (delegate == null) {
+            delegate = opener.open();
+        }
+
+        return delegate;
+    }
+
+    /**
+     * Способ открыть исходный поток
+     */
+    @FunctionalInterface
+    public interface Opener {
+
+        /**
+         * Метод открытия исходного потока
+         *
+         * @return исходный поток
+         *
+         * @throws IOException если поток не удалось открыть
+         */
+        InputStream open() throws IOException;
+    }
+}
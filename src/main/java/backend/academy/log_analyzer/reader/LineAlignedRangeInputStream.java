@@ -0,0 +1,117 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Поток строк одной части ресурса, который читается несколькими независимыми потоками с разных позиций
+ * (например, запросами диапазонов байт по HTTP), когда заранее найти границы строк нельзя.
+ * <p>
+ * Часть задается примерными границами {@link FileChunk}: она начинается сразу после первого перевода строки
+ * на позиции не меньше {@code start - 1} (первая часть - с начала ресурса) и заканчивается сразу после
+ * первого перевода строки на позиции не меньше {@code end - 1}. Поэтому соседние части стыкуются по границам
+ * строк без пропусков и пересечений, как диапазоны {@link FileChunkSplitter}.
+ * Исходный поток должен начинаться с байта {@link #firstByte(FileChunk)}
+ */
+public class LineAlignedRangeInputStream extends InputStream {
+
+    private static final int BYTE_MASK = 0xFF;
+    private static final byte LINE_FEED = '\n';
+
+    private final InputStream source;
+    private final long end;
+    private long position;
+    private boolean aligned;
+    private boolean finished;
+
+    /**
+     * Конструктор потока
+     *
+     * @param source поток чтения ресурса, начиная с байта {@link #firstByte(FileChunk)}
+     * @param part примерные границы части
+     */
+    public LineAlignedRangeInputStream(InputStream source, FileChunk part) {
+        this.source = new BufferedInputStream(source);
+        this.end = part.end();
+        this.position = firstByte(part);
+        this.aligned = part.start() == 0;
+    }
+
+    /**
+     * Метод получения позиции, с которой нужно читать ресурс для части
+     *
+     * @param part примерные границы части
+     *
+     * @return позиция байта перед началом части (0 для первой части)
+     */
+    public static long firstByte(FileChunk part) {
+        return Math.max(0, part.start() - 1);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+
+        return read(single, 0, 1) == -1 ? -1 : single[0] & BYTE_MASK;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!aligned) {
+            skipPartialLine();
+        }
+
+        if (finished) {
+            return -1;
+        }
+
+        int read = source.read(bytes, offset, length);
+
+        if (read == -1) {
+            finished = true;
+            return -1;
+        }
+
+        for (int i = (int) Math.max(0, Math.min(read, end - 1 - position)); i < read; i++) {
+            if (bytes[offset + i] == LINE_FEED) {
+                read = i + 1;
+                finished = true;
+                break;
+            }
+        }
+
+        position += read;
+
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * Метод пропуска строки, которая началась в предыдущей части
+     */
+    private void skipPartialLine() throws IOException {
+        aligned = true;
+
+        int current = source.read();
+
+        while (current != -1 && current != LINE_FEED) {
+            position++;
+            current = source.read();
+        }
+
+        if (current == -1 || position >= end - 1) {
+            finished = true;
+        }
+
+        position++;
+    }
+}
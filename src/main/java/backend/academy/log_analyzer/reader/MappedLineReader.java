@@ -0,0 +1,205 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Построчное чтение диапазона файла через отображение в память ({@link FileChannel#map}).
+ * <p>
+ * Перевод строки ищется прямо в байтах отображенной области. Строки только из ASCII символов
+ * передаются как {@link ByteSlice} без декодирования, остальные декодируются из UTF-8 в {@link String}.
+ * Строки разделяются так же, как в {@link java.io.BufferedReader#readLine()}: {@code \n}, {@code \r} или
+ * {@code \r\n}. Диапазон отображается окнами не больше {@link #DEFAULT_WINDOW_SIZE}, поэтому поддерживаются
+ * файлы больше 2 ГБ. Строка длиннее окна не может быть отображена целиком и пропускается
+ */
+public class MappedLineReader {
+
+    /**
+     * Размер окна отображения по умолчанию
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int NOT_FOUND = -1;
+
+    private final FileChannel channel;
+    private final int windowSize;
+    private final ByteSlice slice = new ByteSlice();
+
+    /**
+     * Флаг, что предыдущая строка закончилась на {@code \r}, и следующий {@code \n} нужно пропустить
+     */
+    private boolean skipLineFeed;
+    /**
+     * Флаг, что текущая строка не поместилась в окно и пропускается до конца
+     */
+    private boolean skipLine;
+
+    /**
+     * Конструктор с размером окна по умолчанию
+     *
+     * @param channel канал файла
+     */
+    public MappedLineReader(FileChannel channel) {
+        this(channel, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Конструктор
+     *
+     * @param channel канал файла
+     * @param windowSize максимальный размер одного окна отображения в байтах
+     */
+    public MappedLineReader(FileChannel channel, int windowSize) {
+        this.channel = channel;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Метод для обработки каждой строки диапазона. Переданная строка действительна только во время вызова
+     *
+     * @param chunk диапазон файла
+     * @param action обработчик строки
+     *
+     * @throws IOException если не удалось отобразить файл
+     */
+    public void forEachLine(FileChunk chunk, Consumer<CharSequence> action) throws IOException {
+        long position = chunk.start();
+        skipLineFeed = false;
+        skipLine = false;
+
+        while (position < chunk.end()) {
+            long size = Math.min(windowSize, chunk.end() - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            boolean lastWindow = position + size == chunk.end();
+
+            int consumed = forEachLineInWindow(window, (int) size, lastWindow, action);
+
+            if (consumed == 0) {
+                skipLine = true;
+                consumed = (int) size;
+            }
+
+            position += consumed;
+        }
+    }
+
+    /**
+     * Метод обработки строк одного окна
+     *
+     * @param window отображенная область
+     * @param size размер области
+     * @param lastWindow является ли окно последним (тогда строка без перевода строки в конце тоже обрабатывается)
+     * @param action обработчик строки
+     *
+     * @return количество обработанных байт (окно заканчивается на неполной строке, если оно не последнее)
+     */
+    private int forEachLineInWindow(ByteBuffer window, int size, boolean lastWindow, Consumer<CharSequence> action) {
+        int lineStart = skipPreviousLineEnd(window, size);
+
+        if (lineStart == NOT_FOUND) {
+            return size;
+        }
+
+        boolean ascii = true;
+        int i = lineStart;
+
+        while (i < size) {
+            byte b = window.get(i);
+
+            if (b == LINE_FEED || b == CARRIAGE_RETURN) {
+                action.accept(line(window, lineStart, i, ascii));
+                ascii = true;
+                i = afterLineEnd(window, i, size);
+                lineStart = i;
+            } else {
+                ascii &= b >= 0;
+                i++;
+            }
+        }
+
+        if (!lastWindow) {
+            return lineStart;
+        }
+
+        if (lineStart < size) {
+            action.accept(line(window, lineStart, size, ascii));
+        }
+
+        return size;
+    }
+
+    /**
+     * Метод пропуска окончания строки, начатой в предыдущем окне
+     *
+     * @param window отображенная область
+     * @param size размер области
+     *
+     * @return индекс начала первой строки окна или {@link #NOT_FOUND}, если все окно нужно пропустить
+     */
+    private int skipPreviousLineEnd(ByteBuffer window, int size) {
+        if (skipLine) {
+            int i = 0;
+
+            while (i < size && window.get(i) != LINE_FEED && window.get(i) != CARRIAGE_RETURN) {
+                i++;
+            }
+
+            if (i == size) {
+                return NOT_FOUND;
+            }
+
+            skipLine = false;
+
+            return afterLineEnd(window, i, size);
+        }
+
+        if (skipLineFeed) {
+            skipLineFeed = false;
+
+            if (size > 0 && window.get(0) == LINE_FEED) {
+                return 1;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Метод получения индекса сразу после перевода строки с учетом {@code \r\n}
+     *
+     * @param window отображенная область
+     * @param index индекс символа {@code \n} или {@code \r}
+     * @param size размер области
+     *
+     * @return индекс начала следующей строки
+     */
+    private int afterLineEnd(ByteBuffer window, int index, int size) {
+        if (window.get(index) != CARRIAGE_RETURN) {
+            return index + 1;
+        }
+
+        if (index + 1 == size) {
+            skipLineFeed = true;
+            return index + 1;
+        }
+
+        return window.get(index + 1) == LINE_FEED ? index + 2 : index + 1;
+    }
+
+    private CharSequence line(ByteBuffer window, int start, int end, boolean ascii) {
+        if (ascii) {
+            return slice.reset(window, start, end - start);
+        }
+
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
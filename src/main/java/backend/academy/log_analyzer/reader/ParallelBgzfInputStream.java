@@ -0,0 +1,334 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Поток чтения файла в формате BGZF (gzip из независимых блоков, у каждого блока размер записан в заголовке).
+ * <p>
+ * Файл читается пачками целых блоков, каждая пачка распаковывается отдельной задачей в переданном пуле,
+ * а данные отдаются строго по порядку пачек. Одновременно распаковывается не больше заданного количества пачек,
+ * поэтому память ограничена. Чтение идет по абсолютным позициям канала, закрытие потока не закрывает канал
+ */
+public class ParallelBgzfInputStream extends InputStream {
+
+    /**
+     * Размер сжатых данных, которые распаковываются одной задачей
+     */
+    private static final int BATCH_SIZE = 1024 * 1024;
+
+    private static final int FIXED_HEADER_LENGTH = 12;
+    private static final int TRAILER_LENGTH = 8;
+    private static final int FLAGS = 3;
+    private static final int EXTRA_FLAG = 0x04;
+    private static final int EXTRA_LENGTH = 10;
+    private static final int SUBFIELD_HEADER_LENGTH = 4;
+    private static final int MAX_BLOCK_DATA_SIZE = 64 * 1024;
+    private static final int GZIP_FIRST_BYTE = 0x1f;
+    private static final int GZIP_SECOND_BYTE = 0x8b;
+    private static final int DEFLATE_METHOD = 8;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int BYTE_SIZE = 8;
+    private static final int INT_SIZE = 4;
+    private static final int INCOMPLETE = -1;
+    private static final String CORRUPTED_BLOCK_ERROR = "Поврежденный блок BGZF на позиции ";
+
+    private final FileChannel channel;
+    private final ExecutorService executor;
+    private final int maxBatchesInFlight;
+    private final Deque<Future<byte[]>> batches = new ArrayDeque<>();
+
+    private long position;
+    private byte[] current = new byte[0];
+    private int offset;
+
+    /**
+     * Конструктор потока чтения
+     *
+     * @param channel канал файла в формате BGZF
+     * @param executor пул, в котором распаковываются пачки блоков
+     * @param maxBatchesInFlight максимальное количество пачек, которые распаковываются одновременно
+     */
+    public ParallelBgzfInputStream(FileChannel channel, ExecutorService executor, int maxBatchesInFlight) {
+        this.channel = channel;
+        this.executor = executor;
+        this.maxBatchesInFlight = Math.max(1, maxBatchesInFlight);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return hasData() ? current[offset++] & BYTE_MASK : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!hasData()) {
+            return -1;
+        }
+
+        int toCopy = Math.min(length, current.length - offset);
+        System.arraycopy(current, offset, bytes, off, toCopy);
+        offset += toCopy;
+
+        return toCopy;
+    }
+
+    @Override
+    public int available() {
+        return current.length - offset;
+    }
+
+    @Override
+    public void close() {
+        batches.forEach(batch -> batch.cancel(true));
+        batches.clear();
+    }
+
+    /**
+     * Метод перехода к следующей непустой пачке распакованных данных
+     *
+     * @return {@code true}, если есть непрочитанные данные, {@code false}, если файл закончился
+     */
+    private boolean hasData() throws IOException {
+        while (offset == current.length) {
+            scheduleBatches();
+
+            if (batches.isEmpty()) {
+                return false;
+            }
+
+            current = await(batches.removeFirst());
+            offset = 0;
+        }
+
+        return true;
+    }
+
+    private void scheduleBatches() throws IOException {
+        long size = channel.size();
+
+        while (batches.size() < maxBatchesInFlight && position < size) {
+            int toRead = (int) Math.min(BATCH_SIZE, size - position);
+            byte[] data = new byte[toRead];
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) == -1) {
+                    throw new EOFException(CORRUPTED_BLOCK_ERROR + position);
+                }
+            }
+
+            int length = completeBlocksLength(data, position);
+            long batchPosition = position;
+            position += length;
+
+            batches.addLast(executor.submit(() -> inflateBlocks(data, length, batchPosition)));
+        }
+    }
+
+    /**
+     * Метод подсчета длины целых блоков в начале прочитанных данных
+     *
+     * @param data прочитанные данные
+     * @param filePosition позиция данных в файле (для сообщений об ошибках)
+     *
+     * @return суммарная длина целых блоков
+     *
+     * @throws IOException если заголовок блока поврежден или в данных нет ни одного целого блока
+     */
+    private static int completeBlocksLength(byte[] data, long filePosition) throws IOException {
+        int length = 0;
+
+        while (true) {
+            int blockSize = blockSize(data, length, filePosition);
+
+            if (blockSize == INCOMPLETE || length + blockSize > data.length) {
+                break;
+            }
+
+            length += blockSize;
+        }
+
+        if (length == 0) {
+            throw new EOFException(CORRUPTED_BLOCK_ERROR + filePosition);
+        }
+
+        return length;
+    }
+
+    /**
+     * Метод чтения размера блока из дополнительного поля "BC" заголовка
+     *
+     * @param data прочитанные данные
+     * @param start начало блока в данных
+     * @param filePosition позиция данных в файле (для сообщений об ошибках)
+     *
+     * @return размер блока вместе с заголовком и концевиком или {@link #INCOMPLETE}, если заголовок прочитан не целиком
+     *
+     * @throws IOException если заголовок не является заголовком блока BGZF
+     */
+    private static int blockSize(byte[] data, int start, long filePosition) throws IOException {
+        if (start + FIXED_HEADER_LENGTH > data.length) {
+            return INCOMPLETE;
+        }
+
+        if ((data[start] & BYTE_MASK) != GZIP_FIRST_BYTE || (data[start + 1] & BYTE_MASK) != GZIP_SECOND_BYTE
+            || data[start + 2] != DEFLATE_METHOD || (data[start + FLAGS] & EXTRA_FLAG) == 0) {
+            throw new IOException(CORRUPTED_BLOCK_ERROR + (filePosition + start));
+        }
+
+        int extraStart = start + FIXED_HEADER_LENGTH;
+        int extraEnd = extraStart + unsignedShort(data, start + EXTRA_LENGTH);
+
+        if (extraEnd > data.length) {
+            return INCOMPLETE;
+        }
+
+        int subfield = extraStart;
+
+        while (subfield + SUBFIELD_HEADER_LENGTH <= extraEnd) {
+            int subfieldLength = unsignedShort(data, subfield + 2);
+
+            if (data[subfield] == 'B' && data[subfield + 1] == 'C' && subfieldLength == 2) {
+                int blockSize = unsignedShort(data, subfield + SUBFIELD_HEADER_LENGTH) + 1;
+
+                if (blockSize < extraEnd - start + TRAILER_LENGTH) {
+                    break;
+                }
+
+                return blockSize;
+            }
+
+            subfield += SUBFIELD_HEADER_LENGTH + subfieldLength;
+        }
+
+        throw new IOException(CORRUPTED_BLOCK_ERROR + (filePosition + start));
+    }
+
+    /**
+     * Метод распаковки пачки целых блоков с проверкой контрольных сумм
+     *
+     * @param data прочитанные данные
+     * @param length длина целых блоков в начале данных
+     * @param filePosition позиция данных в файле (для сообщений об ошибках)
+     *
+     * @return распакованные данные всех блоков пачки
+     *
+     * @throws IOException если блок поврежден
+     */
+    private static byte[] inflateBlocks(byte[] data, int length, long filePosition) throws IOException {
+        long totalSize = 0;
+        int start = 0;
+
+        while (start < length) {
+            int end = start + blockSize(data, start, filePosition);
+            totalSize += unpackedSize(data, end, filePosition + start);
+            start = end;
+        }
+
+        if (totalSize > Integer.MAX_VALUE - BATCH_SIZE) {
+            throw new IOException(CORRUPTED_BLOCK_ERROR + filePosition);
+        }
+
+        byte[] output = new byte[(int) totalSize];
+        Inflater inflater = new Inflater(true);
+        CRC32 crc = new CRC32();
+
+        try {
+            int outputOffset = 0;
+            start = 0;
+
+            while (start < length) {
+                int end = start + blockSize(data, start, filePosition);
+                int dataStart = start + FIXED_HEADER_LENGTH + unsignedShort(data, start + EXTRA_LENGTH);
+                int unpackedSize = unpackedSize(data, end, filePosition + start);
+
+                inflater.reset();
+                inflater.setInput(data, dataStart, end - TRAILER_LENGTH - dataStart);
+                inflate(inflater, output, outputOffset, unpackedSize, filePosition + start);
+
+                crc.reset();
+                crc.update(output, outputOffset, unpackedSize);
+
+                if ((int) crc.getValue() != littleEndianInt(data, end - TRAILER_LENGTH)) {
+                    throw new IOException(CORRUPTED_BLOCK_ERROR + (filePosition + start));
+                }
+
+                outputOffset += unpackedSize;
+                start = end;
+            }
+        } finally {
+            inflater.end();
+        }
+
+        return output;
+    }
+
+    private static void inflate(Inflater inflater, byte[] output, int outputOffset, int size, long blockPosition)
+        throws IOException {
+        int inflated = 0;
+
+        try {
+            while (inflated < size) {
+                int read = inflater.inflate(output, outputOffset + inflated, size - inflated);
+
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException(CORRUPTED_BLOCK_ERROR + blockPosition);
+                }
+
+                inflated += read;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(CORRUPTED_BLOCK_ERROR + blockPosition, e);
+        }
+    }
+
+    private static int unpackedSize(byte[] data, int blockEnd, long blockPosition) throws IOException {
+        int size = littleEndianInt(data, blockEnd - INT_SIZE);
+
+        if (size < 0 || size > MAX_BLOCK_DATA_SIZE) {
+            throw new IOException(CORRUPTED_BLOCK_ERROR + blockPosition);
+        }
+
+        return size;
+    }
+
+    private static int unsignedShort(byte[] data, int index) {
+        return (data[index] & BYTE_MASK) | (data[index + 1] & BYTE_MASK) << BYTE_SIZE;
+    }
+
+    private static int littleEndianInt(byte[] data, int index) {
+        return unsignedShort(data, index) | unsignedShort(data, index + 2) << (2 * BYTE_SIZE);
+    }
+
+    private static byte[] await(Future<byte[]> batch) throws IOException {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Распаковка BGZF была прервана");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,638 @@
+package backend.academy.log_analyzer.stat;
+
+import backend.academy.log_analyzer.util.DataStrings;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Хеш-агрегация статистики по группам (см. {@link GroupStats}) с ограниченной памятью.
+ * <p>
+ * Группы накапливаются в хеш-таблице, а занимаемая ими память оценивается и учитывается в бюджете, общем
+ * для агрегатора и его шардов (см. {@link #newShard()}). Когда бюджет превышен, агрегатор, который его превысил,
+ * сортирует свои группы по ключу, записывает их во временный файл (отсортированную часть) и очищает таблицу.
+ * Итоговые группы получаются слиянием таблицы и частей по ключу, как во внешней сортировке: в памяти
+ * одновременно находятся только таблица, по одной группе из каждой части и топ групп. Если частей становится
+ * больше {@value #MAX_RUNS}, они сливаются в одну, а старые файлы удаляются, чтобы при чтении не открывалось
+ * слишком много файлов. Оставшиеся файлы удаляются при закрытии агрегатора (см. {@link #close()}).
+ * <p>
+ * Топ групп запоминается и пересчитывается, только когда добавились логи, поэтому повторный вывод отчета
+ * (например, при слежении за файлами) не читает части с диска заново
+ */
+@SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"})
+public class GroupAggregator implements AutoCloseable {
+
+    /**
+     * Разделитель значений полей в ключе группы
+     */
+    public static final char KEY_SEPARATOR = '\u001F';
+
+    private static final int MAX_RUNS = 32;
+    /**
+     * Примерный размер элемента хеш-таблицы и объекта строки без символов в байтах
+     */
+    private static final int ENTRY_SIZE = 88;
+    /**
+     * Доля бюджета, меньше которой агрегатор не сбрасывает группы на диск, даже если бюджет превышен другими
+     * шардами. Иначе при многих потоках шарды сбрасывали бы на диск части из нескольких групп
+     */
+    private static final int MIN_SPILL_FRACTION = 16;
+    private static final String SPILL_PREFIX = "log-analyzer-groups-";
+    private static final String SPILL_SUFFIX = ".bin";
+
+    private final MemoryBudget budget;
+    private final Path spillDirectory;
+    /**
+     * Создан ли агрегатор через {@link #newShard()}
+     */
+    private final boolean shard;
+    private final Map<String, GroupStats> groups = new HashMap<>();
+    private final List<Path> runs = new ArrayList<>();
+
+    /**
+     * Память, которую занимают группы этого агрегатора и которая учтена в бюджете
+     */
+    private long reserved;
+    /**
+     * Сколько раз группы сбрасывались на диск (с учетом шардов, слитых с агрегатором)
+     */
+    private long spills;
+    /**
+     * Последний посчитанный топ групп ({@code null}, если с тех пор добавились логи)
+     */
+    private Top top;
+    private int topLimit;
+
+    /**
+     * Конструктор
+     *
+     * @param memoryLimit бюджет памяти на группы в байтах
+     * @param spillDirectory директория для частей или {@code null}, если нужна временная директория системы
+     */
+    public GroupAggregator(long memoryLimit, Path spillDirectory) {
+        this(new MemoryBudget(memoryLimit), spillDirectory, false);
+    }
+
+    private GroupAggregator(MemoryBudget budget, Path spillDirectory, boolean shard) {
+        if (budget.limit < 1) {
+            throw new IllegalArgumentException("Бюджет памяти должен быть больше нуля");
+        }
+
+        this.budget = budget;
+        this.spillDirectory = spillDirectory;
+        this.shard = shard;
+    }
+
+    /**
+     * Метод создания пустого агрегатора для отдельного потока (шарда) с общим бюджетом памяти
+     *
+     * @return новый пустой агрегатор
+     */
+    public GroupAggregator newShard() {
+        return new GroupAggregator(budget, spillDirectory, true);
+    }
+
+    /**
+     * Метод добавления лога в группу
+     *
+     * @param key ключ группы
+     * @param size размер ответа
+     * @param status код ответа
+     */
+    public void add(String key, long size, int status) {
+        GroupStats stats = groups.get(key);
+        long grown = 0;
+        top = null;
+
+        if (stats == null) {
+            stats = new GroupStats();
+            groups.put(key, stats);
+            grown = entrySize(key) + stats.estimatedSize();
+        }
+
+        reserve(grown + stats.add(size, status));
+    }
+
+    /**
+     * Метод слияния другого агрегатора с текущим. Группы из памяти другого агрегатора копируются,
+     * а сброшенные на диск части переходят к текущему без копирования, и занятая другим агрегатором память
+     * больше не учитывается в бюджете. Поэтому после слияния другой агрегатор не используется
+     *
+     * @param other агрегатор, группы которого добавляются к текущим
+     */
+    public void merge(GroupAggregator other) {
+        if (!other.runs.isEmpty()) {
+            top = null;
+        }
+
+        runs.addAll(other.runs);
+        other.runs.clear();
+        spills += other.spills;
+        other.budget.release(other.reserved);
+        other.reserved = 0;
+
+        for (Map.Entry<String, GroupStats> group : other.groups.entrySet()) {
+            mergeGroup(group.getKey(), group.getValue());
+        }
+
+        compactRunsIfNeeded();
+    }
+
+    /**
+     * Метод получения самых больших групп (по количеству запросов, при равенстве - по ключу).
+     * Группы в памяти и на диске сливаются, но не изменяются, поэтому метод можно вызывать повторно.
+     * Результат запоминается до добавления новых логов
+     *
+     * @param limit максимальное количество групп
+     *
+     * @return самые большие группы и количество всех групп
+     */
+    public Top top(int limit) {
+        if (top == null || topLimit != limit) {
+            top = computeTop(limit);
+            topLimit = limit;
+        }
+
+        return top;
+    }
+
+    /**
+     * Метод закрытия агрегатора: удаляет сброшенные на диск части и очищает группы.
+     * Закрытие агрегатора, созданного через конструктор, удаляет и части шардов, которые не были с ним слиты
+     * (например, если анализ прервался с ошибкой)
+     *
+     * @throws UncheckedIOException если не удалось удалить часть
+     */
+    @Override
+    public void close() {
+        List<Path> toDelete = new ArrayList<>(shard ? runs : budget.runs);
+        UncheckedIOException error = null;
+
+        runs.clear();
+        groups.clear();
+        top = null;
+        budget.release(reserved);
+        reserved = 0;
+
+        for (Path run : toDelete) {
+            try {
+                deleteRun(run);
+            } catch (IOException e) {
+                UncheckedIOException failure = new UncheckedIOException("Не удалось удалить часть групп: " + run, e);
+
+                if (error == null) {
+                    error = failure;
+                } else {
+                    error.addSuppressed(failure);
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private Top computeTop(int limit) {
+        Comparator<Group> order = Comparator.comparingLong((Group group) -> group.stats().count())
+            .thenComparing(Group::key, Comparator.reverseOrder());
+        PriorityQueue<Group> top = new PriorityQueue<>(order);
+        long[] groupsCount = new long[1];
+
+        forEachGroup((key, stats) -> {
+            groupsCount[0]++;
+            top.add(new Group(key, stats));
+
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+
+        List<Group> sorted = new ArrayList<>(top);
+        sorted.sort(order.reversed());
+
+        return new Top(sorted, groupsCount[0], spills);
+    }
+
+    /**
+     * Метод записи всех групп в двоичный поток по возрастанию ключа
+     *
+     * @param output двоичный поток
+     *
+     * @throws IOException если произошла ошибка записи или чтения частей
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        try {
+            forEachGroup((key, stats) -> writeGroup(output, key, stats));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        output.writeBoolean(false);
+    }
+
+    /**
+     * Метод чтения групп, записанных {@link #writeTo(DataOutput)}, и добавления их к текущим.
+     * Бюджет памяти соблюдается и при чтении
+     *
+     * @param input двоичный поток
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public void mergeFrom(DataInput input) throws IOException {
+        try {
+            while (input.readBoolean()) {
+                mergeGroup(DataStrings.read(input), GroupStats.readFrom(input));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Метод добавления статистики группы. Статистика копируется, так как может принадлежать другому агрегатору
+     *
+     * @param key ключ группы
+     * @param other статистика группы
+     */
+    private void mergeGroup(String key, GroupStats other) {
+        GroupStats stats = groups.get(key);
+        long grown = 0;
+        top = null;
+
+        if (stats == null) {
+            stats = new GroupStats();
+            groups.put(key, stats);
+            grown = entrySize(key) + stats.estimatedSize();
+        }
+
+        reserve(grown + stats.merge(other));
+    }
+
+    /**
+     * Метод учета занятой памяти. Если бюджет превышен, группы сбрасываются на диск
+     *
+     * @param bytes сколько байт заняли группы
+     */
+    private void reserve(long bytes) {
+        if (bytes == 0) {
+            return;
+        }
+
+        reserved += bytes;
+
+        if (budget.reserve(bytes) > budget.limit && reserved >= budget.limit / MIN_SPILL_FRACTION) {
+            spill();
+        }
+    }
+
+    /**
+     * Метод сброса групп на диск: группы сортируются по ключу и записываются в новую часть
+     */
+    private void spill() {
+        List<Map.Entry<String, GroupStats>> sorted = new ArrayList<>(groups.entrySet());
+        sorted.sort(Map.Entry.comparingByKey());
+
+        Path run = createRun();
+
+        try (DataOutputStream output = openRunOutput(run)) {
+            for (Map.Entry<String, GroupStats> group : sorted) {
+                writeGroup(output, group.getKey(), group.getValue());
+            }
+
+            output.writeBoolean(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сбросить группы на диск: " + run, e);
+        }
+
+        runs.add(run);
+        spills++;
+        groups.clear();
+        budget.release(reserved);
+        reserved = 0;
+
+        compactRunsIfNeeded();
+    }
+
+    /**
+     * Метод слияния частей в одну, если их больше {@value #MAX_RUNS}
+     */
+    private void compactRunsIfNeeded() {
+        if (runs.size() <= MAX_RUNS) {
+            return;
+        }
+
+        Path compacted = createRun();
+
+        try (DataOutputStream output = openRunOutput(compacted)) {
+            mergeRuns(runs, (key, stats) -> writeGroup(output, key, stats));
+
+            output.writeBoolean(false);
+
+            for (Path run : runs) {
+                deleteRun(run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось слить сброшенные на диск группы", e);
+        }
+
+        runs.clear();
+        runs.add(compacted);
+    }
+
+    /**
+     * Метод обхода всех групп по возрастанию ключа: группы в памяти и в частях сливаются по ключу
+     *
+     * @param consumer обработчик группы
+     */
+    private void forEachGroup(GroupConsumer consumer) {
+        String[] keys = groups.keySet().toArray(String[]::new);
+        Arrays.sort(keys);
+
+        List<Cursor> cursors = new ArrayList<>();
+        cursors.add(new MemoryCursor(keys, groups));
+
+        try {
+            mergeCursors(cursors, runs, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать сброшенные на диск группы", e);
+        }
+    }
+
+    /**
+     * Метод обхода групп из частей по возрастанию ключа
+     *
+     * @param runsToMerge части
+     * @param consumer обработчик группы
+     *
+     * @throws IOException если произошла ошибка чтения частей или обработки группы
+     */
+    private void mergeRuns(List<Path> runsToMerge, GroupConsumer consumer) throws IOException {
+        mergeCursors(new ArrayList<>(), runsToMerge, consumer);
+    }
+
+    /**
+     * Метод слияния отсортированных источников групп по ключу. Группы с одинаковым ключом объединяются
+     *
+     * @param cursors источники групп в памяти
+     * @param runsToMerge части, которые нужно открыть
+     * @param consumer обработчик группы
+     *
+     * @throws IOException если произошла ошибка чтения частей или обработки группы
+     */
+    private void mergeCursors(List<Cursor> cursors, List<Path> runsToMerge, GroupConsumer consumer)
+        throws IOException {
+        try {
+            for (Path run : runsToMerge) {
+                cursors.add(new RunCursor(run));
+            }
+
+            PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparing(Cursor::key));
+
+            for (Cursor cursor : cursors) {
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                Cursor cursor = queue.poll();
+                String key = cursor.key();
+                GroupStats stats = new GroupStats();
+
+                stats.merge(cursor.stats());
+
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+
+                while (!queue.isEmpty() && queue.peek().key().equals(key)) {
+                    Cursor same = queue.poll();
+
+                    stats.merge(same.stats());
+
+                    if (same.advance()) {
+                        queue.add(same);
+                    }
+                }
+
+                consumer.accept(key, stats);
+            }
+        } finally {
+            for (Cursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    private Path createRun() {
+        try {
+            Path run = spillDirectory == null
+                ? Files.createTempFile(SPILL_PREFIX, SPILL_SUFFIX)
+                : Files.createTempFile(spillDirectory, SPILL_PREFIX, SPILL_SUFFIX);
+
+            budget.runs.add(run);
+
+            return run;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать файл для сброса групп на диск", e);
+        }
+    }
+
+    /**
+     * Метод записи группы. Перед каждой группой записывается {@code true}, после последней - {@code false}
+     *
+     * @param output двоичный поток
+     * @param key ключ группы
+     * @param stats статистика группы
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    private static void writeGroup(DataOutput output, String key, GroupStats stats) throws IOException {
+        output.writeBoolean(true);
+        DataStrings.write(output, key);
+        stats.writeTo(output);
+    }
+
+    private void deleteRun(Path run) throws IOException {
+        Files.deleteIfExists(run);
+        budget.runs.remove(run);
+    }
+
+    private static DataOutputStream openRunOutput(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)));
+    }
+
+    private static long entrySize(String key) {
+        return ENTRY_SIZE + key.length();
+    }
+
+    /**
+     * Рекорд группы
+     *
+     * @param key ключ группы (значения полей через {@link #KEY_SEPARATOR})
+     * @param stats статистика группы
+     */
+    public record Group(String key, GroupStats stats) {
+
+        /**
+         * Метод получения значений полей, из которых составлен ключ
+         *
+         * @return значения полей
+         */
+        public List<String> values() {
+            return Arrays.asList(key.split(String.valueOf(KEY_SEPARATOR), -1));
+        }
+    }
+
+    /**
+     * Рекорд самых больших групп
+     *
+     * @param groups группы по убыванию количества запросов
+     * @param groupsCount количество всех групп
+     * @param spills сколько раз группы сбрасывались на диск
+     */
+    public record Top(List<Group> groups, long groupsCount, long spills) {
+    }
+
+    /**
+     * Бюджет памяти и файлы частей, общие для агрегатора и его шардов
+     */
+    private static final class MemoryBudget {
+
+        private final long limit;
+        private final AtomicLong used = new AtomicLong();
+        /**
+         * Файлы частей агрегатора и всех его шардов, которые еще не удалены
+         */
+        private final Set<Path> runs = ConcurrentHashMap.newKeySet();
+
+        private MemoryBudget(long limit) {
+            this.limit = limit;
+        }
+
+        private long reserve(long bytes) {
+            return used.addAndGet(bytes);
+        }
+
+        private void release(long bytes) {
+            used.addAndGet(-bytes);
+        }
+    }
+
+    /**
+     * Обработчик группы, который может выбросить {@link IOException}
+     */
+    @FunctionalInterface
+    private interface GroupConsumer {
+
+        void accept(String key, GroupStats stats) throws IOException;
+    }
+
+    /**
+     * Источник групп, отсортированных по ключу
+     */
+    private interface Cursor {
+
+        boolean advance() throws IOException;
+
+        String key();
+
+        GroupStats stats();
+
+        void close() throws IOException;
+    }
+
+    /**
+     * Источник групп из хеш-таблицы по отсортированным ключам
+     */
+    private static final class MemoryCursor implements Cursor {
+
+        private final String[] keys;
+        private final Map<String, GroupStats> groups;
+        private int position = -1;
+
+        private MemoryCursor(String[] keys, Map<String, GroupStats> groups) {
+            this.keys = keys;
+            this.groups = groups;
+        }
+
+        @Override
+        public boolean advance() {
+            return ++position < keys.length;
+        }
+
+        @Override
+        public String key() {
+            return keys[position];
+        }
+
+        @Override
+        public GroupStats stats() {
+            return groups.get(keys[position]);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Источник групп из части на диске
+     */
+    private static final class RunCursor implements Cursor {
+
+        private final DataInputStream input;
+        private String key;
+        private GroupStats stats;
+
+        private RunCursor(Path run) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            if (!input.readBoolean()) {
+                return false;
+            }
+
+            key = DataStrings.read(input);
+            stats = GroupStats.readFrom(input);
+
+            return true;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public GroupStats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package backend.academy.log_analyzer.stat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Статистика одной группы логов (см. {@link GroupAggregator}): количество запросов, суммарный размер ответов,
+ * количество ответов 5xx и 95p размера ответа.
+ * <p>
+ * Для перцентиля используется та же логарифмическая гистограмма, что и во {@link TimeSeries}
+ * (8 корзин на степень двойки), но хранятся только непустые корзины: отсортированные номера и счетчики
+ * в примитивных массивах. Размеры ответов одной группы обычно попадают в несколько десятков корзин, поэтому
+ * группа занимает порядка сотен байт, а перцентиль завышен не больше чем на 1/8 и не больше максимального
+ * размера в группе
+ */
+public class GroupStats {
+
+    /**
+     * Примерный размер объекта без массивов гистограммы в байтах
+     */
+    static final int SHALLOW_SIZE = 64;
+
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int SERVER_ERROR = 500;
+    private static final int STATUS_FACTOR = 100;
+    private static final int PERCENT = 100;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int MAX_SIZE_BITS = 40;
+    private static final LogLinearBuckets SIZE_BUCKETS = new LogLinearBuckets(SUB_BUCKET_BITS, MAX_SIZE_BITS);
+    private static final int SIZE_BUCKET_COUNT = SIZE_BUCKETS.bucketCount();
+    private static final int INITIAL_BUCKETS_CAPACITY = 4;
+
+    private long count;
+    private long bytes;
+    private long serverErrors;
+    private long maxSize;
+
+    /**
+     * Номера непустых корзин гистограммы по возрастанию
+     */
+    private short[] sizeIndexes = new short[INITIAL_BUCKETS_CAPACITY];
+    /**
+     * Счетчики корзин, индекс совпадает с {@code sizeIndexes}
+     */
+    private long[] sizeCounts = new long[INITIAL_BUCKETS_CAPACITY];
+    private int bucketsSize;
+
+    /**
+     * Метод добавления лога
+     *
+     * @param size размер ответа
+     * @param status код ответа
+     *
+     * @return на сколько байт увеличилась занимаемая память
+     */
+    public int add(long size, int status) {
+        count++;
+        bytes += size;
+        maxSize = Math.max(maxSize, size);
+
+        if (status / STATUS_FACTOR == SERVER_ERROR / STATUS_FACTOR) {
+            serverErrors++;
+        }
+
+        return addToBucket(SIZE_BUCKETS.index(size), 1);
+    }
+
+    /**
+     * Метод слияния статистики другой группы с текущей. Другая статистика не изменяется
+     *
+     * @param other статистика группы
+     *
+     * @return на сколько байт увеличилась занимаемая память
+     */
+    public int merge(GroupStats other) {
+        count += other.count;
+        bytes += other.bytes;
+        serverErrors += other.serverErrors;
+        maxSize = Math.max(maxSize, other.maxSize);
+
+        int grown = 0;
+
+        for (int i = 0; i < other.bucketsSize; i++) {
+            grown += addToBucket(other.sizeIndexes[i], other.sizeCounts[i]);
+        }
+
+        return grown;
+    }
+
+    /**
+     * Получить количество запросов
+     *
+     * @return количество запросов
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Получить суммарный размер ответов
+     *
+     * @return суммарный размер ответов
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Получить количество ответов с кодом 5xx
+     *
+     * @return количество ответов 5xx
+     */
+    public long serverErrors() {
+        return serverErrors;
+    }
+
+    /**
+     * Получить процент ответов с кодом 5xx
+     *
+     * @return процент ответов 5xx ({@code 0}, если запросов нет)
+     */
+    public double serverErrorsPercent() {
+        return count == 0 ? 0 : (double) serverErrors / count * PERCENT;
+    }
+
+    /**
+     * Получить перцентиль размера ответа
+     *
+     * @param percentile доля от 0 до 1 (например, {@code 0.95})
+     *
+     * @return перцентиль размера ответа или 0, если запросов нет
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+
+        for (int i = 0; i < bucketsSize; i++) {
+            seen += sizeCounts[i];
+
+            if (seen >= rank) {
+                return Math.min(SIZE_BUCKETS.highestEquivalentValue(sizeIndexes[i]), maxSize);
+            }
+        }
+
+        return maxSize;
+    }
+
+    /**
+     * Получить примерный размер статистики в памяти
+     *
+     * @return размер в байтах
+     */
+    public int estimatedSize() {
+        return SHALLOW_SIZE + arraysSize(sizeIndexes.length);
+    }
+
+    /**
+     * Метод записи статистики в двоичный поток
+     *
+     * @param output двоичный поток
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeLong(count);
+        output.writeLong(bytes);
+        output.writeLong(serverErrors);
+        output.writeLong(maxSize);
+        output.writeShort(bucketsSize);
+
+        for (int i = 0; i < bucketsSize; i++) {
+            output.writeShort(sizeIndexes[i]);
+            output.writeLong(sizeCounts[i]);
+        }
+    }
+
+    /**
+     * Метод чтения статистики, записанной {@link #writeTo(DataOutput)}
+     *
+     * @param input двоичный поток
+     *
+     * @return статистика группы
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public static GroupStats readFrom(DataInput input) throws IOException {
+        GroupStats stats = new GroupStats();
+        stats.count = input.readLong();
+        stats.bytes = input.readLong();
+        stats.serverErrors = input.readLong();
+        stats.maxSize = input.readLong();
+
+        int size = input.readUnsignedShort();
+
+        if (size > SIZE_BUCKET_COUNT) {
+            throw new IOException("Некорректное количество корзин статистики группы: " + size);
+        }
+
+        stats.sizeIndexes = new short[Math.max(size, INITIAL_BUCKETS_CAPACITY)];
+        stats.sizeCounts = new long[stats.sizeIndexes.length];
+
+        for (int i = 0; i < size; i++) {
+            int index = input.readUnsignedShort();
+
+            if (index >= SIZE_BUCKET_COUNT || i > 0 && index <= stats.sizeIndexes[i - 1]) {
+                throw new IOException("Некорректный номер корзины статистики группы: " + index);
+            }
+
+            stats.sizeIndexes[i] = (short) index;
+            stats.sizeCounts[i] = input.readLong();
+        }
+
+        stats.bucketsSize = size;
+
+        return stats;
+    }
+
+    /**
+     * Метод добавления к счетчику корзины. Если корзины еще нет, она вставляется с сохранением порядка
+     *
+     * @param index номер корзины
+     * @param countToAdd количество значений
+     *
+     * @return на сколько байт увеличилась занимаемая память
+     */
+    private int addToBucket(int index, long countToAdd) {
+        int position = Arrays.binarySearch(sizeIndexes, 0, bucketsSize, (short) index);
+
+        if (position >= 0) {
+            sizeCounts[position] += countToAdd;
+            return 0;
+        }
+
+        int grown = 0;
+
+        if (bucketsSize == sizeIndexes.length) {
+            int capacity = Math.min(sizeIndexes.length * 2, SIZE_BUCKET_COUNT);
+
+            grown = arraysSize(capacity) - arraysSize(sizeIndexes.length);
+            sizeIndexes = Arrays.copyOf(sizeIndexes, capacity);
+            sizeCounts = Arrays.copyOf(sizeCounts, capacity);
+        }
+
+        int insertion = -position - 1;
+
+        System.arraycopy(sizeIndexes, insertion, sizeIndexes, insertion + 1, bucketsSize - insertion);
+        System.arraycopy(sizeCounts, insertion, sizeCounts, insertion + 1, bucketsSize - insertion);
+        sizeIndexes[insertion] = (short) index;
+        sizeCounts[insertion] = countToAdd;
+        bucketsSize++;
+
+        return grown;
+    }
+
+    private static int arraysSize(int capacity) {
+        return 2 * ARRAY_HEADER_SIZE + capacity * (Short.BYTES + Long.BYTES);
+    }
+}
@@ -0,0 +1,215 @@
+package backend.academy.log_analyzer.stat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Скетч HyperLogLog для оценки количества уникальных элементов.
+ * <p>
+ * Как в HyperLogLog++, используется 64-битный хеш (поправка на большие количества не нужна),
+ * а вместо эмпирических таблиц смещения - улучшенная оценка О. Эртля
+ * ("New cardinality estimation algorithms for HyperLogLog sketches"), которая несмещена во всем диапазоне.
+ * Стандартная ошибка оценки примерно {@code 1.04 / sqrt(2^precision)}, память - {@code 2^precision} байт.
+ * Скетчи с одинаковой точностью можно сливать без потери точности
+ */
+public class HyperLogLog {
+
+    /**
+     * Минимальная точность
+     */
+    public static final int MIN_PRECISION = 4;
+    /**
+     * Максимальная точность
+     */
+    public static final int MAX_PRECISION = 18;
+
+    private static final double ALPHA_INFINITY = 1 / (2 * Math.log(2));
+    private static final double HALF = 0.5;
+    private static final int TAU_DIVIDER = 3;
+    private static final long NO_ESTIMATE = -1;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Последняя посчитанная оценка или {@value #NO_ESTIMATE}, если регистры с тех пор менялись.
+     * Повторный отчет по неизменившемуся скетчу не проходит по регистрам заново
+     */
+    private long cachedEstimate = NO_ESTIMATE;
+
+    /**
+     * Конструктор
+     *
+     * @param precision точность (количество бит хеша для номера регистра), от {@value #MIN_PRECISION}
+     * до {@value #MAX_PRECISION}
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Точность должна быть от " + MIN_PRECISION + " до " + MAX_PRECISION);
+        }
+
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Метод добавления элемента по его 64-битному хешу. Хеш должен быть равномерно распределен
+     *
+     * @param hash хеш элемента
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+
+        if (registers[index] < rank) {
+            registers[index] = rank;
+            cachedEstimate = NO_ESTIMATE;
+        }
+    }
+
+    /**
+     * Метод слияния другого скетча с текущим. Другой скетч не изменяется
+     *
+     * @param other скетч с той же точностью
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Нельзя слить скетчи с разной точностью: "
+                + precision + " и " + other.precision);
+        }
+
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+                cachedEstimate = NO_ESTIMATE;
+            }
+        }
+    }
+
+    /**
+     * Метод получения оценки количества уникальных элементов
+     *
+     * @return оценка количества
+     */
+    public long estimate() {
+        if (cachedEstimate == NO_ESTIMATE) {
+            cachedEstimate = computeEstimate();
+        }
+
+        return cachedEstimate;
+    }
+
+    private long computeEstimate() {
+        int maxRank = Long.SIZE - precision + 1;
+        int[] rankCounts = new int[maxRank + 1];
+
+        for (byte rank : registers) {
+            rankCounts[rank]++;
+        }
+
+        double m = registers.length;
+        double z = m * tau(1 - rankCounts[maxRank] / m);
+
+        for (int k = maxRank - 1; k >= 1; k--) {
+            z = HALF * (z + rankCounts[k]);
+        }
+
+        z += m * sigma(rankCounts[0] / m);
+
+        return Math.round(ALPHA_INFINITY * m * m / z);
+    }
+
+    /**
+     * Метод получения точности скетча
+     *
+     * @return точность
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Метод записи скетча в двоичный поток
+     *
+     * @param output двоичный поток
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeByte(precision);
+        output.write(registers);
+    }
+
+    /**
+     * Метод чтения скетча, записанного {@link #writeTo(DataOutput)}
+     *
+     * @param input двоичный поток
+     *
+     * @return скетч
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public static HyperLogLog readFrom(DataInput input) throws IOException {
+        int precision = input.readUnsignedByte();
+
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IOException("Некорректная точность HyperLogLog: " + precision);
+        }
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+        input.readFully(sketch.registers);
+
+        return sketch;
+    }
+
+    /**
+     * Метод очистки скетча
+     */
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+        cachedEstimate = NO_ESTIMATE;
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double power = x;
+        double y = 1;
+        double z = x;
+        double previous;
+
+        do {
+            power *= power;
+            previous = z;
+            z += power * y;
+            y += y;
+        } while (previous != z);
+
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+
+        double root = x;
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+
+        do {
+            root = Math.sqrt(root);
+            previous = z;
+            y *= HALF;
+            z -= Math.pow(1 - root, 2) * y;
+        } while (previous != z);
+
+        return z / TAU_DIVIDER;
+    }
+}
@@ -0,0 +1,78 @@
+package backend.academy.log_analyzer.stat;
+
+/**
+ * Логарифмические корзины для гистограмм неотрицательных чисел (как в HDR Histogram): каждая степень двойки
+ * делится на {@code 2^subBucketBits} равных корзин. Значения меньше {@code 2^subBucketBits} попадают в свои
+ * корзины точно, для остальных наибольшее значение корзины больше значения не больше чем в
+ * {@code 1 + 1/2^subBucketBits} раз. Значения от {@code 2^maxValueBits} попадают в последнюю корзину.
+ * <p>
+ * Используется {@link PercentileHistogram}, {@link TimeSeries} и {@link GroupStats}, поэтому номера корзин
+ * у них считаются одинаково, а отличается только точность
+ */
+final class LogLinearBuckets {
+
+    private final int subBucketBits;
+    private final int subBucketCount;
+    private final int bucketCount;
+
+    /**
+     * Конструктор
+     *
+     * @param subBucketBits количество бит номера корзины внутри степени двойки
+     * @param maxValueBits количество бит наибольшего различимого значения
+     */
+    LogLinearBuckets(int subBucketBits, int maxValueBits) {
+        if (subBucketBits < 1 || maxValueBits < subBucketBits || maxValueBits >= Long.SIZE) {
+            throw new IllegalArgumentException(
+                "Некорректные настройки корзин: " + subBucketBits + " и " + maxValueBits + " бит");
+        }
+
+        this.subBucketBits = subBucketBits;
+        this.subBucketCount = 1 << subBucketBits;
+        this.bucketCount = (maxValueBits - subBucketBits + 1) * subBucketCount;
+    }
+
+    /**
+     * Метод получения количества корзин
+     *
+     * @return количество корзин
+     */
+    int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Метод получения индекса корзины для значения. Отрицательные значения попадают в первую корзину
+     *
+     * @param value значение
+     *
+     * @return индекс корзины
+     */
+    int index(long value) {
+        if (value < subBucketCount) {
+            return (int) Math.max(value, 0);
+        }
+
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - subBucketBits;
+
+        return Math.min((shift + 1) * subBucketCount + (int) ((value >>> shift) - subBucketCount), bucketCount - 1);
+    }
+
+    /**
+     * Метод получения наибольшего значения, которое попадает в корзину
+     *
+     * @param index индекс корзины
+     *
+     * @return наибольшее значение корзины
+     */
+    long highestEquivalentValue(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+
+        int shift = index / subBucketCount - 1;
+        long lowest = (long) (subBucketCount + index % subBucketCount) << shift;
+
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,322 @@
+package backend.academy.log_analyzer.stat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Гистограмма для подсчета перцентилей неотрицательных чисел с ограниченной памятью.
+ * <p>
+ * Пока значений не больше порога точного режима, они хранятся как есть, и перцентили считаются точно.
+ * После превышения порога значения раскладываются по логарифмическим корзинам ({@link LogLinearBuckets}):
+ * каждая степень двойки делится на 128 равных корзин. Значения меньше 128 хранятся точно, для остальных
+ * возвращаемый перцентиль {@code v'} отличается от точного {@code v} не больше чем на {@code 1/128}:
+ * {@code v <= v' <= v * (1 + 1/128)}.
+ * Память ограничена: {@code 57 * 128} счетчиков независимо от количества значений.
+ * Гистограммы можно сливать без потери точности
+ */
+public class PercentileHistogram {
+
+    /**
+     * Порог точного режима по умолчанию
+     */
+    public static final int DEFAULT_EXACT_THRESHOLD = 10_000;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final LogLinearBuckets BUCKETS = new LogLinearBuckets(SUB_BUCKET_BITS, Long.SIZE - 1);
+    private static final int BUCKET_COUNT = BUCKETS.bucketCount();
+    private static final int INITIAL_EXACT_CAPACITY = 16;
+
+    private final int exactThreshold;
+
+    private long count;
+    private long max;
+
+    private long[] exactValues = new long[INITIAL_EXACT_CAPACITY];
+    private int exactSize;
+    /**
+     * Длина отсортированного начала {@code exactValues}. Значения, добавленные после последнего подсчета
+     * перцентиля, сортируются отдельно и сливаются с ним, поэтому повторный отчет не сортирует все значения заново
+     */
+    private int sortedSize;
+
+    /**
+     * Счетчики корзин. {@code null}, пока гистограмма в точном режиме
+     */
+    private long[] buckets;
+
+    /**
+     * Конструктор с порогом точного режима по умолчанию
+     */
+    public PercentileHistogram() {
+        this(DEFAULT_EXACT_THRESHOLD);
+    }
+
+    /**
+     * Конструктор
+     *
+     * @param exactThreshold количество значений, до которого перцентили считаются точно
+     */
+    public PercentileHistogram(int exactThreshold) {
+        if (exactThreshold < 0) {
+            throw new IllegalArgumentException("Порог точного режима не может быть отрицательным");
+        }
+
+        this.exactThreshold = exactThreshold;
+    }
+
+    /**
+     * Метод добавления значения
+     *
+     * @param value неотрицательное значение
+     */
+    public void add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Значение не может быть отрицательным: " + value);
+        }
+
+        count++;
+        max = Math.max(max, value);
+
+        if (buckets == null && exactSize < exactThreshold) {
+            addExact(value);
+            return;
+        }
+
+        if (buckets == null) {
+            switchToBuckets();
+        }
+
+        buckets[BUCKETS.index(value)]++;
+    }
+
+    /**
+     * Метод слияния другой гистограммы с текущей. Другая гистограмма не изменяется
+     *
+     * @param other гистограмма для слияния
+     */
+    public void merge(PercentileHistogram other) {
+        count += other.count;
+        max = Math.max(max, other.max);
+
+        if (buckets == null && other.buckets == null && exactSize + other.exactSize <= exactThreshold) {
+            for (int i = 0; i < other.exactSize; i++) {
+                addExact(other.exactValues[i]);
+            }
+
+            return;
+        }
+
+        if (buckets == null) {
+            switchToBuckets();
+        }
+
+        for (int i = 0; i < other.exactSize; i++) {
+            buckets[BUCKETS.index(other.exactValues[i])]++;
+        }
+
+        if (other.buckets != null) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] += other.buckets[i];
+            }
+        }
+    }
+
+    /**
+     * Метод получения перцентиля. Перцентиль - значение с номером {@code ceil(percentile * count)}
+     * в отсортированном списке всех значений
+     *
+     * @param percentile доля от 0 до 1 (например, {@code 0.95})
+     *
+     * @return значение перцентиля или 0, если значений нет
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Перцентиль должен быть от 0 до 1: " + percentile);
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+
+        if (buckets == null) {
+            if (sortedSize < exactSize) {
+                sortAddedValues();
+            }
+
+            return exactValues[(int) rank - 1];
+        }
+
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+
+            if (seen >= rank) {
+                return Math.min(BUCKETS.highestEquivalentValue(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Метод получения количества добавленных значений
+     *
+     * @return количество значений
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Проверка, что перцентили считаются точно
+     *
+     * @return {@code true}, если гистограмма в точном режиме, иначе {@code false}
+     */
+    public boolean isExact() {
+        return buckets == null;
+    }
+
+    /**
+     * Метод записи гистограммы в двоичный поток. В режиме корзин записываются только непустые корзины
+     *
+     * @param output двоичный поток
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(exactThreshold);
+        output.writeLong(count);
+        output.writeLong(max);
+        output.writeBoolean(buckets != null);
+
+        if (buckets == null) {
+            output.writeInt(exactSize);
+
+            for (int i = 0; i < exactSize; i++) {
+                output.writeLong(exactValues[i]);
+            }
+
+            return;
+        }
+
+        int nonEmpty = 0;
+
+        for (long bucket : buckets) {
+            nonEmpty += bucket == 0 ? 0 : 1;
+        }
+
+        output.writeInt(nonEmpty);
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (buckets[i] != 0) {
+                output.writeShort(i);
+                output.writeLong(buckets[i]);
+            }
+        }
+    }
+
+    /**
+     * Метод чтения гистограммы, записанной {@link #writeTo(DataOutput)}
+     *
+     * @param input двоичный поток
+     *
+     * @return гистограмма
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public static PercentileHistogram readFrom(DataInput input) throws IOException {
+        int exactThreshold = input.readInt();
+
+        if (exactThreshold < 0) {
+            throw new IOException("Некорректный порог точного режима гистограммы: " + exactThreshold);
+        }
+
+        PercentileHistogram histogram = new PercentileHistogram(exactThreshold);
+        histogram.count = input.readLong();
+        histogram.max = input.readLong();
+
+        boolean bucketMode = input.readBoolean();
+        int size = input.readInt();
+
+        if (size < 0 || size > (bucketMode ? BUCKET_COUNT : exactThreshold)) {
+            throw new IOException("Некорректный размер гистограммы: " + size);
+        }
+
+        if (!bucketMode) {
+            histogram.exactValues = new long[Math.max(size, INITIAL_EXACT_CAPACITY)];
+            histogram.exactSize = size;
+
+            for (int i = 0; i < size; i++) {
+                histogram.exactValues[i] = input.readLong();
+            }
+
+            return histogram;
+        }
+
+        histogram.switchToBuckets();
+
+        for (int i = 0; i < size; i++) {
+            int index = input.readUnsignedShort();
+
+            if (index >= BUCKET_COUNT) {
+                throw new IOException("Некорректный номер корзины гистограммы: " + index);
+            }
+
+            histogram.buckets[index] = input.readLong();
+        }
+
+        return histogram;
+    }
+
+    private void addExact(long value) {
+        if (exactSize == exactValues.length) {
+            exactValues = Arrays.copyOf(exactValues, Math.min(exactValues.length * 2, Math.max(exactThreshold, 1)));
+        }
+
+        exactValues[exactSize++] = value;
+    }
+
+    /**
+     * Метод сортировки значений, добавленных после {@code sortedSize}, и слияния их с отсортированным началом
+     */
+    private void sortAddedValues() {
+        Arrays.sort(exactValues, sortedSize, exactSize);
+
+        if (sortedSize > 0) {
+            long[] added = Arrays.copyOfRange(exactValues, sortedSize, exactSize);
+            int sorted = sortedSize - 1;
+            int addedIndex = added.length - 1;
+            int target = exactSize - 1;
+
+            while (addedIndex >= 0) {
+                if (sorted >= 0 && exactValues[sorted] > added[addedIndex]) {
+                    exactValues[target--] = exactValues[sorted--];
+                } else {
+                    exactValues[target--] = added[addedIndex--];
+                }
+            }
+        }
+
+        sortedSize = exactSize;
+    }
+
+    /**
+     * Метод перехода из точного режима в режим корзин. Сохраненные значения раскладываются по корзинам
+     */
+    private void switchToBuckets() {
+        buckets = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < exactSize; i++) {
+            buckets[BUCKETS.index(exactValues[i])]++;
+        }
+
+        exactValues = new long[0];
+        exactSize = 0;
+        sortedSize = 0;
+    }
+}
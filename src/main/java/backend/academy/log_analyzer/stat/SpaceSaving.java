@@ -0,0 +1,420 @@
+package backend.academy.log_analyzer.stat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+
+/**
+ * Поиск самых частых элементов потока алгоритмом Space-Saving (Metwally, Agrawal, El Abbadi).
+ * <p>
+ * Хранится не больше {@code capacity} счетчиков. Пока различных элементов не больше {@code capacity},
+ * счет точный. Дальше новый элемент вытесняет элемент с минимальным счетчиком и наследует его значение,
+ * поэтому счетчик может быть завышен, но не больше чем на {@code N / capacity}, где {@code N} - количество
+ * добавленных элементов. Любой элемент, встретившийся больше {@code N / capacity} раз, гарантированно
+ * остается в структуре. Структуры можно сливать (Agarwal et al., "Mergeable Summaries") с той же гарантией
+ *
+ * @param <K> тип элементов
+ */
+public class SpaceSaving<K> {
+
+    private static final int INITIAL_HEAP_SIZE = 16;
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters = new HashMap<>();
+
+    /**
+     * Куча счетчиков с минимальным значением в корне
+     */
+    private Counter<K>[] heap;
+    private int size;
+
+    /**
+     * Вытеснялся ли хотя бы один элемент (после этого счет перестает быть точным)
+     */
+    private boolean evicted;
+
+    /**
+     * Максимальная погрешность счетчиков. Погрешность счетчика только растет, поэтому значение обновляется
+     * при добавлении, а не считается обходом всех счетчиков при каждом отчете
+     */
+    private long maxError;
+
+    /**
+     * Конструктор
+     *
+     * @param capacity максимальное количество счетчиков
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Количество счетчиков должно быть больше нуля");
+        }
+
+        this.capacity = capacity;
+        @SuppressWarnings("unchecked")
+        Counter<K>[] initialHeap = (Counter<K>[]) new Counter<?>[Math.min(capacity, INITIAL_HEAP_SIZE)];
+        this.heap = initialHeap;
+    }
+
+    /**
+     * Метод добавления одного вхождения элемента
+     *
+     * @param key элемент
+     */
+    public void add(K key) {
+        add(key, 1, 0);
+    }
+
+    /**
+     * Метод слияния другой структуры с текущей. Другая структура не изменяется.
+     * Элемент, которого нет в одной из структур, мог встретиться в ней не больше ее минимального счетчика,
+     * поэтому этот минимум добавляется к его счетчику и погрешности
+     *
+     * @param other структура, счетчики которой добавляются к текущей
+     */
+    public void merge(SpaceSaving<K> other) {
+        if (!evicted && !other.evicted && counters.size() + other.counters.size() <= capacity) {
+            other.counters.forEach((key, counter) -> add(key, counter.count, 0));
+            return;
+        }
+
+        long missingThis = unmonitoredMax();
+        long missingOther = other.unmonitoredMax();
+
+        List<Counter<K>> merged = new ArrayList<>(counters.size() + other.counters.size());
+
+        for (Counter<K> counter : counters.values()) {
+            Counter<K> otherCounter = other.counters.get(counter.key);
+
+            if (otherCounter == null) {
+                counter.count += missingOther;
+                counter.error += missingOther;
+            } else {
+                counter.count += otherCounter.count;
+                counter.error += otherCounter.error;
+            }
+
+            merged.add(counter);
+        }
+
+        for (Counter<K> otherCounter : other.counters.values()) {
+            if (!counters.containsKey(otherCounter.key)) {
+                merged.add(new Counter<>(otherCounter.key, otherCounter.count + missingThis,
+                    otherCounter.error + missingThis));
+            }
+        }
+
+        evicted |= other.evicted || merged.size() > capacity;
+
+        if (merged.size() > capacity) {
+            merged.sort(Comparator.comparingLong((Counter<K> counter) -> counter.count).reversed());
+            merged = merged.subList(0, capacity);
+        }
+
+        rebuild(merged);
+    }
+
+    /**
+     * Метод получения самых частых элементов. При равных счетчиках порядок совпадает
+     * с порядком обхода {@link HashMap} элементов (как при устойчивой сортировке всех счетчиков)
+     *
+     * @param limit максимальное количество элементов
+     *
+     * @return пары элемент-счетчик по убыванию счетчика
+     */
+    public List<Entry<K, Long>> getTop(int limit) {
+        PriorityQueue<Ranked<K>> top = new PriorityQueue<>(limit + 1,
+            Comparator.comparingLong((Ranked<K> ranked) -> ranked.counter.count)
+                .thenComparing(Comparator.comparingInt((Ranked<K> ranked) -> ranked.order).reversed()));
+
+        int order = 0;
+
+        for (Counter<K> counter : counters.values()) {
+            if (top.size() < limit) {
+                top.add(new Ranked<>(counter, order));
+            } else if (limit > 0 && counter.count > top.peek().counter.count) {
+                top.poll();
+                top.add(new Ranked<>(counter, order));
+            }
+
+            order++;
+        }
+
+        List<Entry<K, Long>> result = new ArrayList<>(top.size());
+
+        while (!top.isEmpty()) {
+            Counter<K> counter = top.poll().counter;
+            result.add(Map.entry(counter.key, counter.count));
+        }
+
+        return result.reversed();
+    }
+
+    /**
+     * Проверка, что все счетчики точные
+     *
+     * @return {@code true}, если ни один элемент не вытеснялся, иначе {@code false}
+     */
+    public boolean isExact() {
+        return !evicted;
+    }
+
+    /**
+     * Метод получения максимальной погрешности счетчиков
+     *
+     * @return на сколько может быть завышен любой счетчик (0, если счет точный)
+     */
+    public long maxError() {
+        return maxError;
+    }
+
+    /**
+     * Метод получения количества отслеживаемых элементов
+     *
+     * @return количество счетчиков
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Метод записи счетчиков в двоичный поток
+     *
+     * @param output двоичный поток
+     * @param keyWriter способ записи элемента
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void writeTo(DataOutput output, KeyWriter<K> keyWriter) throws IOException {
+        output.writeInt(capacity);
+        output.writeBoolean(evicted);
+        output.writeInt(size);
+
+        for (int i = 0; i < size; i++) {
+            keyWriter.write(output, heap[i].key);
+            output.writeLong(heap[i].count);
+            output.writeLong(heap[i].error);
+        }
+    }
+
+    /**
+     * Метод чтения счетчиков, записанных {@link #writeTo(DataOutput, KeyWriter)}
+     *
+     * @param input двоичный поток
+     * @param keyReader способ чтения элемента
+     * @param <K> тип элементов
+     *
+     * @return структура со счетчиками
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public static <K> SpaceSaving<K> readFrom(DataInput input, KeyReader<K> keyReader) throws IOException {
+        int capacity = input.readInt();
+
+        if (capacity < 1) {
+            throw new IOException("Некорректное количество счетчиков: " + capacity);
+        }
+
+        SpaceSaving<K> spaceSaving = new SpaceSaving<>(capacity);
+        spaceSaving.evicted = input.readBoolean();
+
+        int size = input.readInt();
+
+        if (size < 0 || size > capacity) {
+            throw new IOException("Некорректное количество элементов: " + size);
+        }
+
+        for (int i = 0; i < size; i++) {
+            K key = keyReader.read(input);
+            long count = input.readLong();
+            long error = input.readLong();
+
+            if (spaceSaving.counters.containsKey(key)) {
+                throw new IOException("Элемент записан дважды: " + key);
+            }
+
+            spaceSaving.append(spaceSaving.counters.computeIfAbsent(key,
+                newKey -> new Counter<>(newKey, count, error)));
+        }
+
+        return spaceSaving;
+    }
+
+    private void add(K key, long count, long error) {
+        Counter<K> counter = counters.get(key);
+
+        if (counter != null) {
+            counter.count += count;
+            counter.error += error;
+            maxError = Math.max(maxError, counter.error);
+            siftDown(counter.index);
+        } else if (size < capacity) {
+            // computeIfAbsent, как и Map.merge, кладет новый ключ в начало корзины,
+            // поэтому порядок обхода (и порядок равных в топе) совпадает с обычной HashMap счетчиков
+            append(counters.computeIfAbsent(key, newKey -> new Counter<>(newKey, count, error)));
+        } else {
+            counter = heap[0];
+            counters.remove(counter.key);
+
+            counter.key = key;
+            counter.error = counter.count + error;
+            counter.count += count;
+            evicted = true;
+            maxError = Math.max(maxError, counter.error);
+
+            counters.put(key, counter);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Максимальное количество вхождений элемента, которого нет среди счетчиков
+     */
+    private long unmonitoredMax() {
+        return evicted && size > 0 ? heap[0].count : 0;
+    }
+
+    private void rebuild(List<Counter<K>> merged) {
+        counters.clear();
+        size = 0;
+        maxError = 0;
+
+        for (Counter<K> counter : merged) {
+            append(counters.computeIfAbsent(counter.key, key -> counter));
+        }
+    }
+
+    private void append(Counter<K> counter) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, (int) Math.min(capacity, (long) heap.length * 2));
+        }
+
+        heap[size] = counter;
+        counter.index = size;
+        size++;
+        maxError = Math.max(maxError, counter.error);
+        siftUp(counter.index);
+    }
+
+    private void siftUp(int index) {
+        Counter<K> counter = heap[index];
+        int current = index;
+
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+
+            place(heap[parent], current);
+            current = parent;
+        }
+
+        place(counter, current);
+    }
+
+    private void siftDown(int index) {
+        Counter<K> counter = heap[index];
+        int current = index;
+        int half = size >>> 1;
+
+        while (current < half) {
+            int child = 2 * current + 1;
+            int right = child + 1;
+
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+
+            place(heap[child], current);
+            current = child;
+        }
+
+        place(counter, current);
+    }
+
+    private void place(Counter<K> counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    /**
+     * Способ записи элемента в двоичный поток
+     *
+     * @param <K> тип элементов
+     */
+    @FunctionalInterface
+    public interface KeyWriter<K> {
+
+        /**
+         * Метод записи элемента
+         *
+         * @param output двоичный поток
+         * @param key элемент
+         *
+         * @throws IOException если произошла ошибка записи
+         */
+        void write(DataOutput output, K key) throws IOException;
+    }
+
+    /**
+     * Способ чтения элемента из двоичного потока
+     *
+     * @param <K> тип элементов
+     */
+    @FunctionalInterface
+    public interface KeyReader<K> {
+
+        /**
+         * Метод чтения элемента
+         *
+         * @param input двоичный поток
+         *
+         * @return элемент
+         *
+         * @throws IOException если произошла ошибка чтения
+         */
+        K read(DataInput input) throws IOException;
+    }
+
+    /**
+     * Счетчик элемента
+     */
+    private static final class Counter<K> {
+
+        private K key;
+        private long count;
+        /**
+         * На сколько счетчик может быть завышен
+         */
+        private long error;
+        /**
+         * Позиция в куче
+         */
+        private int index;
+
+        private Counter(K key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Счетчик с порядковым номером обхода (для устойчивого выбора при равных счетчиках)
+     */
+    private record Ranked<K>(Counter<K> counter, int order) {
+    }
+}
@@ -0,0 +1,390 @@
+package backend.academy.log_analyzer.stat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Временной ряд статистики по интервалам фиксированной длины: количество запросов, суммарный размер ответов,
+ * количество ответов по классам кодов (1xx-5xx) и 95p размера ответа.
+ * <p>
+ * Интервалы хранятся в кольце из {@code capacity} ячеек в примитивных массивах: номер интервала - время,
+ * деленное на длину интервала, ячейка - номер по модулю {@code capacity}. Хранятся последние {@code capacity}
+ * интервалов до самого позднего встреченного, более ранние логи учитываются только в количестве логов вне окна
+ * (см. {@link #dropped()}). Добавление лога - O(1), ряды с одинаковыми настройками можно сливать.
+ * <p>
+ * Для перцентиля у каждого интервала своя логарифмическая гистограмма размеров ({@link LogLinearBuckets},
+ * 8 корзин на степень двойки), поэтому 95p интервала завышен не больше чем на 1/8 и не больше максимального
+ * размера в интервале
+ */
+public class TimeSeries {
+
+    /**
+     * Количество интервалов в кольце по умолчанию (сутки по минуте)
+     */
+    public static final int DEFAULT_CAPACITY = 1440;
+
+    private static final double PERCENTILE_95 = 0.95;
+    private static final int STATUS_CLASSES = 5;
+    private static final int STATUS_FACTOR = 100;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int MAX_SIZE_BITS = 40;
+    private static final LogLinearBuckets SIZE_BUCKETS = new LogLinearBuckets(SUB_BUCKET_BITS, MAX_SIZE_BITS);
+    private static final int SIZE_BUCKET_COUNT = SIZE_BUCKETS.bucketCount();
+    private static final long NO_BUCKETS = Long.MIN_VALUE;
+
+    private final int bucketSeconds;
+    private final int capacity;
+
+    private final long[] requests;
+    private final long[] bytes;
+    private final long[] maxSizes;
+    /**
+     * Количество ответов по классам кодов: {@value #STATUS_CLASSES} счетчиков на ячейку подряд
+     */
+    private final long[] statusCounts;
+    /**
+     * Гистограммы размеров ответов. Создаются при первом логе в ячейке
+     */
+    private final long[][] sizeCounts;
+
+    /**
+     * Номер самого позднего интервала или {@value #NO_BUCKETS}, если логов еще не было
+     */
+    private long newestBucket = NO_BUCKETS;
+    private long dropped;
+
+    /**
+     * Конструктор
+     *
+     * @param bucketSeconds длина интервала в секундах
+     * @param capacity количество хранимых интервалов
+     */
+    public TimeSeries(int bucketSeconds, int capacity) {
+        if (bucketSeconds < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Длина интервала и количество интервалов должны быть больше нуля");
+        }
+
+        this.bucketSeconds = bucketSeconds;
+        this.capacity = capacity;
+        this.requests = new long[capacity];
+        this.bytes = new long[capacity];
+        this.maxSizes = new long[capacity];
+        this.statusCounts = new long[capacity * STATUS_CLASSES];
+        this.sizeCounts = new long[capacity][];
+    }
+
+    /**
+     * Метод добавления лога
+     *
+     * @param epochSecond время лога в секундах от начала эпохи
+     * @param size размер ответа
+     * @param status код ответа
+     */
+    public void add(long epochSecond, long size, int status) {
+        int slot = slotOf(Math.floorDiv(epochSecond, bucketSeconds), 1);
+
+        if (slot < 0) {
+            return;
+        }
+
+        requests[slot]++;
+        bytes[slot] += size;
+        maxSizes[slot] = Math.max(maxSizes[slot], size);
+        sizesOf(slot)[SIZE_BUCKETS.index(size)]++;
+
+        int statusClass = status / STATUS_FACTOR - 1;
+
+        if (statusClass >= 0 && statusClass < STATUS_CLASSES) {
+            statusCounts[slot * STATUS_CLASSES + statusClass]++;
+        }
+    }
+
+    /**
+     * Метод слияния другого ряда с текущим. Другой ряд не изменяется
+     *
+     * @param other ряд с той же длиной и количеством интервалов
+     */
+    public void merge(TimeSeries other) {
+        if (other.bucketSeconds != bucketSeconds || other.capacity != capacity) {
+            throw new IllegalArgumentException("Нельзя слить временные ряды с разными интервалами");
+        }
+
+        dropped += other.dropped;
+
+        if (other.newestBucket == NO_BUCKETS) {
+            return;
+        }
+
+        // От поздних интервалов к ранним: окно сдвигается один раз, ранние интервалы вне окна отбрасываются
+        for (long bucket = other.newestBucket; bucket > other.newestBucket - capacity; bucket--) {
+            int otherSlot = Math.floorMod(bucket, capacity);
+
+            if (other.requests[otherSlot] > 0) {
+                mergeSlot(other, otherSlot, bucket);
+            }
+        }
+    }
+
+    /**
+     * Метод получения непустых интервалов окна по возрастанию времени
+     *
+     * @return интервалы
+     */
+    public List<Bucket> buckets() {
+        List<Bucket> buckets = new ArrayList<>();
+
+        if (newestBucket == NO_BUCKETS) {
+            return buckets;
+        }
+
+        for (long bucket = newestBucket - capacity + 1; bucket <= newestBucket; bucket++) {
+            int slot = Math.floorMod(bucket, capacity);
+
+            if (requests[slot] > 0) {
+                int statusOffset = slot * STATUS_CLASSES;
+
+                buckets.add(new Bucket(
+                    LocalDateTime.ofEpochSecond(bucket * bucketSeconds, 0, ZoneOffset.UTC),
+                    requests[slot],
+                    bytes[slot],
+                    Arrays.copyOfRange(statusCounts, statusOffset, statusOffset + STATUS_CLASSES),
+                    percentile95(slot)
+                ));
+            }
+        }
+
+        return buckets;
+    }
+
+    /**
+     * Метод получения количества логов, которые не попали в окно интервалов
+     *
+     * @return количество логов раньше самого раннего хранимого интервала
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Метод записи ряда в двоичный поток. Записываются только непустые интервалы и корзины гистограмм
+     *
+     * @param output двоичный поток
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(bucketSeconds);
+        output.writeInt(capacity);
+        output.writeLong(dropped);
+
+        List<Long> filledBuckets = new ArrayList<>();
+
+        if (newestBucket != NO_BUCKETS) {
+            for (long bucket = newestBucket - capacity + 1; bucket <= newestBucket; bucket++) {
+                if (requests[Math.floorMod(bucket, capacity)] > 0) {
+                    filledBuckets.add(bucket);
+                }
+            }
+        }
+
+        output.writeInt(filledBuckets.size());
+
+        for (long bucket : filledBuckets) {
+            int slot = Math.floorMod(bucket, capacity);
+
+            output.writeLong(bucket);
+            output.writeLong(requests[slot]);
+            output.writeLong(bytes[slot]);
+            output.writeLong(maxSizes[slot]);
+
+            for (int i = 0; i < STATUS_CLASSES; i++) {
+                output.writeLong(statusCounts[slot * STATUS_CLASSES + i]);
+            }
+
+            long[] sizes = sizesOf(slot);
+            int filledSizes = 0;
+
+            for (long count : sizes) {
+                filledSizes += count > 0 ? 1 : 0;
+            }
+
+            output.writeShort(filledSizes);
+
+            for (int i = 0; i < SIZE_BUCKET_COUNT; i++) {
+                if (sizes[i] > 0) {
+                    output.writeShort(i);
+                    output.writeLong(sizes[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Метод чтения ряда, записанного {@link #writeTo(DataOutput)}
+     *
+     * @param input двоичный поток
+     *
+     * @return временной ряд
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public static TimeSeries readFrom(DataInput input) throws IOException {
+        int bucketSeconds = input.readInt();
+        int capacity = input.readInt();
+
+        if (bucketSeconds < 1 || capacity < 1) {
+            throw new IOException("Некорректные настройки временного ряда: " + bucketSeconds + ", " + capacity);
+        }
+
+        TimeSeries series = new TimeSeries(bucketSeconds, capacity);
+        series.dropped = input.readLong();
+
+        int filledBuckets = input.readInt();
+
+        if (filledBuckets < 0 || filledBuckets > capacity) {
+            throw new IOException("Некорректное количество интервалов: " + filledBuckets);
+        }
+
+        for (int i = 0; i < filledBuckets; i++) {
+            long bucket = input.readLong();
+            long bucketRequests = input.readLong();
+            int slot = series.slotOf(bucket, bucketRequests);
+
+            if (slot < 0 || series.requests[slot] > 0) {
+                throw new IOException("Некорректный интервал временного ряда: " + bucket);
+            }
+
+            series.requests[slot] = bucketRequests;
+            series.bytes[slot] = input.readLong();
+            series.maxSizes[slot] = input.readLong();
+
+            for (int j = 0; j < STATUS_CLASSES; j++) {
+                series.statusCounts[slot * STATUS_CLASSES + j] = input.readLong();
+            }
+
+            long[] sizes = series.sizesOf(slot);
+            int filledSizes = input.readUnsignedShort();
+
+            for (int j = 0; j < filledSizes; j++) {
+                int index = input.readUnsignedShort();
+
+                if (index >= SIZE_BUCKET_COUNT) {
+                    throw new IOException("Некорректный номер корзины временного ряда: " + index);
+                }
+
+                sizes[index] = input.readLong();
+            }
+        }
+
+        return series;
+    }
+
+    /**
+     * Метод получения ячейки интервала. Если интервал позже окна, окно сдвигается,
+     * а вытесненные интервалы очищаются
+     *
+     * @param bucket номер интервала
+     * @param count количество логов, которые добавляются в интервал
+     *
+     * @return ячейка или -1, если интервал раньше окна
+     */
+    private int slotOf(long bucket, long count) {
+        if (newestBucket == NO_BUCKETS) {
+            newestBucket = bucket;
+        } else if (bucket > newestBucket) {
+            for (long cleared = Math.max(newestBucket + 1, bucket - capacity + 1); cleared <= bucket; cleared++) {
+                clearSlot(Math.floorMod(cleared, capacity));
+            }
+
+            newestBucket = bucket;
+        } else if (bucket <= newestBucket - capacity) {
+            dropped += count;
+            return -1;
+        }
+
+        return Math.floorMod(bucket, capacity);
+    }
+
+    private void mergeSlot(TimeSeries other, int otherSlot, long bucket) {
+        int slot = slotOf(bucket, other.requests[otherSlot]);
+
+        if (slot < 0) {
+            return;
+        }
+
+        requests[slot] += other.requests[otherSlot];
+        bytes[slot] += other.bytes[otherSlot];
+        maxSizes[slot] = Math.max(maxSizes[slot], other.maxSizes[otherSlot]);
+
+        for (int i = 0; i < STATUS_CLASSES; i++) {
+            statusCounts[slot * STATUS_CLASSES + i] += other.statusCounts[otherSlot * STATUS_CLASSES + i];
+        }
+
+        long[] sizes = sizesOf(slot);
+        long[] otherSizes = other.sizesOf(otherSlot);
+
+        for (int i = 0; i < SIZE_BUCKET_COUNT; i++) {
+            sizes[i] += otherSizes[i];
+        }
+    }
+
+    private void clearSlot(int slot) {
+        dropped += requests[slot];
+        requests[slot] = 0;
+        bytes[slot] = 0;
+        maxSizes[slot] = 0;
+        Arrays.fill(statusCounts, slot * STATUS_CLASSES, (slot + 1) * STATUS_CLASSES, 0);
+
+        if (sizeCounts[slot] != null) {
+            Arrays.fill(sizeCounts[slot], 0);
+        }
+    }
+
+    private long[] sizesOf(int slot) {
+        if (sizeCounts[slot] == null) {
+            sizeCounts[slot] = new long[SIZE_BUCKET_COUNT];
+        }
+
+        return sizeCounts[slot];
+    }
+
+    private long percentile95(int slot) {
+        long rank = Math.max(1, (long) Math.ceil(PERCENTILE_95 * requests[slot]));
+        long[] sizes = sizesOf(slot);
+        long seen = 0;
+
+        for (int i = 0; i < SIZE_BUCKET_COUNT; i++) {
+            seen += sizes[i];
+
+            if (seen >= rank) {
+                return Math.min(SIZE_BUCKETS.highestEquivalentValue(i), maxSizes[slot]);
+            }
+        }
+
+        return maxSizes[slot];
+    }
+
+    /**
+     * Рекорд интервала временного ряда
+     *
+     * @param start начало интервала
+     * @param requests количество запросов
+     * @param bytes суммарный размер ответов
+     * @param statusClasses количество ответов по классам кодов: индекс 0 - 1xx, ..., индекс 4 - 5xx
+     * @param percentile95 95p размера ответа
+     */
+    public record Bucket(
+        LocalDateTime start,
+        long requests,
+        long bytes,
+        long[] statusClasses,
+        long percentile95
+    ) {
+    }
+}
@@ -0,0 +1,250 @@
+package backend.academy.log_analyzer.stat;
+
+import backend.academy.log_analyzer.util.DataStrings;
+import backend.academy.log_analyzer.util.Ipv4Addresses;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Счетчик уникальных строк (IP адресов) с автоматическим переходом от точного подсчета к оценке.
+ * <p>
+ * Пока уникальных значений не больше заданного предела, они хранятся в множестве и счет точный
+ * (адреса IPv4 хранятся упакованными в {@code long}). После превышения предела все значения переносятся
+ * в {@link HyperLogLog}, и дальше количество оценивается с фиксированной памятью
+ */
+public class UniqueCounter {
+
+    private static final long STRING_SEED = 0x9E3779B97F4A7C15L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final int MIX_SHIFT = 33;
+    private static final long MIX_FIRST_MULTIPLIER = 0xFF51AFD7ED558CCDL;
+    private static final long MIX_SECOND_MULTIPLIER = 0xC4CEB93FE53A87E3L;
+
+    private final long exactLimit;
+    private final int precision;
+
+    private LongOpenHashSet ipv4Values = new LongOpenHashSet();
+    private ObjectOpenHashSet<String> otherValues = new ObjectOpenHashSet<>();
+
+    /**
+     * Скетч для оценки. {@code null}, пока счет точный
+     */
+    private HyperLogLog sketch;
+
+    /**
+     * Конструктор
+     *
+     * @param exactLimit количество уникальных значений, до которого счет точный
+     * @param precision точность {@link HyperLogLog} после перехода к оценке
+     */
+    public UniqueCounter(long exactLimit, int precision) {
+        this.exactLimit = exactLimit;
+        this.precision = precision;
+
+        if (exactLimit < 0) {
+            throw new IllegalArgumentException("Предел точного счета не может быть отрицательным");
+        }
+
+        if (exactLimit == 0) {
+            sketch = new HyperLogLog(precision);
+        }
+    }
+
+    /**
+     * Метод добавления значения
+     *
+     * @param value значение (например, IP адрес)
+     */
+    public void add(String value) {
+        long ipv4 = Ipv4Addresses.parse(value);
+
+        if (sketch != null) {
+            sketch.addHash(hash(value, ipv4));
+            return;
+        }
+
+        boolean added = ipv4 == Ipv4Addresses.NOT_IPV4 ? otherValues.add(value) : ipv4Values.add(ipv4);
+
+        if (added && exactCount() > exactLimit) {
+            switchToSketch();
+        }
+    }
+
+    /**
+     * Метод слияния другого счетчика с текущим. Другой счетчик не изменяется
+     *
+     * @param other счетчик с той же точностью
+     */
+    public void merge(UniqueCounter other) {
+        if (sketch == null && other.sketch == null) {
+            ipv4Values.addAll(other.ipv4Values);
+            otherValues.addAll(other.otherValues);
+
+            if (exactCount() > exactLimit) {
+                switchToSketch();
+            }
+
+            return;
+        }
+
+        if (sketch == null) {
+            switchToSketch();
+        }
+
+        if (other.sketch == null) {
+            other.ipv4Values.forEach(value -> sketch.addHash(mix(value)));
+            other.otherValues.forEach(value -> sketch.addHash(hash(value, Ipv4Addresses.NOT_IPV4)));
+        } else {
+            sketch.merge(other.sketch);
+        }
+    }
+
+    /**
+     * Метод получения количества уникальных значений
+     *
+     * @return точное количество или оценка (см. {@link #isEstimated()})
+     */
+    public long count() {
+        return sketch == null ? exactCount() : sketch.estimate();
+    }
+
+    /**
+     * Проверка, что количество является оценкой
+     *
+     * @return {@code true}, если счетчик перешел к оценке, иначе {@code false}
+     */
+    public boolean isEstimated() {
+        return sketch != null;
+    }
+
+    /**
+     * Метод записи счетчика в двоичный поток: точные значения или скетч
+     *
+     * @param output двоичный поток
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeLong(exactLimit);
+        output.writeByte(precision);
+        output.writeBoolean(sketch != null);
+
+        if (sketch != null) {
+            sketch.writeTo(output);
+            return;
+        }
+
+        output.writeInt(ipv4Values.size());
+
+        LongIterator ipv4Iterator = ipv4Values.iterator();
+
+        while (ipv4Iterator.hasNext()) {
+            output.writeLong(ipv4Iterator.nextLong());
+        }
+
+        output.writeInt(otherValues.size());
+
+        for (String value : otherValues) {
+            DataStrings.write(output, value);
+        }
+    }
+
+    /**
+     * Метод чтения счетчика, записанного {@link #writeTo(DataOutput)}
+     *
+     * @param input двоичный поток
+     *
+     * @return счетчик
+     *
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     */
+    public static UniqueCounter readFrom(DataInput input) throws IOException {
+        long exactLimit = input.readLong();
+        int precision = input.readUnsignedByte();
+
+        if (exactLimit < 0 || precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IOException("Некорректные настройки счетчика уникальных значений");
+        }
+
+        UniqueCounter counter = new UniqueCounter(exactLimit, precision);
+
+        if (input.readBoolean()) {
+            counter.sketch = HyperLogLog.readFrom(input);
+            return counter;
+        }
+
+        int ipv4Count = readSize(input);
+
+        for (int i = 0; i < ipv4Count; i++) {
+            counter.ipv4Values.add(input.readLong());
+        }
+
+        int otherCount = readSize(input);
+
+        for (int i = 0; i < otherCount; i++) {
+            counter.otherValues.add(DataStrings.read(input));
+        }
+
+        return counter;
+    }
+
+    private static int readSize(DataInput input) throws IOException {
+        int size = input.readInt();
+
+        if (size < 0) {
+            throw new IOException("Некорректное количество значений: " + size);
+        }
+
+        return size;
+    }
+
+    private long exactCount() {
+        return (long) ipv4Values.size() + otherValues.size();
+    }
+
+    /**
+     * Метод перехода к оценке. Накопленные значения переносятся в скетч, множества освобождаются
+     */
+    private void switchToSketch() {
+        sketch = new HyperLogLog(precision);
+
+        ipv4Values.forEach(value -> sketch.addHash(mix(value)));
+        otherValues.forEach(value -> sketch.addHash(hash(value, Ipv4Addresses.NOT_IPV4)));
+
+        ipv4Values = new LongOpenHashSet();
+        otherValues = new ObjectOpenHashSet<>();
+    }
+
+    private static long hash(String value, long ipv4) {
+        if (ipv4 != Ipv4Addresses.NOT_IPV4) {
+            return mix(ipv4);
+        }
+
+        long hash = STRING_SEED;
+
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Финальное перемешивание бит из MurmurHash3 ({@code fmix64})
+     */
+    private static long mix(long value) {
+        long hash = value;
+
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_FIRST_MULTIPLIER;
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_SECOND_MULTIPLIER;
+        hash ^= hash >>> MIX_SHIFT;
+
+        return hash;
+    }
+}
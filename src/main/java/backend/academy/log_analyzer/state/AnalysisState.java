@@ -0,0 +1,49 @@
+package backend.academy.log_analyzer.state;
+
+import backend.academy.log_analyzer.log.LogReport;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Рекорд сохраненного состояния инкрементального анализа: накопленная статистика
+ * и позиции, до которых проанализированы файлы
+ *
+ * @param parametersKey параметры, от которых зависит статистика (см. {@link #parametersKey(ArgsParameters)}).
+ * Статистику, собранную с другими фильтрами или настройками, продолжать нельзя
+ * @param report накопленная статистика
+ * @param sources состояния проанализированных файлов
+ */
+public record AnalysisState(
+    String parametersKey,
+    LogReport report,
+    List<SourceState> sources
+) {
+
+    /**
+     * Метод получения ключа параметров, от которых зависит накопленная статистика
+     *
+     * @param params сконвертированные параметры
+     *
+     * @return строка с фильтрами и настройками отчета
+     */
+    public static String parametersKey(ArgsParameters params) {
+        return "from=" + params.from()
+            + ";to=" + params.to()
+            + ";filter=" + params.filterField() + ":" + params.filterValue()
+            + ";where=" + (params.where() == null ? "" : params.where().expression())
+            + ";" + params.reportSettings();
+    }
+
+    /**
+     * Метод получения состояний файлов по ключу поиска (см. {@link SourceState#identity()})
+     *
+     * @return маппа, где ключ - ключ поиска, а значение - состояние файла
+     */
+    public Map<String, SourceState> sourcesByIdentity() {
+        return sources.stream()
+            .collect(Collectors.toMap(SourceState::identity, Function.identity(), (first, second) -> second));
+    }
+}
@@ -0,0 +1,122 @@
+package backend.academy.log_analyzer.state;
+
+import backend.academy.log_analyzer.log.LogReport;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import backend.academy.log_analyzer.util.DataStrings;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Чтение и запись файла состояния инкрементального анализа (см. {@link AnalysisState}).
+ * <p>
+ * Формат двоичный: сигнатура, версия, ключ параметров, статистика отчета ({@link LogReport#writeTo})
+ * и состояния файлов. Файл записывается во временный файл рядом и затем атомарно заменяет старый,
+ * поэтому прерванная запись не портит сохраненное состояние
+ */
+@Slf4j
+@UtilityClass
+public class AnalysisStateStore {
+
+    private static final int MAGIC = 0x4C415354;
+    private static final int VERSION = 3;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Метод чтения состояния. Если файла нет, он поврежден или статистика собиралась с другими параметрами,
+     * состояние не используется, и анализ начинается заново
+     *
+     * @param file файл состояния
+     * @param parametersKey ключ текущих параметров (см. {@link AnalysisState#parametersKey})
+     * @param settings текущие настройки отчета
+     *
+     * @return сохраненное состояние или пустой {@link Optional}, если его нельзя продолжить
+     */
+    public static Optional<AnalysisState> load(Path file, String parametersKey, ReportSettings settings) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                log.warn("Файл {} не является файлом состояния этой версии, анализ начнется заново", file);
+                return Optional.empty();
+            }
+
+            String savedKey = DataStrings.read(input);
+
+            if (!savedKey.equals(parametersKey)) {
+                log.warn("Фильтры или настройки отчета изменились с прошлого запуска, анализ начнется заново");
+                return Optional.empty();
+            }
+
+            LogReport report = LogReport.readFrom(input, settings);
+            int sourcesCount = input.readInt();
+            List<SourceState> sources = new ArrayList<>();
+
+            for (int i = 0; i < sourcesCount; i++) {
+                sources.add(new SourceState(
+                    DataStrings.read(input),
+                    DataStrings.read(input),
+                    input.readLong(),
+                    input.readLong(),
+                    input.readLong()
+                ));
+            }
+
+            return Optional.of(new AnalysisState(savedKey, report, sources));
+        } catch (IOException e) {
+            log.warn("Файл состояния {} поврежден, анализ начнется заново: {}", file, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Метод записи состояния
+     *
+     * @param file файл состояния
+     * @param state состояние
+     *
+     * @throws IOException если не удалось записать файл
+     */
+    public static void save(Path file, AnalysisState state) throws IOException {
+        Path absoluteFile = file.toAbsolutePath();
+        Files.createDirectories(absoluteFile.getParent());
+
+        Path tempFile = absoluteFile.resolveSibling(absoluteFile.getFileName() + TEMP_SUFFIX);
+
+        try (DataOutputStream output =
+                 new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            DataStrings.write(output, state.parametersKey());
+            state.report().writeTo(output);
+            output.writeInt(state.sources().size());
+
+            for (SourceState source : state.sources()) {
+                DataStrings.write(output, source.uri());
+                DataStrings.write(output, source.fileKey());
+                output.writeLong(source.size());
+                output.writeLong(source.offset());
+                output.writeLong(source.headChecksum());
+            }
+        }
+
+        try {
+            Files.move(tempFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
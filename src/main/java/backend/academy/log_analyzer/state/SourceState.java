@@ -0,0 +1,66 @@
+package backend.academy.log_analyzer.state;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Рекорд состояния прочитанного файла: до какого байта файл уже проанализирован
+ *
+ * @param uri URI файла
+ * @param fileKey идентификатор файла в файловой системе (например, устройство и inode).
+ * Пустая строка, если файловая система его не сообщает
+ * @param size размер файла на момент анализа
+ * @param offset позиция сразу после последней проанализированной строки
+ * @param headChecksum контрольная сумма первых байт файла (до {@value #HEAD_LENGTH}, но не дальше {@code offset}).
+ * Отличает дописанный файл от другого файла с тем же идентификатором или путем
+ */
+public record SourceState(
+    String uri,
+    String fileKey,
+    long size,
+    long offset,
+    long headChecksum
+) {
+
+    /**
+     * Количество первых байт файла, по которым считается контрольная сумма
+     */
+    public static final int HEAD_LENGTH = 1024;
+
+    /**
+     * Метод получения ключа, по которому файл ищется в сохраненном состоянии. Файл ищется по идентификатору
+     * в файловой системе, поэтому переименованный при ротации файл дочитывается, а не читается заново
+     *
+     * @return идентификатор файла или URI, если идентификатор неизвестен
+     */
+    public String identity() {
+        return fileKey.isEmpty() ? uri : fileKey;
+    }
+
+    /**
+     * Метод подсчета контрольной суммы первых байт файла
+     *
+     * @param channel канал файла
+     * @param offset позиция, дальше которой байты не учитываются
+     *
+     * @return контрольная сумма CRC32 первых {@code min(offset, HEAD_LENGTH)} байт
+     *
+     * @throws IOException если произошла ошибка чтения файла
+     */
+    public static long headChecksum(FileChannel channel, long offset) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(offset, HEAD_LENGTH));
+
+        int read = 0;
+
+        while (head.hasRemaining() && read >= 0) {
+            read = channel.read(head, head.position());
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(head.flip());
+
+        return checksum.getValue();
+    }
+}
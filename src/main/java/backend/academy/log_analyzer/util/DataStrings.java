@@ -0,0 +1,52 @@
+package backend.academy.log_analyzer.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Запись и чтение строк в двоичных потоках. В отличие от {@link DataOutput#writeUTF(String)},
+ * длина строки не ограничена 64 КБ
+ */
+@UtilityClass
+public class DataStrings {
+
+    /**
+     * Метод записи строки: длина в байтах и байты UTF-8
+     *
+     * @param output двоичный поток
+     * @param value строка
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public static void write(DataOutput output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Метод чтения строки, записанной {@link #write(DataOutput, String)}
+     *
+     * @param input двоичный поток
+     *
+     * @return строка
+     *
+     * @throws IOException если произошла ошибка чтения или длина строки некорректна
+     */
+    public static String read(DataInput input) throws IOException {
+        int length = input.readInt();
+
+        if (length < 0) {
+            throw new IOException("Некорректная длина строки: " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package backend.academy.log_analyzer.util;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Разбор адресов IPv4. Адресом считается только каноничная запись: четыре числа от 0 до 255 через точку,
+ * без ведущих нулей и знаков. Так одна и та же строка одинаково понимается при подсчете уникальных адресов,
+ * в кэше логов и в подсетях --where
+ */
+@UtilityClass
+public class Ipv4Addresses {
+
+    private static final int OCTETS = 4;
+    private static final int OCTET_BITS = 8;
+    private static final int MAX_OCTET = 255;
+    private static final int MAX_OCTET_DIGITS = 3;
+    private static final int DECIMAL_BASE = 10;
+
+    /**
+     * Признак того, что строка не является адресом IPv4
+     */
+    public static final long NOT_IPV4 = -1;
+
+    /**
+     * Метод упаковки адреса IPv4 в число
+     *
+     * @param value строка с адресом
+     *
+     * @return адрес в младших 32 битах или {@link #NOT_IPV4}, если строка не является адресом IPv4
+     */
+    public static long parse(CharSequence value) {
+        long address = 0;
+        int octets = 0;
+        int i = 0;
+        int length = value.length();
+
+        while (octets < OCTETS) {
+            int start = i;
+            int octet = 0;
+
+            while (i < length && i - start < MAX_OCTET_DIGITS && isDigit(value.charAt(i))) {
+                octet = octet * DECIMAL_BASE + value.charAt(i) - '0';
+                i++;
+            }
+
+            boolean leadingZero = i - start > 1 && value.charAt(start) == '0';
+
+            if (i == start || leadingZero || octet > MAX_OCTET) {
+                return NOT_IPV4;
+            }
+
+            address = address << OCTET_BITS | octet;
+            octets++;
+
+            if (octets < OCTETS) {
+                if (i >= length || value.charAt(i) != '.') {
+                    return NOT_IPV4;
+                }
+
+                i++;
+            }
+        }
+
+        return i == length ? address : NOT_IPV4;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
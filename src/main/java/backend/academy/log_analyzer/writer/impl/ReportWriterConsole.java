@@ -11,11 +11,10 @@ import java.nio.charset.StandardCharsets;
  */
 public class ReportWriterConsole implements ReportWriter {
 
+    // System.out не закрывается, чтобы отчет можно было выводить повторно (режим --follow)
     @Override
     public void writeReport(String logReport) {
-        try (PrintWriter out =
-                 new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true)) {
-            out.println(logReport);
-        }
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true);
+        out.println(logReport);
     }
 }
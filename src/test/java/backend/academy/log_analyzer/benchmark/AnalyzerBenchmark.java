@@ -0,0 +1,129 @@
+package backend.academy.log_analyzer.benchmark;
+
+import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.factory.ReaderFactory;
+import backend.academy.log_analyzer.factory.ReportMapperFactory;
+import backend.academy.log_analyzer.log.LogAnalyzer;
+import backend.academy.log_analyzer.log.LogReport;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import backend.academy.log_analyzer.matcher.LogMatcherDate;
+import backend.academy.log_analyzer.matcher.LogMatcherFilter;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.CacheSettings;
+import backend.academy.log_analyzer.parameter.ExecutionSettings;
+import backend.academy.log_analyzer.parameter.FollowSettings;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import backend.academy.log_analyzer.parameter.SeekSettings;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк полного анализа файла: чтение, разбор, фильтрация, статистика и формирование отчета.
+ * Одна операция - анализ всего файла
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyzerBenchmark {
+
+    @Param("1000000")
+    private int lines;
+
+    @Param("10000")
+    private int ipCardinality;
+
+    @Param("1000")
+    private int endpointCardinality;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    @Param({"false", "true"})
+    private boolean mmap;
+
+    /**
+     * Фильтр в виде {@code поле:значение}, пустая строка - без фильтра
+     */
+    @Param({"", "status:4*"})
+    private String filter;
+
+    private Path file;
+    private ArgsParameters parameters;
+    private LogAnalyzer analyzer;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = SyntheticLogs.writeTempFile(SyntheticLogs.generate(lines, ipCardinality, endpointCardinality, 1));
+
+        String[] fieldAndValue = filter.isEmpty() ? new String[] {"", ""} : filter.split(":", 2);
+
+        parameters = new ArgsParameters(
+            List.of(file.toUri()),
+            false,
+            new File("benchmark"),
+            null,
+            null,
+            OutputFormats.MARKDOWN,
+            fieldAndValue[0],
+            fieldAndValue[1],
+            threads,
+            mmap,
+            ExecutionSettings.DEFAULT,
+            null,
+            FollowSettings.DISABLED,
+            SeekSettings.DISABLED,
+            CacheSettings.DISABLED,
+            ReportSettings.DEFAULT,
+            LogFilter.compile(fieldAndValue[0], fieldAndValue[1]),
+            null,
+            List.of()
+        );
+    }
+
+    /**
+     * Анализатор накапливает статистику и закрывает читателей, поэтому создается на каждый вызов
+     */
+    @Setup(Level.Invocation)
+    public void newAnalyzer() throws IOException {
+        List<URI> paths = parameters.path();
+
+        analyzer = new LogAnalyzer(
+            new LogMatcherDate(),
+            new LogMatcherFilter(),
+            ReportMapperFactory.getMapper(parameters.format()),
+            new LogReport(),
+            ReaderFactory.createReaders(paths)
+        );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String analyzeLogs() {
+        return analyzer.analyzeLogs(parameters);
+    }
+}
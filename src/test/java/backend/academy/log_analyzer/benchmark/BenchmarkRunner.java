@@ -0,0 +1,32 @@
+package backend.academy.log_analyzer.benchmark;
+
+import lombok.experimental.UtilityClass;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск бенчмарков анализатора логов. Всегда подключается {@link GCProfiler}, поэтому кроме ns/op
+ * выводится {@code gc.alloc.rate.norm} (B/op). Аргументы командной строки передаются JMH как есть,
+ * например: {@code ParseBenchmark -p lines=100000 -p ipCardinality=50000}
+ */
+@UtilityClass
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLineOptions);
+        options.addProfiler(GCProfiler.class);
+
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package backend.academy.log_analyzer.benchmark;
+
+import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.factory.ReportMapperFactory;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogReport;
+import backend.academy.log_analyzer.maper.ReportMapper;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк формирования отчета каждым маппером по заполненной статистике
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    @Param("100000")
+    private int lines;
+
+    @Param("10000")
+    private int endpointCardinality;
+
+    @Param({"MARKDOWN", "ADOC", "TEXT"})
+    private OutputFormats format;
+
+    private ReportMapper mapper;
+    private LogReport report;
+    private ArgsParameters parameters;
+
+    @Setup
+    public void setUp() {
+        report = new LogReport();
+
+        for (String line : SyntheticLogs.generate(lines, 1000, endpointCardinality, 1)) {
+            report.addAllStats(Log.parse(line), "file:///benchmark.log");
+        }
+
+        mapper = ReportMapperFactory.getMapper(format);
+        parameters = new ArgsParameters(List.of(), false, new File("benchmark"), null, null, format, "", "");
+    }
+
+    @Benchmark
+    public String mapReport() {
+        return mapper.mapLogToOutputFormat(report, parameters);
+    }
+}
@@ -0,0 +1,88 @@
+package backend.academy.log_analyzer.benchmark;
+
+import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.matcher.LogMatcherDate;
+import backend.academy.log_analyzer.matcher.LogMatcherFilter;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк проверки одного лога фильтрами по дате и по значению поля
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MatcherBenchmark {
+
+    @Param("10000")
+    private int lines;
+
+    /**
+     * Фильтр в виде {@code поле:значение}
+     */
+    @Param({"status:404", "status:4*", "agent:*Mozilla*", "endpoint:/api/v1/*/1*"})
+    private String filter;
+
+    private final LogMatcherDate matcherDate = new LogMatcherDate();
+    private final LogMatcherFilter matcherFilter = new LogMatcherFilter();
+
+    private Log[] logs;
+    private ArgsParameters parameters;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        logs = SyntheticLogs.generate(lines, 1000, 100, 1).stream()
+            .map(Log::parse)
+            .toArray(Log[]::new);
+
+        String[] fieldAndValue = filter.split(":", 2);
+
+        parameters = new ArgsParameters(
+            List.of(),
+            false,
+            new File("benchmark"),
+            LocalDateTime.of(2015, 5, 17, 9, 0),
+            LocalDateTime.of(2015, 5, 17, 23, 59, 59),
+            OutputFormats.TEXT,
+            fieldAndValue[0],
+            fieldAndValue[1]
+        );
+    }
+
+    @Benchmark
+    public boolean matchDate() {
+        return matcherDate.isLogMatch(nextLog().time(), parameters);
+    }
+
+    @Benchmark
+    public boolean matchFilter() {
+        return matcherFilter.isLogMatchByFilter(nextLog(), parameters);
+    }
+
+    private Log nextLog() {
+        if (++index == logs.length) {
+            index = 0;
+        }
+
+        return logs[index];
+    }
+}
@@ -0,0 +1,68 @@
+package backend.academy.log_analyzer.benchmark;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк разбора одной строки лога: полностью и только с полями, нужными для отчета
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+    private static final Set<LogFields> REPORT_FIELDS =
+        EnumSet.of(LogFields.IP, LogFields.ENDPOINT, LogFields.STATUS, LogFields.BYTES);
+
+    @Param("10000")
+    private int lines;
+
+    @Param("1000")
+    private int ipCardinality;
+
+    @Param("100")
+    private int endpointCardinality;
+
+    private String[] logLines;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        logLines = SyntheticLogs.generate(lines, ipCardinality, endpointCardinality, 1).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public Log parseAllFields() {
+        return Log.parse(nextLine());
+    }
+
+    @Benchmark
+    public Log parseReportFields() {
+        return Log.parse(nextLine(), REPORT_FIELDS);
+    }
+
+    private String nextLine() {
+        if (++index == logLines.length) {
+            index = 0;
+        }
+
+        return logLines[index];
+    }
+}
@@ -0,0 +1,68 @@
+package backend.academy.log_analyzer.benchmark;
+
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogReport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк добавления статистики одного лога в отчет при разной кардинальности IP и ресурсов
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportBenchmark {
+
+    private static final String RESOURCE = "file:///benchmark.log";
+
+    @Param("100000")
+    private int lines;
+
+    @Param({"1000", "100000"})
+    private int ipCardinality;
+
+    @Param({"100", "100000"})
+    private int endpointCardinality;
+
+    private Log[] logs;
+    private LogReport report;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        logs = SyntheticLogs.generate(lines, ipCardinality, endpointCardinality, 1).stream()
+            .map(Log::parse)
+            .toArray(Log[]::new);
+    }
+
+    /**
+     * Новый отчет на каждую итерацию, чтобы размер статистики не рос бесконечно
+     */
+    @Setup(Level.Iteration)
+    public void newReport() {
+        report = new LogReport();
+    }
+
+    @Benchmark
+    public void addAllStats() {
+        if (++index == logs.length) {
+            index = 0;
+        }
+
+        report.addAllStats(logs[index], RESOURCE);
+    }
+}
@@ -0,0 +1,94 @@
+package backend.academy.log_analyzer.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Генератор синтетических логов формата NGINX для бенчмарков.
+ * Количество различных IP и ресурсов задается, чтобы проверять поведение статистики при разной кардинальности
+ */
+@UtilityClass
+class SyntheticLogs {
+
+    private static final DateTimeFormatter TIME_FORMATTER =
+        DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+    private static final LocalDateTime START = LocalDateTime.of(2015, 5, 17, 8, 5, 32);
+
+    private static final String[] METHODS = {"GET", "GET", "GET", "GET", "POST", "PUT", "DELETE", "HEAD"};
+    private static final int[] STATUSES = {200, 200, 200, 200, 200, 206, 301, 304, 304, 403, 404, 404, 500, 503};
+    private static final String[] AGENTS = {
+        "Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)",
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36",
+        "curl/7.64.1",
+        "Wget/1.13.4 (linux-gnu)"
+    };
+
+    /**
+     * Метод генерации строк лога
+     *
+     * @param lines количество строк
+     * @param ipCardinality количество различных IP
+     * @param endpointCardinality количество различных ресурсов
+     * @param seed зерно генератора (одинаковое зерно - одинаковые логи)
+     *
+     * @return строки лога в порядке времени
+     */
+    static List<String> generate(int lines, int ipCardinality, int endpointCardinality, long seed) {
+        Random random = new Random(seed);
+        List<String> result = new ArrayList<>(lines);
+        LocalDateTime time = START;
+
+        for (int i = 0; i < lines; i++) {
+            if (random.nextInt(4) == 0) {
+                time = time.plusSeconds(1);
+            }
+
+            int ip = random.nextInt(ipCardinality);
+            // Ресурсы распределены неравномерно: небольшая часть запрашивается чаще остальных
+            int endpoint = (int) (Math.pow(random.nextDouble(), 3) * endpointCardinality);
+            int status = STATUSES[random.nextInt(STATUSES.length)];
+            int bytes = status == 304 ? 0 : (int) Math.exp(random.nextDouble() * 14);
+
+            result.add("10." + (ip >>> 16 & 255) + '.' + (ip >>> 8 & 255) + '.' + (ip & 255)
+                + " - - [" + time.atOffset(ZoneOffset.UTC).format(TIME_FORMATTER) + "] \""
+                + METHODS[random.nextInt(METHODS.length)] + " /api/v1/resource/" + endpoint + " HTTP/1.1\" "
+                + status + ' ' + bytes + " \"-\" \"" + AGENTS[random.nextInt(AGENTS.length)] + '"');
+        }
+
+        return result;
+    }
+
+    /**
+     * Метод записи строк лога во временный файл. Файл удаляется при завершении JVM
+     *
+     * @param lines строки лога
+     *
+     * @return путь до файла
+     *
+     * @throws IOException если файл не удалось записать
+     */
+    static Path writeTempFile(List<String> lines) throws IOException {
+        Path file = Files.createTempFile("synthetic-nginx-", ".log");
+        file.toFile().deleteOnExit();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+
+        return file;
+    }
+}
@@ -0,0 +1,128 @@
+package backend.academy.log_analyzer.cache;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.parameter.CacheSettings;
+import backend.academy.log_analyzer.reader.FileChunk;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса LogColumnsCache")
+public class LogColumnsCacheTest {
+
+    private static final List<String> LINES = List.of(
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" "
+            + "\"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"",
+        "2001:db8::1 - admin [17/May/2015:08:05:33 +0300] \"POST /api/v1 HTTP/2.0\" 502 2147483647 "
+            + "\"http://example.com/\" \"Wget/1.13.4\"",
+        "010.1.2.3 - - [18/May/2015:00:00:00 +0000] \"GET /downloads/product_2 HTTP/1.1\" 200 490 \"-\" "
+            + "\"Wget/1.13.4\"",
+        "255.255.255.255 - - [18/May/2015:00:00:01 +0000] \"BROKEN\" 404 12 \"-\" \"curl/7.0\"",
+        "строка не в формате логов",
+        "0.0.0.0 - - [18/May/2015:00:00:02 +0000] \"GET /downloads/product_1 HTTP/1.1\" 200 1 \"-\" \"curl/7.0\""
+    );
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("Тест чтения из кэша тех же логов, что и из текста")
+    @Test
+    void testRoundTrip() throws IOException {
+        Path file = write("access.log", LINES);
+
+        assertThat(readAll(file, EnumSet.allOf(LogFields.class))).isEqualTo(parseAll(LINES, Log.ALL_FIELDS));
+        // Второй раз кэш открывается без разбора файла
+        assertThat(readAll(file, EnumSet.allOf(LogFields.class))).isEqualTo(parseAll(LINES, Log.ALL_FIELDS));
+
+        try (Stream<Path> files = Files.list(directory.resolve(LogColumnsCache.DEFAULT_DIRECTORY))) {
+            assertThat(files.filter(LogColumnsCache::isCacheFile).count()).isEqualTo(1);
+        }
+    }
+
+    @DisplayName("Тест заполнения только нужных полей")
+    @Test
+    void testFields() throws IOException {
+        Path file = write("access.log", LINES);
+        Set<LogFields> fields = EnumSet.of(LogFields.AGENT, LogFields.STATUS);
+
+        List<Log> logs = readAll(file, fields);
+
+        assertThat(logs).isEqualTo(parseAll(LINES, fields));
+        assertThat(logs).allSatisfy(log -> {
+            assertThat(log.ip()).isNull();
+            assertThat(log.time()).isNull();
+            assertThat(log.agent()).isNotNull();
+        });
+    }
+
+    @DisplayName("Тест создания кэша заново после изменения файла")
+    @Test
+    void testRebuild() throws IOException {
+        Path file = write("access.log", LINES.subList(0, 2));
+
+        assertThat(readAll(file, Log.ALL_FIELDS)).hasSize(2);
+
+        Files.write(file, LINES);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+
+        assertThat(readAll(file, Log.ALL_FIELDS)).isEqualTo(parseAll(LINES, Log.ALL_FIELDS));
+    }
+
+    @DisplayName("Тест создания кэша заново, если файл кэша поврежден")
+    @Test
+    void testCorrupted() throws IOException {
+        Path file = write("access.log", LINES);
+        Path cacheDirectory = directory.resolve("cache");
+        CacheSettings settings = new CacheSettings(true, cacheDirectory);
+
+        LogColumnsCache.open(file, settings, Log.ALL_FIELDS).orElseThrow().close();
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            Files.write(files.findFirst().orElseThrow(), new byte[] {1, 2, 3});
+        }
+
+        Optional<LogColumns> columns = LogColumnsCache.open(file, settings, Log.ALL_FIELDS);
+
+        assertThat(columns).isPresent();
+
+        try (LogColumns opened = columns.orElseThrow()) {
+            assertThat(opened.rows()).isEqualTo(5);
+        }
+    }
+
+    private Path write(String name, List<String> lines) throws IOException {
+        return Files.write(directory.resolve(name), lines);
+    }
+
+    private static List<Log> readAll(Path file, Set<LogFields> fields) throws IOException {
+        List<Log> logs = new ArrayList<>();
+
+        try (LogColumns columns = LogColumnsCache.open(file, new CacheSettings(true, null), fields).orElseThrow()) {
+            for (FileChunk block : columns.blocks()) {
+                columns.forEachLog(block, null, logs::add);
+            }
+        }
+
+        return logs;
+    }
+
+    private static List<Log> parseAll(List<String> lines, Set<LogFields> fields) {
+        return lines.stream()
+            .map(line -> Log.parse(line, fields))
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
@@ -0,0 +1,39 @@
+package backend.academy.log_analyzer.enums;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты перечисления CompressionFormats")
+public class CompressionFormatsTest {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] BGZF_HEADER =
+        {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0, 0x1b, 0};
+
+    @DisplayName("Тест определения формата сжатия по сигнатуре и имени файла")
+    @ParameterizedTest(name = "заголовок: {0}, имя файла: {1}, ожидаемый формат: {2}")
+    @MethodSource("provideDataToTestCompressionFormatsOf")
+    void testCompressionFormatsOf(byte[] header, String fileName, CompressionFormats expectedFormat) {
+        CompressionFormats actualFormat = CompressionFormats.of(header, header.length, fileName);
+
+        assertThat(actualFormat).isEqualTo(expectedFormat);
+    }
+
+    static Stream<Arguments> provideDataToTestCompressionFormatsOf() {
+        return Stream.of(
+            Arguments.of(GZIP_HEADER, "access.log", CompressionFormats.GZIP),
+            Arguments.of(BGZF_HEADER, "access.log.gz", CompressionFormats.BGZF),
+            Arguments.of("BZh91AY&SY".getBytes(StandardCharsets.US_ASCII), "access.log", CompressionFormats.BZIP2),
+            Arguments.of(new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0}, "logs", CompressionFormats.ZSTD),
+            Arguments.of("127.0.0.1 - -".getBytes(StandardCharsets.US_ASCII), "access.log.gz", CompressionFormats.NONE),
+            Arguments.of(new byte[0], "access.log.gz", CompressionFormats.GZIP),
+            Arguments.of(new byte[0], "access.log.ZST", CompressionFormats.ZSTD),
+            Arguments.of(new byte[0], "access.log", CompressionFormats.NONE)
+        );
+    }
+}
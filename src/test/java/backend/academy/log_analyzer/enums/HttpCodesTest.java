@@ -23,7 +23,12 @@ public class HttpCodesTest {
         return Stream.of(
             Arguments.of(200, HttpCodes.OK),
             Arguments.of(404, HttpCodes.NOT_FOUND),
-            Arguments.of(123, HttpCodes.UNKNOWN)
+            Arguments.of(123, HttpCodes.UNKNOWN),
+            Arguments.of(100, HttpCodes.CONTINUE),
+            Arguments.of(499, HttpCodes.CLIENT_CLOSED_REQUEST),
+            Arguments.of(599, HttpCodes.UNKNOWN),
+            Arguments.of(99, HttpCodes.UNKNOWN),
+            Arguments.of(1000, HttpCodes.UNKNOWN)
         );
     }
 }
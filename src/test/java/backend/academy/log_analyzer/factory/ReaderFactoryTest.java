@@ -2,9 +2,11 @@ package backend.academy.log_analyzer.factory;
 
 import com.beust.jcommander.ParameterException;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -12,6 +14,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -129,6 +132,30 @@ public class ReaderFactoryTest {
         assertThat(actualUris).hasSize(expectedUris.size()).containsAll(expectedUris);
     }
 
+    @DisplayName("Тест прозрачной распаковки файла gzip из нескольких членов")
+    @Test
+    void testCreateReaderForGzipFile() throws IOException {
+        Path source = tempDir.resolve("logsDir/logs/some-logs/05-2023.txt");
+        Path compressed = tempDir.resolve("logsDir/05-2023.txt.gz");
+        List<String> expectedLines = Files.readAllLines(source, StandardCharsets.UTF_8);
+        int middle = expectedLines.size() / 2;
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        for (List<String> member : List.of(expectedLines.subList(0, middle),
+            expectedLines.subList(middle, expectedLines.size()))) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+                gzip.write((String.join("\n", member) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        Files.write(compressed, output.toByteArray());
+
+        actualReaders = ReaderFactory.createReaders(List.of(compressed.toUri()));
+
+        assertThat(actualReaders.keySet().iterator().next().lines()).containsExactlyElementsOf(expectedLines);
+    }
+
     @DisplayName("Тест выброса исключения, если подан неизвестный ресурс")
     @Test
     void shouldTrowExceptionBecauseUnknownType() throws URISyntaxException {
@@ -0,0 +1,32 @@
+package backend.academy.log_analyzer.log;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса AnalysisPool")
+public class AnalysisPoolTest {
+
+    @DisplayName("Тест выполнения всех задач анализа в одном пуле")
+    @Test
+    void testSamePoolForAllTasks() throws ExecutionException, InterruptedException {
+        Callable<ForkJoinPool> currentPool = ForkJoinTask::getPool;
+        ForkJoinPool first;
+        ForkJoinPool second;
+        ForkJoinPool submitted;
+
+        try (AnalysisPool pool = new AnalysisPool(2)) {
+            first = pool.invoke(ForkJoinTask.adapt(currentPool));
+            second = pool.invoke(ForkJoinTask.adapt(currentPool));
+            submitted = pool.submit(currentPool).get();
+        }
+
+        assertThat(first).isNotNull().isSameAs(second).isSameAs(submitted);
+        assertThat(first.getParallelism()).isEqualTo(2);
+        assertThat(first.isTerminated()).isTrue();
+    }
+}
@@ -1,9 +1,16 @@
 package backend.academy.log_analyzer.log;
 
+import backend.academy.log_analyzer.enums.ExecutionModes;
+import backend.academy.log_analyzer.enums.OutputFormats;
 import backend.academy.log_analyzer.maper.ReportMapper;
 import backend.academy.log_analyzer.matcher.LogMatcherDate;
 import backend.academy.log_analyzer.matcher.LogMatcherFilter;
+import backend.academy.log_analyzer.matcher.WhereFilter;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ExecutionSettings;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import backend.academy.log_analyzer.reader.LazyInputStream;
 import com.beust.jcommander.ParameterException;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
@@ -18,8 +25,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -40,6 +50,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
@@ -130,7 +141,7 @@ public class LogAnalyzerTest {
         lenient().when(reportMapper.mapLogToOutputFormat(logReport, parameters)).thenReturn("Test Report");
 
         try (MockedStatic<Log> mockedLog = mockStatic(Log.class)) {
-            mockedLog.when(() -> Log.parse(anyString())).thenReturn(new Log(
+            mockedLog.when(() -> Log.parse(anyString(), any(), any())).thenReturn(new Log(
                 "entry",
                 "description",
                 LocalDateTime.now(),
@@ -148,6 +159,148 @@ public class LogAnalyzerTest {
         }
     }
 
+    @DisplayName("Тест параллельного чтения логов из файлов")
+    @Test
+    void testAnalyzeLogsFromFilesInParallel() throws IOException {
+        Path file1 = tempDir.resolve("logsDir/logs/some-logs/2024/05");
+        Path file2 = tempDir.resolve("logsDir/logs/some-logs/05-2023.txt");
+
+        readers.put(new BufferedReader(new FileReader(file1.toFile(), StandardCharsets.UTF_8)), file1.toUri());
+        readers.put(new BufferedReader(new FileReader(file2.toFile(), StandardCharsets.UTF_8)), file2.toUri());
+
+        LogReport report = new LogReport();
+        logAnalyzer = new LogAnalyzer(logMatcherDate, logMatcherFilter, reportMapper, report, readers);
+
+        lenient().when(parameters.threads()).thenReturn(2);
+        // Без --from и --to время не разбирается, поэтому в проверку даты приходит null
+        lenient().when(logMatcherDate.isLogMatch(nullable(LocalDateTime.class), eq(parameters))).thenReturn(true);
+        lenient().when(logMatcherFilter.isLogMatchByFilter(any(Log.class), eq(parameters))).thenReturn(true);
+        lenient().when(reportMapper.mapLogToOutputFormat(report, parameters)).thenReturn("Test Report");
+
+        String result = logAnalyzer.analyzeLogs(parameters);
+
+        assertThat(result).isEqualTo("Test Report");
+        assertThat(report.getTotalCountRequests()).isEqualTo(22);
+        assertThat(report.resources()).containsExactlyInAnyOrder(file1.toUri().toString(), file2.toUri().toString());
+    }
+
+    @DisplayName("Тест чтения логов на виртуальных потоках с пропуском ресурса, который не удалось прочитать")
+    @Test
+    void testAnalyzeLogsWithVirtualThreadsSkipsFailedSource() throws IOException {
+        Path file1 = tempDir.resolve("logsDir/logs/some-logs/2024/05");
+        Path file2 = tempDir.resolve("logsDir/logs/some-logs/05-2023.txt");
+        URI failedUri = URI.create("http://localhost/unavailable-logs");
+
+        readers.put(new BufferedReader(new FileReader(file1.toFile(), StandardCharsets.UTF_8)), file1.toUri());
+        readers.put(new BufferedReader(new FileReader(file2.toFile(), StandardCharsets.UTF_8)), file2.toUri());
+        readers.put(new BufferedReader(new InputStreamReader(new LazyInputStream(() -> {
+            throw new IOException("URL недоступна");
+        }), StandardCharsets.UTF_8)), failedUri);
+
+        LogReport report = new LogReport();
+        logAnalyzer = new LogAnalyzer(logMatcherDate, logMatcherFilter, reportMapper, report, readers);
+
+        lenient().when(parameters.threads()).thenReturn(2);
+        lenient().when(parameters.execution()).thenReturn(new ExecutionSettings(ExecutionModes.VIRTUAL_THREADS, 1));
+        lenient().when(logMatcherDate.isLogMatch(nullable(LocalDateTime.class), eq(parameters))).thenReturn(true);
+        lenient().when(logMatcherFilter.isLogMatchByFilter(any(Log.class), eq(parameters))).thenReturn(true);
+        lenient().when(reportMapper.mapLogToOutputFormat(report, parameters)).thenReturn("Test Report");
+
+        String result = logAnalyzer.analyzeLogs(parameters);
+
+        assertThat(result).isEqualTo("Test Report");
+        assertThat(report.getTotalCountRequests()).isEqualTo(22);
+        assertThat(report.resources()).containsExactlyInAnyOrder(file1.toUri().toString(), file2.toUri().toString());
+    }
+
+    @DisplayName("Тест анализа на виртуальных потоках с ресурсом, чтение которого упало в середине")
+    @Test
+    void testAnalyzeLogsWithVirtualThreadsSkipsPartiallyReadSource() throws IOException {
+        Path file = tempDir.resolve("logsDir/logs/some-logs/2024/05");
+        Path failingFile = tempDir.resolve("partial/access.log");
+        String line = Files.readAllLines(file).getFirst();
+
+        Files.createDirectories(failingFile.getParent());
+        Files.write(failingFile, Collections.nCopies(3000, line));
+
+        readers.put(new BufferedReader(new FileReader(file.toFile(), StandardCharsets.UTF_8)), file.toUri());
+        // Ошибка после нескольких полных пачек строк, которые уже переданы на сбор статистики
+        readers.put(new BufferedReader(new FileReader(failingFile.toFile(), StandardCharsets.UTF_8)) {
+            private int readLines;
+
+            @Override
+            public String readLine() throws IOException {
+                if (++readLines > 2500) {
+                    throw new IOException("Соединение разорвано");
+                }
+
+                return super.readLine();
+            }
+        }, failingFile.toUri());
+
+        LogReport report = new LogReport();
+        logAnalyzer = new LogAnalyzer(logMatcherDate, logMatcherFilter, reportMapper, report, readers);
+
+        lenient().when(parameters.threads()).thenReturn(2);
+        lenient().when(parameters.execution()).thenReturn(new ExecutionSettings(ExecutionModes.VIRTUAL_THREADS, 2));
+        lenient().when(logMatcherDate.isLogMatch(nullable(LocalDateTime.class), eq(parameters))).thenReturn(true);
+        lenient().when(logMatcherFilter.isLogMatchByFilter(any(Log.class), eq(parameters))).thenReturn(true);
+        lenient().when(reportMapper.mapLogToOutputFormat(report, parameters)).thenReturn("Test Report");
+
+        logAnalyzer.analyzeLogs(parameters);
+
+        assertThat(report.getTotalCountRequests()).isEqualTo(14);
+        assertThat(report.resources()).containsExactly(file.toUri().toString());
+    }
+
+    @DisplayName("Тест инкрементального анализа дописанного и замененного файла")
+    @Test
+    void testAnalyzeLogsIncrementally() throws IOException {
+        Path logFile = tempDir.resolve("incremental/access.log");
+        Path stateFile = tempDir.resolve("incremental/access.state");
+        List<String> firstLines = Files.readAllLines(tempDir.resolve("logsDir/logs/some-logs/2024/05"));
+        List<String> secondLines = Files.readAllLines(tempDir.resolve("logsDir/logs/some-logs/05-2023.txt"));
+
+        Files.createDirectories(logFile.getParent());
+        // Последняя строка еще дописывается, поэтому в первый запуск не попадает
+        Files.writeString(logFile, String.join("\n", firstLines));
+
+        lenient().when(parameters.stateFile()).thenReturn(stateFile.toFile());
+        lenient().when(parameters.reportSettings()).thenReturn(ReportSettings.DEFAULT);
+        lenient().when(logMatcherDate.isLogMatch(nullable(LocalDateTime.class), eq(parameters))).thenReturn(true);
+        lenient().when(logMatcherFilter.isLogMatchByFilter(any(Log.class), eq(parameters))).thenReturn(true);
+
+        assertThat(analyzeIncrementally(logFile).getTotalCountRequests()).isEqualTo(13);
+
+        Files.writeString(logFile, "\n" + String.join("\n", secondLines) + "\n", StandardOpenOption.APPEND);
+
+        assertThat(analyzeIncrementally(logFile).getTotalCountRequests()).isEqualTo(22);
+        assertThat(analyzeIncrementally(logFile).getTotalCountRequests()).isEqualTo(22);
+
+        // Ротация: старый файл переименован, на его месте новый
+        Path rotatedFile = tempDir.resolve("incremental/access.log.1");
+        Files.move(logFile, rotatedFile);
+        Files.writeString(logFile, String.join("\n", secondLines) + "\n");
+
+        assertThat(analyzeIncrementally(logFile).getTotalCountRequests()).isEqualTo(30);
+
+        // Усечение: файл перезаписан более коротким содержимым
+        Files.writeString(logFile, secondLines.getFirst() + "\n");
+
+        assertThat(analyzeIncrementally(logFile).getTotalCountRequests()).isEqualTo(31);
+    }
+
+    private LogReport analyzeIncrementally(Path logFile) throws IOException {
+        readers.put(new BufferedReader(new FileReader(logFile.toFile(), StandardCharsets.UTF_8)), logFile.toUri());
+
+        LogReport report = new LogReport();
+        logAnalyzer = new LogAnalyzer(logMatcherDate, logMatcherFilter, reportMapper, report, readers);
+        logAnalyzer.analyzeLogs(parameters);
+        readers.clear();
+
+        return report;
+    }
+
     @DisplayName("Тест чтения логов из файла, если не подошел ни один лог")
     @Test
     void testAnalyzeLogsFromFilesIfNoMatchLogs() throws IOException {
@@ -168,7 +321,7 @@ public class LogAnalyzerTest {
         lenient().when(logMatcherFilter.isLogMatchByFilter(any(Log.class), eq(parameters))).thenReturn(false);
 
         try (MockedStatic<Log> mockedLog = mockStatic(Log.class)) {
-            mockedLog.when(() -> Log.parse(anyString())).thenReturn(new Log(
+            mockedLog.when(() -> Log.parse(anyString(), any(), any())).thenReturn(new Log(
                 "ip",
                 "user",
                 LocalDateTime.now(),
@@ -213,7 +366,7 @@ public class LogAnalyzerTest {
         lenient().when(reportMapper.mapLogToOutputFormat(logReport, parameters)).thenReturn("Test Report");
 
         try (MockedStatic<Log> mockedLog = mockStatic(Log.class)) {
-            mockedLog.when(() -> Log.parse(anyString())).thenReturn(new Log(
+            mockedLog.when(() -> Log.parse(anyString(), any(), any())).thenReturn(new Log(
                 "ip",
                 "user",
                 LocalDateTime.now(),
@@ -258,7 +411,7 @@ public class LogAnalyzerTest {
         lenient().when(logMatcherFilter.isLogMatchByFilter(any(Log.class), eq(parameters))).thenReturn(false);
 
         try (MockedStatic<Log> mockedLog = mockStatic(Log.class)) {
-            mockedLog.when(() -> Log.parse(anyString())).thenReturn(new Log(
+            mockedLog.when(() -> Log.parse(anyString(), any(), any())).thenReturn(new Log(
                 "ip",
                 "user",
                 LocalDateTime.now(),
@@ -280,4 +433,37 @@ public class LogAnalyzerTest {
         wireMockServer.stop();
     }
 
+    @DisplayName("Тест построения нескольких отчетов за один проход")
+    @Test
+    void testAnalyzeReports() throws IOException {
+        Path file1 = tempDir.resolve("logsDir/logs/some-logs/2024/05");
+        Path file2 = tempDir.resolve("logsDir/logs/some-logs/05-2023.txt");
+
+        readers.put(new BufferedReader(new FileReader(file1.toFile(), StandardCharsets.UTF_8)), file1.toUri());
+        readers.put(new BufferedReader(new FileReader(file2.toFile(), StandardCharsets.UTF_8)), file2.toUri());
+
+        ArgsParameters base = new ArgsParameters(
+            List.of(file1.toUri(), file2.toUri()), false, null, null, null, OutputFormats.TEXT, "", "");
+        List<ReportDefinition> reports = List.of(
+            new ReportDefinition("all", base),
+            new ReportDefinition("not-found", new ArgsParameters(
+                base.path(), false, null, null, null, OutputFormats.MARKDOWN, "status", "404")),
+            new ReportDefinition("server-errors", base.withWhere(WhereFilter.compile("status>=500")))
+        );
+        ArgsParameters reportsParameters = base.withThreads(2).withReports(reports);
+
+        LogMatcherDate matcherDate = new LogMatcherDate();
+        LogMatcherFilter matcherFilter = new LogMatcherFilter();
+        LogReportFanOut fanOut = new LogReportFanOut(ReportSettings.DEFAULT, reports, matcherDate, matcherFilter);
+        logAnalyzer = new LogAnalyzer(matcherDate, matcherFilter, reportMapper, fanOut, readers);
+
+        Map<ReportDefinition, String> result = logAnalyzer.analyzeReports(reportsParameters);
+
+        assertThat(result).containsOnlyKeys(reports);
+        assertThat(result.get(reports.get(1))).contains("| 404 | Not Found | 9 |");
+        assertThat(fanOut.getTotalCountRequests()).isEqualTo(22);
+        assertThat(fanOut.reports())
+            .extracting(LogReport::getTotalCountRequests)
+            .containsExactly(22L, 9L, 1L);
+    }
 }
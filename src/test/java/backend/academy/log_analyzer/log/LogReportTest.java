@@ -1,11 +1,20 @@
 package backend.academy.log_analyzer.log;
 
 import backend.academy.log_analyzer.enums.HttpCodes;
+import backend.academy.log_analyzer.enums.TimeBuckets;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("Тесты класса LogReport")
@@ -37,14 +46,14 @@ public class LogReportTest {
         assertThat(popularResources.getLast().getKey()).isEqualTo("/api/resource/edit");
         assertThat(popularResources.getLast().getValue()).isEqualTo(1L);
 
-        List<Map.Entry<HttpCodes, Long>> popularCodes = report.getPopularCodeResponses();
+        List<Map.Entry<Integer, Long>> popularCodes = report.getPopularCodeResponses();
 
         assertThat(popularCodes.size()).isEqualTo(3);
-        assertThat(popularCodes.getFirst().getKey()).isEqualTo(HttpCodes.OK);
+        assertThat(popularCodes.getFirst().getKey()).isEqualTo(200);
         assertThat(popularCodes.getFirst().getValue()).isEqualTo(3L);
-        assertThat(popularCodes.get(1).getKey()).isEqualTo(HttpCodes.NOT_MODIFIED);
+        assertThat(popularCodes.get(1).getKey()).isEqualTo(304);
         assertThat(popularCodes.get(1).getValue()).isEqualTo(2L);
-        assertThat(popularCodes.getLast().getKey()).isEqualTo(HttpCodes.CREATED);
+        assertThat(popularCodes.getLast().getKey()).isEqualTo(201);
         assertThat(popularCodes.getLast().getValue()).isEqualTo(1L);
 
         assertThat(report.getAverageBytesSize()).isEqualTo(742L);
@@ -60,6 +69,114 @@ public class LogReportTest {
         assertThat(report.resources()).containsExactly("file1");
     }
 
+    @DisplayName("Тест слияния статистики отчетов")
+    @Test
+    void testMergeReports() {
+        List<Log> logs = createLogs();
+
+        LogReport fullReport = new LogReport();
+        LogReport report = new LogReport();
+        LogReport firstShard = report.newShard();
+        LogReport secondShard = report.newShard();
+
+        for (int i = 0; i < logs.size(); i++) {
+            fullReport.addAllStats(logs.get(i), "file1");
+            (i < logs.size() / 2 ? firstShard : secondShard).addAllStats(logs.get(i), i < 3 ? "file1" : "file2");
+        }
+
+        report.merge(firstShard);
+        report.merge(secondShard);
+
+        assertThat(report.getTotalCountRequests()).isEqualTo(fullReport.getTotalCountRequests());
+        assertThat(report.getUniqueUsersCount()).isEqualTo(fullReport.getUniqueUsersCount());
+        assertThat(report.getPopularResources()).isEqualTo(fullReport.getPopularResources());
+        assertThat(report.getPopularCodeResponses()).isEqualTo(fullReport.getPopularCodeResponses());
+        assertThat(report.getAverageBytesSize()).isEqualTo(fullReport.getAverageBytesSize());
+        assertThat(report.get95thPercentile()).isEqualTo(fullReport.get95thPercentile());
+        assertThat(report.getPercentOfCodeResponsesByType()).isEqualTo(fullReport.getPercentOfCodeResponsesByType());
+        assertThat(report.resources()).containsExactlyInAnyOrder("file1", "file2");
+    }
+
+    @DisplayName("Тест оценки количества уникальных пользователей после превышения предела")
+    @Test
+    void testEstimatedUniqueUsers() {
+        LogReport report = new LogReport(new ReportSettings(5, 14,
+            ReportSettings.DEFAULT_TOP_SIZE, ReportSettings.DEFAULT_TOP_RESOURCES_CAPACITY));
+        LogReport shard = report.newShard();
+
+        for (Log log : createLogs()) {
+            shard.addAllStats(log, "file1");
+        }
+
+        report.merge(shard);
+
+        assertThat(report.isUniqueUsersCountEstimated()).isTrue();
+        assertThat(report.getUniqueUsersCount()).isEqualTo(10);
+    }
+
+    @DisplayName("Тест подсчета нестандартных кодов ответа")
+    @Test
+    void testNonStandardCodeResponses() {
+        LogReport report = new LogReport(new ReportSettings(ReportSettings.DEFAULT_UNIQUE_USERS_EXACT_LIMIT,
+            ReportSettings.DEFAULT_HLL_PRECISION, 10, ReportSettings.DEFAULT_TOP_RESOURCES_CAPACITY));
+
+        for (int status : new int[] {499, 299, 499, 444, 1500, 599, -1, 200, 499}) {
+            report.addAllStats(new Log("10.0.0.1", "-", null,
+                new Log.Request("GET", "/", "HTTP/1.1"), status, 0, "-", "-"), "file1");
+        }
+
+        // Коды вне 0..999 считаются вместе под кодом UNKNOWN, остальные - каждый отдельно
+        assertThat(report.getPopularCodeResponses()).containsExactly(
+            Map.entry(499, 3L),
+            Map.entry(HttpCodes.UNKNOWN.code(), 2L),
+            Map.entry(200, 1L),
+            Map.entry(299, 1L),
+            Map.entry(444, 1L),
+            Map.entry(599, 1L)
+        );
+        assertThat(report.getPercentOfCodeResponsesByType())
+            .containsEntry(200, 2.0 / 9 * 100)
+            .containsEntry(400, 4.0 / 9 * 100)
+            .containsEntry(500, 1.0 / 9 * 100);
+    }
+
+    @DisplayName("Тест записи и чтения накопленной статистики")
+    @ParameterizedTest(name = "предел точного счета уникальных пользователей = {0}")
+    @ValueSource(ints = {Integer.MAX_VALUE, 5})
+    void testWriteAndReadReport(int uniqueExactLimit) throws IOException {
+        ReportSettings settings = new ReportSettings(uniqueExactLimit, 14,
+            ReportSettings.DEFAULT_TOP_SIZE, ReportSettings.DEFAULT_TOP_RESOURCES_CAPACITY, TimeBuckets.HOUR, 24);
+        LogReport report = new LogReport(settings);
+        List<Log> logs = createLogs();
+
+        for (int i = 0; i < logs.size(); i++) {
+            report.addAllStats(logs.get(i), i < 3 ? "file1" : "file2");
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            report.writeTo(output);
+        }
+
+        LogReport restoredReport = LogReport.readFrom(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), settings);
+
+        assertThat(restoredReport.getTotalCountRequests()).isEqualTo(report.getTotalCountRequests());
+        assertThat(restoredReport.getUniqueUsersCount()).isEqualTo(report.getUniqueUsersCount());
+        assertThat(restoredReport.isUniqueUsersCountEstimated()).isEqualTo(report.isUniqueUsersCountEstimated());
+        assertThat(restoredReport.getPopularResources()).isEqualTo(report.getPopularResources());
+        assertThat(restoredReport.getPopularCodeResponses()).isEqualTo(report.getPopularCodeResponses());
+        assertThat(restoredReport.getAverageBytesSize()).isEqualTo(report.getAverageBytesSize());
+        assertThat(restoredReport.get95thPercentile()).isEqualTo(report.get95thPercentile());
+        assertThat(restoredReport.getPercentOfCodeResponsesByType())
+            .isEqualTo(report.getPercentOfCodeResponsesByType());
+        assertThat(restoredReport.resources()).containsExactlyInAnyOrder("file1", "file2");
+        assertThat(restoredReport.getTimeSeriesDropped()).isEqualTo(report.getTimeSeriesDropped());
+        assertThat(restoredReport.getTimeSeries()).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(report.getTimeSeries());
+    }
+
     private List<Log> createLogs() {
         return List.of(
                 new Log("93.180.71.3", "-", LocalDateTime.of(2015, 5, 17, 8, 5, 32),
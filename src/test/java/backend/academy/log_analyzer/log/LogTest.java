@@ -1,6 +1,8 @@
 package backend.academy.log_analyzer.log;
 
+import backend.academy.log_analyzer.enums.LogFields;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -73,4 +75,44 @@ public class LogTest {
 
         assertThat(log).isNull();
     }
+
+    @DisplayName("Тест парсинга только нужных полей лога")
+    @Test
+    void testParseLogOnlyRequiredFields() {
+        String logLine = "148.251.112.153 - - [17/May/2015:23:05:12 +0000] \"GET /downloads/product_2 HTTP/1.1\" "
+            + "404 333 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.17)\"";
+
+        Log log = Log.parse(logLine, EnumSet.of(LogFields.IP, LogFields.ENDPOINT, LogFields.STATUS));
+
+        assertThat(log).isEqualTo(new Log(
+            "148.251.112.153",
+            null,
+            null,
+            new Log.Request(null, "/downloads/product_2", null),
+            404,
+            333,
+            null,
+            null
+        ));
+    }
+
+    @DisplayName("Тест парсинга строк с нарушенной структурой")
+    @ParameterizedTest(name = "строка лога = {0}")
+    @MethodSource("provideDataTestParseBrokenLog")
+    void testParseBrokenLog(String logLine) {
+        Log log = Log.parse(logLine);
+
+        assertThat(log).isNull();
+    }
+
+    static Stream<String> provideDataTestParseBrokenLog() {
+        return Stream.of(
+            "148.251.112.153 - - [17/May/2015:23:05:12 +0000] \"GET / HTTP/1.1\" 40 333 \"-\" \"agent\"",
+            "148.251.112.153 - - [17/May/2015:23:05:12 +0000] \"GET / HTTP/1.1\" 404 \"-\" \"agent\"",
+            "148.251.112.153 - - [17/May/2015:23:05:12 +0000] \"GET / HTTP/1.1\" 404 99999999999 \"-\" \"agent\"",
+            "148.251.112.153 - - [17/May/2015:23:05:12 +0000] \"GET / HTTP/1.1\" 404 333 \"-\" \"agent",
+            "148.251.112.153 - - 17/May/2015:23:05:12 +0000 \"GET / HTTP/1.1\" 404 333 \"-\" \"agent\"",
+            ""
+        );
+    }
 }
@@ -0,0 +1,111 @@
+package backend.academy.log_analyzer.log;
+
+import backend.academy.log_analyzer.reader.FileChunk;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса LogTimeSeeker")
+public class LogTimeSeekerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2015, 5, 1, 0, 0);
+    private static final DateTimeFormatter FORMATTER =
+        DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss", Locale.ENGLISH);
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Тест поиска части файла с логами из промежутка времени")
+    @Test
+    void testFindRange() throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        // По логу в минуту за двое суток, некоторые строки не соответствуют формату
+        for (int minute = 0; minute < 2 * 24 * 60; minute++) {
+            lines.add(minute % 100 == 0 ? "not a log line" : createLine(START.plusMinutes(minute)));
+        }
+
+        Path file = writeLines(lines);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            String slice = read(channel, LogTimeSeeker.findRange(channel,
+                epochSecond(START.plusMinutes(605)), epochSecond(START.plusMinutes(665))));
+
+            assertThat(slice).startsWith(createLine(START.plusMinutes(605)));
+            assertThat(slice).endsWith(createLine(START.plusMinutes(665)) + "\n");
+
+            FileChunk tail = LogTimeSeeker.findRange(channel,
+                epochSecond(START.plusHours(47)), LogTimeSeeker.UNBOUNDED_TO);
+
+            assertThat(tail.end()).isEqualTo(channel.size());
+            assertThat(read(channel, tail)).startsWith(createLine(START.plusHours(47)));
+
+            FileChunk head = LogTimeSeeker.findRange(channel,
+                LogTimeSeeker.UNBOUNDED_FROM, epochSecond(START.minusHours(1)));
+
+            assertThat(head.start()).isZero();
+            assertThat(read(channel, head)).isEmpty();
+        }
+    }
+
+    @DisplayName("Тест поиска, когда логи записаны не по порядку")
+    @Test
+    void testFindRangeWithOutOfOrderLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        for (int minute = 0; minute < 600; minute++) {
+            // Каждый второй лог записан на две минуты позже своего времени
+            int shift = minute % 2 == 0 ? 0 : -2;
+
+            lines.add(createLine(START.plusMinutes(minute + shift)));
+        }
+
+        Path file = writeLines(lines);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            long slack = 3 * 60;
+            String slice = read(channel, LogTimeSeeker.findRange(channel,
+                epochSecond(START.plusMinutes(300)) - slack, epochSecond(START.plusMinutes(310)) + slack));
+
+            for (int minute = 300; minute <= 310; minute++) {
+                assertThat(slice).contains(createLine(START.plusMinutes(minute)));
+            }
+        }
+    }
+
+    private String createLine(LocalDateTime time) {
+        return "93.180.71.3 - - [" + FORMATTER.format(time) + " +0000] \"GET /downloads/product_1 HTTP/1.1\" "
+            + "304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"";
+    }
+
+    private Path writeLines(List<String> lines) throws IOException {
+        Path file = tempDir.resolve("access.log");
+        Files.writeString(file, String.join("\n", lines) + "\n");
+
+        return file;
+    }
+
+    private long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private String read(FileChannel channel, FileChunk range) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) range.length());
+        channel.read(buffer, range.start());
+
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+}
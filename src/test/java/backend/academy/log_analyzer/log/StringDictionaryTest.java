@@ -0,0 +1,67 @@
+package backend.academy.log_analyzer.log;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса StringDictionary")
+public class StringDictionaryTest {
+
+    @DisplayName("Тест получения одной строки для повторяющегося значения")
+    @Test
+    void testRepeatedValue() {
+        StringDictionary dictionary = new StringDictionary(16, 64);
+        StringBuilder line = new StringBuilder("GET /index.html HTTP/1.1");
+
+        String first = dictionary.get(line, 0, 3);
+
+        line.replace(0, line.length(), "POST /GET HTTP/1.1");
+        String second = dictionary.get(line, 6, 9);
+
+        assertThat(first).isEqualTo("GET");
+        assertThat(second).isSameAs(first);
+        assertThat(dictionary.get(line, 0, 4)).isEqualTo("POST");
+    }
+
+    @DisplayName("Тест разных значений с одинаковым хешем")
+    @Test
+    void testHashCollision() {
+        StringDictionary dictionary = new StringDictionary(16, 64);
+
+        // У строк "Aa" и "BB" одинаковый хеш
+        String first = dictionary.get("Aa", 0, 2);
+        String second = dictionary.get("BB", 0, 2);
+
+        assertThat(first).isEqualTo("Aa");
+        assertThat(second).isEqualTo("BB");
+        assertThat(dictionary.get("Aa", 0, 2)).isEqualTo("Aa");
+    }
+
+    @DisplayName("Тест строк длиннее предела")
+    @Test
+    void testLongValue() {
+        StringDictionary dictionary = new StringDictionary(16, 4);
+        StringBuilder agent = new StringBuilder("Mozilla/5.0");
+
+        String first = dictionary.get(agent, 0, 11);
+        String second = dictionary.get(agent, 0, 11);
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @DisplayName("Тест получения одних строк при разборе повторяющихся логов")
+    @Test
+    void testParse() {
+        Log first = Log.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" "
+            + "304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"");
+        Log second = Log.parse("80.91.33.133 - - [17/May/2015:08:05:24 +0000] \"GET /downloads/product_1 HTTP/1.1\" "
+            + "304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.17)\"");
+
+        assertThat(second.request().method()).isSameAs(first.request().method());
+        assertThat(second.request().endpoint()).isSameAs(first.request().endpoint());
+        assertThat(second.request().version()).isSameAs(first.request().version());
+        assertThat(second.user()).isSameAs(first.user());
+        assertThat(second.referer()).isSameAs(first.referer());
+        assertThat(second.agent()).isNotEqualTo(first.agent());
+    }
+}
@@ -0,0 +1,61 @@
+package backend.academy.log_analyzer.log;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса TimeLocalDecoder")
+public class TimeLocalDecoderTest {
+
+    TimeLocalDecoder decoder = new TimeLocalDecoder();
+
+    @DisplayName("Тест декодирования времени")
+    @ParameterizedTest(name = "время = {0}, ожидаемое время: {1}")
+    @MethodSource("provideDataTestDecode")
+    void testDecode(String timeLocal, LocalDateTime expectedTime) {
+        long epochSecond = decoder.decodeEpochSecond(timeLocal, 0, timeLocal.length());
+        LocalDateTime time = decoder.decodeLocalDateTime(timeLocal, 0, timeLocal.length());
+
+        assertThat(epochSecond).isEqualTo(expectedTime.toEpochSecond(ZoneOffset.UTC));
+        assertThat(time).isEqualTo(expectedTime);
+    }
+
+    static Stream<Arguments> provideDataTestDecode() {
+        return Stream.of(
+            Arguments.of("17/May/2015:08:05:32 +0000", LocalDateTime.of(2015, 5, 17, 8, 5, 32)),
+            Arguments.of("01/Jan/1970:00:00:00 +0300", LocalDateTime.of(1970, 1, 1, 0, 0, 0)),
+            Arguments.of("29/Feb/2024:23:59:59 -1130", LocalDateTime.of(2024, 2, 29, 23, 59, 59)),
+            Arguments.of("31/Dec/1969:12:00:00 +0000", LocalDateTime.of(1969, 12, 31, 12, 0, 0)),
+            Arguments.of("31/Feb/2015:10:00:00 +0000", LocalDateTime.of(2015, 2, 28, 10, 0, 0))
+        );
+    }
+
+    @DisplayName("Тест переиспользования времени для строк с одинаковой секундой")
+    @Test
+    void testDecodeSameSecond() {
+        String first = "17/May/2015:08:05:32 +0000";
+        String second = "17/May/2015:08:05:32 +0200";
+
+        LocalDateTime firstTime = decoder.decodeLocalDateTime(first, 0, first.length());
+        LocalDateTime secondTime = decoder.decodeLocalDateTime(second, 0, second.length());
+
+        assertThat(secondTime).isSameAs(firstTime);
+    }
+
+    @DisplayName("Тест декодирования времени в неверном формате")
+    @ParameterizedTest(name = "время = {0}")
+    @ValueSource(strings = {"17/May/2015:08:05:32 +2500", "07/Sep/2015:1:10:00 +0000"})
+    void testDecodeInvalidTime(String timeLocal) {
+        assertThatThrownBy(() -> decoder.decodeEpochSecond(timeLocal, 0, timeLocal.length()))
+            .isInstanceOf(DateTimeParseException.class);
+    }
+}
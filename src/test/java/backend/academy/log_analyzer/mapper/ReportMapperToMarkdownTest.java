@@ -1,6 +1,5 @@
 package backend.academy.log_analyzer.mapper;
 
-import backend.academy.log_analyzer.enums.HttpCodes;
 import backend.academy.log_analyzer.log.LogReport;
 import backend.academy.log_analyzer.maper.impl.ReportMapperToMarkdown;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
@@ -59,7 +58,11 @@ public class ReportMapperToMarkdownTest {
             |   Значение поля       |           GET |
             |  Количество запросов  |       205729 |
             | Средний размер ответа |         659891b |
+            |   50p размера ответа  |         512b |
+            |   90p размера ответа  |         1024b |
             |   95p размера ответа  |         1768b |
+            |   99p размера ответа  |         2048b |
+            |  99.9p размера ответа |         4096b |
             ### Часто запрашиваемые ресурсы (ТОП-3)
             |     Ресурс      | Количество |
             |:---------------:|-----------:|
@@ -102,16 +105,21 @@ public class ReportMapperToMarkdownTest {
 
         when(logReport.getTotalCountRequests()).thenReturn(205729L);
         when(logReport.getAverageBytesSize()).thenReturn(659891L);
+        when(logReport.getPercentile(0.5)).thenReturn(512L);
+        when(logReport.getPercentile(0.9)).thenReturn(1024L);
         when(logReport.get95thPercentile()).thenReturn(1768L);
+        when(logReport.getPercentile(0.99)).thenReturn(2048L);
+        when(logReport.getPercentile(0.999)).thenReturn(4096L);
+        when(logReport.getTopSize()).thenReturn(3);
         when(logReport.getPopularResources()).thenReturn(List.of(
             Map.entry("/downloads/product_1", 121211L),
             Map.entry("/downloads/product_2", 84226L),
             Map.entry("/downloads/product_3", 292L)
         ));
         when(logReport.getPopularCodeResponses()).thenReturn(List.of(
-            Map.entry(HttpCodes.of(404), 135634L),
-            Map.entry(HttpCodes.of(304), 53393L),
-            Map.entry(HttpCodes.of(200), 15942L)
+            Map.entry(404, 135634L),
+            Map.entry(304, 53393L),
+            Map.entry(200, 15942L)
         ));
         when(logReport.getPercentOfCodeResponsesByType()).thenReturn(Map.of(
             400, 65.0,
@@ -0,0 +1,104 @@
+package backend.academy.log_analyzer.mathcer;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogLineScanner;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import com.beust.jcommander.ParameterException;
+import java.util.EnumSet;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса LogFilter")
+public class LogFilterTest {
+
+    private static final String[] LINES = {
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" "
+            + "\"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"",
+        "80.91.33.133 - bob [17/May/2015:08:05:24 +0000] \"HEAD /downloads/product_2 HTTP/1.0\" 404 337 "
+            + "\"http://example.com\" \"Googlebot/2.1\"",
+        "217.168.17.5 - - [17/May/2015:09:05:12 +0000] \"BROKEN\" 200 3316 \"-\" \"-\""
+    };
+
+    @DisplayName("Тесты шаблонов со звездочками")
+    @ParameterizedTest(name = "шаблон: {0}, значение в логе: {1}, ожидаемый результат: {2}")
+    @MethodSource("provideDataToTestWildcards")
+    void testWildcards(String pattern, String endpoint, boolean expectedMatch) {
+        Log log = new Log(null, null, null, new Log.Request("GET", endpoint, "HTTP/1.1"), 0, 0, null, null);
+
+        assertThat(LogFilter.compile("endpoint", pattern).test(log)).isEqualTo(expectedMatch);
+    }
+
+    static Stream<Arguments> provideDataToTestWildcards() {
+        return Stream.of(
+                Arguments.of("/api*", "/api/users", true),
+                Arguments.of("*users", "/api/users", true),
+                Arguments.of("*/us*", "/api/users", true),
+                Arguments.of("/a*i/*s", "/api/users", true),
+                Arguments.of("/api*users*", "/api/users?page=1", true),
+                Arguments.of("/ab*ba", "/aba", false),
+                Arguments.of("/api/v1.0*", "/api/v100/users", false),
+                Arguments.of("/search?q=*", "/search?q=log", true),
+                Arguments.of("*[a-z]*", "/api/users", false)
+        );
+    }
+
+    @DisplayName("Тесты проверки фильтра до разбора лога")
+    @ParameterizedTest(name = "поле: {0}, значение: {1}")
+    @MethodSource("provideDataToTestScanned")
+    void testScanned(String field, String value) {
+        LogFilter filter = LogFilter.compile(field, value);
+        LogLineScanner scanner = new LogLineScanner();
+
+        for (String line : LINES) {
+            Log log = Log.parse(line, EnumSet.allOf(LogFields.class));
+
+            assertThat(scanner.scan(line)).isTrue();
+            assertThat(filter.testScanned(scanner)).isEqualTo(filter.test(log));
+        }
+    }
+
+    static Stream<Arguments> provideDataToTestScanned() {
+        return Stream.of(
+                Arguments.of("ip", "*.1*"),
+                Arguments.of("user", "-"),
+                Arguments.of("time", "2015-05-17T08*"),
+                Arguments.of("request", "GET /downloads*"),
+                Arguments.of("method", "HEAD"),
+                Arguments.of("endpoint", "*product_2"),
+                Arguments.of("version", "HTTP/1.?"),
+                Arguments.of("status", "4*"),
+                Arguments.of("bytes", "*3*"),
+                Arguments.of("referer", "http*"),
+                Arguments.of("agent", "*bot*")
+        );
+    }
+
+    @DisplayName("Тест фильтра без поля")
+    @Test
+    void testEmptyField() {
+        Log log = new Log(null, null, null, null, 0, 0, null, null);
+
+        assertThat(LogFilter.compile("", "")).isSameAs(LogFilter.ACCEPT_ALL);
+        assertThat(LogFilter.ACCEPT_ALL.test(log)).isTrue();
+    }
+
+    @DisplayName("Тест равенства фильтров с одинаковыми полем и значением")
+    @Test
+    void testEquals() {
+        assertThat(LogFilter.compile("status", "4*")).isEqualTo(LogFilter.compile("status", "4*"));
+        assertThat(LogFilter.compile("status", "4*")).isNotEqualTo(LogFilter.compile("status", "5*"));
+    }
+
+    @DisplayName("Тест неверного значения фильтра по времени")
+    @Test
+    void testInvalidTimeFilter() {
+        assertThatThrownBy(() -> LogFilter.compile("time", "2024-05")).isInstanceOf(ParameterException.class);
+    }
+}
@@ -5,9 +5,11 @@ import backend.academy.log_analyzer.matcher.LogMatcherDate;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
 import java.io.File;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -100,4 +102,24 @@ public class LogMatcherDateTest {
                 )
         );
     }
+
+    @DisplayName("Тест фильтрации по времени в секундах, если начальная дата содержит доли секунды")
+    @Test
+    void testIsLogMatchByEpochSecondWithNanos() {
+        LocalDateTime from = LocalDateTime.of(2015, 5, 17, 10, 0, 0, 500_000_000);
+        ArgsParameters argsParameters = new ArgsParameters(
+                List.of(),
+                false,
+                new File("hello"),
+                from,
+                null,
+                OutputFormats.TEXT,
+                "",
+                ""
+        );
+        long logTime = LocalDateTime.of(2015, 5, 17, 10, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+        assertThat(logMatcherDate.isLogMatch(logTime, argsParameters)).isFalse();
+        assertThat(logMatcherDate.isLogMatch(logTime + 1, argsParameters)).isTrue();
+    }
 }
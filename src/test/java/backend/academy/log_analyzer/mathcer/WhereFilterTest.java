@@ -0,0 +1,91 @@
+package backend.academy.log_analyzer.mathcer;
+
+import backend.academy.log_analyzer.enums.LogFields;
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogLineScanner;
+import backend.academy.log_analyzer.matcher.WhereFilter;
+import com.beust.jcommander.ParameterException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса WhereFilter")
+public class WhereFilterTest {
+
+    private static final List<String> LINES = List.of(
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" "
+            + "\"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"",
+        "80.91.33.133 - - [17/May/2015:08:05:24 +0000] \"POST /api/orders HTTP/1.1\" 502 337 \"-\" "
+            + "\"Mozilla/5.0\"",
+        "10.1.2.3 - - [17/May/2015:23:59:59 +0000] \"POST /api/orders HTTP/1.1\" 503 1200 \"-\" "
+            + "\"Googlebot/2.1\"",
+        "217.168.17.5 - - [18/May/2015:00:00:00 +0000] \"BROKEN\" 499 3316 \"-\" \"-\""
+    );
+
+    @DisplayName("Тесты выражений")
+    @ParameterizedTest(name = "выражение: {0}")
+    @MethodSource("provideDataToTestExpressions")
+    void testExpressions(String expression, List<Boolean> expectedMatches) {
+        WhereFilter filter = WhereFilter.compile(expression);
+        LogLineScanner scanner = new LogLineScanner();
+
+        for (int i = 0; i < LINES.size(); i++) {
+            String line = LINES.get(i);
+            Log log = Log.parse(line, EnumSet.allOf(LogFields.class));
+
+            assertThat(scanner.scan(line)).isTrue();
+            assertThat(filter.test(log)).as(line).isEqualTo(expectedMatches.get(i));
+            assertThat(filter.testScanned(scanner)).as(line).isEqualTo(expectedMatches.get(i));
+        }
+    }
+
+    static Stream<Arguments> provideDataToTestExpressions() {
+        return Stream.of(
+            Arguments.of("status=5* AND method=POST AND NOT agent~\"(?i)bot\"", List.of(false, true, false, false)),
+            Arguments.of("status = 500..599 or status=304", List.of(true, true, true, false)),
+            Arguments.of("bytes > 300 AND bytes <= 1200", List.of(false, true, true, false)),
+            Arguments.of("status < 500", List.of(true, false, false, true)),
+            Arguments.of("ip = 10.0.0.0/8 OR ip = 80.91.*", List.of(false, true, true, false)),
+            Arguments.of("ip != 93.180.71.3", List.of(false, true, true, true)),
+            Arguments.of("time = 2015-05-17", List.of(true, true, true, false)),
+            Arguments.of("time = 2015-05-17T08:05", List.of(true, true, false, false)),
+            Arguments.of("time > 2015-05-17T08:05:24 AND time < 2015-05-18", List.of(true, false, true, false)),
+            Arguments.of("endpoint = '/api/orders' AND NOT (status = 502)", List.of(false, false, true, false)),
+            Arguments.of("request ~ '^GET ' OR method != POST", List.of(true, false, false, true)),
+            Arguments.of("agent !~ Mozilla and agent=*/*", List.of(true, false, true, false))
+        );
+    }
+
+    @DisplayName("Тест полей, нужных для проверки выражения")
+    @Test
+    void testFields() {
+        WhereFilter filter = WhereFilter.compile("status=5* AND (ip = 10.0.0.0/8 OR NOT agent ~ bot)");
+
+        assertThat(filter.fields()).containsExactlyInAnyOrder(LogFields.STATUS, LogFields.IP, LogFields.AGENT);
+    }
+
+    @DisplayName("Тест пустого выражения")
+    @Test
+    void testEmptyExpression() {
+        assertThat(WhereFilter.compile(null)).isNull();
+        assertThat(WhereFilter.compile(" ")).isNull();
+    }
+
+    @DisplayName("Тесты неверных выражений")
+    @ParameterizedTest(name = "выражение: {0}")
+    @ValueSource(strings = {
+        "status=", "foo=1", "status=5* AND", "(status=5*", "status=5* extra", "ip=10.0.0.0/33", "ip=010.0.0.0/8",
+        "agent~'('", "bytes=abc", "time>2015-13-01", "method<GET", "agent=\"bot"
+    })
+    void testInvalidExpressions(String expression) {
+        assertThatThrownBy(() -> WhereFilter.compile(expression)).isInstanceOf(ParameterException.class);
+    }
+}
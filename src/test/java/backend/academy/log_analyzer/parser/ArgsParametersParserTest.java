@@ -1,12 +1,23 @@
 package backend.academy.log_analyzer.parser;
 
+import backend.academy.log_analyzer.enums.ExecutionModes;
+import backend.academy.log_analyzer.enums.LogFields;
 import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.enums.TimeBuckets;
+import backend.academy.log_analyzer.matcher.WhereFilter;
 import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.CacheSettings;
+import backend.academy.log_analyzer.parameter.ExecutionSettings;
+import backend.academy.log_analyzer.parameter.FollowSettings;
+import backend.academy.log_analyzer.parameter.GroupBySettings;
+import backend.academy.log_analyzer.parameter.SeekSettings;
 import backend.academy.log_analyzer.parser.additional.Converters;
 import backend.academy.log_analyzer.parser.additional.Validators;
+import com.google.inject.Provider;
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +26,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -26,8 +36,8 @@ import static org.mockito.Mockito.when;
 @DisplayName("Тесты класса ArgsParametersParser")
 public class ArgsParametersParserTest {
 
-    @Spy
-    ArgsParser argsParser = new ArgsParser();
+    @Mock
+    Provider<ArgsParser> argsParserProvider;
 
     @Mock
     PathParser pathParser;
@@ -43,6 +53,7 @@ public class ArgsParametersParserTest {
 
     @BeforeEach
     void setUpBeforeClass() throws URISyntaxException {
+        when(argsParserProvider.get()).thenAnswer(invocation -> new ArgsParser());
         when(pathParser.parsePath(anyString())).thenReturn(List.of(new URI("inputFile.txt")));
         when(converters.convertOutputFile(anyString(), anyString())).thenReturn(new File("outputFile.txt"));
     }
@@ -127,4 +138,123 @@ public class ArgsParametersParserTest {
 
         assertThat(actualArgsParameters).isEqualTo(expectedArgsParameters);
     }
+
+    @DisplayName("Тест парсинга настроек выполнения анализа")
+    @Test
+    void testParseExecutionSettings() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-th", "4",
+            "-ex", "virtual-threads",
+            "-ms", "8"
+        };
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.threads()).isEqualTo(4);
+        assertThat(actualArgsParameters.execution())
+            .isEqualTo(new ExecutionSettings(ExecutionModes.VIRTUAL_THREADS, 8));
+    }
+
+    @DisplayName("Тест парсинга файла состояния")
+    @Test
+    void testParseStateFile() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-sf", "state/access.state"
+        };
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.stateFile()).isEqualTo(new File("state/access.state"));
+        assertThat(argsParametersParser.parse(new String[] {"-p", "inputFile.txt"}).stateFile()).isNull();
+    }
+
+    @DisplayName("Тест парсинга режима слежения за файлами")
+    @Test
+    void testParseFollowSettings() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-fl",
+            "-ri", "10"
+        };
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.follow()).isEqualTo(new FollowSettings(true, Duration.ofSeconds(10)));
+    }
+
+    @DisplayName("Тест парсинга настроек временного ряда")
+    @Test
+    void testParseTimeSeriesSettings() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-tb", "5m",
+            "-tl", "288"
+        };
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.reportSettings().timeBuckets()).isEqualTo(TimeBuckets.FIVE_MINUTES);
+        assertThat(actualArgsParameters.reportSettings().timeSeriesCapacity()).isEqualTo(288);
+    }
+
+    @DisplayName("Тест парсинга настроек поиска диапазона дат")
+    @Test
+    void testParseSeekSettings() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-f", "2015-05-07T20:00:00",
+            "-sk",
+            "-sl", "0"
+        };
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.seek()).isEqualTo(new SeekSettings(true, Duration.ZERO));
+    }
+
+    @DisplayName("Тест парсинга настроек кэша")
+    @Test
+    void testParseCache() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-ca"
+        };
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.cache()).isEqualTo(new CacheSettings(true, null));
+    }
+
+    @DisplayName("Тест парсинга выражения --where")
+    @Test
+    void testParseWhere() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-w", "status=5* AND method=POST"
+        };
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.where()).isEqualTo(WhereFilter.compile("status=5* AND method=POST"));
+    }
+
+    @DisplayName("Тест парсинга статистики по группам")
+    @Test
+    void testParseGroupBy() {
+        String[] args = {
+            "-p", "inputFile.txt",
+            "-gb", "endpoint,status",
+            "-gl", "5",
+            "-gm", "8"
+        };
+
+        when(converters.convertGroupBy("endpoint,status")).thenReturn(List.of(LogFields.ENDPOINT, LogFields.STATUS));
+
+        ArgsParameters actualArgsParameters = argsParametersParser.parse(args);
+
+        assertThat(actualArgsParameters.reportSettings().groupBy()).isEqualTo(new GroupBySettings(
+            List.of(LogFields.ENDPOINT, LogFields.STATUS), 8L * 1024 * 1024, null, 5));
+    }
 }
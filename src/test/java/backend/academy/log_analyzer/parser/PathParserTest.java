@@ -182,4 +182,20 @@ public class PathParserTest {
             .isInstanceOf(ParameterException.class)
             .hasMessage("URL " + urlString + " не доступна");
     }
+
+    @DisplayName("Тест парсинга нескольких путей, шаблонов и URL через запятую")
+    @Test
+    void testParseSeveralPaths() throws Exception {
+        String urlString = wireMock.url("/several");
+        String file = tempDir.resolve("logsDir/logs/some-logs/2024/05").toAbsolutePath().toString().replace("\\", "/");
+        String pattern = tempDir.toFile() + "/**/05";
+
+        wireMock.stubFor(head(urlEqualTo("/several"))
+            .willReturn(aResponse()
+                .withStatus(SUCCESS_CODE)));
+
+        List<URI> result = pathParser.parsePath(urlString + ", " + file + "," + pattern + ",");
+
+        assertThat(result).containsExactly(new URI(urlString), Path.of(file).toUri());
+    }
 }
@@ -0,0 +1,122 @@
+package backend.academy.log_analyzer.parser;
+
+import backend.academy.log_analyzer.enums.OutputFormats;
+import backend.academy.log_analyzer.matcher.LogFilter;
+import backend.academy.log_analyzer.matcher.WhereFilter;
+import backend.academy.log_analyzer.parameter.ArgsParameters;
+import backend.academy.log_analyzer.parameter.ReportDefinition;
+import backend.academy.log_analyzer.parser.additional.Converters;
+import backend.academy.log_analyzer.parser.additional.Validators;
+import com.beust.jcommander.ParameterException;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса ReportsConfigParser")
+public class ReportsConfigParserTest {
+
+    private static final ArgsParameters PARAMETERS = new ArgsParameters(
+        List.of(URI.create("file:///logs/access.log")),
+        false,
+        new File("analyzed-logs.md"),
+        LocalDateTime.of(2015, 5, 17, 0, 0),
+        null,
+        OutputFormats.MARKDOWN,
+        "method",
+        "GET"
+    ).withWhere(WhereFilter.compile("status>=400"));
+
+    ReportsConfigParser reportsConfigParser = new ReportsConfigParser(new Converters(), new Validators());
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Тест парсинга файла с отчетами")
+    @Test
+    void testParse() throws IOException {
+        Path config = writeConfig("""
+            {
+              "reports": [
+                {"name": "default"},
+                {"name": "5xx", "where": "status=5*", "to": "2015-05-18", "out": "%1$s/5xx.adoc"},
+                {"name": "api", "filterField": "endpoint", "filterValue": "/api/*", "format": "text", "out": "%1$s/"}
+              ]
+            }
+            """.formatted(tempDir.toString().replace('\\', '/')));
+
+        List<ReportDefinition> reports = reportsConfigParser.parse(config, PARAMETERS);
+
+        assertThat(reports).extracting(ReportDefinition::name).containsExactly("default", "5xx", "api");
+
+        // Отчет без настроек совпадает с параметрами командной строки и выводится в консоль
+        ArgsParameters defaultReport = reports.getFirst().parameters();
+
+        assertThat(defaultReport.inFile()).isFalse();
+        assertThat(defaultReport.from()).isEqualTo(PARAMETERS.from());
+        assertThat(defaultReport.format()).isEqualTo(OutputFormats.MARKDOWN);
+        assertThat(defaultReport.filter()).isEqualTo(PARAMETERS.filter());
+        assertThat(defaultReport.where()).isEqualTo(PARAMETERS.where());
+
+        ArgsParameters serverErrors = reports.get(1).parameters();
+
+        assertThat(serverErrors.inFile()).isTrue();
+        assertThat(serverErrors.outputFile()).isEqualTo(tempDir.resolve("5xx.adoc").toFile());
+        assertThat(serverErrors.format()).isEqualTo(OutputFormats.ADOC);
+        assertThat(serverErrors.to()).isEqualTo(LocalDateTime.of(2015, 5, 18, 23, 59, 59));
+        assertThat(serverErrors.where()).isEqualTo(WhereFilter.compile("status=5*"));
+        assertThat(serverErrors.filter()).isEqualTo(PARAMETERS.filter());
+
+        ArgsParameters api = reports.get(2).parameters();
+
+        assertThat(api.outputFile()).isEqualTo(tempDir.resolve("api.txt").toFile());
+        assertThat(api.format()).isEqualTo(OutputFormats.TEXT);
+        assertThat(api.filter()).isEqualTo(LogFilter.compile("endpoint", "/api/*"));
+        assertThat(api.reports()).isEmpty();
+    }
+
+    @DisplayName("Тесты неверных файлов с отчетами")
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "[]",
+        "{\"reports\": []}",
+        "{\"reports\": [{\"where\": \"status=5*\"}]}",
+        "{\"reports\": [{\"name\": \"a\"}, {\"name\": \"a\"}]}",
+        "{\"reports\": [{\"name\": \"a\", \"fliter\": \"status\"}]}",
+        "{\"reports\": [{\"name\": \"a\", \"filterField\": \"status\"}]}",
+        "{\"reports\": [{\"name\": \"a\", \"where\": \"status=\"}]}",
+        "{\"reports\": [{\"name\": \"a\", \"format\": \"pdf\"}]}",
+        "{\"reports\": [{\"name\": \"a\", \"from\": \"2015-05-18\", \"to\": \"2015-05-17\"}]}",
+        "{\"reports\": [{\"name\": \"a\", \"out\": \"a.md\"}, {\"name\": \"b\", \"out\": \"a.md\"}]}"
+    })
+    void testParseInvalidConfig(String content) throws IOException {
+        Path config = writeConfig(content);
+
+        assertThatThrownBy(() -> reportsConfigParser.parse(config, PARAMETERS))
+            .isInstanceOf(ParameterException.class);
+    }
+
+    @DisplayName("Тест парсинга несуществующего файла с отчетами")
+    @Test
+    void testParseMissingConfig() {
+        assertThatThrownBy(() -> reportsConfigParser.parse(tempDir.resolve("missing.json"), PARAMETERS))
+            .isInstanceOf(ParameterException.class);
+    }
+
+    private Path writeConfig(String content) throws IOException {
+        Path config = tempDir.resolve("reports.json");
+        Files.writeString(config, content);
+
+        return config;
+    }
+}
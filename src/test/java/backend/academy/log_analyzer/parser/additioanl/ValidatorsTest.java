@@ -133,4 +133,29 @@ public class ValidatorsTest {
                 .isInstanceOf(ParameterException.class)
                 .hasMessageStartingWith("Неизвестное расширение файла");
     }
+
+    @DisplayName("Тесты валидации полей для группировки")
+    @ParameterizedTest(name = "данные: {0}, ошибка: {1}")
+    @MethodSource("provideDataToTestValidateGroupBy")
+    void testValidateGroupBy(String groupBy, String expectedMessage) {
+        Validators.GroupByValidator groupByValidator = new Validators.GroupByValidator();
+
+        if (expectedMessage == null) {
+            assertThatNoException().isThrownBy(() -> groupByValidator.validate("group-by", groupBy));
+        } else {
+            assertThatThrownBy(() -> groupByValidator.validate("group-by", groupBy))
+                    .isInstanceOf(ParameterException.class)
+                    .hasMessageStartingWith(expectedMessage);
+        }
+    }
+
+    static Stream<Arguments> provideDataToTestValidateGroupBy() {
+        return Stream.of(
+                Arguments.of("endpoint", null),
+                Arguments.of("ip, status", null),
+                Arguments.of("endpoint,host", "Указанного поля host для группировки не существует"),
+                Arguments.of("ip,", "Указанного поля  для группировки не существует"),
+                Arguments.of("status,ip,status", "Поле status для группировки указано несколько раз")
+        );
+    }
 }
@@ -0,0 +1,92 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса FileChunkSplitter")
+public class FileChunkSplitterTest {
+
+    private static final String CONTENT = "first line\nsecond line\n\nтретья строка\nlast line without line feed";
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Тест разбиения файла на диапазоны по границам строк")
+    @ParameterizedTest(name = "размер диапазона = {0}")
+    @ValueSource(longs = {1, 5, 11, 12, 30, 1000})
+    void testSplitByLines(long chunkSize) throws IOException {
+        Path file = tempDir.resolve("logs.txt");
+        Files.writeString(file, CONTENT, StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<FileChunk> chunks = FileChunkSplitter.split(channel, chunkSize);
+
+            StringBuilder content = new StringBuilder();
+            long expectedStart = 0;
+
+            for (FileChunk chunk : chunks) {
+                assertThat(chunk.start()).isEqualTo(expectedStart);
+
+                String chunkContent = readChunk(channel, chunk);
+
+                if (chunk.end() != channel.size()) {
+                    assertThat(chunkContent).endsWith("\n");
+                }
+
+                content.append(chunkContent);
+                expectedStart = chunk.end();
+            }
+
+            assertThat(expectedStart).isEqualTo(channel.size());
+            assertThat(content.toString()).isEqualTo(CONTENT);
+        }
+    }
+
+    @DisplayName("Тест разбиения пустого файла")
+    @Test
+    void testSplitEmptyFile() throws IOException {
+        Path file = tempDir.resolve("empty.txt");
+        Files.createFile(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThat(FileChunkSplitter.split(channel, 10)).containsExactly(new FileChunk(0, 0));
+        }
+    }
+
+    @DisplayName("Тест поиска конца последней полной строки")
+    @Test
+    void testFindLastLineEnd() throws IOException {
+        Path file = tempDir.resolve("logs.txt");
+        Files.writeString(file, CONTENT, StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long lastLineStart = CONTENT.getBytes(StandardCharsets.UTF_8).length
+                - "last line without line feed".length();
+
+            assertThat(FileChunkSplitter.findLastLineEnd(channel, new FileChunk(0, channel.size())))
+                .isEqualTo(lastLineStart);
+            assertThat(FileChunkSplitter.findLastLineEnd(channel, new FileChunk(0, 11))).isEqualTo(11);
+            assertThat(FileChunkSplitter.findLastLineEnd(channel, new FileChunk(11, 20))).isEqualTo(11);
+            assertThat(FileChunkSplitter.findLastLineEnd(channel, new FileChunk(lastLineStart, channel.size())))
+                .isEqualTo(lastLineStart);
+        }
+    }
+
+    private String readChunk(FileChannel channel, FileChunk chunk) throws IOException {
+        try (InputStream inputStream = new FileChunkInputStream(channel, chunk)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
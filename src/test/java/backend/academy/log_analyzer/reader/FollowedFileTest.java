@@ -0,0 +1,85 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса FollowedFile")
+public class FollowedFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Тест чтения дописанных строк")
+    @Test
+    void testReadAppendedLines() throws IOException {
+        Path file = tempDir.resolve("access.log");
+        Files.writeString(file, "first line\nsecond li");
+
+        try (FollowedFile followedFile = new FollowedFile(file)) {
+            assertThat(readAppended(followedFile)).isEqualTo("first line\n");
+            assertThat(readAppended(followedFile)).isEmpty();
+
+            Files.writeString(file, "ne\nthird line\n", StandardOpenOption.APPEND);
+
+            assertThat(readAppended(followedFile)).isEqualTo("second line\nthird line\n");
+        }
+    }
+
+    @DisplayName("Тест чтения файла после ротации")
+    @Test
+    void testReadAfterRotation() throws IOException {
+        Path file = tempDir.resolve("access.log");
+        Path rotatedFile = tempDir.resolve("access.log.1");
+        Files.writeString(file, "first line\n");
+
+        try (FollowedFile followedFile = new FollowedFile(file)) {
+            assertThat(readAppended(followedFile)).isEqualTo("first line\n");
+
+            Files.move(file, rotatedFile);
+            Files.writeString(rotatedFile, "last line of old file\n", StandardOpenOption.APPEND);
+
+            // Пока новый файл не создан, дочитывается старый
+            assertThat(readAppended(followedFile)).isEqualTo("last line of old file\n");
+
+            Files.writeString(rotatedFile, "written before reopen\n", StandardOpenOption.APPEND);
+            Files.writeString(file, "new file line\n");
+
+            assertThat(readAppended(followedFile)).isEqualTo("written before reopen\nnew file line\n");
+        }
+    }
+
+    @DisplayName("Тест чтения усеченного файла")
+    @Test
+    void testReadAfterTruncation() throws IOException {
+        Path file = tempDir.resolve("access.log");
+        Files.writeString(file, "first line\nsecond line\n");
+
+        try (FollowedFile followedFile = new FollowedFile(file)) {
+            assertThat(readAppended(followedFile)).isEqualTo("first line\nsecond line\n");
+
+            Files.writeString(file, "new line\n");
+
+            assertThat(readAppended(followedFile)).isEqualTo("new line\n");
+        }
+    }
+
+    private String readAppended(FollowedFile followedFile) throws IOException {
+        StringBuilder content = new StringBuilder();
+
+        followedFile.readAppended((channel, range) -> {
+            try (InputStream inputStream = new FileChunkInputStream(channel, range)) {
+                content.append(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        });
+
+        return content.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package backend.academy.log_analyzer.reader;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса HttpRangeInputStream")
+public class HttpRangeInputStreamTest {
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance().build();
+
+    @BeforeEach
+    void setUpUrl() {
+        wireMock.resetAll();
+    }
+
+    @DisplayName("Тест чтения части, последняя строка которой заканчивается в запасе")
+    @Test
+    void testReadPartWithinSlack() throws IOException {
+        String content = "first line\nsecond line\n" + "x".repeat((int) HttpRangeInputStream.TAIL_SLACK * 2);
+        URI uri = URI.create(wireMock.url("/logs"));
+        FileChunk part = new FileChunk(0, 15);
+
+        stubRange(content, 0, part.end() + HttpRangeInputStream.TAIL_SLACK);
+
+        assertThat(readPart(uri, part, content.length())).isEqualTo("first line\nsecond line\n");
+        wireMock.verify(1, getRequestedFor(urlEqualTo("/logs")));
+    }
+
+    @DisplayName("Тест дочитывания последней строки части, которая длиннее запаса")
+    @Test
+    void testReadPartBeyondSlack() throws IOException {
+        String longLine = "x".repeat((int) HttpRangeInputStream.TAIL_SLACK + 100) + "\n";
+        String content = "a\n" + longLine + "tail\n";
+        URI uri = URI.create(wireMock.url("/logs"));
+        FileChunk part = new FileChunk(0, 3);
+        long firstEnd = part.end() + HttpRangeInputStream.TAIL_SLACK;
+
+        stubRange(content, 0, firstEnd);
+        stubRange(content, firstEnd, content.length());
+
+        assertThat(readPart(uri, part, content.length())).isEqualTo("a\n" + longLine);
+        wireMock.verify(2, getRequestedFor(urlEqualTo("/logs")));
+    }
+
+    private String readPart(URI uri, FileChunk part, long length) throws IOException {
+        try (InputStream input = new LineAlignedRangeInputStream(
+            HttpRangeInputStream.open(uri, part, length).orElseThrow(), part)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void stubRange(String content, long start, long end) {
+        wireMock.stubFor(get(urlEqualTo("/logs"))
+            .withHeader("Range", equalTo("bytes=" + start + "-" + (end - 1)))
+            .willReturn(aResponse()
+                .withStatus(206)
+                .withHeader("Content-Range", "bytes " + start + "-" + (end - 1) + "/" + content.length())
+                .withBody(content.substring((int) start, (int) end))));
+    }
+}
@@ -0,0 +1,120 @@
+package backend.academy.log_analyzer.reader;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.headRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса HttpResources")
+public class HttpResourcesTest {
+
+    private static final String LOGS = "first line\nsecond line\n";
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance().build();
+
+    @BeforeEach
+    void setUpUrl() {
+        wireMock.resetAll();
+    }
+
+    @DisplayName("Тест, что сведения о ресурсе запрашиваются заново при каждом вызове")
+    @Test
+    void testHeadIsNotCached() throws IOException {
+        URI uri = URI.create(wireMock.url("/changing-logs"));
+
+        wireMock.stubFor(head(urlEqualTo("/changing-logs"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Accept-Ranges", "bytes")
+                .withHeader("Content-Length", "23")));
+
+        HttpResource first = HttpResources.head(uri);
+
+        wireMock.stubFor(head(urlEqualTo("/changing-logs"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Accept-Ranges", "none")
+                .withHeader("Content-Length", "46")));
+
+        HttpResource second = HttpResources.head(uri);
+
+        assertThat(first.acceptsRanges()).isTrue();
+        assertThat(second.acceptsRanges()).isFalse();
+        assertThat(second.contentLength()).isEqualTo(46);
+        wireMock.verify(2, headRequestedFor(urlEqualTo("/changing-logs")));
+    }
+
+    @DisplayName("Тест, что сжатый ресурс не делится на части")
+    @Test
+    void testCompressedResourceIsNotSplittable() throws IOException {
+        URI uri = URI.create(wireMock.url("/logs.gz"));
+
+        wireMock.stubFor(head(urlEqualTo("/logs.gz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Accept-Ranges", "bytes")));
+
+        HttpResource resource = HttpResources.head(uri);
+
+        assertThat(resource.compressed()).isTrue();
+        assertThat(resource.isSplittable()).isFalse();
+    }
+
+    @DisplayName("Тест чтения ограниченного диапазона байт")
+    @Test
+    void testOpenRange() throws IOException {
+        URI uri = URI.create(wireMock.url("/range-logs"));
+
+        wireMock.stubFor(get(urlEqualTo("/range-logs"))
+            .withHeader("Range", equalTo("bytes=6-15"))
+            .willReturn(aResponse()
+                .withStatus(206)
+                .withHeader("Content-Range", "bytes 6-15/23")
+                .withBody(LOGS.substring(6, 16))));
+
+        try (InputStream input = HttpResources.openRange(uri, 6, 16).orElseThrow()) {
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("line\nsecon");
+        }
+    }
+
+    @DisplayName("Тест запроса диапазона, если сервер проигнорировал диапазон")
+    @Test
+    void testOpenRangeWithoutRangeSupport() throws IOException {
+        URI uri = URI.create(wireMock.url("/full-logs"));
+
+        wireMock.stubFor(get(urlEqualTo("/full-logs"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody(LOGS)));
+
+        assertThat(HttpResources.openRange(uri, 11, 23)).isEmpty();
+    }
+
+    @DisplayName("Тест выброса исключения, если сервер вернул ошибку")
+    @Test
+    void shouldThrowExceptionBecauseErrorCode() {
+        URI uri = URI.create(wireMock.url("/missing-logs"));
+
+        wireMock.stubFor(get(urlEqualTo("/missing-logs"))
+            .willReturn(aResponse()
+                .withStatus(404)));
+
+        assertThatThrownBy(() -> HttpResources.open(uri))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("вернула код 404");
+    }
+}
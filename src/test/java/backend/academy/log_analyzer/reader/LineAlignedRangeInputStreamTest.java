@@ -0,0 +1,66 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса LineAlignedRangeInputStream")
+public class LineAlignedRangeInputStreamTest {
+
+    @DisplayName("Тест, что части ресурса вместе содержат каждую строку ровно один раз")
+    @ParameterizedTest(name = "содержимое = {0}, размер части = {1}")
+    @MethodSource("provideDataTestPartsCoverAllLines")
+    void testPartsCoverAllLines(String content, int partSize) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        StringBuilder joined = new StringBuilder();
+
+        for (int start = 0; start < bytes.length; start += partSize) {
+            FileChunk part = new FileChunk(start, Math.min(bytes.length, start + partSize));
+            int firstByte = (int) LineAlignedRangeInputStream.firstByte(part);
+            InputStream source = new ByteArrayInputStream(Arrays.copyOfRange(bytes, firstByte, bytes.length));
+
+            try (InputStream input = new LineAlignedRangeInputStream(source, part)) {
+                joined.append(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertThat(joined.toString()).isEqualTo(content);
+    }
+
+    static Stream<Arguments> provideDataTestPartsCoverAllLines() {
+        String logs = String.join("\n", lines(50)) + "\n";
+
+        return Stream.of(
+            Arguments.of("first\nsecond\nthird\n", 1),
+            Arguments.of("first\nsecond\nthird", 6),
+            Arguments.of("first\nsecond\nthird", 7),
+            Arguments.of("a\nvery long line\nb\n", 3),
+            Arguments.of("\n\n\nline\n", 2),
+            Arguments.of("строка\nline\n", 4),
+            Arguments.of(logs, 100),
+            Arguments.of(logs, 1000),
+            Arguments.of(logs, logs.length())
+        );
+    }
+
+    private static List<String> lines(int count) {
+        List<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            lines.add("127.0.0." + i + " - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_" + i % 3
+                + " HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3\"");
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,71 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса MappedLineReader")
+public class MappedLineReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Тест построчного чтения файла через отображение в память")
+    @ParameterizedTest(name = "содержимое = {0}, размер окна = {1}")
+    @MethodSource("provideDataTestForEachLine")
+    void testForEachLine(String content, int windowSize, List<String> expectedLines) throws IOException {
+        Path file = tempDir.resolve("logs.txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new MappedLineReader(channel, windowSize)
+                .forEachLine(new FileChunk(0, channel.size()), line -> lines.add(line.toString()));
+        }
+
+        assertThat(lines).isEqualTo(expectedLines);
+    }
+
+    static Stream<Arguments> provideDataTestForEachLine() {
+        return Stream.of(
+            Arguments.of("first\nsecond\n", MappedLineReader.DEFAULT_WINDOW_SIZE, List.of("first", "second")),
+            Arguments.of("first\r\nsecond\rthird", MappedLineReader.DEFAULT_WINDOW_SIZE,
+                List.of("first", "second", "third")),
+            Arguments.of("\n\nline\n", MappedLineReader.DEFAULT_WINDOW_SIZE, List.of("", "", "line")),
+            Arguments.of("строка\nline", MappedLineReader.DEFAULT_WINDOW_SIZE, List.of("строка", "line")),
+            Arguments.of("abc\r\ndef\r\nghi", 4, List.of("abc", "def", "ghi")),
+            Arguments.of("a\nvery long line\nb\n", 4, List.of("a", "b")),
+            Arguments.of("", MappedLineReader.DEFAULT_WINDOW_SIZE, List.of())
+        );
+    }
+
+    @DisplayName("Тест, что строки из ASCII символов передаются без декодирования")
+    @Test
+    void testAsciiLinesAreNotDecoded() throws IOException {
+        Path file = tempDir.resolve("logs.txt");
+        Files.writeString(file, "127.0.0.1\nпользователь\n", StandardCharsets.UTF_8);
+
+        List<Class<?>> lineTypes = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new MappedLineReader(channel).forEachLine(new FileChunk(0, channel.size()),
+                line -> lineTypes.add(line.getClass()));
+        }
+
+        assertThat(lineTypes).containsExactly(ByteSlice.class, String.class);
+    }
+}
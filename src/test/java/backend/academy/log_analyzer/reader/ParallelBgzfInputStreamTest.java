@@ -0,0 +1,141 @@
+package backend.academy.log_analyzer.reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса ParallelBgzfInputStream")
+public class ParallelBgzfInputStreamTest {
+
+    private static final int BLOCK_DATA_SIZE = 65280;
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Тест распаковки файла BGZF при разном количестве одновременно распаковываемых пачек")
+    @ParameterizedTest(name = "пачек одновременно = {0}")
+    @ValueSource(ints = {1, 2, 8})
+    void testReadBgzf(int batchesInFlight) throws IOException {
+        byte[] content = logs(200_000);
+        Path file = tempDir.resolve("logs.bgz");
+        Files.write(file, bgzf(content));
+
+        assertThat(readParallel(file, batchesInFlight)).isEqualTo(content);
+    }
+
+    @DisplayName("Тест, что файл BGZF читается и обычным потоком gzip")
+    @Test
+    void testBgzfIsGzip() throws IOException {
+        byte[] content = logs(10_000);
+
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(bgzf(content)))) {
+            assertThat(input.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @DisplayName("Тест выброса исключения, если данные блока повреждены")
+    @Test
+    void shouldThrowExceptionBecauseBlockCorrupted() throws IOException {
+        byte[] compressed = bgzf(logs(50_000));
+        compressed[compressed.length / 2] ^= 0x55;
+
+        Path file = tempDir.resolve("corrupted.bgz");
+        Files.write(file, compressed);
+
+        assertThatThrownBy(() -> readParallel(file, 2))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Поврежденный блок BGZF");
+    }
+
+    @DisplayName("Тест выброса исключения, если файл обрезан")
+    @Test
+    void shouldThrowExceptionBecauseFileTruncated() throws IOException {
+        byte[] compressed = bgzf(logs(50_000));
+
+        Path file = tempDir.resolve("truncated.bgz");
+        Files.write(file, Arrays.copyOf(compressed, compressed.length - 100));
+
+        assertThatThrownBy(() -> readParallel(file, 2))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Поврежденный блок BGZF");
+    }
+
+    private static byte[] readParallel(Path file, int batchesInFlight) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             ExecutorService executor = Executors.newFixedThreadPool(2);
+             InputStream input = new ParallelBgzfInputStream(channel, executor, batchesInFlight)) {
+            return input.readAllBytes();
+        }
+    }
+
+    private static byte[] logs(int lines) {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < lines; i++) {
+            builder.append("10.0.0.").append(i % 256)
+                .append(" - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_").append(i % 7)
+                .append(" HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"\n");
+        }
+
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Метод сжатия данных в формат BGZF (как это делает bgzip), включая пустой завершающий блок
+     */
+    private static byte[] bgzf(byte[] content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        for (int start = 0; start < content.length; start += BLOCK_DATA_SIZE) {
+            output.writeBytes(block(Arrays.copyOfRange(content, start,
+                Math.min(content.length, start + BLOCK_DATA_SIZE))));
+        }
+
+        output.writeBytes(block(new byte[0]));
+
+        return output.toByteArray();
+    }
+
+    private static byte[] block(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+
+        byte[] buffer = new byte[data.length + 1024];
+        int compressedLength = deflater.deflate(buffer);
+        deflater.end();
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        ByteBuffer block = ByteBuffer.allocate(compressedLength + 26).order(ByteOrder.LITTLE_ENDIAN);
+        block.put(new byte[] {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0});
+        block.putShort((short) (compressedLength + 25));
+        block.put(buffer, 0, compressedLength);
+        block.putInt((int) crc.getValue());
+        block.putInt(data.length);
+
+        return block.array();
+    }
+}
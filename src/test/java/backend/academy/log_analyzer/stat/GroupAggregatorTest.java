@@ -0,0 +1,204 @@
+package backend.academy.log_analyzer.stat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса GroupAggregator")
+public class GroupAggregatorTest {
+
+    private static final long UNLIMITED = 1L << 30;
+
+    @TempDir
+    Path spillDirectory;
+
+    @DisplayName("Тест подсчета статистики по группам")
+    @Test
+    void testTop() {
+        GroupAggregator aggregator = new GroupAggregator(UNLIMITED, spillDirectory);
+
+        aggregator.add("/api", 100, 200);
+        aggregator.add("/api", 300, 502);
+        aggregator.add("/api", 1000, 200);
+        aggregator.add("/img", 50, 200);
+        aggregator.add("/css", 70, 404);
+
+        GroupAggregator.Top top = aggregator.top(2);
+
+        assertThat(top.groupsCount()).isEqualTo(3);
+        assertThat(top.spills()).isZero();
+        // При равном количестве запросов группы идут по возрастанию ключа
+        assertThat(top.groups()).extracting(GroupAggregator.Group::key).containsExactly("/api", "/css");
+
+        GroupStats api = top.groups().getFirst().stats();
+
+        assertThat(api.count()).isEqualTo(3);
+        assertThat(api.bytes()).isEqualTo(1400);
+        assertThat(api.serverErrors()).isEqualTo(1);
+        assertThat(api.getPercentile(0.95)).isEqualTo(1000);
+    }
+
+    @DisplayName("Тест сброса групп на диск при превышении бюджета памяти")
+    @Test
+    void testSpill() throws IOException {
+        GroupAggregator limited = new GroupAggregator(16 * 1024, spillDirectory);
+        GroupAggregator unlimited = new GroupAggregator(UNLIMITED, spillDirectory);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            String key = "/p/" + (int) Math.abs(random.nextGaussian() * 2000);
+            int size = random.nextInt(10_000);
+            int status = random.nextInt(10) == 0 ? 503 : 200;
+
+            limited.add(key, size, status);
+            unlimited.add(key, size, status);
+        }
+
+        GroupAggregator.Top expected = unlimited.top(20);
+        GroupAggregator.Top actual = limited.top(20);
+
+        assertThat(actual.spills()).isPositive();
+        assertThat(actual.groupsCount()).isEqualTo(expected.groupsCount());
+        assertThat(describe(actual)).isEqualTo(describe(expected));
+        // Части на диске не изменяются при чтении, а старые части удаляются при их слиянии
+        assertThat(describe(limited.top(20))).isEqualTo(describe(expected));
+
+        try (Stream<Path> runs = Files.list(spillDirectory)) {
+            assertThat(runs.count()).isLessThanOrEqualTo(33);
+        }
+    }
+
+    @DisplayName("Тест слияния шардов с общим бюджетом памяти")
+    @Test
+    void testMergeShards() {
+        GroupAggregator aggregator = new GroupAggregator(8 * 1024, spillDirectory);
+        GroupAggregator unlimited = new GroupAggregator(UNLIMITED, spillDirectory);
+        GroupAggregator left = aggregator.newShard();
+        GroupAggregator right = aggregator.newShard();
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "10.0." + i % 300 + "." + i % 7;
+
+            (i % 2 == 0 ? left : right).add(key, i % 1000, 200 + i % 400);
+            unlimited.add(key, i % 1000, 200 + i % 400);
+        }
+
+        aggregator.merge(left);
+        aggregator.merge(right);
+
+        assertThat(describe(aggregator.top(10))).isEqualTo(describe(unlimited.top(10)));
+        assertThat(aggregator.top(10).groupsCount()).isEqualTo(unlimited.top(10).groupsCount());
+    }
+
+    @DisplayName("Тест записи и чтения групп")
+    @Test
+    void testWriteAndRead() throws IOException {
+        GroupAggregator aggregator = new GroupAggregator(4 * 1024, spillDirectory);
+
+        for (int i = 0; i < 5_000; i++) {
+            aggregator.add("key" + i % 500 + GroupAggregator.KEY_SEPARATOR + i % 3, i, i % 2 == 0 ? 500 : 200);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        aggregator.writeTo(new DataOutputStream(bytes));
+
+        GroupAggregator restored = new GroupAggregator(UNLIMITED, spillDirectory);
+        restored.mergeFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(describe(restored.top(5))).isEqualTo(describe(aggregator.top(5)));
+        assertThat(restored.top(5).groupsCount()).isEqualTo(1500);
+        assertThat(restored.top(1).groups().getFirst().values()).hasSize(2);
+    }
+
+    @DisplayName("Тест повторного получения топа групп без чтения частей")
+    @Test
+    void testTopIsCachedUntilLogsAdded() {
+        GroupAggregator aggregator = new GroupAggregator(4 * 1024, spillDirectory);
+
+        for (int i = 0; i < 5_000; i++) {
+            aggregator.add("/p/" + i % 500, i, 200);
+        }
+
+        GroupAggregator.Top top = aggregator.top(5);
+
+        assertThat(top.spills()).isPositive();
+        assertThat(aggregator.top(5)).isSameAs(top);
+
+        aggregator.merge(aggregator.newShard());
+
+        assertThat(aggregator.top(5)).isSameAs(top);
+        assertThat(aggregator.top(3)).isNotSameAs(top);
+
+        aggregator.add("/p/0", 1, 200);
+
+        GroupAggregator.Top updated = aggregator.top(3);
+
+        assertThat(updated.groups().getFirst().key()).isEqualTo("/p/0");
+        assertThat(updated.groups().getFirst().stats().count()).isEqualTo(11);
+    }
+
+    @DisplayName("Тест удаления частей при закрытии агрегатора")
+    @Test
+    void testCloseDeletesRuns() throws IOException {
+        GroupAggregator aggregator = new GroupAggregator(4 * 1024, spillDirectory);
+        GroupAggregator merged = aggregator.newShard();
+        GroupAggregator lost = aggregator.newShard();
+
+        for (int i = 0; i < 5_000; i++) {
+            merged.add("/merged/" + i % 500, i, 200);
+            lost.add("/lost/" + i % 500, i, 200);
+        }
+
+        aggregator.merge(merged);
+
+        try (Stream<Path> runs = Files.list(spillDirectory)) {
+            assertThat(runs.count()).isPositive();
+        }
+
+        // Закрытие агрегатора удаляет и части шарда, который не был с ним слит
+        aggregator.close();
+
+        try (Stream<Path> runs = Files.list(spillDirectory)) {
+            assertThat(runs.count()).isZero();
+        }
+
+        assertThat(aggregator.top(5).groupsCount()).isZero();
+    }
+
+    @DisplayName("Тест удаления частей при закрытии шарда")
+    @Test
+    void testCloseShardDeletesOnlyItsRuns() throws IOException {
+        GroupAggregator aggregator = new GroupAggregator(4 * 1024, spillDirectory);
+        GroupAggregator kept = aggregator.newShard();
+        GroupAggregator dropped = aggregator.newShard();
+
+        for (int i = 0; i < 5_000; i++) {
+            kept.add("/kept/" + i % 500, i, 200);
+            dropped.add("/dropped/" + i % 500, i, 200);
+        }
+
+        dropped.close();
+        aggregator.merge(kept);
+
+        assertThat(aggregator.top(1).groups().getFirst().key()).startsWith("/kept/");
+        assertThat(aggregator.top(1).groupsCount()).isEqualTo(500);
+    }
+
+    private static List<String> describe(GroupAggregator.Top top) {
+        return top.groups().stream()
+            .map(group -> group.key() + ":" + group.stats().count() + ":" + group.stats().bytes() + ":"
+                + group.stats().serverErrors() + ":" + group.stats().getPercentile(0.95))
+            .toList();
+    }
+}
@@ -0,0 +1,68 @@
+package backend.academy.log_analyzer.stat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса LogLinearBuckets")
+public class LogLinearBucketsTest {
+
+    @DisplayName("Тест количества корзин")
+    @Test
+    void testBucketCount() {
+        assertThat(new LogLinearBuckets(7, Long.SIZE - 1).bucketCount()).isEqualTo(57 * 128);
+        assertThat(new LogLinearBuckets(3, 40).bucketCount()).isEqualTo(38 * 8);
+    }
+
+    @DisplayName("Тест точных корзин для маленьких значений")
+    @Test
+    void testSmallValuesAreExact() {
+        LogLinearBuckets buckets = new LogLinearBuckets(3, 40);
+
+        for (long value = 0; value < 8; value++) {
+            assertThat(buckets.highestEquivalentValue(buckets.index(value))).isEqualTo(value);
+        }
+
+        assertThat(buckets.index(-5)).isZero();
+    }
+
+    @DisplayName("Тест границ корзин и погрешности")
+    @ParameterizedTest(name = "бит внутри степени двойки = {0}")
+    @ValueSource(ints = {3, 7})
+    void testBucketBounds(int subBucketBits) {
+        LogLinearBuckets buckets = new LogLinearBuckets(subBucketBits, 40);
+        int previous = 0;
+
+        for (long value = 1; value < 1L << 40; value += value / 3 + 1) {
+            int index = buckets.index(value);
+            long highest = buckets.highestEquivalentValue(index);
+
+            assertThat(index).isGreaterThanOrEqualTo(previous);
+            assertThat(highest).isBetween(value, value + (value >> subBucketBits));
+            assertThat(buckets.index(highest)).isEqualTo(index);
+            assertThat(buckets.index(highest + 1)).isEqualTo(Math.min(index + 1, buckets.bucketCount() - 1));
+            previous = index;
+        }
+    }
+
+    @DisplayName("Тест последней корзины для больших значений")
+    @Test
+    void testLargeValuesGoToLastBucket() {
+        LogLinearBuckets buckets = new LogLinearBuckets(3, 40);
+
+        assertThat(buckets.index(1L << 40)).isEqualTo(buckets.bucketCount() - 1);
+        assertThat(buckets.index(Long.MAX_VALUE)).isEqualTo(buckets.bucketCount() - 1);
+        assertThat(new LogLinearBuckets(7, Long.SIZE - 1).index(Long.MAX_VALUE)).isEqualTo(57 * 128 - 1);
+    }
+
+    @DisplayName("Тест некорректных настроек")
+    @Test
+    void testInvalidSettings() {
+        assertThatThrownBy(() -> new LogLinearBuckets(0, 40)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LogLinearBuckets(7, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LogLinearBuckets(7, Long.SIZE)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package backend.academy.log_analyzer.stat;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса PercentileHistogram")
+public class PercentileHistogramTest {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99, 0.999, 1.0};
+
+    @DisplayName("Тест точного подсчета перцентилей до порога")
+    @Test
+    void testExactPercentiles() {
+        PercentileHistogram histogram = new PercentileHistogram(10);
+
+        for (long value : new long[] {5678, 0, 1234, 0, 512, 0, 0, 0, 0, 0}) {
+            histogram.add(value);
+        }
+
+        assertThat(histogram.isExact()).isTrue();
+        assertThat(histogram.getPercentile(0.95)).isEqualTo(5678L);
+        assertThat(histogram.getPercentile(0.9)).isEqualTo(1234L);
+        assertThat(histogram.getPercentile(0.5)).isEqualTo(0L);
+    }
+
+    @DisplayName("Тест точных перцентилей при добавлении значений между подсчетами")
+    @Test
+    void testExactPercentilesBetweenAdds() {
+        Random random = new Random(15);
+        PercentileHistogram histogram = new PercentileHistogram();
+        long[] values = new long[0];
+
+        for (int step = 0; step < 5; step++) {
+            int previousLength = values.length;
+            values = Arrays.copyOf(values, previousLength + 1 + random.nextInt(500));
+
+            for (int i = previousLength; i < values.length; i++) {
+                values[i] = random.nextInt(1000);
+                histogram.add(values[i]);
+            }
+
+            long[] sortedValues = values.clone();
+            Arrays.sort(sortedValues);
+
+            for (double percentile : PERCENTILES) {
+                assertThat(histogram.getPercentile(percentile))
+                    .isEqualTo(sortedValues[(int) Math.ceil(percentile * sortedValues.length) - 1]);
+            }
+        }
+    }
+
+    @DisplayName("Тест погрешности перцентилей после превышения порога")
+    @ParameterizedTest(name = "зерно генератора = {0}")
+    @ValueSource(longs = {1, 42, 2024})
+    void testApproximatePercentiles(long seed) {
+        Random random = new Random(seed);
+        PercentileHistogram histogram = new PercentileHistogram(100);
+        long[] values = new long[50_000];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            histogram.add(values[i]);
+        }
+
+        Arrays.sort(values);
+
+        assertThat(histogram.isExact()).isFalse();
+
+        for (double percentile : PERCENTILES) {
+            long exact = values[(int) Math.ceil(percentile * values.length) - 1];
+            long estimated = histogram.getPercentile(percentile);
+
+            assertThat(estimated).isBetween(exact, exact + exact / 128);
+        }
+    }
+
+    @DisplayName("Тест слияния гистограмм")
+    @Test
+    void testMerge() {
+        Random random = new Random(7);
+        PercentileHistogram whole = new PercentileHistogram(1000);
+        PercentileHistogram first = new PercentileHistogram(1000);
+        PercentileHistogram second = new PercentileHistogram(1000);
+
+        for (int i = 0; i < 5000; i++) {
+            long value = random.nextInt(1_000_000);
+
+            whole.add(value);
+            (i < 300 ? first : second).add(value);
+        }
+
+        first.merge(second);
+
+        assertThat(first.count()).isEqualTo(whole.count());
+
+        for (double percentile : PERCENTILES) {
+            assertThat(first.getPercentile(percentile)).isEqualTo(whole.getPercentile(percentile));
+        }
+    }
+
+    @DisplayName("Тест добавления отрицательного значения")
+    @Test
+    void testAddNegativeValue() {
+        PercentileHistogram histogram = new PercentileHistogram();
+
+        assertThatThrownBy(() -> histogram.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package backend.academy.log_analyzer.stat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса SpaceSaving")
+public class SpaceSavingTest {
+
+    @DisplayName("Тест точного топа, пока различных элементов не больше количества счетчиков")
+    @Test
+    void testExactTop() {
+        SpaceSaving<String> spaceSaving = new SpaceSaving<>(10);
+
+        for (String key : new String[] {"/a", "/b", "/a", "/c", "/b", "/a", "/d"}) {
+            spaceSaving.add(key);
+        }
+
+        assertThat(spaceSaving.isExact()).isTrue();
+        assertThat(spaceSaving.maxError()).isZero();
+        assertThat(spaceSaving.getTop(2)).containsExactly(Map.entry("/a", 3L), Map.entry("/b", 2L));
+        assertThat(spaceSaving.getTop(10)).hasSize(4);
+    }
+
+    @DisplayName("Тест гарантий топа после вытеснения элементов")
+    @Test
+    void testApproximateTop() {
+        Random random = new Random(11);
+        Map<String, Long> exact = new HashMap<>();
+        SpaceSaving<String> spaceSaving = new SpaceSaving<>(1_000);
+        int total = 200_000;
+
+        for (int i = 0; i < total; i++) {
+            String key = "/resource/" + (int) (Math.pow(random.nextDouble(), 4) * 100_000);
+
+            exact.merge(key, 1L, Long::sum);
+            spaceSaving.add(key);
+        }
+
+        List<Entry<String, Long>> expectedTop = exact.entrySet().stream()
+            .sorted(Entry.<String, Long>comparingByValue().reversed())
+            .limit(5)
+            .toList();
+
+        assertThat(spaceSaving.isExact()).isFalse();
+        assertThat(spaceSaving.maxError()).isLessThanOrEqualTo(total / 1_000);
+        assertThat(spaceSaving.getTop(5)).containsExactlyElementsOf(expectedTop);
+    }
+
+    @DisplayName("Тест слияния структур")
+    @Test
+    void testMerge() {
+        Random random = new Random(3);
+        Map<String, Long> exact = new HashMap<>();
+        SpaceSaving<String> first = new SpaceSaving<>(500);
+        SpaceSaving<String> second = new SpaceSaving<>(500);
+        int total = 100_000;
+
+        for (int i = 0; i < total; i++) {
+            String key = "/resource/" + (int) (Math.pow(random.nextDouble(), 3) * 20_000);
+
+            exact.merge(key, 1L, Long::sum);
+            (i % 2 == 0 ? first : second).add(key);
+        }
+
+        first.merge(second);
+
+        assertThat(first.size()).isEqualTo(500);
+        assertThat(first.maxError()).isLessThanOrEqualTo(total / 500);
+
+        for (Entry<String, Long> entry : first.getTop(10)) {
+            long exactCount = exact.get(entry.getKey());
+
+            assertThat(entry.getValue()).isBetween(exactCount, exactCount + first.maxError());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package backend.academy.log_analyzer.stat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса TimeSeries")
+public class TimeSeriesTest {
+
+    private static final long START = LocalDateTime.of(2015, 5, 17, 8, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @DisplayName("Тест подсчета статистики по интервалам")
+    @Test
+    void testBuckets() {
+        TimeSeries timeSeries = new TimeSeries(60, 10);
+
+        timeSeries.add(START + 5, 100, 200);
+        timeSeries.add(START + 59, 300, 404);
+        timeSeries.add(START + 185, 1000, 500);
+
+        List<TimeSeries.Bucket> buckets = timeSeries.buckets();
+
+        assertThat(buckets).hasSize(2);
+        assertThat(buckets.get(0).start()).isEqualTo(LocalDateTime.of(2015, 5, 17, 8, 0));
+        assertThat(buckets.get(0).requests()).isEqualTo(2);
+        assertThat(buckets.get(0).bytes()).isEqualTo(400);
+        assertThat(buckets.get(0).statusClasses()).containsExactly(0, 1, 0, 1, 0);
+        assertThat(buckets.get(0).percentile95()).isEqualTo(300);
+        assertThat(buckets.get(1).start()).isEqualTo(LocalDateTime.of(2015, 5, 17, 8, 3));
+        assertThat(buckets.get(1).statusClasses()).containsExactly(0, 0, 0, 0, 1);
+        assertThat(timeSeries.dropped()).isZero();
+    }
+
+    @DisplayName("Тест отбрасывания интервалов вне окна")
+    @Test
+    void testDropOutsideWindow() {
+        TimeSeries timeSeries = new TimeSeries(60, 3);
+
+        timeSeries.add(START, 10, 200);
+        timeSeries.add(START + 60, 10, 200);
+        timeSeries.add(START + 240, 10, 200);
+        // Лог раньше окна не попадает в ряд
+        timeSeries.add(START, 10, 200);
+
+        assertThat(timeSeries.buckets())
+            .extracting(TimeSeries.Bucket::start)
+            .containsExactly(LocalDateTime.of(2015, 5, 17, 8, 4));
+        assertThat(timeSeries.dropped()).isEqualTo(3);
+    }
+
+    @DisplayName("Тест слияния рядов")
+    @Test
+    void testMerge() {
+        Random random = new Random(5);
+        TimeSeries whole = new TimeSeries(300, 20);
+        TimeSeries first = new TimeSeries(300, 20);
+        TimeSeries second = new TimeSeries(300, 20);
+
+        for (int i = 0; i < 10_000; i++) {
+            long time = START + random.nextInt(30_000);
+            long size = random.nextInt(100_000);
+            int status = 100 * (1 + random.nextInt(5)) + random.nextInt(5);
+
+            whole.add(time, size, status);
+            (i % 2 == 0 ? first : second).add(time, size, status);
+        }
+
+        first.merge(second);
+
+        assertThat(first.dropped()).isEqualTo(whole.dropped()).isPositive();
+        assertThat(first.buckets()).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(whole.buckets());
+    }
+
+    @DisplayName("Тест записи и чтения ряда")
+    @Test
+    void testWriteAndRead() throws IOException {
+        Random random = new Random(7);
+        TimeSeries timeSeries = new TimeSeries(60, 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            timeSeries.add(START + random.nextInt(10_000), random.nextInt(1_000_000), 200);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            timeSeries.writeTo(output);
+        }
+
+        TimeSeries restored = TimeSeries.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored.dropped()).isEqualTo(timeSeries.dropped());
+        assertThat(restored.buckets()).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(timeSeries.buckets());
+    }
+}
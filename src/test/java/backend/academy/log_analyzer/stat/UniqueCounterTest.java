@@ -0,0 +1,81 @@
+package backend.academy.log_analyzer.stat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты класса UniqueCounter")
+public class UniqueCounterTest {
+
+    @DisplayName("Тест точного подсчета до предела")
+    @Test
+    void testExactCount() {
+        UniqueCounter counter = new UniqueCounter(10, 14);
+
+        for (String value : new String[] {"1.2.3.4", "1.2.3.4", "01.2.3.4", "::1", "1.2.3", "256.1.1.1", "::1"}) {
+            counter.add(value);
+        }
+
+        assertThat(counter.isEstimated()).isFalse();
+        assertThat(counter.count()).isEqualTo(5);
+    }
+
+    @DisplayName("Тест погрешности оценки после превышения предела")
+    @ParameterizedTest(name = "количество уникальных адресов = {0}")
+    @ValueSource(ints = {500, 20_000, 300_000})
+    void testEstimatedCount(int uniqueCount) {
+        UniqueCounter counter = new UniqueCounter(100, 14);
+
+        for (int repeat = 0; repeat < 2; repeat++) {
+            for (int i = 0; i < uniqueCount; i++) {
+                counter.add(ip(i));
+            }
+        }
+
+        assertThat(counter.isEstimated()).isTrue();
+        // 4 стандартные ошибки (1.04 / sqrt(2^14) ~ 0.8%)
+        assertThat(counter.count()).isBetween((long) (uniqueCount * 0.968), (long) (uniqueCount * 1.032));
+    }
+
+    @DisplayName("Тест слияния точного счетчика с оценкой")
+    @Test
+    void testMerge() {
+        UniqueCounter exact = new UniqueCounter(50_000, 12);
+        UniqueCounter other = new UniqueCounter(50_000, 12);
+        UniqueCounter estimated = new UniqueCounter(0, 12);
+
+        for (int i = 0; i < 30_000; i++) {
+            exact.add(ip(i));
+            other.add(ip(i + 15_000));
+            estimated.add("user-" + i);
+        }
+
+        exact.merge(other);
+
+        assertThat(exact.isEstimated()).isFalse();
+        assertThat(exact.count()).isEqualTo(45_000);
+
+        exact.merge(estimated);
+        other.merge(exact);
+
+        assertThat(exact.isEstimated()).isTrue();
+        assertThat(exact.count()).isBetween(70_000L, 80_000L);
+        assertThat(other.count()).isEqualTo(exact.count());
+    }
+
+    @DisplayName("Тест слияния скетчей с разной точностью")
+    @Test
+    void testMergeDifferentPrecision() {
+        UniqueCounter first = new UniqueCounter(0, 12);
+        UniqueCounter second = new UniqueCounter(0, 14);
+
+        assertThatThrownBy(() -> first.merge(second)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String ip(int value) {
+        return (value >>> 24 & 255) + "." + (value >>> 16 & 255) + "." + (value >>> 8 & 255) + "." + (value & 255);
+    }
+}
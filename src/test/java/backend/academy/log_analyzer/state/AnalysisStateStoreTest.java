@@ -0,0 +1,91 @@
+package backend.academy.log_analyzer.state;
+
+import backend.academy.log_analyzer.log.Log;
+import backend.academy.log_analyzer.log.LogReport;
+import backend.academy.log_analyzer.parameter.ReportSettings;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса AnalysisStateStore")
+public class AnalysisStateStoreTest {
+
+    private static final String PARAMETERS_KEY = "from=null;to=null;filter=:;";
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Тест записи и чтения состояния")
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Path stateFile = tempDir.resolve("state/access.state");
+        List<SourceState> sources = List.of(
+            new SourceState("file:///var/log/access.log", "(dev=803,ino=42)", 2048, 2000, 123456789L),
+            new SourceState("file:///var/log/other.log", "", 10, 10, 987654321L)
+        );
+
+        AnalysisStateStore.save(stateFile, new AnalysisState(PARAMETERS_KEY, createReport(), sources));
+
+        Optional<AnalysisState> state = AnalysisStateStore.load(stateFile, PARAMETERS_KEY, ReportSettings.DEFAULT);
+
+        assertThat(state).isPresent();
+        assertThat(state.get().parametersKey()).isEqualTo(PARAMETERS_KEY);
+        assertThat(state.get().sources()).isEqualTo(sources);
+        assertThat(state.get().report().getTotalCountRequests()).isEqualTo(2);
+        assertThat(state.get().report().resources()).containsExactly("file:///var/log/access.log");
+        assertThat(state.get().sourcesByIdentity())
+            .containsOnlyKeys("(dev=803,ino=42)", "file:///var/log/other.log");
+        assertThat(Files.exists(tempDir.resolve("state/access.state.tmp"))).isFalse();
+    }
+
+    @DisplayName("Тест чтения состояния, собранного с другими параметрами")
+    @Test
+    void testLoadWithOtherParameters() throws IOException {
+        Path stateFile = tempDir.resolve("access.state");
+
+        AnalysisStateStore.save(stateFile, new AnalysisState(PARAMETERS_KEY, createReport(), List.of()));
+
+        String otherParametersKey = "from=2024-01-01T00:00;to=null;filter=:;";
+
+        assertThat(AnalysisStateStore.load(stateFile, otherParametersKey, ReportSettings.DEFAULT)).isEmpty();
+    }
+
+    @DisplayName("Тест чтения отсутствующего и поврежденного файла состояния")
+    @Test
+    void testLoadMissingAndCorruptedFile() throws IOException {
+        Path stateFile = tempDir.resolve("access.state");
+
+        assertThat(AnalysisStateStore.load(stateFile, PARAMETERS_KEY, ReportSettings.DEFAULT)).isEmpty();
+
+        AnalysisStateStore.save(stateFile, new AnalysisState(PARAMETERS_KEY, createReport(), List.of()));
+        byte[] bytes = Files.readAllBytes(stateFile);
+        Files.write(stateFile, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThat(AnalysisStateStore.load(stateFile, PARAMETERS_KEY, ReportSettings.DEFAULT)).isEmpty();
+
+        Files.writeString(stateFile, "not a state file");
+
+        assertThat(AnalysisStateStore.load(stateFile, PARAMETERS_KEY, ReportSettings.DEFAULT)).isEmpty();
+    }
+
+    private LogReport createReport() {
+        LogReport report = new LogReport();
+
+        report.addAllStats(new Log("93.180.71.3", "-", LocalDateTime.of(2015, 5, 17, 8, 5, 32),
+            new Log.Request("GET", "/downloads/product_1", "HTTP/1.1"),
+            304, 0, "-", "Debian APT-HTTP/1.3"), "file:///var/log/access.log");
+        report.addAllStats(new Log("66.249.73.185", "user1", LocalDateTime.of(2015, 6, 18, 11, 22, 45),
+            new Log.Request("POST", "/api/user/register", "HTTP/1.1"),
+            201, 1234, "-", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)"), "file:///var/log/access.log");
+
+        return report;
+    }
+}
@@ -0,0 +1,39 @@
+package backend.academy.log_analyzer.util;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты класса Ipv4Addresses")
+public class Ipv4AddressesTest {
+
+    @DisplayName("Тест разбора адресов IPv4")
+    @ParameterizedTest(name = "адрес = {0}")
+    @MethodSource("provideDataToTestParse")
+    void testParse(String value, long expectedAddress) {
+        assertThat(Ipv4Addresses.parse(value)).isEqualTo(expectedAddress);
+    }
+
+    static Stream<Arguments> provideDataToTestParse() {
+        return Stream.of(
+            Arguments.of("0.0.0.0", 0L),
+            Arguments.of("10.0.0.1", 0x0A000001L),
+            Arguments.of("93.180.71.3", 0x5DB44703L),
+            Arguments.of("255.255.255.255", 0xFFFFFFFFL)
+        );
+    }
+
+    @DisplayName("Тест строк, которые не являются адресом IPv4 в каноничной записи")
+    @ParameterizedTest(name = "строка = {0}")
+    @ValueSource(strings = {
+        "", "10.0.0", "10.0.0.1.", "10.0.0.1.5", "010.0.0.1", "10.00.0.1", "10.0.0.256", "10.0.0.1000",
+        "10..0.1", "-1.0.0.1", "+1.0.0.1", "10.0.0.a", "2001:db8::1", "١٠.0.0.1"
+    })
+    void testParseNotIpv4(String value) {
+        assertThat(Ipv4Addresses.parse(value)).isEqualTo(Ipv4Addresses.NOT_IPV4);
+    }
+}